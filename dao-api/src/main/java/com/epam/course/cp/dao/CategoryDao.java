@@ -9,6 +9,12 @@ import java.util.stream.Stream;
 /**
  * Methods for direct access to data source
  *
+ * <p>
+ * Every {@code Stream} returned by this interface may be backed by an open
+ * data source cursor. Such stream must be closed by the caller, preferably
+ * with try-with-resources, as soon as the terminal operation is finished.
+ * </p>
+ *
  * @see Optional
  * @see Stream
  * @see Category
@@ -71,7 +77,10 @@ public interface CategoryDao {
     Optional<Category> add(Category category);
 
     /**
-     * Update already existing category object by new object.
+     * Update already existing category object by new object if the category
+     * still has version of the object, {@code null} version updates regardless of version.
+     * Updated object gets new version of the category, optimistic locking
+     * failure is thrown if the category has another version.
      *
      * @param category Object to replace older
      */
@@ -0,0 +1,286 @@
+package com.epam.course.cp.dao;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * {@code ProductCriteria} describes which product Data Transfer Objects(DTO)
+ * to select from data source and in which order
+ *
+ * <p>
+ * Every criterion is optional, {@code null} value means the criterion is not applied.
+ * Applied criteria are joined with {@code AND}.
+ * </p>
+ *
+ * @see ProductDao#findProductDTOs(ProductCriteria)
+ * @author Maksim Martsiusheu
+ */
+public class ProductCriteria {
+
+    /**
+     * Order of selected product DTOs. Products are additionally ordered
+     * by product id, so the order is the same for every call
+     */
+    public enum Sort {
+
+        /**
+         * Ordered by product id
+         */
+        PRODUCT_ID,
+
+        /**
+         * Ordered by date product was added
+         */
+        DATE_ADDED,
+
+        /**
+         * Ordered by product name
+         */
+        PRODUCT_NAME
+    }
+
+    /**
+     * Id of top level category products belong to
+     */
+    private Integer categoryId;
+
+    /**
+     * Earliest date product was added, inclusive
+     */
+    private LocalDate dateBegin;
+
+    /**
+     * Latest date product was added, inclusive
+     */
+    private LocalDate dateEnd;
+
+    /**
+     * Minimal product amount, inclusive
+     */
+    private Integer minAmount;
+
+    /**
+     * Maximal product amount, inclusive
+     */
+    private Integer maxAmount;
+
+    /**
+     * Beginning of product name
+     */
+    private String namePrefix;
+
+    /**
+     * Id of the last product of previous page, products are selected right after it
+     */
+    private Integer afterProductId;
+
+    /**
+     * Maximum amount of products to select
+     */
+    private Integer limit;
+
+    /**
+     * Order of selected products
+     */
+    private Sort sort = Sort.PRODUCT_ID;
+
+    /**
+     * Returns id of top level category products belong to
+     *
+     * @return category id
+     */
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Sets id of top level category products belong to
+     *
+     * @param categoryId category id
+     */
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Returns earliest date product was added
+     *
+     * @return {@code LocalDate} representing date interval beginning
+     */
+    public LocalDate getDateBegin() {
+        return dateBegin;
+    }
+
+    /**
+     * Sets earliest date product was added
+     *
+     * @param dateBegin date interval beginning
+     */
+    public void setDateBegin(LocalDate dateBegin) {
+        this.dateBegin = dateBegin;
+    }
+
+    /**
+     * Returns latest date product was added
+     *
+     * @return {@code LocalDate} representing date interval end
+     */
+    public LocalDate getDateEnd() {
+        return dateEnd;
+    }
+
+    /**
+     * Sets latest date product was added
+     *
+     * @param dateEnd date interval end
+     */
+    public void setDateEnd(LocalDate dateEnd) {
+        this.dateEnd = dateEnd;
+    }
+
+    /**
+     * Returns minimal product amount
+     *
+     * @return minimal product amount
+     */
+    public Integer getMinAmount() {
+        return minAmount;
+    }
+
+    /**
+     * Sets minimal product amount
+     *
+     * @param minAmount minimal product amount
+     */
+    public void setMinAmount(Integer minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    /**
+     * Returns maximal product amount
+     *
+     * @return maximal product amount
+     */
+    public Integer getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * Sets maximal product amount
+     *
+     * @param maxAmount maximal product amount
+     */
+    public void setMaxAmount(Integer maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    /**
+     * Returns beginning of product name
+     *
+     * @return product name prefix
+     */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * Sets beginning of product name
+     *
+     * @param namePrefix product name prefix
+     */
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * Returns id of the last product of previous page
+     *
+     * @return product id cursor
+     */
+    public Integer getAfterProductId() {
+        return afterProductId;
+    }
+
+    /**
+     * Sets id of the last product of previous page.
+     * Applicable only to products ordered by product id
+     *
+     * @param afterProductId product id cursor
+     */
+    public void setAfterProductId(Integer afterProductId) {
+        this.afterProductId = afterProductId;
+    }
+
+    /**
+     * Returns maximum amount of products to select
+     *
+     * @return maximum amount of products
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets maximum amount of products to select
+     *
+     * @param limit maximum amount of products
+     */
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns order of selected products
+     *
+     * @return {@code Sort} of products
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * Sets order of selected products
+     *
+     * @param sort order of products, {@code null} means order by product id
+     */
+    public void setSort(Sort sort) {
+        this.sort = sort == null ? Sort.PRODUCT_ID : sort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductCriteria that = (ProductCriteria) o;
+        return Objects.equals(categoryId, that.categoryId) &&
+                Objects.equals(dateBegin, that.dateBegin) &&
+                Objects.equals(dateEnd, that.dateEnd) &&
+                Objects.equals(minAmount, that.minAmount) &&
+                Objects.equals(maxAmount, that.maxAmount) &&
+                Objects.equals(namePrefix, that.namePrefix) &&
+                Objects.equals(afterProductId, that.afterProductId) &&
+                Objects.equals(limit, that.limit) &&
+                sort == that.sort;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categoryId, dateBegin, dateEnd, minAmount, maxAmount,
+                namePrefix, afterProductId, limit, sort);
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCriteria{" +
+                "categoryId=" + categoryId +
+                ", dateBegin=" + dateBegin +
+                ", dateEnd=" + dateEnd +
+                ", minAmount=" + minAmount +
+                ", maxAmount=" + maxAmount +
+                ", namePrefix='" + namePrefix + '\'' +
+                ", afterProductId=" + afterProductId +
+                ", limit=" + limit +
+                ", sort=" + sort +
+                '}';
+    }
+}
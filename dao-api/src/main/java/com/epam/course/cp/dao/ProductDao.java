@@ -4,16 +4,25 @@ import com.epam.course.cp.dto.ProductDTO;
 import com.epam.course.cp.model.Product;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
  * Methods for direct access to data source
  *
+ * <p>
+ * Every {@code Stream} returned by this interface may be backed by an open
+ * data source cursor. Such stream must be closed by the caller, preferably
+ * with try-with-resources, as soon as the terminal operation is finished.
+ * </p>
+ *
  * @see Optional
  * @see Stream
  * @see Product
  * @see ProductDTO
+ * @see ProductCriteria
  * @author Maksim Martsiusheu
  */
 public interface ProductDao {
@@ -38,7 +47,17 @@ public interface ProductDao {
      *
      * @return Product Data Transfer Objects as {@code Stream}
      */
-    Stream<ProductDTO> findAllProductDTOs();
+    default Stream<ProductDTO> findAllProductDTOs() {
+        return findProductDTOs(new ProductCriteria());
+    }
+
+    /**
+     * Returns Data Transfer Objects(DTO) of products that fit given criteria.
+     *
+     * @param criteria criteria to select and order product DTOs by
+     * @return Product Data Transfer Objects as {@code Stream}
+     */
+    Stream<ProductDTO> findProductDTOs(ProductCriteria criteria);
 
     /**
      * Returns  DataTransferObject(DTO) of products found in data source by category id.
@@ -46,7 +65,12 @@ public interface ProductDao {
      * @param categoryId Category id to find product DTOs by
      * @return Product Data Transfer Objects as {@code Stream}
      */
-    Stream<ProductDTO> findProductDTOsByCategoryId(Integer categoryId);
+    default Stream<ProductDTO> findProductDTOsByCategoryId(Integer categoryId) {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setCategoryId(categoryId);
+        return findProductDTOs(criteria);
+    }
 
     /**
      * Returns Data Transfer Objects(DTO) of products selected by date interval.
@@ -55,7 +79,9 @@ public interface ProductDao {
      * @param dateEnd Date describing ending of date interval
      * @return All product DTOs that fits date interval as {@code Stream}
      */
-    Stream<ProductDTO> findProductDTOsFromDateInterval(LocalDate dateBegin, LocalDate dateEnd);
+    default Stream<ProductDTO> findProductDTOsFromDateInterval(LocalDate dateBegin, LocalDate dateEnd) {
+        return findProductDTOsByMixedFilter(dateBegin, dateEnd, null);
+    }
 
     /**
      * Returns Data Transfer Objects(DTO) of products selected by date interval and by category id.
@@ -65,7 +91,59 @@ public interface ProductDao {
      * @param categoryId Category id to select product DTOs by
      * @return All product DTOs that fits date interval as {@code Stream}
      */
-    Stream<ProductDTO> findProductDTOsByMixedFilter(LocalDate dateBegin, LocalDate dateEnd, Integer categoryId);
+    default Stream<ProductDTO> findProductDTOsByMixedFilter(LocalDate dateBegin, LocalDate dateEnd, Integer categoryId) {
+        return findProductDTOsPageByMixedFilter(dateBegin, dateEnd, categoryId, null, null);
+    }
+
+    /**
+     * Returns a page of product Data Transfer Objects(DTO) ordered by product id.
+     *
+     * @param afterProductId id of the last product of previous page, page starts right after it
+     * @param limit maximum amount of product DTOs in the page
+     * @return Product Data Transfer Objects of the page as {@code Stream}
+     */
+    default Stream<ProductDTO> findProductDTOsPage(Integer afterProductId, Integer limit) {
+        return findProductDTOsPageByMixedFilter(null, null, null, afterProductId, limit);
+    }
+
+    /**
+     * Returns a page of product Data Transfer Objects(DTO) selected by date interval
+     * ordered by product id.
+     *
+     * @param dateBegin Date describing beginning of date interval
+     * @param dateEnd Date describing ending of date interval
+     * @param afterProductId id of the last product of previous page, page starts right after it
+     * @param limit maximum amount of product DTOs in the page
+     * @return Product Data Transfer Objects of the page as {@code Stream}
+     */
+    default Stream<ProductDTO> findProductDTOsPageFromDateInterval(LocalDate dateBegin, LocalDate dateEnd,
+                                                                   Integer afterProductId, Integer limit) {
+        return findProductDTOsPageByMixedFilter(dateBegin, dateEnd, null, afterProductId, limit);
+    }
+
+    /**
+     * Returns a page of product Data Transfer Objects(DTO) selected by date interval
+     * and by category id ordered by product id.
+     *
+     * @param dateBegin Date describing beginning of date interval
+     * @param dateEnd Date describing ending of date interval
+     * @param categoryId Category id to select product DTOs by
+     * @param afterProductId id of the last product of previous page, page starts right after it
+     * @param limit maximum amount of product DTOs in the page
+     * @return Product Data Transfer Objects of the page as {@code Stream}
+     */
+    default Stream<ProductDTO> findProductDTOsPageByMixedFilter(LocalDate dateBegin, LocalDate dateEnd,
+                                                                Integer categoryId,
+                                                                Integer afterProductId, Integer limit) {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setDateBegin(dateBegin);
+        criteria.setDateEnd(dateEnd);
+        criteria.setCategoryId(categoryId);
+        criteria.setAfterProductId(afterProductId);
+        criteria.setLimit(limit);
+        return findProductDTOs(criteria);
+    }
 
     /**
      * Save product to data source. Returns inserted Product with generated id.
@@ -76,12 +154,45 @@ public interface ProductDao {
     Optional<Product> add(Product product);
 
     /**
-     * Update already existing product object by new object.
+     * Update already existing product object by new object if the product
+     * still has version of the object, {@code null} version updates regardless of version.
+     * Updated object gets new version of the product, optimistic locking
+     * failure is thrown if the product has another version.
      *
      * @param product Object to replace older
      */
     void update(Product product);
 
+    /**
+     * Adds given signed delta to amount of product with defined id
+     * with a single statement, so concurrent changes are not lost.
+     * Empty result failure is thrown if there is no such product.
+     *
+     * @param productId Product id to change amount of
+     * @param delta     signed change of product amount
+     * @return the product with new amount and version
+     * @throws com.epam.course.cp.dao.exception.InsufficientAmountException if amount would become negative
+     */
+    Product adjustAmount(Integer productId, Integer delta);
+
+    /**
+     * Save all products to data source with a single batch.
+     * Returns inserted Products with generated ids in the same order.
+     *
+     * @param products Product objects to save in data source
+     * @return {@code List} of Products with generated ids
+     */
+    List<Product> addAll(Collection<Product> products);
+
+    /**
+     * Update already existing product objects by new objects with a single batch.
+     * Versions of the objects are checked as {@link #update(Product)} does.
+     *
+     * @param products Objects to replace older
+     * @return amount of rows updated for every product in the same order
+     */
+    int[] updateAll(Collection<Product> products);
+
     /**
      * Remove product from data source by defined id.
      *
@@ -0,0 +1,13 @@
+package com.epam.course.cp.dao.exception;
+
+/**
+ * Thrown when a change of product amount would make it negative
+ *
+ * @author Maksim Martsiusheu
+ */
+public class InsufficientAmountException extends DaoRuntimeException {
+
+    public InsufficientAmountException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,268 @@
+package com.epam.course.cp.dao;
+
+import com.epam.course.cp.dao.support.ColumnarCatalog;
+import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.model.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@code CategoryDao} reading categories from {@code ColumnarCatalog}
+ *
+ * <p>
+ * Selected by {@code columnar} Spring profile. Product totals of categories
+ * are summed from product columns of the catalogue. Writes go through to
+ * {@code CategoryDaoJdbcImpl} and are applied to the catalogue after their
+ * transaction is committed. Until then reads of that transaction go to
+ * {@code CategoryDaoJdbcImpl}.
+ * </p>
+ *
+ * @see ColumnarCatalog
+ * @see CategoryDaoJdbcImpl
+ * @author Maksim Martsiusheu
+ */
+@Repository
+@Primary
+@Profile(ColumnarCatalog.PROFILE)
+public class CategoryDaoColumnarImpl implements CategoryDao {
+
+    /**
+     * Default logger for current class
+     */
+    private final static Logger LOGGER = LoggerFactory.getLogger(CategoryDaoColumnarImpl.class);
+
+    /**
+     * Parent id of top level categories
+     */
+    private static final Integer NO_PARENT = 0;
+
+    /**
+     * Data access object writes go through to
+     */
+    private final CategoryDao categoryDao;
+
+    /**
+     * In-memory catalogue categories are read from
+     */
+    private final ColumnarCatalog columnarCatalog;
+
+    /**
+     * Construct categoryDaoColumnarImpl
+     *
+     * @param categoryDao     JDBC category data access object to write through
+     * @param columnarCatalog catalogue to read from
+     */
+    @Autowired
+    public CategoryDaoColumnarImpl(@Qualifier("categoryDaoJdbcImpl") CategoryDao categoryDao,
+                                   ColumnarCatalog columnarCatalog) {
+
+        this.categoryDao = categoryDao;
+        this.columnarCatalog = columnarCatalog;
+    }
+
+    /**
+     * Returns all categories ordered by category id
+     *
+     * @return All categories as {@code Stream}
+     */
+    @Override
+    public Stream<Category> findAll() {
+
+        LOGGER.debug("findAll()");
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findAll();
+        }
+        return columnarCatalog.findCategories(category -> true).stream();
+    }
+
+    /**
+     * Returns found category by defined id
+     *
+     * @param categoryId Id of element to find
+     * @return {@code Optional} describing found category
+     * @throws EmptyResultDataAccessException If there is no such category, as data source does
+     */
+    @Override
+    public Optional<Category> findById(Integer categoryId) {
+
+        LOGGER.debug("findById({})", categoryId);
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findById(categoryId);
+        }
+        return Optional.of(single(columnarCatalog.findCategories(withId(categoryId))));
+    }
+
+    /**
+     * Returns all sub categories
+     *
+     * @return Sub categories as {@code Stream}
+     */
+    @Override
+    public Stream<Category> findAllSubCategories() {
+
+        LOGGER.debug("findAllSubCategories()");
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findAllSubCategories();
+        }
+        return columnarCatalog.findCategories(isTopLevel().negate()).stream();
+    }
+
+    /**
+     * Returns Data Transfer Objects(DTO) of all top level categories
+     *
+     * @return Category DTOs as {@code Stream}
+     */
+    @Override
+    public Stream<CategoryDTO> findAllCategoryDTOs() {
+
+        LOGGER.debug("findAllCategoryDTOs()");
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findAllCategoryDTOs();
+        }
+        return columnarCatalog.findCategoryDTOs(isTopLevel()).stream();
+    }
+
+    /**
+     * Returns category Data Transfer Object with defined id
+     *
+     * @param id Category id to find
+     * @return {@code Optional} describing found category DTO
+     * @throws EmptyResultDataAccessException If there is no such category, as data source does
+     */
+    @Override
+    public Optional<CategoryDTO> findCategoryDTOById(Integer id) {
+
+        LOGGER.debug("findCategoryDTOById({})", id);
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findCategoryDTOById(id);
+        }
+        return Optional.of(single(columnarCatalog.findCategoryDTOs(withId(id))));
+    }
+
+    /**
+     * Returns Data Transfer Objects(DTO) of sub categories of defined category
+     *
+     * @param id Category id to find by
+     * @return Categories DTOs as {@code Stream}
+     */
+    @Override
+    public Stream<CategoryDTO> findSubCategoryDTOsByCategoryId(Integer id) {
+
+        LOGGER.debug("findSubCategoryDTOsByCategoryId({})", id);
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findSubCategoryDTOsByCategoryId(id);
+        }
+        return columnarCatalog.findCategoryDTOs(category -> category.getParentId().equals(id)).stream();
+    }
+
+    /**
+     * Save category to data source and to the catalogue
+     *
+     * @param category Category object to save in data source
+     * @return Saved category with generated id
+     */
+    @Override
+    public Optional<Category> add(Category category) {
+
+        LOGGER.debug("add({})", category);
+
+        Optional<Category> savedCategory = categoryDao.add(category);
+        savedCategory.ifPresent(columnarCatalog::putCategory);
+
+        return savedCategory;
+    }
+
+    /**
+     * Update category in data source and in the catalogue
+     *
+     * @param category Object to replace older
+     */
+    @Override
+    public void update(Category category) {
+
+        LOGGER.debug("update({})", category);
+
+        categoryDao.update(category);
+        columnarCatalog.putCategory(category);
+    }
+
+    /**
+     * Delete category from data source and from the catalogue
+     *
+     * @param categoryId Category id to delete
+     */
+    @Override
+    public void delete(Integer categoryId) {
+
+        LOGGER.debug("delete({})", categoryId);
+
+        categoryDao.delete(categoryId);
+        columnarCatalog.deleteCategory(categoryId);
+    }
+
+    /**
+     * Returns all top level categories except the one with defined id
+     *
+     * @param id id to find parent categories
+     * @return Categories found as {@code Stream}
+     */
+    @Override
+    public Stream<Category> findAllPossibleParentsForId(Integer id) {
+
+        LOGGER.debug("findAllPossibleParentsForId({})", id);
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findAllPossibleParentsForId(id);
+        }
+        return columnarCatalog.findCategories(isTopLevel().and(withId(id).negate())).stream();
+    }
+
+    /**
+     * Returns all top level categories
+     *
+     * @return Categories found as {@code Stream}
+     */
+    @Override
+    public Stream<Category> findAllPossibleParents() {
+
+        LOGGER.debug("findAllPossibleParents()");
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return categoryDao.findAllPossibleParents();
+        }
+        return columnarCatalog.findCategories(isTopLevel()).stream();
+    }
+
+    private static <T> T single(List<T> found) {
+
+        if (found.isEmpty()) {
+            throw new EmptyResultDataAccessException(1);
+        }
+        return found.get(0);
+    }
+
+    private static Predicate<Category> isTopLevel() {
+        return category -> NO_PARENT.equals(category.getParentId());
+    }
+
+    private static Predicate<Category> withId(Integer categoryId) {
+        return category -> category.getCategoryId().equals(categoryId);
+    }
+}
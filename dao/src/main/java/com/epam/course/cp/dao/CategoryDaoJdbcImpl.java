@@ -3,6 +3,8 @@ package com.epam.course.cp.dao;
 import com.epam.course.cp.dao.exception.DaoRuntimeException;
 import com.epam.course.cp.dao.mapper.CategoryDTOMapper;
 import com.epam.course.cp.dao.mapper.CategoryMapper;
+import com.epam.course.cp.dao.support.StreamingNamedParameterJdbcTemplate;
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.CategoryDTO;
 import com.epam.course.cp.model.Category;
 import org.slf4j.Logger;
@@ -10,13 +12,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -40,7 +42,7 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
     /**
      * Jdbc template to execute actions to data source
      */
-    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final StreamingNamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     /**
      * Category mapper to create java object from result set
@@ -52,6 +54,11 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
      */
     private final CategoryDTOMapper categoryDTOMapper;
 
+    /**
+     * Change counters of tables, increased by every write
+     */
+    private final TableVersions tableVersions;
+
     /**
      * Sql statement to select all categories
      */
@@ -81,6 +88,12 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
     @Value("${category.selectById}")
     private String getCategoryByIdSql;
 
+    /**
+     * Sql statement to select and lock category by id
+     */
+    @Value("${category.selectByIdForUpdate}")
+    private String getCategoryByIdForUpdateSql;
+
     /**
      * Sql statement to select category dto by id
      */
@@ -93,12 +106,30 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
     @Value("${category.insert}")
     private String insertCategorySql;
 
+    /**
+     * Sql statement to insert empty product totals of a new category
+     */
+    @Value("${categoryTotals.insert}")
+    private String insertCategoryTotalsSql;
+
     /**
      * Sql statement to update already existing category
      */
     @Value("${category.update}")
     private String updateCategorySql;
 
+    /**
+     * Sql statement to copy products of a category and its sub categories to denormalized product view
+     */
+    @Value("${productView.insertByCategoryId}")
+    private String insertProductViewSql;
+
+    /**
+     * Sql statement to remove products of a category and its sub categories from denormalized product view
+     */
+    @Value("${productView.deleteByCategoryId}")
+    private String deleteProductViewSql;
+
     /**
      * Sql statement to delete category
      */
@@ -117,21 +148,29 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
     @Value("${subCategoryDTO.selectSubCategoryDTOsByCategoryId}")
     private String getSubCategoryDTOsByCategoryIdSql;
 
+    /**
+     * Columns whose generated values are returned by inserts
+     */
+    private static final String[] GENERATED_KEY_COLUMNS = {CategoryMapper.CATEGORY_ID};
+
     /**
      * Construct categoryDaoJdbcImpl
      *
      * @param namedParameterJdbcTemplate jdbc template to inject
      * @param categoryMapper category mapper to inject
      * @param categoryDTOMapper category dto mapper to inject
+     * @param tableVersions table change counters to inject
      */
     @Autowired
-    public CategoryDaoJdbcImpl(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+    public CategoryDaoJdbcImpl(StreamingNamedParameterJdbcTemplate namedParameterJdbcTemplate,
                                CategoryMapper categoryMapper,
-                               CategoryDTOMapper categoryDTOMapper) {
+                               CategoryDTOMapper categoryDTOMapper,
+                               TableVersions tableVersions) {
 
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
         this.categoryMapper = categoryMapper;
         this.categoryDTOMapper = categoryDTOMapper;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -144,8 +183,7 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
 
         LOGGER.debug("findAll()");
 
-        List<Category> categoryList = namedParameterJdbcTemplate.query(getAllCategoriesSql, categoryMapper);
-        return categoryList.stream();
+        return namedParameterJdbcTemplate.queryForStream(getAllCategoriesSql, categoryMapper);
     }
 
     /**
@@ -175,8 +213,7 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
 
         LOGGER.debug("findAllCategoryDTOs()");
 
-        List<CategoryDTO> categoryDTOList = namedParameterJdbcTemplate.query(getAllCategoryDTOsSql, categoryDTOMapper);
-        return categoryDTOList.stream();
+        return namedParameterJdbcTemplate.queryForStream(getAllCategoryDTOsSql, categoryDTOMapper);
     }
 
     /**
@@ -189,8 +226,7 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
 
         LOGGER.debug("findAllSubCategories()");
 
-        List<Category> categories = namedParameterJdbcTemplate.query(getAllSubCategoriesSql, categoryMapper);
-        return categories.stream();
+        return namedParameterJdbcTemplate.queryForStream(getAllSubCategoriesSql, categoryMapper);
     }
 
     /**
@@ -223,22 +259,19 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
         LOGGER.debug("findSubCategoryDTOsByCategoryId()");
 
         MapSqlParameterSource namedParameters = new MapSqlParameterSource(CategoryDTOMapper.CATEGORY_DTO_ID, categoryId);
-        List<CategoryDTO> categoryDTOs =
-                namedParameterJdbcTemplate
-                        .query(getSubCategoryDTOsByCategoryIdSql,
-                                namedParameters,
-                                categoryDTOMapper);
-
-        return categoryDTOs.stream();
+        return namedParameterJdbcTemplate
+                .queryForStream(getSubCategoryDTOsByCategoryIdSql, namedParameters, categoryDTOMapper);
     }
 
     /**
      * Save category to data source.
+     * Product totals of the category are saved in the same transaction
      *
      * @param category Category object to save in data source
      * @return Saved category with generated id
      */
     @Override
+    @Transactional
     public Optional<Category> add(Category category) {
 
         LOGGER.debug("add({})", category);
@@ -246,30 +279,54 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
         MapSqlParameterSource namedParameters = getCategorySqlParametersSource(category);
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        namedParameterJdbcTemplate.update(insertCategorySql, namedParameters, keyHolder);
+        namedParameterJdbcTemplate.update(insertCategorySql, namedParameters, keyHolder, GENERATED_KEY_COLUMNS);
 
         category.setCategoryId(keyHolder.getKey().intValue());
+        category.setVersion(0);
+        tableVersions.changed(TableVersions.CATEGORY);
+        namedParameterJdbcTemplate.update(insertCategoryTotalsSql,
+                new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, category.getCategoryId()));
 
         return Optional.of(category);
     }
 
     /**
-     * Update already existing category by new object
+     * Update already existing category by new object if its row still has
+     * version of the object, a {@code null} version updates regardless of version.
+     * The row is locked first, so the version is resolved as products resolve it.
+     * Products of the category and its sub categories are refreshed
+     * in denormalized product view in the same transaction,
+     * so they get new category name and parent
      *
-     * @param category Object to replace older
+     * @param category Object to replace older, gets version of the updated row
+     * @throws OptimisticLockingFailureException if the category has another version
      */
     @Override
+    @Transactional
     public void update(Category category) {
 
         LOGGER.debug("update({})", category);
 
+        Category oldCategory = findCategoryForUpdate(category.getCategoryId());
+        if (oldCategory == null) {
+            throw new DaoRuntimeException("Failed to update category in DB");
+        }
+
+        int expectedVersion = expectedVersion(category, oldCategory.getVersion());
         MapSqlParameterSource namedParameters = getCategorySqlParametersSource(category);
         namedParameters.addValue(CategoryMapper.CATEGORY_ID, category.getCategoryId());
+        namedParameters.addValue(CategoryMapper.VERSION, expectedVersion);
+
+        if (!successfullyUpdate(namedParameterJdbcTemplate.update(updateCategorySql, namedParameters))) {
+            throw versionConflict(category);
+        }
+        category.setVersion(expectedVersion + 1);
+        tableVersions.changed(TableVersions.CATEGORY);
 
-        Optional.of(namedParameterJdbcTemplate.update(updateCategorySql, namedParameters))
-                .filter(this::successfullyUpdate)
-                .orElseThrow(() -> new DaoRuntimeException("Failed to update category in DB"))
-        ;
+        MapSqlParameterSource productViewParameters =
+                new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, category.getCategoryId());
+        namedParameterJdbcTemplate.update(deleteProductViewSql, productViewParameters);
+        namedParameterJdbcTemplate.update(insertProductViewSql, productViewParameters);
 
     }
 
@@ -290,6 +347,7 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
                     .filter(this::successfullyUpdate)
                     .orElseThrow(() -> new DaoRuntimeException("Failed to delete category"))
             ;
+            tableVersions.changed(TableVersions.CATEGORY);
         } catch (DataIntegrityViolationException ex) {
             throw new DaoRuntimeException("There ara some products in category", ex);
         }
@@ -309,10 +367,8 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
         LOGGER.debug("findAllPossibleParentsFromId({})", id);
 
         MapSqlParameterSource namedParameters = new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, id);
-        List<Category> categories = namedParameterJdbcTemplate
-                .query(getAllPossibleParentsForIdSql, namedParameters, categoryMapper);
-
-        return categories.stream();
+        return namedParameterJdbcTemplate
+                .queryForStream(getAllPossibleParentsForIdSql, namedParameters, categoryMapper);
     }
 
     /**
@@ -325,16 +381,44 @@ public class CategoryDaoJdbcImpl implements CategoryDao {
 
         LOGGER.debug("findAllPossibleParentsFromId()");
 
-        List<Category> categories = namedParameterJdbcTemplate
-                .query(getAllPossibleParentsSql, categoryMapper);
-
-        return categories.stream();
+        return namedParameterJdbcTemplate.queryForStream(getAllPossibleParentsSql, categoryMapper);
     }
 
     private boolean successfullyUpdate(Integer numRowsUpdated) {
         return numRowsUpdated > 0;
     }
 
+    /**
+     * Returns version the row of given category must have to be updated
+     *
+     * @param category       category to update
+     * @param currentVersion version of the row locked by current transaction
+     * @return version of the category if it is known, current version otherwise
+     */
+    private int expectedVersion(Category category, int currentVersion) {
+        return category.getVersion() == null ? currentVersion : category.getVersion();
+    }
+
+    private OptimisticLockingFailureException versionConflict(Category category) {
+        return new OptimisticLockingFailureException("Category with id = " + category.getCategoryId()
+                + " was changed since version " + category.getVersion());
+    }
+
+    /**
+     * Selects category with given id locking it till the end of transaction
+     *
+     * @param categoryId id of category to select
+     * @return category found, {@code null} if there is no such category
+     */
+    private Category findCategoryForUpdate(Integer categoryId) {
+
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, categoryId);
+        return namedParameterJdbcTemplate.query(getCategoryByIdForUpdateSql, namedParameters, categoryMapper)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
     private MapSqlParameterSource getCategorySqlParametersSource(Category category) {
 
         MapSqlParameterSource namedParameters = new MapSqlParameterSource();
@@ -0,0 +1,228 @@
+package com.epam.course.cp.dao;
+
+import com.epam.course.cp.dao.support.ColumnarCatalog;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@code ProductDao} reading products from {@code ColumnarCatalog}
+ *
+ * <p>
+ * Selected by {@code columnar} Spring profile. Reads never query data source
+ * once the catalogue is loaded. Writes go through to {@code ProductDaoJdbcImpl}
+ * and are applied to the catalogue after their transaction is committed.
+ * Until then reads of that transaction go to {@code ProductDaoJdbcImpl}.
+ * </p>
+ *
+ * @see ColumnarCatalog
+ * @see ProductDaoJdbcImpl
+ * @author Maksim Martsiusheu
+ */
+@Repository
+@Primary
+@Profile(ColumnarCatalog.PROFILE)
+public class ProductDaoColumnarImpl implements ProductDao {
+
+    /**
+     * Default logger for current class
+     */
+    private final static Logger LOGGER = LoggerFactory.getLogger(ProductDaoColumnarImpl.class);
+
+    /**
+     * Data access object writes go through to
+     */
+    private final ProductDao productDao;
+
+    /**
+     * In-memory catalogue products are read from
+     */
+    private final ColumnarCatalog columnarCatalog;
+
+    /**
+     * Construct productDaoColumnarImpl
+     *
+     * @param productDao      JDBC product data access object to write through
+     * @param columnarCatalog catalogue to read from
+     */
+    @Autowired
+    public ProductDaoColumnarImpl(@Qualifier("productDaoJdbcImpl") ProductDao productDao,
+                                  ColumnarCatalog columnarCatalog) {
+
+        this.productDao = productDao;
+        this.columnarCatalog = columnarCatalog;
+    }
+
+    /**
+     * Returns all products ordered by product id
+     *
+     * @return Product as {@code Stream}
+     */
+    @Override
+    public Stream<Product> findAll() {
+
+        LOGGER.debug("findAll()");
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return productDao.findAll().sorted(Comparator.comparing(Product::getProductId));
+        }
+        return columnarCatalog.findAllProducts().stream();
+    }
+
+    /**
+     * Returns product with defined id
+     *
+     * @param productId Id of element to find
+     * @return {@code Optional} describing product found
+     * @throws EmptyResultDataAccessException If there is no such product, as data source does
+     */
+    @Override
+    public Optional<Product> findById(Integer productId) {
+
+        LOGGER.debug("findById({})", productId);
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return productDao.findById(productId);
+        }
+        return Optional.of(columnarCatalog.findProductById(productId)
+                .orElseThrow(() -> new EmptyResultDataAccessException(1)));
+    }
+
+    /**
+     * Returns product Data Transfer Objects that fit given criteria
+     *
+     * @param criteria criteria to select and order product DTOs by
+     * @return Product DTOs as {@code Stream}
+     */
+    @Override
+    public Stream<ProductDTO> findProductDTOs(ProductCriteria criteria) {
+
+        LOGGER.debug("findProductDTOs({})", criteria);
+
+        if (columnarCatalog.hasUncommittedWrites()) {
+            return productDao.findProductDTOs(criteria);
+        }
+        return columnarCatalog.findProductDTOs(criteria).stream();
+    }
+
+    /**
+     * Save product to data source and to the catalogue
+     *
+     * @param product Product object to save in data source
+     * @return {@code Optional} describing saved product with generated id
+     */
+    @Override
+    public Optional<Product> add(Product product) {
+
+        LOGGER.debug("add({})", product);
+
+        Optional<Product> savedProduct = productDao.add(product);
+        savedProduct.ifPresent(saved -> columnarCatalog.addProducts(Collections.singletonList(saved)));
+
+        return savedProduct;
+    }
+
+    /**
+     * Update product in data source and in the catalogue
+     *
+     * @param product Object to replace older
+     */
+    @Override
+    public void update(Product product) {
+
+        LOGGER.debug("update({})", product);
+
+        productDao.update(product);
+        columnarCatalog.updateProducts(Collections.singletonList(product));
+    }
+
+    /**
+     * Adjusts product amount in data source and applies the new amount to the columns
+     *
+     * @param productId Product id to change amount of
+     * @param delta     signed change of product amount
+     * @return the product with new amount and version
+     */
+    @Override
+    public Product adjustAmount(Integer productId, Integer delta) {
+
+        LOGGER.debug("adjustAmount({}, {})", productId, delta);
+
+        Product product = productDao.adjustAmount(productId, delta);
+        if (delta != 0) {
+            columnarCatalog.setProductAmount(productId, product.getProductAmount(), product.getVersion());
+        }
+        return product;
+    }
+
+    /**
+     * Save all products to data source with a single batch and to the catalogue
+     *
+     * @param products Product objects to save in data source
+     * @return {@code List} of saved products with generated ids
+     */
+    @Override
+    public List<Product> addAll(Collection<Product> products) {
+
+        LOGGER.debug("addAll({} products)", products.size());
+
+        List<Product> savedProducts = productDao.addAll(products);
+        columnarCatalog.addProducts(savedProducts);
+
+        return savedProducts;
+    }
+
+    /**
+     * Update products in data source with a single batch and in the catalogue
+     *
+     * @param products Objects to replace older
+     * @return amount of rows updated for every product
+     */
+    @Override
+    public int[] updateAll(Collection<Product> products) {
+
+        LOGGER.debug("updateAll({} products)", products.size());
+
+        List<Product> updatedProducts = new ArrayList<>(products);
+        int[] rowsUpdated = productDao.updateAll(updatedProducts);
+
+        List<Product> changedProducts = new ArrayList<>(rowsUpdated.length);
+        for (int i = 0; i < rowsUpdated.length; i++) {
+            if (rowsUpdated[i] != 0) {
+                changedProducts.add(updatedProducts.get(i));
+            }
+        }
+        columnarCatalog.updateProducts(changedProducts);
+
+        return rowsUpdated;
+    }
+
+    /**
+     * Delete product from data source and from the catalogue
+     *
+     * @param productId Product id to delete
+     */
+    @Override
+    public void delete(Integer productId) {
+
+        LOGGER.debug("delete({})", productId);
+
+        productDao.delete(productId);
+        columnarCatalog.deleteProduct(productId);
+    }
+}
@@ -1,23 +1,36 @@
 package com.epam.course.cp.dao;
 
 import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.dao.exception.InsufficientAmountException;
 import com.epam.course.cp.dao.mapper.ProductDTOMapper;
 import com.epam.course.cp.dao.mapper.ProductMapper;
+import com.epam.course.cp.dao.support.ProductDTOQueryBuilder;
+import com.epam.course.cp.dao.support.StreamingNamedParameterJdbcTemplate;
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.ProductDTO;
 import com.epam.course.cp.model.Product;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -27,6 +40,7 @@ import java.util.stream.Stream;
  * @see Stream
  * @see Product
  * @see ProductDTO
+ * @see ProductDTOQueryBuilder
  * @author Maksim Martsiusheu
  */
 @Repository
@@ -40,7 +54,7 @@ public class ProductDaoJdbcImpl implements ProductDao {
     /**
      * Jdbc template to execute actions to data source
      */
-    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final StreamingNamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     /**
      * Category mapper to create java object from result set
@@ -53,40 +67,32 @@ public class ProductDaoJdbcImpl implements ProductDao {
     private final ProductDTOMapper productDTOMapper;
 
     /**
-     * Sql statement to select all products
-     */
-    @Value("${product.selectAll}")
-    private String getAllProductsSql;
-
-    /**
-     * Sql statement to select product by id
+     * Builder of sql statements selecting product DTOs by criteria
      */
-    @Value("${product.selectById}")
-    private String getProductByIdSql;
+    private final ProductDTOQueryBuilder productDTOQueryBuilder;
 
     /**
-     * Sql statement to select all products Data Transfer Objects(DTO)
+     * Change counters of tables, increased by every write
      */
-    @Value("${productDTO.selectAll}")
-    private String getAllProductDTOsSql;
+    private final TableVersions tableVersions;
 
     /**
-     * Sql statement to select all products Data Transfer Objects by category id
+     * Sql statement to select all products
      */
-    @Value("${productDTO.selectByCategoryId}")
-    private String getProductDTOsByCategorySql;
+    @Value("${product.selectAll}")
+    private String getAllProductsSql;
 
     /**
-     * Sql statement to select all products Data Transfer Objects(DTO) that fits date interval
+     * Sql statement to select product by id
      */
-    @Value("${productDTO.selectFromDateInterval}")
-    private String getProductDTOsFromDateIntervalSql;
+    @Value("${product.selectById}")
+    private String getProductByIdSql;
 
     /**
-     * Sql statement to select all products Data Transfer Objects(DTO) that fits date interval and category id
+     * Sql statement to select and lock products by ids
      */
-    @Value("${productDTO.selectByMixedFilter}")
-    private String getProductDTOsByMixedFilterSql;
+    @Value("${product.selectByIdsForUpdate}")
+    private String getProductsByIdsForUpdateSql;
 
     /**
      * Sql statement to save product in data source
@@ -100,6 +106,12 @@ public class ProductDaoJdbcImpl implements ProductDao {
     @Value("${product.update}")
     private String updateProductSql;
 
+    /**
+     * Sql statement to add a delta to product amount unless it becomes negative
+     */
+    @Value("${product.adjustAmount}")
+    private String adjustProductAmountSql;
+
     /**
      * Sql statement to remove product from data source
      */
@@ -107,14 +119,43 @@ public class ProductDaoJdbcImpl implements ProductDao {
     private String deleteProductSql;
 
     /**
-     * Begin date query parameter name
+     * Sql statement to change product totals of a category
+     */
+    @Value("${categoryTotals.addProductAmount}")
+    private String addCategoryProductAmountSql;
+
+    /**
+     * Sql statement to copy products with given ids to denormalized product view
+     */
+    @Value("${productView.insertByIds}")
+    private String insertProductViewSql;
+
+    /**
+     * Sql statement to add a delta to product amount in denormalized product view
+     */
+    @Value("${productView.adjustAmount}")
+    private String adjustProductViewAmountSql;
+
+    /**
+     * Sql statement to remove products with given ids from denormalized product view
+     */
+    @Value("${productView.deleteByIds}")
+    private String deleteProductViewSql;
+
+    /**
+     * Change of category product totals query parameter name
      */
-    private static final String DATE_INTERVAL_BEGIN = "date_begin";
+    private static final String CATEGORY_PRODUCT_AMOUNT = "product_amount";
 
     /**
-     * End date query parameter name
+     * Columns whose generated values are returned by inserts
      */
-    private static final String DATE_INTERVAL_END = "date_end";
+    private static final String[] GENERATED_KEY_COLUMNS = {ProductMapper.PRODUCT_ID};
+
+    /**
+     * Change of product amount query parameter name
+     */
+    private static final String AMOUNT_DELTA = "amount_delta";
 
     /**
      * Construct productDaoJdbcImpl
@@ -122,15 +163,21 @@ public class ProductDaoJdbcImpl implements ProductDao {
      * @param namedParameterJdbcTemplate jdbc template to inject
      * @param productMapper product mapper to inject
      * @param productDTOMapper product dto mapper to inject
+     * @param productDTOQueryBuilder product dto query builder to inject
+     * @param tableVersions table change counters to inject
      */
     @Autowired
-    public ProductDaoJdbcImpl(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+    public ProductDaoJdbcImpl(StreamingNamedParameterJdbcTemplate namedParameterJdbcTemplate,
                               ProductMapper productMapper,
-                              ProductDTOMapper productDTOMapper) {
+                              ProductDTOMapper productDTOMapper,
+                              ProductDTOQueryBuilder productDTOQueryBuilder,
+                              TableVersions tableVersions) {
 
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
         this.productMapper = productMapper;
         this.productDTOMapper = productDTOMapper;
+        this.productDTOQueryBuilder = productDTOQueryBuilder;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -143,8 +190,7 @@ public class ProductDaoJdbcImpl implements ProductDao {
 
         LOGGER.debug("findAll()");
 
-        List<Product> productList = namedParameterJdbcTemplate.query(getAllProductsSql, productMapper);
-        return productList.stream();
+        return namedParameterJdbcTemplate.queryForStream(getAllProductsSql, productMapper);
     }
 
     /**
@@ -165,135 +211,348 @@ public class ProductDaoJdbcImpl implements ProductDao {
     }
 
     /**
-     * Returns all products Data Transfer Objects(DTO)
+     * Returns product Data Transfer Objects that fit given criteria.
+     * Product DTOs are read from denormalized product view without joining categories
      *
+     * @param criteria criteria to select and order product DTOs by
      * @return Product DTOs as {@code Stream}
      */
     @Override
-    public Stream<ProductDTO> findAllProductDTOs() {
+    public Stream<ProductDTO> findProductDTOs(ProductCriteria criteria) {
 
-        LOGGER.debug("findAllProductsDTOs()");
+        LOGGER.debug("findProductDTOs({})", criteria);
 
-        List<ProductDTO> productDTOList = namedParameterJdbcTemplate.query(getAllProductDTOsSql, productDTOMapper);
-        return productDTOList.stream();
+        return namedParameterJdbcTemplate.queryForStream(productDTOQueryBuilder.buildSql(criteria),
+                productDTOQueryBuilder.buildParameters(criteria), productDTOMapper);
     }
 
     /**
-     * Returns product Data Transfer Object by defined category id
+     * Save product to data source, add its amount to product totals
+     * of its category and copy it to denormalized product view
      *
-     * @param categoryId Category id to find product DTOs by
-     * @return Product DTOs as {@code Stream}
+     * @param product Product object to save in data source
+     * @return {@code Optional} describing saved product with generated id
      */
     @Override
-    public Stream<ProductDTO> findProductDTOsByCategoryId(Integer categoryId) {
+    @Transactional
+    public Optional<Product> add(Product product) {
+
+        LOGGER.debug("add({})", product);
+
+        MapSqlParameterSource namedParameters = getProductSqlParametersSource(product);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedParameterJdbcTemplate.update(insertProductSql, namedParameters, keyHolder, GENERATED_KEY_COLUMNS);
 
-        LOGGER.debug("findProductDTOsByCategory({})", categoryId);
+        product.setProductId(keyHolder.getKey().intValue());
+        product.setVersion(0);
+        tableVersions.changed(TableVersions.PRODUCT);
 
-        MapSqlParameterSource namedParameters = new MapSqlParameterSource(ProductDTOMapper.PRODUCT_DTO_CATEGORY_ID, categoryId);
-        List<ProductDTO> productDTOList = namedParameterJdbcTemplate.query(getProductDTOsByCategorySql, namedParameters, productDTOMapper);
+        Map<Integer, Integer> amountChanges = new TreeMap<>();
+        addAmount(amountChanges, product);
+        changeCategoryTotals(amountChanges);
+        refreshProductView(Collections.singleton(product.getProductId()));
 
-        return productDTOList.stream();
+        return Optional.of(product);
     }
 
     /**
-     * Returns all product Data Transfer Objects that fits date interval
+     * Update already existing product if its row still has version of the object,
+     * a {@code null} version updates regardless of version. Product amount is moved
+     * between product totals of the categories and the product is refreshed
+     * in denormalized product view
      *
-     * @param dateBegin Date describing beginning of date interval
-     * @param dateEnd Date describing ending of date interval
-     * @return Product DTOs as {@code Stream}
+     * @param product Object to replace older, gets version of the updated row
+     * @throws OptimisticLockingFailureException if the product has another version
      */
     @Override
-    public Stream<ProductDTO> findProductDTOsFromDateInterval(LocalDate dateBegin, LocalDate dateEnd) {
-
-        LOGGER.debug("findProductDTOsFromDateInterval({}, {})", dateBegin, dateEnd);
+    @Transactional
+    public void update(Product product) {
 
-        MapSqlParameterSource namedParameters = new MapSqlParameterSource();
-        namedParameters.addValue(DATE_INTERVAL_BEGIN, dateBegin);
-        namedParameters.addValue(DATE_INTERVAL_END, dateEnd);
+        LOGGER.debug("update({})", product);
 
-        List<ProductDTO> productDTOList = namedParameterJdbcTemplate.query(getProductDTOsFromDateIntervalSql, namedParameters, productDTOMapper);
+        Product oldProduct = findProductsForUpdate(Collections.singleton(product.getProductId()))
+                .get(product.getProductId());
+        if (oldProduct == null) {
+            throw new DaoRuntimeException("Failed to update product in DB");
+        }
 
-        return productDTOList.stream();
+        int expectedVersion = expectedVersion(product, oldProduct.getVersion());
+        MapSqlParameterSource namedParameters = getProductSqlParametersSource(product);
+        namedParameters.addValue(ProductMapper.PRODUCT_ID, product.getProductId());
+        namedParameters.addValue(ProductMapper.VERSION, expectedVersion);
+
+        if (!successfullyUpdate(namedParameterJdbcTemplate.update(updateProductSql, namedParameters))) {
+            throw versionConflict(product);
+        }
+        product.setVersion(expectedVersion + 1);
+        tableVersions.changed(TableVersions.PRODUCT);
+
+        Map<Integer, Integer> amountChanges = new TreeMap<>();
+        subtractAmount(amountChanges, oldProduct);
+        addAmount(amountChanges, product);
+        changeCategoryTotals(amountChanges);
+        refreshProductView(Collections.singleton(product.getProductId()));
     }
 
     /**
-     * Returns all product Data Transfer Objects that fits date interval and caregory id
+     * Add signed delta to product amount with a single guarded update,
+     * so the product row is locked only while the change is made and no
+     * concurrent change is lost. Delta is added to product totals of the
+     * category and to denormalized product view the same way. Zero delta
+     * changes nothing, so the product is only read and keeps its version
      *
-     * @param dateBegin Date describing beginning of date interval
-     * @param dateEnd Date describing ending of date interval
-     * @param categoryId Category id to select product DTOs by
-     * @return Product DTOs as {@code Stream}
+     * @param productId Product id to change amount of
+     * @param delta     signed change of product amount
+     * @return the product with new amount and version
      */
     @Override
-    public Stream<ProductDTO> findProductDTOsByMixedFilter(LocalDate dateBegin, LocalDate dateEnd, Integer categoryId) {
+    @Transactional
+    public Product adjustAmount(Integer productId, Integer delta) {
 
-        LOGGER.debug("findProductDTOsByMixedFilter({}, {}, {})", dateBegin, dateEnd, categoryId);
-        MapSqlParameterSource namedParameters = new MapSqlParameterSource();
-        namedParameters.addValue(DATE_INTERVAL_BEGIN, dateBegin);
-        namedParameters.addValue(DATE_INTERVAL_END, dateEnd);
-        namedParameters.addValue(ProductDTOMapper.PRODUCT_DTO_CATEGORY_ID, categoryId);
+        LOGGER.debug("adjustAmount({}, {})", productId, delta);
+
+        if (delta == 0) {
+            return findById(productId).orElseThrow(() -> new EmptyResultDataAccessException(1));
+        }
+
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource(ProductMapper.PRODUCT_ID, productId)
+                .addValue(AMOUNT_DELTA, delta);
 
-        List<ProductDTO> productDTOList = namedParameterJdbcTemplate.query(getProductDTOsByMixedFilterSql, namedParameters, productDTOMapper);
-        return productDTOList.stream();
+        int rowsUpdated = namedParameterJdbcTemplate.update(adjustProductAmountSql, namedParameters);
 
+        Product product = findById(productId)
+                .orElseThrow(() -> new EmptyResultDataAccessException(1));
+        if (!successfullyUpdate(rowsUpdated)) {
+            throw new InsufficientAmountException("Not enough amount of product with id = " + productId);
+        }
+
+        tableVersions.changed(TableVersions.PRODUCT);
+        changeCategoryTotals(Collections.singletonMap(product.getCategoryId(), delta));
+        namedParameterJdbcTemplate.update(adjustProductViewAmountSql, namedParameters);
+
+        return product;
     }
 
     /**
-     * Save product to data source
+     * Save all products to data source with a single batch, add their amounts
+     * to product totals of their categories and copy them to denormalized product view
      *
-     * @param product Product object to save in data source
-     * @return {@code Optional} describing saved product with generated id
+     * @param products Product objects to save in data source
+     * @return {@code List} of saved products with generated ids
      */
     @Override
-    public Optional<Product> add(Product product) {
+    @Transactional
+    public List<Product> addAll(Collection<Product> products) {
 
-        LOGGER.debug("add({})", product);
+        LOGGER.debug("addAll({} products)", products.size());
 
-        MapSqlParameterSource namedParameters = getProductSqlParametersSource(product);
+        List<Product> savedProducts = new ArrayList<>(products);
+        SqlParameterSource[] batchArgs = savedProducts.stream()
+                .map(this::getProductSqlParametersSource)
+                .toArray(SqlParameterSource[]::new);
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        namedParameterJdbcTemplate.update(insertProductSql, namedParameters, keyHolder);
+        namedParameterJdbcTemplate.batchUpdate(insertProductSql, batchArgs, keyHolder, GENERATED_KEY_COLUMNS);
 
-        product.setProductId(keyHolder.getKey().intValue());
-        return Optional.of(product);
+        List<Map<String, Object>> keys = Optional.of(keyHolder.getKeyList())
+                .filter(keyList -> keyList.size() == savedProducts.size())
+                .orElseThrow(() -> new DaoRuntimeException("Failed to get generated ids of added products"));
+
+        tableVersions.changed(TableVersions.PRODUCT);
+
+        Map<Integer, Integer> amountChanges = new TreeMap<>();
+        for (int i = 0; i < savedProducts.size(); i++) {
+            Number key = (Number) keys.get(i).values().iterator().next();
+            savedProducts.get(i).setProductId(key.intValue());
+            savedProducts.get(i).setVersion(0);
+            addAmount(amountChanges, savedProducts.get(i));
+        }
+        changeCategoryTotals(amountChanges);
+        refreshProductView(savedProducts.stream().map(Product::getProductId).collect(Collectors.toList()));
+
+        return savedProducts;
     }
 
     /**
-     * Update already existing product
+     * Update already existing products with a single batch if their rows still have
+     * versions of the objects, {@code null} versions update regardless of version.
+     * Product amounts are moved between product totals of the categories and
+     * the products are refreshed in denormalized product view
      *
-     * @param product Object to replace older
+     * @param products Objects to replace older, updated ones get versions of their rows
+     * @return amount of rows updated for every product
+     * @throws OptimisticLockingFailureException if any product has another version
      */
     @Override
-    public void update(Product product) {
-
-        LOGGER.debug("update({})", product);
-
-        MapSqlParameterSource namedParameters = getProductSqlParametersSource(product);
-        namedParameters.addValue(ProductMapper.PRODUCT_ID, product.getProductId());
-
-        Optional.of(namedParameterJdbcTemplate.update(updateProductSql, namedParameters))
-                .filter(this::successfullyUpdate)
-                .orElseThrow(() -> new DaoRuntimeException("Failed to update product in DB"));
+    @Transactional
+    public int[] updateAll(Collection<Product> products) {
+
+        LOGGER.debug("updateAll({} products)", products.size());
+
+        List<Product> updatedProducts = new ArrayList<>(products);
+        Map<Integer, Product> currentProducts = findProductsForUpdate(updatedProducts.stream()
+                .map(Product::getProductId)
+                .collect(Collectors.toSet()));
+
+        Map<Integer, Integer> versions = new HashMap<>();
+        currentProducts.forEach((productId, product) -> versions.put(productId, product.getVersion()));
+        int[] expectedVersions = new int[updatedProducts.size()];
+
+        SqlParameterSource[] batchArgs = new SqlParameterSource[updatedProducts.size()];
+        for (int i = 0; i < batchArgs.length; i++) {
+            Product product = updatedProducts.get(i);
+            Integer currentVersion = versions.get(product.getProductId());
+            if (currentVersion != null) {
+                expectedVersions[i] = expectedVersion(product, currentVersion);
+                versions.put(product.getProductId(), expectedVersions[i] + 1);
+            }
+            batchArgs[i] = getProductSqlParametersSource(product)
+                    .addValue(ProductMapper.PRODUCT_ID, product.getProductId())
+                    .addValue(ProductMapper.VERSION, expectedVersions[i]);
+        }
+
+        int[] rowsUpdated = namedParameterJdbcTemplate.batchUpdate(updateProductSql, batchArgs);
+        tableVersions.changed(TableVersions.PRODUCT);
+
+        Map<Integer, Integer> amountChanges = new TreeMap<>();
+        for (int i = 0; i < rowsUpdated.length; i++) {
+            Product product = updatedProducts.get(i);
+            if (!currentProducts.containsKey(product.getProductId())) {
+                continue;
+            }
+            if (rowsUpdated[i] == 0) {
+                throw versionConflict(product);
+            }
+            product.setVersion(expectedVersions[i] + 1);
+            subtractAmount(amountChanges, currentProducts.put(product.getProductId(), product));
+            addAmount(amountChanges, product);
+        }
+        changeCategoryTotals(amountChanges);
+        refreshProductView(currentProducts.keySet());
+
+        return rowsUpdated;
     }
 
     /**
-     * Delete product from data source by product id
+     * Delete product from data source by product id, subtract its amount
+     * from product totals of its category and remove it from denormalized product view
+     *
      * @param productId Product id to delete
      */
     @Override
+    @Transactional
     public void delete(Integer productId) {
 
+        Map<Integer, Product> oldProducts = findProductsForUpdate(Collections.singleton(productId));
+
         MapSqlParameterSource namedParameters = new MapSqlParameterSource(ProductMapper.PRODUCT_ID, productId);
 
         Optional.of(namedParameterJdbcTemplate.update(deleteProductSql, namedParameters))
                 .filter(this::successfullyUpdate)
                 .orElseThrow(() -> new DaoRuntimeException("Failed to delete product in DB"));
+        tableVersions.changed(TableVersions.PRODUCT);
+
+        Map<Integer, Integer> amountChanges = new TreeMap<>();
+        subtractAmount(amountChanges, oldProducts.get(productId));
+        changeCategoryTotals(amountChanges);
+
+        namedParameterJdbcTemplate.update(deleteProductViewSql, namedParameters);
     }
 
     private boolean successfullyUpdate(Integer numRowsUpdated) {
         return numRowsUpdated > 0;
     }
 
+    /**
+     * Returns version the row of given product must have to be updated
+     *
+     * @param product        product to update
+     * @param currentVersion version of the row locked by current transaction
+     * @return version of the product if it is known, current version otherwise
+     */
+    private int expectedVersion(Product product, int currentVersion) {
+        return product.getVersion() == null ? currentVersion : product.getVersion();
+    }
+
+    private OptimisticLockingFailureException versionConflict(Product product) {
+        return new OptimisticLockingFailureException("Product with id = " + product.getProductId()
+                + " was changed since version " + product.getVersion());
+    }
+
+    /**
+     * Selects products with given ids locking them till the end of transaction,
+     * so their amounts can not change before category totals are updated
+     *
+     * @param productIds ids of products to select
+     * @return products found by product id
+     */
+    private Map<Integer, Product> findProductsForUpdate(Collection<Integer> productIds) {
+
+        Map<Integer, Product> products = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return products;
+        }
+
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource(ProductMapper.PRODUCT_ID, productIds);
+        namedParameterJdbcTemplate.query(getProductsByIdsForUpdateSql, namedParameters, productMapper)
+                .forEach(product -> products.put(product.getProductId(), product));
+
+        return products;
+    }
+
+    private void addAmount(Map<Integer, Integer> amountChanges, Product product) {
+        amountChanges.merge(product.getCategoryId(), product.getProductAmount(), Integer::sum);
+    }
+
+    private void subtractAmount(Map<Integer, Integer> amountChanges, Product product) {
+        if (product != null) {
+            amountChanges.merge(product.getCategoryId(), -product.getProductAmount(), Integer::sum);
+        }
+    }
+
+    /**
+     * Applies changes of product amounts to category totals.
+     * Categories are changed in id order to keep lock order the same for every transaction
+     *
+     * @param amountChanges changes of product amount by category id
+     */
+    private void changeCategoryTotals(Map<Integer, Integer> amountChanges) {
+
+        SqlParameterSource[] batchArgs = amountChanges.entrySet().stream()
+                .filter(change -> change.getValue() != 0)
+                .map(change -> new MapSqlParameterSource()
+                        .addValue(ProductMapper.PRODUCT_CATEGORY_ID, change.getKey())
+                        .addValue(CATEGORY_PRODUCT_AMOUNT, change.getValue()))
+                .toArray(SqlParameterSource[]::new);
+
+        if (batchArgs.length == 0) {
+            return;
+        }
+
+        for (int rowsUpdated : namedParameterJdbcTemplate.batchUpdate(addCategoryProductAmountSql, batchArgs)) {
+            if (rowsUpdated == 0) {
+                throw new DaoRuntimeException("Failed to update product totals of category in DB");
+            }
+        }
+    }
+
+    /**
+     * Replaces rows of denormalized product view with current state of given products
+     *
+     * @param productIds ids of products to refresh
+     */
+    private void refreshProductView(Collection<Integer> productIds) {
+
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource(ProductMapper.PRODUCT_ID, productIds);
+        namedParameterJdbcTemplate.update(deleteProductViewSql, namedParameters);
+        namedParameterJdbcTemplate.update(insertProductViewSql, namedParameters);
+    }
+
     private MapSqlParameterSource getProductSqlParametersSource(Product product) {
 
         MapSqlParameterSource namedParameters = new MapSqlParameterSource();
@@ -32,6 +32,11 @@ public class CategoryMapper implements RowMapper<Category> {
      */
     public static final String CATEGORY_PARENT_ID = "parent_id";
 
+    /**
+     * Category row version query parameter name
+     */
+    public static final String VERSION = "version";
+
     @Override
     public Category mapRow(ResultSet resultSet, int i) throws SQLException {
 
@@ -40,6 +45,7 @@ public class CategoryMapper implements RowMapper<Category> {
         category.setCategoryId(resultSet.getInt(CATEGORY_ID));
         category.setCategoryName(resultSet.getString(CATEGORY_NAME));
         category.setParentId(resultSet.getInt(CATEGORY_PARENT_ID));
+        category.setVersion(resultSet.getInt(VERSION));
 
         return category;
 
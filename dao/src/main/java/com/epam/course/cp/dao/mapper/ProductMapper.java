@@ -42,6 +42,11 @@ public class ProductMapper implements RowMapper<Product> {
      */
     public static final String PRODUCT_CATEGORY_ID = "category_id";
 
+    /**
+     * Product row version query parameter name
+     */
+    public static final String VERSION = "version";
+
     /**
      * Map values from sql result set to product object
      *
@@ -60,6 +65,7 @@ public class ProductMapper implements RowMapper<Product> {
         product.setProductAmount(resultSet.getInt(PRODUCT_AMOUNT));
         product.setDateAdded(resultSet.getDate(DATE_ADDED).toLocalDate());
         product.setCategoryId(resultSet.getInt(PRODUCT_CATEGORY_ID));
+        product.setVersion(resultSet.getInt(VERSION));
 
         return product;
     }
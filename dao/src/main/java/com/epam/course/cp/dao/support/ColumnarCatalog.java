@@ -0,0 +1,803 @@
+package com.epam.course.cp.dao.support;
+
+import com.epam.course.cp.dao.CategoryDao;
+import com.epam.course.cp.dao.ProductCriteria;
+import com.epam.course.cp.dao.ProductDao;
+import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the catalogue kept in primitive column arrays
+ *
+ * <p>
+ * Every product is a row of {@code int} columns: id, amount, date added as
+ * epoch day, category id, top level category id and row version. Product names are
+ * dictionary encoded, so a row holds an {@code int} code of its name.
+ * Rows are ordered by product id, so pages and lookups by id are found by
+ * binary search, and filters are plain scans over the columns. Categories
+ * are kept the same way. Category totals and product DTOs are computed from
+ * the columns as {@code category_totals} and {@code product_view} tables hold them.
+ * </p>
+ *
+ * <p>
+ * The catalogue is loaded from JDBC data access objects on first use.
+ * Writes are made by the caller to data source first and then applied
+ * to the columns under a single writer lock, readers share a read lock.
+ * Changes made within a transaction are kept aside and applied only after
+ * it is committed, so other threads never see uncommitted rows. Until then
+ * {@link #hasUncommittedWrites()} tells data access objects to serve reads
+ * of that transaction from data source, so it reads its own writes. Changes
+ * of a rolled back transaction are dropped. A change older than the row
+ * it applies to is skipped, so transactions completed out of order or a
+ * load made between commit and apply never bring back an older row. Names
+ * no longer used stay in the dictionary until the catalogue is loaded again.
+ * </p>
+ *
+ * @see ProductDao
+ * @see CategoryDao
+ * @author Maksim Martsiusheu
+ */
+@Component
+@Profile(ColumnarCatalog.PROFILE)
+public class ColumnarCatalog {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarCatalog.class);
+
+    /**
+     * Spring profile that selects columnar storage
+     */
+    public static final String PROFILE = "columnar";
+
+    /**
+     * Parent id of top level categories
+     */
+    private static final int NO_PARENT = 0;
+
+    /**
+     * Initial capacity of column arrays
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Source of products to load
+     */
+    private final ProductDao productDao;
+
+    /**
+     * Source of categories to load
+     */
+    private final CategoryDao categoryDao;
+
+    /**
+     * Single writer lock guarding all columns
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Whether columns hold loaded catalogue
+     */
+    private boolean loaded;
+
+    /**
+     * Amount of product rows
+     */
+    private int productCount;
+
+    private int[] productIds;
+
+    private int[] amounts;
+
+    private int[] epochDays;
+
+    private int[] categoryIds;
+
+    /**
+     * Top level category id of every product row, {@code 0} for products of top level categories
+     */
+    private int[] parentIds;
+
+    /**
+     * Code of product name in {@code names} dictionary
+     */
+    private int[] nameCodes;
+
+    private int[] versions;
+
+    /**
+     * Product names by code
+     */
+    private List<String> names;
+
+    /**
+     * Codes by product name
+     */
+    private Map<String, Integer> codesByName;
+
+    /**
+     * Amount of category rows
+     */
+    private int categoryCount;
+
+    private int[] categoryRowIds;
+
+    private int[] categoryParentIds;
+
+    private String[] categoryNames;
+
+    private int[] categoryVersions;
+
+    /**
+     * Constructs catalogue loaded from given data access objects
+     *
+     * @param productDao  JDBC product data access object
+     * @param categoryDao JDBC category data access object
+     */
+    @Autowired
+    public ColumnarCatalog(@Qualifier("productDaoJdbcImpl") ProductDao productDao,
+                           @Qualifier("categoryDaoJdbcImpl") CategoryDao categoryDao) {
+        this.productDao = productDao;
+        this.categoryDao = categoryDao;
+    }
+
+    /**
+     * Returns all products ordered by product id
+     *
+     * @return {@code List} of products
+     */
+    public List<Product> findAllProducts() {
+
+        return read(() -> {
+            List<Product> products = new ArrayList<>(productCount);
+            for (int row = 0; row < productCount; row++) {
+                products.add(toProduct(row));
+            }
+            return products;
+        });
+    }
+
+    /**
+     * Returns product with given id
+     *
+     * @param productId product id
+     * @return {@code Optional} describing product found
+     */
+    public Optional<Product> findProductById(Integer productId) {
+
+        return read(() -> {
+            int row = Arrays.binarySearch(productIds, 0, productCount, productId);
+            return row < 0 ? Optional.empty() : Optional.of(toProduct(row));
+        });
+    }
+
+    /**
+     * Returns product DTOs that fit given criteria in order and amount
+     * the criteria requests. Products of top level categories have no DTOs
+     *
+     * @param criteria criteria to select and order product DTOs by
+     * @return {@code List} of product DTOs
+     */
+    public List<ProductDTO> findProductDTOs(ProductCriteria criteria) {
+
+        return read(() -> {
+            int[] rows = scan(criteria);
+            List<ProductDTO> productDTOs = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                productDTOs.add(toProductDTO(row));
+            }
+            return productDTOs;
+        });
+    }
+
+    /**
+     * Returns categories accepted by given predicate ordered by category id
+     *
+     * @param predicate predicate to select categories by
+     * @return {@code List} of categories
+     */
+    public List<Category> findCategories(Predicate<Category> predicate) {
+
+        return read(() -> {
+            List<Category> categories = new ArrayList<>();
+            for (int row = 0; row < categoryCount; row++) {
+                Category category = toCategory(row);
+                if (predicate.test(category)) {
+                    categories.add(category);
+                }
+            }
+            return categories;
+        });
+    }
+
+    /**
+     * Returns DTOs of categories accepted by given predicate ordered by category id.
+     * Products amount of a top level category is the sum of its sub categories
+     * amounts, products of the top level category itself are not counted
+     *
+     * @param predicate predicate to select categories by
+     * @return {@code List} of category DTOs
+     */
+    public List<CategoryDTO> findCategoryDTOs(Predicate<Category> predicate) {
+
+        return read(() -> {
+            List<CategoryDTO> categoryDTOs = new ArrayList<>();
+            for (int row = 0; row < categoryCount; row++) {
+                Category category = toCategory(row);
+                if (predicate.test(category)) {
+                    categoryDTOs.add(toCategoryDTO(category));
+                }
+            }
+            return categoryDTOs;
+        });
+    }
+
+    /**
+     * Tells whether current transaction changed the catalogue and is not committed yet
+     *
+     * @return {@code true} if columns do not hold changes of current transaction
+     */
+    public boolean hasUncommittedWrites() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    /**
+     * Applies products just added to data source
+     *
+     * @param products products with generated ids
+     */
+    public void addProducts(Collection<Product> products) {
+        write(() -> products.forEach(product -> putProduct(product, toEpochDay(product.getDateAdded()))));
+    }
+
+    /**
+     * Applies products just updated in data source unless rows hold newer versions.
+     * Update does not change date added, so the known one is kept
+     *
+     * @param products updated products
+     */
+    public void updateProducts(Collection<Product> products) {
+
+        write(() -> {
+            for (Product product : products) {
+                int row = Arrays.binarySearch(productIds, 0, productCount, product.getProductId());
+                if (row < 0 || product.getVersion() == null) {
+                    unload();
+                    return;
+                }
+                putProduct(product, epochDays[row]);
+            }
+        });
+    }
+
+    /**
+     * Applies amount and version of product just adjusted in data source
+     * unless its row holds a newer version
+     *
+     * @param productId id of adjusted product
+     * @param amount    new amount of the product
+     * @param version   new version of the product
+     */
+    public void setProductAmount(Integer productId, int amount, int version) {
+
+        write(() -> {
+            int row = Arrays.binarySearch(productIds, 0, productCount, productId);
+            if (row < 0) {
+                unload();
+                return;
+            }
+            if (version < versions[row]) {
+                LOGGER.debug("setProductAmount({}) skipped: version {} is older than {}",
+                        productId, version, versions[row]);
+                return;
+            }
+            amounts[row] = amount;
+            versions[row] = version;
+        });
+    }
+
+    /**
+     * Applies product just deleted from data source
+     *
+     * @param productId id of deleted product
+     */
+    public void deleteProduct(Integer productId) {
+
+        write(() -> {
+            int row = Arrays.binarySearch(productIds, 0, productCount, productId);
+            if (row >= 0) {
+                removeRow(row);
+            }
+        });
+    }
+
+    /**
+     * Applies category just added to or updated in data source
+     * and moves its products under its new parent, unless its row
+     * holds a newer version
+     *
+     * @param category added or updated category
+     */
+    public void putCategory(Category category) {
+
+        write(() -> {
+            int categoryId = category.getCategoryId();
+            int parentId = category.getParentId() == null ? NO_PARENT : category.getParentId();
+
+            int row = Arrays.binarySearch(categoryRowIds, 0, categoryCount, categoryId);
+            if (row >= 0 && category.getVersion() < categoryVersions[row]) {
+                LOGGER.debug("putCategory({}) skipped: version {} is older than {}",
+                        categoryId, category.getVersion(), categoryVersions[row]);
+                return;
+            }
+            if (row < 0) {
+                row = -row - 1;
+                ensureCategoryCapacity(categoryCount + 1);
+                System.arraycopy(categoryRowIds, row, categoryRowIds, row + 1, categoryCount - row);
+                System.arraycopy(categoryParentIds, row, categoryParentIds, row + 1, categoryCount - row);
+                System.arraycopy(categoryNames, row, categoryNames, row + 1, categoryCount - row);
+                System.arraycopy(categoryVersions, row, categoryVersions, row + 1, categoryCount - row);
+                categoryCount++;
+            }
+            categoryRowIds[row] = categoryId;
+            categoryParentIds[row] = parentId;
+            categoryNames[row] = category.getCategoryName();
+            categoryVersions[row] = category.getVersion();
+
+            for (int productRow = 0; productRow < productCount; productRow++) {
+                if (categoryIds[productRow] == categoryId) {
+                    parentIds[productRow] = parentId;
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies category just deleted from data source
+     *
+     * @param categoryId id of deleted category
+     */
+    public void deleteCategory(Integer categoryId) {
+
+        write(() -> {
+            int row = Arrays.binarySearch(categoryRowIds, 0, categoryCount, categoryId);
+            if (row >= 0) {
+                System.arraycopy(categoryRowIds, row + 1, categoryRowIds, row, categoryCount - row - 1);
+                System.arraycopy(categoryParentIds, row + 1, categoryParentIds, row, categoryCount - row - 1);
+                System.arraycopy(categoryNames, row + 1, categoryNames, row, categoryCount - row - 1);
+                System.arraycopy(categoryVersions, row + 1, categoryVersions, row, categoryCount - row - 1);
+                categoryNames[--categoryCount] = null;
+            }
+        });
+    }
+
+    /**
+     * Drops the columns, so the catalogue is loaded again on next use
+     */
+    public void invalidate() {
+
+        lock.writeLock().lock();
+        try {
+            unload();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns rows of product DTOs fitting given criteria in requested order
+     */
+    private int[] scan(ProductCriteria criteria) {
+
+        boolean anyParent = criteria.getCategoryId() == null;
+        int parentId = anyParent ? NO_PARENT : criteria.getCategoryId();
+        int dateBegin = criteria.getDateBegin() == null ? Integer.MIN_VALUE : toEpochDay(criteria.getDateBegin());
+        int dateEnd = criteria.getDateEnd() == null ? Integer.MAX_VALUE : toEpochDay(criteria.getDateEnd());
+        int minAmount = criteria.getMinAmount() == null ? Integer.MIN_VALUE : criteria.getMinAmount();
+        int maxAmount = criteria.getMaxAmount() == null ? Integer.MAX_VALUE : criteria.getMaxAmount();
+        boolean[] acceptedNames = acceptNames(criteria.getNamePrefix());
+
+        int from = criteria.getAfterProductId() == null
+                ? 0
+                : firstRowAfter(criteria.getAfterProductId());
+        boolean byProductId = criteria.getSort() == ProductCriteria.Sort.PRODUCT_ID;
+        int limit = criteria.getLimit() == null ? Integer.MAX_VALUE : criteria.getLimit();
+        int maxFound = byProductId ? limit : Integer.MAX_VALUE;
+
+        int[] found = new int[Math.max(Math.min(productCount - from, maxFound), 0)];
+        int foundCount = 0;
+        for (int row = from; row < productCount && foundCount < maxFound; row++) {
+            if (parentIds[row] != NO_PARENT
+                    && (anyParent || parentIds[row] == parentId)
+                    && epochDays[row] >= dateBegin && epochDays[row] <= dateEnd
+                    && amounts[row] >= minAmount && amounts[row] <= maxAmount
+                    && (acceptedNames == null || acceptedNames[nameCodes[row]])) {
+                found[foundCount++] = row;
+            }
+        }
+
+        if (!byProductId) {
+            sort(found, foundCount, criteria.getSort());
+        }
+        return Arrays.copyOf(found, Math.min(foundCount, limit));
+    }
+
+    /**
+     * Returns codes of names starting with given prefix,
+     * {@code null} if every name is accepted
+     */
+    private boolean[] acceptNames(String namePrefix) {
+
+        if (namePrefix == null) {
+            return null;
+        }
+
+        boolean[] accepted = new boolean[names.size()];
+        for (int code = 0; code < accepted.length; code++) {
+            accepted[code] = names.get(code).startsWith(namePrefix);
+        }
+        return accepted;
+    }
+
+    private void sort(int[] rows, int count, ProductCriteria.Sort sort) {
+
+        if (sort == ProductCriteria.Sort.DATE_ADDED) {
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = ((long) epochDays[rows[i]] << 32) | rows[i];
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < count; i++) {
+                rows[i] = (int) keys[i];
+            }
+            return;
+        }
+
+        Integer[] boxedRows = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            boxedRows[i] = rows[i];
+        }
+        Arrays.sort(boxedRows, Comparator.comparing((Integer row) -> names.get(nameCodes[row]))
+                .thenComparingInt(row -> row));
+        for (int i = 0; i < count; i++) {
+            rows[i] = boxedRows[i];
+        }
+    }
+
+    private int firstRowAfter(int productId) {
+
+        int row = Arrays.binarySearch(productIds, 0, productCount, productId);
+        return row < 0 ? -row - 1 : row + 1;
+    }
+
+    private <T> T read(Supplier<T> reader) {
+
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (loaded) {
+                    return reader.get();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies given change to loaded columns once current transaction
+     * is committed, or at once if there is no transaction. Changes of a
+     * transaction are applied in order they are made. Changes of a rolled
+     * back transaction are dropped, columns are dropped if outcome of the
+     * transaction is unknown
+     */
+    @SuppressWarnings("unchecked")
+    private void write(Runnable change) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyLoaded(Collections.singletonList(change));
+            return;
+        }
+
+        List<Runnable> changes = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new UncommittedWrites(changes));
+        }
+        changes.add(change);
+    }
+
+    private void applyLoaded(List<Runnable> changes) {
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                changes.forEach(Runnable::run);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+
+        productCount = 0;
+        productIds = new int[INITIAL_CAPACITY];
+        amounts = new int[INITIAL_CAPACITY];
+        epochDays = new int[INITIAL_CAPACITY];
+        categoryIds = new int[INITIAL_CAPACITY];
+        parentIds = new int[INITIAL_CAPACITY];
+        nameCodes = new int[INITIAL_CAPACITY];
+        versions = new int[INITIAL_CAPACITY];
+        names = new ArrayList<>();
+        codesByName = new HashMap<>();
+
+        categoryCount = 0;
+        categoryRowIds = new int[INITIAL_CAPACITY];
+        categoryParentIds = new int[INITIAL_CAPACITY];
+        categoryNames = new String[INITIAL_CAPACITY];
+        categoryVersions = new int[INITIAL_CAPACITY];
+
+        loaded = true;
+        try (Stream<Category> categories = categoryDao.findAll();
+             Stream<Product> products = productDao.findAll()) {
+            categories.sorted(Comparator.comparing(Category::getCategoryId)).forEach(this::appendCategory);
+            products.forEach(product -> putProduct(product, toEpochDay(product.getDateAdded())));
+        } catch (RuntimeException ex) {
+            unload();
+            throw ex;
+        }
+
+        LOGGER.debug("load(): {} products, {} categories, {} names", productCount, categoryCount, names.size());
+    }
+
+    private void unload() {
+
+        if (loaded) {
+            LOGGER.debug("unload()");
+        }
+        loaded = false;
+        productIds = amounts = epochDays = categoryIds = parentIds = nameCodes = versions = null;
+        names = null;
+        codesByName = null;
+        categoryRowIds = categoryParentIds = categoryVersions = null;
+        categoryNames = null;
+    }
+
+    private void appendCategory(Category category) {
+
+        ensureCategoryCapacity(categoryCount + 1);
+        categoryRowIds[categoryCount] = category.getCategoryId();
+        categoryParentIds[categoryCount] = category.getParentId() == null ? NO_PARENT : category.getParentId();
+        categoryNames[categoryCount] = category.getCategoryName();
+        categoryVersions[categoryCount] = category.getVersion();
+        categoryCount++;
+    }
+
+    /**
+     * Puts product to its row by product id, replacing the row
+     * if it exists and does not hold a newer version
+     */
+    private void putProduct(Product product, int epochDay) {
+
+        int productId = product.getProductId();
+        int row = productCount > 0 && productIds[productCount - 1] < productId
+                ? -productCount - 1
+                : Arrays.binarySearch(productIds, 0, productCount, productId);
+
+        if (row >= 0 && product.getVersion() < versions[row]) {
+            LOGGER.debug("putProduct({}) skipped: version {} is older than {}",
+                    productId, product.getVersion(), versions[row]);
+            return;
+        }
+        if (row < 0) {
+            row = -row - 1;
+            ensureProductCapacity(productCount + 1);
+            for (int[] column : productColumns()) {
+                System.arraycopy(column, row, column, row + 1, productCount - row);
+            }
+            productCount++;
+        }
+
+        productIds[row] = productId;
+        amounts[row] = product.getProductAmount();
+        epochDays[row] = epochDay;
+        categoryIds[row] = product.getCategoryId();
+        parentIds[row] = parentIdOf(product.getCategoryId());
+        nameCodes[row] = codeOf(product.getProductName());
+        versions[row] = product.getVersion();
+    }
+
+    private void removeRow(int row) {
+
+        for (int[] column : productColumns()) {
+            System.arraycopy(column, row + 1, column, row, productCount - row - 1);
+        }
+        productCount--;
+    }
+
+    private int[][] productColumns() {
+        return new int[][]{productIds, amounts, epochDays, categoryIds, parentIds, nameCodes, versions};
+    }
+
+    private void ensureProductCapacity(int capacity) {
+
+        if (capacity > productIds.length) {
+            int newCapacity = Math.max(capacity, productIds.length + (productIds.length >> 1));
+            productIds = Arrays.copyOf(productIds, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            epochDays = Arrays.copyOf(epochDays, newCapacity);
+            categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+            parentIds = Arrays.copyOf(parentIds, newCapacity);
+            nameCodes = Arrays.copyOf(nameCodes, newCapacity);
+            versions = Arrays.copyOf(versions, newCapacity);
+        }
+    }
+
+    private void ensureCategoryCapacity(int capacity) {
+
+        if (capacity > categoryRowIds.length) {
+            int newCapacity = Math.max(capacity, categoryRowIds.length + (categoryRowIds.length >> 1));
+            categoryRowIds = Arrays.copyOf(categoryRowIds, newCapacity);
+            categoryParentIds = Arrays.copyOf(categoryParentIds, newCapacity);
+            categoryNames = Arrays.copyOf(categoryNames, newCapacity);
+            categoryVersions = Arrays.copyOf(categoryVersions, newCapacity);
+        }
+    }
+
+    private int codeOf(String name) {
+
+        Integer code = codesByName.get(name);
+        if (code == null) {
+            code = names.size();
+            names.add(name);
+            codesByName.put(name, code);
+        }
+        return code;
+    }
+
+    private int parentIdOf(int categoryId) {
+
+        int row = Arrays.binarySearch(categoryRowIds, 0, categoryCount, categoryId);
+        return row < 0 ? NO_PARENT : categoryParentIds[row];
+    }
+
+    private String categoryNameOf(int categoryId) {
+
+        int row = Arrays.binarySearch(categoryRowIds, 0, categoryCount, categoryId);
+        return row < 0 ? null : categoryNames[row];
+    }
+
+    private Product toProduct(int row) {
+
+        Product product = new Product();
+        product.setProductId(productIds[row]);
+        product.setProductName(names.get(nameCodes[row]));
+        product.setProductAmount(amounts[row]);
+        product.setDateAdded(LocalDate.ofEpochDay(epochDays[row]));
+        product.setCategoryId(categoryIds[row]);
+        product.setVersion(versions[row]);
+
+        return product;
+    }
+
+    private ProductDTO toProductDTO(int row) {
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(productIds[row]);
+        productDTO.setCategoryName(categoryNameOf(parentIds[row]));
+        productDTO.setSubCategoryName(categoryNameOf(categoryIds[row]));
+        productDTO.setProductName(names.get(nameCodes[row]));
+        productDTO.setProductAmount(amounts[row]);
+        productDTO.setDateAdded(LocalDate.ofEpochDay(epochDays[row]));
+        productDTO.setCategoryId(categoryIds[row]);
+
+        return productDTO;
+    }
+
+    private Category toCategory(int row) {
+
+        Category category = new Category();
+        category.setCategoryId(categoryRowIds[row]);
+        category.setCategoryName(categoryNames[row]);
+        category.setParentId(categoryParentIds[row]);
+        category.setVersion(categoryVersions[row]);
+
+        return category;
+    }
+
+    private CategoryDTO toCategoryDTO(Category category) {
+
+        int categoryId = category.getCategoryId();
+        boolean topLevel = category.getParentId() == NO_PARENT;
+
+        int productsAmount = 0;
+        for (int row = 0; row < productCount; row++) {
+            if ((topLevel ? parentIds[row] : categoryIds[row]) == categoryId) {
+                productsAmount += amounts[row];
+            }
+        }
+
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setCategoryId(categoryId);
+        categoryDTO.setCategoryName(category.getCategoryName());
+        categoryDTO.setParentId(category.getParentId());
+        categoryDTO.setProductsAmount(productsAmount);
+
+        return categoryDTO;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * Changes made by a transaction, applied to the columns after it is committed
+     */
+    private final class UncommittedWrites extends TransactionSynchronizationAdapter {
+
+        private final List<Runnable> changes;
+
+        private UncommittedWrites(List<Runnable> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ColumnarCatalog.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ColumnarCatalog.this, changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+
+            TransactionSynchronizationManager.unbindResourceIfPossible(ColumnarCatalog.this);
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                applyLoaded(changes);
+            } else if (status == TransactionSynchronization.STATUS_UNKNOWN) {
+                invalidate();
+            }
+        }
+    }
+}
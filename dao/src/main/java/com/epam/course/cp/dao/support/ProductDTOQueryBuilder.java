@@ -0,0 +1,217 @@
+package com.epam.course.cp.dao.support;
+
+import com.epam.course.cp.dao.ProductCriteria;
+import com.epam.course.cp.dao.mapper.ProductDTOMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds sql statements selecting product Data Transfer Objects(DTO) by {@code ProductCriteria}
+ * from denormalized {@code product_view} aliased as {@code v}
+ *
+ * <p>
+ * Predicates are always appended in the same order with the same parameter
+ * names, so every combination of applied criteria results in exactly one
+ * sql text. Criteria values are passed only as parameters, which lets data
+ * source reuse prepared statements and their plans. Built sql texts are
+ * cached by combination of applied criteria.
+ * </p>
+ *
+ * @see ProductCriteria
+ * @author Maksim Martsiusheu
+ */
+@Component
+public class ProductDTOQueryBuilder {
+
+    /**
+     * Top level category id query parameter name
+     */
+    public static final String CATEGORY_ID = ProductDTOMapper.PRODUCT_DTO_CATEGORY_ID;
+
+    /**
+     * Begin date query parameter name
+     */
+    public static final String DATE_BEGIN = "date_begin";
+
+    /**
+     * End date query parameter name
+     */
+    public static final String DATE_END = "date_end";
+
+    /**
+     * Minimal product amount query parameter name
+     */
+    public static final String AMOUNT_MIN = "amount_min";
+
+    /**
+     * Maximal product amount query parameter name
+     */
+    public static final String AMOUNT_MAX = "amount_max";
+
+    /**
+     * Product name pattern query parameter name
+     */
+    public static final String NAME_PREFIX = "name_prefix";
+
+    /**
+     * Id of the last product of previous page query parameter name
+     */
+    public static final String AFTER_ID = "after_id";
+
+    /**
+     * Maximum amount of rows query parameter name
+     */
+    public static final String LIMIT = "limit";
+
+    /**
+     * Character escaping wildcards in product name pattern
+     */
+    private static final char LIKE_ESCAPE = '!';
+
+    /**
+     * Predicates in the order they are appended to the statement
+     */
+    private static final String[] PREDICATES = {
+            "v.parent_id = :" + CATEGORY_ID,
+            "v.date_added >= :" + DATE_BEGIN,
+            "v.date_added <= :" + DATE_END,
+            "v.prod_amount >= :" + AMOUNT_MIN,
+            "v.prod_amount <= :" + AMOUNT_MAX,
+            "v.prod_name LIKE :" + NAME_PREFIX + " ESCAPE '" + LIKE_ESCAPE + "'",
+            "v.prod_id > :" + AFTER_ID
+    };
+
+    /**
+     * Sql statement to select all product DTOs, predicates are appended to it
+     */
+    private final String selectProductDTOsSql;
+
+    /**
+     * Built sql statements by combination of applied criteria
+     */
+    private final ConcurrentMap<Integer, String> statements = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs builder appending predicates to given statement
+     *
+     * @param selectProductDTOsSql sql statement to select all product DTOs
+     */
+    @Autowired
+    public ProductDTOQueryBuilder(@Value("${productDTO.select}") String selectProductDTOsSql) {
+        this.selectProductDTOsSql = selectProductDTOsSql;
+    }
+
+    /**
+     * Returns sql statement selecting product DTOs that fit given criteria
+     *
+     * @param criteria criteria to select product DTOs by
+     * @return sql statement with named parameters
+     */
+    public String buildSql(ProductCriteria criteria) {
+
+        if (criteria.getAfterProductId() != null && criteria.getSort() != ProductCriteria.Sort.PRODUCT_ID) {
+            throw new IllegalArgumentException("Product id cursor requires products ordered by product id");
+        }
+
+        Object[] values = getPredicateValues(criteria);
+
+        int shape = criteria.getSort().ordinal();
+        shape = shape << 1 | (criteria.getLimit() == null ? 0 : 1);
+        for (Object value : values) {
+            shape = shape << 1 | (value == null ? 0 : 1);
+        }
+
+        return statements.computeIfAbsent(shape, key -> createSql(values, criteria));
+    }
+
+    /**
+     * Returns values of named parameters of sql statement built by given criteria
+     *
+     * @param criteria criteria to select product DTOs by
+     * @return parameters of the statement
+     */
+    public MapSqlParameterSource buildParameters(ProductCriteria criteria) {
+
+        MapSqlParameterSource namedParameters = new MapSqlParameterSource();
+        addValue(namedParameters, CATEGORY_ID, criteria.getCategoryId());
+        addValue(namedParameters, DATE_BEGIN, criteria.getDateBegin());
+        addValue(namedParameters, DATE_END, criteria.getDateEnd());
+        addValue(namedParameters, AMOUNT_MIN, criteria.getMinAmount());
+        addValue(namedParameters, AMOUNT_MAX, criteria.getMaxAmount());
+        addValue(namedParameters, NAME_PREFIX, criteria.getNamePrefix() == null
+                ? null
+                : escapeLikePattern(criteria.getNamePrefix()) + "%");
+        addValue(namedParameters, AFTER_ID, criteria.getAfterProductId());
+        addValue(namedParameters, LIMIT, criteria.getLimit());
+
+        return namedParameters;
+    }
+
+    private Object[] getPredicateValues(ProductCriteria criteria) {
+
+        return new Object[]{
+                criteria.getCategoryId(),
+                criteria.getDateBegin(),
+                criteria.getDateEnd(),
+                criteria.getMinAmount(),
+                criteria.getMaxAmount(),
+                criteria.getNamePrefix(),
+                criteria.getAfterProductId()
+        };
+    }
+
+    private String createSql(Object[] values, ProductCriteria criteria) {
+
+        StringBuilder sql = new StringBuilder(selectProductDTOsSql.trim());
+
+        String keyword = " WHERE ";
+        for (int i = 0; i < PREDICATES.length; i++) {
+            if (values[i] != null) {
+                sql.append(keyword).append(PREDICATES[i]);
+                keyword = " AND ";
+            }
+        }
+
+        sql.append(" ORDER BY ").append(getOrder(criteria.getSort()));
+
+        if (criteria.getLimit() != null) {
+            sql.append(" LIMIT :").append(LIMIT);
+        }
+        return sql.toString();
+    }
+
+    private String getOrder(ProductCriteria.Sort sort) {
+
+        switch (sort) {
+            case DATE_ADDED:
+                return "v.date_added, v.prod_id";
+            case PRODUCT_NAME:
+                return "v.prod_name, v.prod_id";
+            default:
+                return "v.prod_id";
+        }
+    }
+
+    private void addValue(MapSqlParameterSource namedParameters, String name, Object value) {
+        if (value != null) {
+            namedParameters.addValue(name, value);
+        }
+    }
+
+    private String escapeLikePattern(String value) {
+
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
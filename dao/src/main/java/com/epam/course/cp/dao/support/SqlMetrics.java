@@ -0,0 +1,372 @@
+package com.epam.course.cp.dao.support;
+
+import com.epam.course.cp.metrics.LatencyHistogram;
+import com.epam.course.cp.metrics.LatencySnapshot;
+import com.epam.course.cp.response.SqlStatementMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Collects execution statistics of sql statements.
+ *
+ * <p>
+ * Statements are named by property keys of their sql texts, so statistics
+ * of every statement of {@code sql-query.properties} are collected separately.
+ * Statement that extends a known one, like a query with appended predicates,
+ * is named by the key followed by the appended part. Executions slower than
+ * slow query threshold are logged at {@code WARN} level by
+ * {@code com.epam.course.cp.dao.support.SqlMetrics.slow} logger together with
+ * their parameters.
+ * </p>
+ *
+ * <p>
+ * Time spent to get a connection from the pool is attributed to the statement
+ * the connection is taken for. Statements executed within a transaction use
+ * connection taken by the transaction, so no acquisition is recorded for them.
+ * </p>
+ *
+ * @see StreamingNamedParameterJdbcTemplate
+ * @see SqlStatementMetrics
+ * @author Maksim Martsiusheu
+ */
+public class SqlMetrics {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlMetrics.class);
+
+    /**
+     * Logger of executions slower than slow query threshold
+     */
+    private static final Logger SLOW_QUERY_LOGGER = LoggerFactory.getLogger(SqlMetrics.class.getName() + ".slow");
+
+    /**
+     * Default slow query threshold in milliseconds
+     */
+    public static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 200;
+
+    /**
+     * Maximum amount of statements collected separately
+     */
+    static final int MAX_STATEMENTS = 1000;
+
+    /**
+     * Name of statistics collected for all statements above maximum amount
+     */
+    static final String OTHER_STATEMENTS = "other";
+
+    /**
+     * Property keys by normalized sql texts, longest texts first
+     */
+    private final Map<String, String> knownStatements;
+
+    /**
+     * Statement names by sql texts already executed
+     */
+    private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics by statement name
+     */
+    private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    /**
+     * Execution running on current thread
+     */
+    private final ThreadLocal<Execution> currentExecution = new ThreadLocal<>();
+
+    /**
+     * Duration of an execution to be logged as slow, in nanoseconds
+     */
+    private volatile long slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_QUERY_THRESHOLD_MS);
+
+    /**
+     * Constructs metrics naming statements by given properties
+     *
+     * @param sqlStatements sql texts by property keys
+     */
+    public SqlMetrics(Properties sqlStatements) {
+
+        Map<String, String> statementsBySql = new TreeMap<>(
+                Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+        sqlStatements.stringPropertyNames()
+                .forEach(key -> statementsBySql.putIfAbsent(normalize(sqlStatements.getProperty(key)), key));
+
+        this.knownStatements = statementsBySql;
+    }
+
+    /**
+     * Returns duration of an execution to be logged as slow
+     *
+     * @return slow query threshold in milliseconds
+     */
+    public long getSlowQueryThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryThresholdNanos);
+    }
+
+    /**
+     * Sets duration of an execution to be logged as slow
+     *
+     * @param slowQueryThresholdMs slow query threshold in milliseconds, must not be negative
+     */
+    public void setSlowQueryThresholdMs(long slowQueryThresholdMs) {
+
+        if (slowQueryThresholdMs < 0) {
+            throw new IllegalArgumentException("Slow query threshold must not be negative");
+        }
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+    }
+
+    /**
+     * Attributes time spent to get a connection from the pool
+     * to the execution running on current thread
+     *
+     * @param nanos time spent to get a connection in nanoseconds
+     */
+    public void recordConnectionAcquiredNanos(long nanos) {
+
+        Execution execution = currentExecution.get();
+        if (execution != null) {
+            execution.acquiredNanos += nanos;
+            execution.connectionAcquired = true;
+        }
+    }
+
+    /**
+     * Returns statistics of all executed statements, the most time consuming first
+     *
+     * @return {@code List} of statement statistics
+     */
+    public List<SqlStatementMetrics> getStatementMetrics() {
+
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().toMetrics(entry.getKey()))
+                .sorted(Comparator.comparingLong(SqlStatementMetrics::getTotalMicros).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Forgets statistics of all statements
+     */
+    public void reset() {
+
+        LOGGER.debug("reset()");
+        statements.clear();
+    }
+
+    /**
+     * Starts measuring execution of given statement on current thread
+     *
+     * @param sql        sql text being executed
+     * @param parameters parameters of the statement, one per row for batches
+     * @return started execution
+     */
+    Execution start(String sql, SqlParameterSource... parameters) {
+
+        Execution execution = new Execution(sql, parameters);
+        execution.resume();
+        return execution;
+    }
+
+    /**
+     * Returns name statistics of given sql text are collected under
+     *
+     * @param sql sql text
+     * @return property key of the sql text, followed by appended part if any
+     */
+    String nameOf(String sql) {
+
+        String name = names.get(sql);
+        if (name == null) {
+            name = createName(normalize(sql));
+            if (names.size() < MAX_STATEMENTS) {
+                names.put(sql, name);
+            }
+        }
+        return name;
+    }
+
+    private String createName(String sql) {
+
+        for (Map.Entry<String, String> statement : knownStatements.entrySet()) {
+            String knownSql = statement.getKey();
+            if (sql.equals(knownSql)) {
+                return statement.getValue();
+            }
+            if (sql.startsWith(knownSql) && sql.charAt(knownSql.length()) == ' ') {
+                return statement.getValue() + sql.substring(knownSql.length());
+            }
+        }
+        return sql;
+    }
+
+    private StatementStats statsOf(String name) {
+
+        StatementStats stats = statements.get(name);
+        if (stats == null) {
+            String nameToUse = statements.size() < MAX_STATEMENTS ? name : OTHER_STATEMENTS;
+            stats = statements.computeIfAbsent(nameToUse, key -> new StatementStats());
+        }
+        return stats;
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String describe(SqlParameterSource[] parameters) {
+
+        if (parameters.length == 1) {
+            return describe(parameters[0]);
+        }
+        return parameters.length == 0
+                ? "batch of 0"
+                : "batch of " + parameters.length + ", first " + describe(parameters[0]);
+    }
+
+    private static String describe(SqlParameterSource parameters) {
+
+        StringJoiner values = new StringJoiner(", ", "{", "}");
+        String[] parameterNames = parameters.getParameterNames();
+        if (parameterNames != null) {
+            for (String parameterName : parameterNames) {
+                values.add(parameterName + "=" + parameters.getValue(parameterName));
+            }
+        }
+        return values.toString();
+    }
+
+    /**
+     * Single execution of a statement. Time is counted only while
+     * the execution is resumed, so time spent by callers between fetching
+     * rows of a cursor is not counted.
+     */
+    final class Execution {
+
+        private final String sql;
+
+        private final SqlParameterSource[] parameters;
+
+        private Execution previous;
+
+        private long resumedAt;
+
+        private long elapsedNanos;
+
+        private long acquiredNanos;
+
+        private boolean connectionAcquired;
+
+        private Execution(String sql, SqlParameterSource[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        /**
+         * Continues counting time of the execution on current thread
+         */
+        void resume() {
+
+            previous = currentExecution.get();
+            currentExecution.set(this);
+            resumedAt = System.nanoTime();
+        }
+
+        /**
+         * Stops counting time of the execution until it is resumed
+         */
+        void suspend() {
+
+            elapsedNanos += System.nanoTime() - resumedAt;
+            if (previous == null) {
+                currentExecution.remove();
+            } else {
+                currentExecution.set(previous);
+                previous = null;
+            }
+        }
+
+        /**
+         * Records suspended execution finished successfully
+         *
+         * @param rows amount of rows returned or affected
+         */
+        void finish(long rows) {
+
+            String name = nameOf(sql);
+            StatementStats stats = record(name);
+            stats.rows.add(Math.max(rows, 0));
+
+            if (elapsedNanos >= slowQueryThresholdNanos) {
+                stats.slowCalls.increment();
+                SLOW_QUERY_LOGGER.warn("{} took {} ms, {} rows: {} {}", name,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, sql, describe(parameters));
+            }
+        }
+
+        /**
+         * Records suspended execution finished with an error
+         */
+        void fail() {
+            record(nameOf(sql)).failures.increment();
+        }
+
+        private StatementStats record(String name) {
+
+            StatementStats stats = statsOf(name);
+            stats.latency.recordNanos(elapsedNanos);
+            if (connectionAcquired) {
+                stats.connectionAcquisition.recordNanos(acquiredNanos);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Statistics of a single statement
+     */
+    private static final class StatementStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LatencyHistogram connectionAcquisition = new LatencyHistogram();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder slowCalls = new LongAdder();
+
+        private SqlStatementMetrics toMetrics(String name) {
+
+            LatencySnapshot latencySnapshot = latency.snapshot();
+
+            SqlStatementMetrics metrics = new SqlStatementMetrics();
+            metrics.setStatement(name);
+            metrics.setCalls(latencySnapshot.getCount());
+            metrics.setFailures(failures.sum());
+            metrics.setRows(rows.sum());
+            metrics.setSlowCalls(slowCalls.sum());
+            metrics.setTotalMicros(Math.round(latencySnapshot.getMeanMicros() * latencySnapshot.getCount()));
+            metrics.setLatency(latencySnapshot);
+            metrics.setConnectionAcquisition(connectionAcquisition.snapshot());
+
+            return metrics;
+        }
+    }
+}
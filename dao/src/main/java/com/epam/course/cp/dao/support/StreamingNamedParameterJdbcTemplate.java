@@ -0,0 +1,426 @@
+package com.epam.course.cp.dao.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@code NamedParameterJdbcTemplate} that is able to return query results
+ * as a lazy {@code Stream} backed by an open JDBC cursor.
+ *
+ * <p>
+ * Rows are fetched from the data source in chunks of {@code cursorFetchSize}
+ * and mapped one at a time while the stream is consumed. The connection,
+ * statement and result set stay open until the stream is closed, so every
+ * stream returned by {@link #queryForStream} must be closed by the caller,
+ * preferably with try-with-resources. Embedded H2 reads whole result when
+ * the query is executed unless its url sets {@code LAZY_QUERY_EXECUTION=1}.
+ * </p>
+ *
+ * <p>
+ * It also executes batches of inserts that return generated keys of every
+ * inserted row, which {@code NamedParameterJdbcTemplate} does not support.
+ * </p>
+ *
+ * <p>
+ * When {@code sqlMetrics} are set, every statement executed with named parameters
+ * is measured. Time of a streamed query includes only executing the query,
+ * fetching and mapping its rows, it is recorded when the stream is closed.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ * @see NamedParameterJdbcTemplate
+ * @see Stream
+ * @see SqlMetrics
+ */
+public class StreamingNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingNamedParameterJdbcTemplate.class);
+
+    /**
+     * Default amount of rows fetched from the cursor per round trip
+     */
+    public static final int DEFAULT_CURSOR_FETCH_SIZE = 500;
+
+    /**
+     * Amount of rows fetched from the cursor per round trip
+     */
+    private int cursorFetchSize = DEFAULT_CURSOR_FETCH_SIZE;
+
+    /**
+     * Execution statistics of statements, {@code null} if statements are not measured
+     */
+    private SqlMetrics sqlMetrics;
+
+    /**
+     * Constructs new template for given data source
+     *
+     * @param dataSource data source to obtain connections from
+     */
+    public StreamingNamedParameterJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    /**
+     * Returns amount of rows fetched from the cursor per round trip
+     *
+     * @return cursor fetch size
+     */
+    public int getCursorFetchSize() {
+        return cursorFetchSize;
+    }
+
+    /**
+     * Sets amount of rows fetched from the cursor per round trip
+     *
+     * @param cursorFetchSize new cursor fetch size, must be positive
+     */
+    public void setCursorFetchSize(int cursorFetchSize) {
+
+        if (cursorFetchSize <= 0) {
+            throw new IllegalArgumentException("Cursor fetch size must be positive");
+        }
+        this.cursorFetchSize = cursorFetchSize;
+    }
+
+    /**
+     * Returns execution statistics of statements
+     *
+     * @return {@code SqlMetrics} or {@code null} if statements are not measured
+     */
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    /**
+     * Sets execution statistics to record every statement to
+     *
+     * @param sqlMetrics statistics of statements, {@code null} to stop measuring
+     */
+    public void setSqlMetrics(SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+        return measure(sql, () -> super.query(sql, paramSource, rowMapper), List::size, paramSource);
+    }
+
+    @Override
+    public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+        return measure(sql, () -> super.queryForObject(sql, paramSource, rowMapper),
+                result -> result == null ? 0 : 1, paramSource);
+    }
+
+    @Override
+    public int update(String sql, SqlParameterSource paramSource) {
+        return measure(sql, () -> super.update(sql, paramSource), Integer::longValue, paramSource);
+    }
+
+    @Override
+    public int update(String sql, SqlParameterSource paramSource,
+                      KeyHolder generatedKeyHolder, String[] keyColumnNames) {
+
+        return measure(sql, () -> super.update(sql, paramSource, generatedKeyHolder, keyColumnNames),
+                Integer::longValue, paramSource);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+        return measure(sql, () -> super.batchUpdate(sql, batchArgs), StreamingNamedParameterJdbcTemplate::sum, batchArgs);
+    }
+
+    /**
+     * Executes query without parameters and returns its rows as lazy {@code Stream}
+     *
+     * @param sql       sql statement to execute
+     * @param rowMapper mapper to create java object from every row
+     * @param <T>       type of objects in result stream
+     * @return lazy {@code Stream} of mapped rows that must be closed after use
+     */
+    public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper) {
+        return queryForStream(sql, EmptySqlParameterSource.INSTANCE, rowMapper);
+    }
+
+    /**
+     * Executes query with named parameters and returns its rows as lazy {@code Stream}
+     *
+     * @param sql         sql statement to execute
+     * @param paramSource named parameters to bind to the query
+     * @param rowMapper   mapper to create java object from every row
+     * @param <T>         type of objects in result stream
+     * @return lazy {@code Stream} of mapped rows that must be closed after use
+     */
+    public <T> Stream<T> queryForStream(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+
+        DataSource dataSource = getJdbcTemplate().getDataSource();
+        PreparedStatementCreator statementCreator = getPreparedStatementCreator(sql, paramSource);
+
+        SqlMetrics.Execution execution = sqlMetrics == null ? null : sqlMetrics.start(sql, paramSource);
+        Connection connection;
+        try {
+            connection = DataSourceUtils.getConnection(dataSource);
+        } catch (RuntimeException ex) {
+            fail(execution);
+            throw ex;
+        }
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+
+        try {
+            statement = statementCreator.createPreparedStatement(connection);
+            statement.setFetchSize(cursorFetchSize);
+            resultSet = statement.executeQuery();
+        } catch (SQLException ex) {
+            release(resultSet, statement, connection, dataSource);
+            fail(execution);
+            throw getExceptionTranslator().translate("queryForStream", sql, ex);
+        } catch (RuntimeException | Error ex) {
+            release(resultSet, statement, connection, dataSource);
+            fail(execution);
+            throw ex;
+        }
+        if (execution != null) {
+            execution.suspend();
+        }
+
+        Cursor<T> cursor = new Cursor<>(sql, connection, statement, resultSet, rowMapper, execution);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    private static void release(ResultSet resultSet, Statement statement, Connection connection,
+                                DataSource dataSource) {
+
+        JdbcUtils.closeResultSet(resultSet);
+        JdbcUtils.closeStatement(statement);
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+
+    /**
+     * Executes a batch using the supplied sql statement and collects
+     * keys generated for every row of the batch
+     *
+     * @param sql                sql statement to execute
+     * @param batchArgs          named parameters of every statement in the batch
+     * @param generatedKeyHolder holder to store generated keys in, one entry per row
+     * @param keyColumnNames     names of the columns keys are generated for
+     * @return an array containing the numbers of rows affected by each update in the batch
+     */
+    public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs, KeyHolder generatedKeyHolder,
+                             String[] keyColumnNames) {
+
+        if (batchArgs.length == 0) {
+            return new int[0];
+        }
+        return measure(sql, () -> executeBatchWithKeys(sql, batchArgs, generatedKeyHolder, keyColumnNames),
+                StreamingNamedParameterJdbcTemplate::sum, batchArgs);
+    }
+
+    private int[] executeBatchWithKeys(String sql, SqlParameterSource[] batchArgs, KeyHolder generatedKeyHolder,
+                                       String[] keyColumnNames) {
+
+        ParsedSql parsedSql = getParsedSql(sql);
+        String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, batchArgs[0]);
+
+        return getJdbcTemplate().execute(
+                (Connection connection) -> connection.prepareStatement(sqlToUse, keyColumnNames),
+                (PreparedStatement statement) -> {
+
+                    for (SqlParameterSource args : batchArgs) {
+                        Object[] values = NamedParameterUtils.buildValueArray(parsedSql, args, null);
+                        for (int i = 0; i < values.length; i++) {
+                            StatementCreatorUtils.setParameterValue(statement, i + 1, SqlTypeValue.TYPE_UNKNOWN, values[i]);
+                        }
+                        statement.addBatch();
+                    }
+                    int[] rowsAffected = statement.executeBatch();
+
+                    List<Map<String, Object>> generatedKeys = generatedKeyHolder.getKeyList();
+                    generatedKeys.clear();
+                    ResultSet keys = statement.getGeneratedKeys();
+                    if (keys != null) {
+                        try {
+                            generatedKeys.addAll(
+                                    new RowMapperResultSetExtractor<>(new ColumnMapRowMapper(), batchArgs.length)
+                                            .extractData(keys));
+                        } finally {
+                            JdbcUtils.closeResultSet(keys);
+                        }
+                    }
+                    return rowsAffected;
+                });
+    }
+
+    private SQLExceptionTranslator getExceptionTranslator() {
+        return getJdbcTemplate().getExceptionTranslator();
+    }
+
+    private <R> R measure(String sql, Supplier<R> action, ToLongFunction<R> rows, SqlParameterSource... parameters) {
+
+        if (sqlMetrics == null) {
+            return action.get();
+        }
+
+        SqlMetrics.Execution execution = sqlMetrics.start(sql, parameters);
+        R result;
+        try {
+            result = action.get();
+        } catch (IncorrectResultSizeDataAccessException ex) {
+            execution.suspend();
+            execution.finish(ex.getActualSize());
+            throw ex;
+        } catch (RuntimeException | Error ex) {
+            fail(execution);
+            throw ex;
+        }
+        execution.suspend();
+        execution.finish(rows.applyAsLong(result));
+        return result;
+    }
+
+    private static void fail(SqlMetrics.Execution execution) {
+
+        if (execution != null) {
+            execution.suspend();
+            execution.fail();
+        }
+    }
+
+    private static long sum(int[] rowsAffected) {
+
+        long rows = 0;
+        for (int rowAffected : rowsAffected) {
+            rows += Math.max(rowAffected, 0);
+        }
+        return rows;
+    }
+
+    /**
+     * Spliterator walking over an open result set
+     *
+     * @param <T> type of mapped rows
+     */
+    private final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final String sql;
+
+        private final Connection connection;
+
+        private final PreparedStatement statement;
+
+        private final ResultSet resultSet;
+
+        private final RowMapper<T> rowMapper;
+
+        private final SqlMetrics.Execution execution;
+
+        private int rowNum;
+
+        private boolean closed;
+
+        private boolean failed;
+
+        private Cursor(String sql, Connection connection, PreparedStatement statement,
+                       ResultSet resultSet, RowMapper<T> rowMapper, SqlMetrics.Execution execution) {
+
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.sql = sql;
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+            this.execution = execution;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+
+            if (closed) {
+                return false;
+            }
+
+            T row;
+            try {
+                row = fetch();
+            } catch (SQLException ex) {
+                failed = true;
+                close();
+                throw getExceptionTranslator().translate("queryForStream", sql, ex);
+            }
+            if (row == null) {
+                close();
+                return false;
+            }
+            action.accept(row);
+            return true;
+        }
+
+        private T fetch() throws SQLException {
+
+            if (execution == null) {
+                return resultSet.next() ? rowMapper.mapRow(resultSet, rowNum++) : null;
+            }
+            execution.resume();
+            try {
+                return resultSet.next() ? rowMapper.mapRow(resultSet, rowNum++) : null;
+            } finally {
+                execution.suspend();
+            }
+        }
+
+        private void close() {
+
+            if (closed) {
+                return;
+            }
+            closed = true;
+            LOGGER.debug("close cursor after {} rows", rowNum);
+
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+            DataSourceUtils.releaseConnection(connection, getJdbcTemplate().getDataSource());
+
+            if (execution != null) {
+                if (failed) {
+                    execution.fail();
+                } else {
+                    execution.finish(rowNum);
+                }
+            }
+        }
+    }
+}
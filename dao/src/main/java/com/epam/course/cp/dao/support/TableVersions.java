@@ -0,0 +1,112 @@
+package com.epam.course.cp.dao.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic change counters of tables, increased by every write of DAO
+ *
+ * <p>
+ * Counter increased within a transaction is increased again after the
+ * transaction completes, so data read before commit never gets the
+ * version it is read under once the transaction is committed. Counters
+ * are kept in memory, so versions are unique only together with the
+ * epoch they are counted from.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+@Component
+public class TableVersions {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableVersions.class);
+
+    /**
+     * Name of category table
+     */
+    public static final String CATEGORY = "category";
+
+    /**
+     * Name of product table
+     */
+    public static final String PRODUCT = "product";
+
+    /**
+     * Separator of parts of a version tag
+     */
+    private static final String SEPARATOR = "-";
+
+    /**
+     * Start of counting, distinguishes versions counted by different runs
+     */
+    private final long epoch = System.currentTimeMillis();
+
+    /**
+     * Change counters by table name
+     */
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Increases change counter of given table, again after current transaction if there is one
+     *
+     * @param table table name
+     */
+    public void changed(String table) {
+
+        LOGGER.debug("changed({})", table);
+        increment(table);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    increment(table);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns current change counter of given table
+     *
+     * @param table table name
+     * @return amount of changes counted since epoch
+     */
+    public long getVersion(String table) {
+
+        AtomicLong version = versions.get(table);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Returns tag that changes every time any of given tables is changed
+     *
+     * @param tables names of tables
+     * @return epoch followed by versions of given tables
+     */
+    public String getVersionTag(String... tables) {
+
+        StringJoiner tag = new StringJoiner(SEPARATOR);
+        tag.add(Long.toString(epoch, Character.MAX_RADIX));
+        for (String table : tables) {
+            tag.add(Long.toString(getVersion(table)));
+        }
+        return tag.toString();
+    }
+
+    private void increment(String table) {
+        versions.computeIfAbsent(table, name -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,162 @@
+package com.epam.course.cp.dao;
+
+import com.epam.course.cp.dao.support.ColumnarCatalog;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:dao-test.xml"})
+@ActiveProfiles(ColumnarCatalog.PROFILE)
+@Transactional
+@Rollback
+class CategoryDaoColumnarImplTest {
+
+    private static final Integer PARENT_CATEGORY_ID = 1;
+    private static final Integer OTHER_PARENT_CATEGORY_ID = 2;
+    private static final Integer TEST_CATEGORY_ID = 5;
+    private static final Integer NOT_EXISTING_CATEGORY_ID = 999;
+
+    private static final String NEW_CATEGORY_NAME = "New Category";
+
+    @Autowired
+    private CategoryDao categoryDao;
+
+    @Autowired
+    @Qualifier("categoryDaoJdbcImpl")
+    private CategoryDao jdbcCategoryDao;
+
+    @Autowired
+    private ProductDao productDao;
+
+    @Autowired
+    private ColumnarCatalog columnarCatalog;
+
+    @Test
+    void shouldFindCategoriesAsJdbcDao() {
+
+        assertCategoriesMatchJdbcDao();
+        assertThrows(EmptyResultDataAccessException.class, () -> categoryDao.findById(NOT_EXISTING_CATEGORY_ID));
+        assertThrows(EmptyResultDataAccessException.class,
+                () -> categoryDao.findCategoryDTOById(NOT_EXISTING_CATEGORY_ID));
+    }
+
+    @Test
+    void shouldCountProductsOfCategoriesAsJdbcDao() {
+
+        Product product = new Product();
+        product.setProductName("New Product");
+        product.setProductAmount(300);
+        product.setDateAdded(LocalDate.now());
+        product.setCategoryId(TEST_CATEGORY_ID);
+        productDao.add(product);
+
+        product.setProductAmount(100);
+        productDao.update(product);
+
+        assertCategoriesMatchJdbcDao();
+    }
+
+    @Test
+    void shouldFindAddedCategory() {
+
+        Category category = new Category();
+        category.setCategoryName(NEW_CATEGORY_NAME);
+        category.setParentId(PARENT_CATEGORY_ID);
+
+        Integer categoryId = categoryDao.add(category).get().getCategoryId();
+
+        assertEquals(NEW_CATEGORY_NAME, categoryDao.findById(categoryId).get().getCategoryName());
+        assertCategoriesMatchJdbcDao();
+    }
+
+    @Test
+    void shouldMoveProductDTOsWithUpdatedCategory() {
+
+        Category category = categoryDao.findById(TEST_CATEGORY_ID).get();
+        category.setCategoryName(NEW_CATEGORY_NAME);
+        category.setParentId(OTHER_PARENT_CATEGORY_ID);
+        categoryDao.update(category);
+
+        List<ProductDTO> productDTOs = productDao.findProductDTOsByCategoryId(OTHER_PARENT_CATEGORY_ID)
+                .filter(productDTO -> productDTO.getCategoryId().equals(TEST_CATEGORY_ID))
+                .collect(Collectors.toList());
+
+        assertFalse(productDTOs.isEmpty());
+        productDTOs.forEach(productDTO -> assertEquals(NEW_CATEGORY_NAME, productDTO.getSubCategoryName()));
+        assertCategoriesMatchJdbcDao();
+    }
+
+    @Test
+    void shouldNotFindDeletedCategory() {
+
+        Integer categoryId = 4;
+        categoryDao.delete(categoryId);
+
+        assertThrows(EmptyResultDataAccessException.class, () -> categoryDao.findById(categoryId));
+        assertCategoriesMatchJdbcDao();
+    }
+
+    @Test
+    void shouldSkipCategoryOlderThanRow() {
+
+        Category category = categoryDao.findById(TEST_CATEGORY_ID).get();
+        TestTransaction.end();
+        try {
+            Category newer = categoryDao.findById(TEST_CATEGORY_ID).get();
+            newer.setCategoryName(NEW_CATEGORY_NAME);
+            newer.setVersion(category.getVersion() + 2);
+            columnarCatalog.putCategory(newer);
+
+            category.setVersion(category.getVersion() + 1);
+            columnarCatalog.putCategory(category);
+
+            Category found = categoryDao.findById(TEST_CATEGORY_ID).get();
+            assertEquals(NEW_CATEGORY_NAME, found.getCategoryName());
+            assertEquals(newer.getVersion(), found.getVersion());
+        } finally {
+            columnarCatalog.invalidate();
+        }
+    }
+
+    private void assertCategoriesMatchJdbcDao() {
+
+        assertEquals(toList(jdbcCategoryDao.findAll()), toList(categoryDao.findAll()));
+        assertEquals(toList(jdbcCategoryDao.findAllSubCategories()), toList(categoryDao.findAllSubCategories()));
+        assertEquals(toList(jdbcCategoryDao.findAllPossibleParents()), toList(categoryDao.findAllPossibleParents()));
+        assertEquals(toList(jdbcCategoryDao.findAllPossibleParentsForId(PARENT_CATEGORY_ID)),
+                toList(categoryDao.findAllPossibleParentsForId(PARENT_CATEGORY_ID)));
+        assertEquals(toList(jdbcCategoryDao.findAllCategoryDTOs()), toList(categoryDao.findAllCategoryDTOs()));
+        assertEquals(toList(jdbcCategoryDao.findSubCategoryDTOsByCategoryId(PARENT_CATEGORY_ID)),
+                toList(categoryDao.findSubCategoryDTOsByCategoryId(PARENT_CATEGORY_ID)));
+        assertEquals(jdbcCategoryDao.findCategoryDTOById(PARENT_CATEGORY_ID),
+                categoryDao.findCategoryDTOById(PARENT_CATEGORY_ID));
+        assertEquals(jdbcCategoryDao.findCategoryDTOById(TEST_CATEGORY_ID),
+                categoryDao.findCategoryDTOById(TEST_CATEGORY_ID));
+    }
+
+    private static <T> List<T> toList(Stream<T> stream) {
+
+        try (Stream<T> closeable = stream) {
+            return closeable.collect(Collectors.toList());
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.epam.course.cp.dao;
 
 import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.ProductDTO;
 import com.epam.course.cp.model.Category;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,9 +46,18 @@ class CategoryDaoJdbcImplTest {
 
     private static final Integer CATEGORY_ID_TO_DELETE = 4;
 
+    private static final Integer OTHER_PARENT_CATEGORY_ID = 2;
+    private static final Integer TEST_CATEGORY_PRODUCT_ID = 1;
+
     @Autowired
     private CategoryDao categoryDao;
 
+    @Autowired
+    private ProductDao productDao;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     @Test
     void shouldFindAllCategories() {
 
@@ -121,7 +135,10 @@ class CategoryDaoJdbcImplTest {
     @Test
     void shouldAddNewCategory() {
 
-        Stream<Category> categoriesBeforeInsert = categoryDao.findAll();
+        long categoriesBeforeInsert;
+        try (Stream<Category> categories = categoryDao.findAll()) {
+            categoriesBeforeInsert = categories.count();
+        }
 
         Category category = new Category();
         category.setCategoryName(NEW_CATEGORY_NAME);
@@ -130,9 +147,42 @@ class CategoryDaoJdbcImplTest {
         Category addedCategory = categoryDao.add(category).get();
         assertNotNull(addedCategory.getCategoryId());
 
-        Stream<Category> categoriesAfterInsert = categoryDao.findAll();
+        long categoriesAfterInsert;
+        try (Stream<Category> categories = categoryDao.findAll()) {
+            categoriesAfterInsert = categories.count();
+        }
+
+        assertTrue(1 == categoriesAfterInsert - categoriesBeforeInsert);
+    }
+
+    @Test
+    void shouldFindNewCategoryDTOWithoutProducts() {
+
+        Category category = new Category();
+        category.setCategoryName(NEW_CATEGORY_NAME);
+        category.setParentId(NEW_CATEGORY_PARENT_ID);
+
+        Category addedCategory = categoryDao.add(category).get();
+        CategoryDTO categoryDTO = categoryDao.findCategoryDTOById(addedCategory.getCategoryId()).get();
 
-        assertTrue(1 == categoriesAfterInsert.count() - categoriesBeforeInsert.count());
+        assertEquals(Integer.valueOf(0), categoryDTO.getProductsAmount());
+        assertEquals(PARENT_CATEGORY_PRODUCTS_AMOUNT,
+                categoryDao.findCategoryDTOById(NEW_CATEGORY_PARENT_ID).get().getProductsAmount());
+    }
+
+    @Test
+    void shouldChangeTableVersionOnWrites() {
+
+        long version = tableVersions.getVersion(TableVersions.CATEGORY);
+
+        Category category = categoryDao.findById(TEST_CATEGORY_ID).get();
+        category.setCategoryName(NEW_CATEGORY_NAME);
+        categoryDao.update(category);
+        assertTrue(tableVersions.getVersion(TableVersions.CATEGORY) > version);
+
+        version = tableVersions.getVersion(TableVersions.CATEGORY);
+        categoryDao.delete(CATEGORY_ID_TO_DELETE);
+        assertTrue(tableVersions.getVersion(TableVersions.CATEGORY) > version);
     }
 
     @Test
@@ -154,6 +204,71 @@ class CategoryDaoJdbcImplTest {
 
     }
 
+    @Test
+    void shouldRenameCategoryInProductDTOs() {
+
+        Category parent = categoryDao.findById(PARENT_CATEGORY_ID).get();
+        parent.setCategoryName(NEW_CATEGORY_NAME);
+        parent.setParentId(null);
+        categoryDao.update(parent);
+
+        Category subCategory = categoryDao.findById(TEST_CATEGORY_ID).get();
+        subCategory.setCategoryName(NEW_CATEGORY_NAME + 1);
+        categoryDao.update(subCategory);
+
+        List<ProductDTO> productDTOs = productDao.findProductDTOsByCategoryId(PARENT_CATEGORY_ID)
+                .collect(Collectors.toList());
+
+        assertFalse(productDTOs.isEmpty());
+        productDTOs.forEach(productDTO -> assertEquals(NEW_CATEGORY_NAME, productDTO.getCategoryName()));
+        productDTOs.stream()
+                .filter(productDTO -> productDTO.getCategoryId().equals(TEST_CATEGORY_ID))
+                .forEach(productDTO -> assertEquals(NEW_CATEGORY_NAME + 1, productDTO.getSubCategoryName()));
+    }
+
+    @Test
+    void shouldMoveProductDTOsWithCategory() {
+
+        Category subCategory = categoryDao.findById(TEST_CATEGORY_ID).get();
+        subCategory.setParentId(OTHER_PARENT_CATEGORY_ID);
+        categoryDao.update(subCategory);
+
+        assertTrue(productDao.findProductDTOsByCategoryId(OTHER_PARENT_CATEGORY_ID)
+                .anyMatch(productDTO -> productDTO.getProductId().equals(TEST_CATEGORY_PRODUCT_ID)));
+        assertFalse(productDao.findProductDTOsByCategoryId(PARENT_CATEGORY_ID)
+                .anyMatch(productDTO -> productDTO.getProductId().equals(TEST_CATEGORY_PRODUCT_ID)));
+    }
+
+    @Test
+    void shouldIncreaseVersionOnUpdate() {
+
+        Category category = categoryDao.findById(TEST_CATEGORY_ID).get();
+        assertEquals(Integer.valueOf(0), category.getVersion());
+
+        categoryDao.update(category);
+        assertEquals(Integer.valueOf(1), category.getVersion());
+
+        category.setVersion(null);
+        categoryDao.update(category);
+        assertEquals(Integer.valueOf(2), category.getVersion());
+        assertEquals(Integer.valueOf(2), categoryDao.findById(TEST_CATEGORY_ID).get().getVersion());
+    }
+
+    @Test
+    void updateCategoryWithStaleVersion() {
+
+        Category category = categoryDao.findById(TEST_CATEGORY_ID).get();
+        Category staleCategory = categoryDao.findById(TEST_CATEGORY_ID).get();
+        categoryDao.update(category);
+
+        staleCategory.setCategoryName(NEW_CATEGORY_NAME);
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            categoryDao.update(staleCategory);
+        });
+
+        assertEquals(TEST_CATEGORY_NAME, categoryDao.findById(TEST_CATEGORY_ID).get().getCategoryName());
+    }
+
     @Test
     void updateNonExistentCategory() {
 
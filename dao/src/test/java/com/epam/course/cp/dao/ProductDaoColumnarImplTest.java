@@ -0,0 +1,265 @@
+package com.epam.course.cp.dao;
+
+import com.epam.course.cp.dao.support.ColumnarCatalog;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:dao-test.xml"})
+@ActiveProfiles(ColumnarCatalog.PROFILE)
+@Transactional
+@Rollback
+class ProductDaoColumnarImplTest {
+
+    private static final Integer TEST_PRODUCT_ID = 1;
+    private static final String TEST_PRODUCT_NAME = "Red bricks";
+    private static final LocalDate TEST_PRODUCT_DATE_ADDED = LocalDate.of(2012, 6, 18);
+
+    private static final Integer NOT_EXISTING_PRODUCT_ID = 999;
+
+    private static final String NEW_PRODUCT_NAME = "Yellow bricks";
+    private static final Integer NEW_PRODUCT_AMOUNT = 1750;
+    private static final LocalDate NEW_PRODUCT_DATE_ADDED = LocalDate.of(2016, 7, 16);
+
+    private static final Integer SUBCATEGORY_ID = 5;
+    private static final Integer OTHER_SUBCATEGORY_ID = 7;
+    private static final Integer PARENT_CATEGORY_ID = 1;
+    private static final Integer OTHER_PARENT_CATEGORY_ID = 2;
+
+    @Autowired
+    private ProductDao productDao;
+
+    @Autowired
+    @Qualifier("productDaoJdbcImpl")
+    private ProductDao jdbcProductDao;
+
+    @Autowired
+    private ColumnarCatalog columnarCatalog;
+
+    @Test
+    void shouldBeSelectedByProfile() {
+        assertTrue(productDao instanceof ProductDaoColumnarImpl);
+    }
+
+    @Test
+    void shouldFindProductsAsJdbcDao() {
+
+        List<Product> products = productDao.findAll().collect(Collectors.toList());
+
+        assertEquals(sortById(jdbcProductDao.findAll()), products);
+        assertEquals(TEST_PRODUCT_NAME, productDao.findById(TEST_PRODUCT_ID).get().getProductName());
+        assertThrows(EmptyResultDataAccessException.class, () -> productDao.findById(NOT_EXISTING_PRODUCT_ID));
+    }
+
+    @Test
+    void shouldFindProductDTOsAsJdbcDao() {
+
+        for (ProductCriteria criteria : createCriteria()) {
+            assertEquals(jdbcProductDao.findProductDTOs(criteria).collect(Collectors.toList()),
+                    productDao.findProductDTOs(criteria).collect(Collectors.toList()), criteria.toString());
+        }
+    }
+
+    @Test
+    void shouldFindAddedProducts() {
+
+        Product product = productDao.add(createProduct(null, SUBCATEGORY_ID)).get();
+        List<Product> products = productDao.addAll(Arrays.asList(
+                createProduct(null, OTHER_SUBCATEGORY_ID), createProduct(null, PARENT_CATEGORY_ID)));
+
+        assertEquals(product, productDao.findById(product.getProductId()).get());
+        assertEquals(products.get(0), productDao.findById(products.get(0).getProductId()).get());
+        assertProductDTOsMatchJdbcDao();
+    }
+
+    @Test
+    void shouldFindUpdatedProductsWithTheirDates() {
+
+        Product product = createProduct(TEST_PRODUCT_ID, OTHER_SUBCATEGORY_ID);
+        product.setDateAdded(null);
+        productDao.update(product);
+
+        int[] rowsUpdated = productDao.updateAll(Arrays.asList(
+                createProduct(2, PARENT_CATEGORY_ID), createProduct(NOT_EXISTING_PRODUCT_ID, SUBCATEGORY_ID)));
+
+        assertArrayEquals(new int[]{1, 0}, rowsUpdated);
+        Product updatedProduct = productDao.findById(TEST_PRODUCT_ID).get();
+        assertEquals(product.getProductName(), updatedProduct.getProductName());
+        assertEquals(jdbcProductDao.findById(TEST_PRODUCT_ID).get().getVersion(), updatedProduct.getVersion());
+        assertEquals(TEST_PRODUCT_DATE_ADDED, updatedProduct.getDateAdded());
+        assertThrows(EmptyResultDataAccessException.class, () -> productDao.findById(NOT_EXISTING_PRODUCT_ID));
+        assertProductDTOsMatchJdbcDao();
+    }
+
+    @Test
+    void shouldFindAdjustedProductAmount() {
+
+        Product product = productDao.adjustAmount(TEST_PRODUCT_ID, -NEW_PRODUCT_AMOUNT);
+
+        Product adjustedProduct = productDao.findById(TEST_PRODUCT_ID).get();
+        assertEquals(product.getProductAmount(), adjustedProduct.getProductAmount());
+        assertEquals(product.getVersion(), adjustedProduct.getVersion());
+        assertProductDTOsMatchJdbcDao();
+    }
+
+    @Test
+    void shouldNotFindDeletedProduct() {
+
+        productDao.delete(TEST_PRODUCT_ID);
+
+        assertThrows(EmptyResultDataAccessException.class, () -> productDao.findById(TEST_PRODUCT_ID));
+        assertProductDTOsMatchJdbcDao();
+    }
+
+    @Test
+    void shouldHideUncommittedWritesFromOtherThreads() throws Exception {
+
+        Integer amount = productDao.findById(TEST_PRODUCT_ID).get().getProductAmount();
+        Product product = productDao.adjustAmount(TEST_PRODUCT_ID, -NEW_PRODUCT_AMOUNT);
+
+        assertTrue(columnarCatalog.hasUncommittedWrites());
+        assertEquals(product.getProductAmount(), productDao.findById(TEST_PRODUCT_ID).get().getProductAmount());
+        assertEquals(amount, CompletableFuture.supplyAsync(
+                () -> productDao.findById(TEST_PRODUCT_ID).get().getProductAmount()).get());
+    }
+
+    @Test
+    void shouldApplyWritesAfterCommit() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        try {
+            columnarCatalog.setProductAmount(TEST_PRODUCT_ID, NEW_PRODUCT_AMOUNT, product.getVersion() + 1);
+            assertEquals(product, CompletableFuture.supplyAsync(
+                    () -> productDao.findById(TEST_PRODUCT_ID).get()).join());
+
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+
+            assertFalse(columnarCatalog.hasUncommittedWrites());
+            assertEquals(NEW_PRODUCT_AMOUNT, productDao.findById(TEST_PRODUCT_ID).get().getProductAmount());
+        } finally {
+            columnarCatalog.invalidate();
+        }
+    }
+
+    @Test
+    void shouldDropWritesOfRolledBackTransaction() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        columnarCatalog.setProductAmount(TEST_PRODUCT_ID, NEW_PRODUCT_AMOUNT, product.getVersion() + 1);
+
+        TestTransaction.end();
+
+        assertFalse(columnarCatalog.hasUncommittedWrites());
+        assertEquals(product, productDao.findById(TEST_PRODUCT_ID).get());
+    }
+
+    @Test
+    void shouldSkipWritesOlderThanRows() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        TestTransaction.end();
+        try {
+            columnarCatalog.setProductAmount(TEST_PRODUCT_ID, NEW_PRODUCT_AMOUNT, product.getVersion() + 2);
+
+            Product older = productDao.findById(TEST_PRODUCT_ID).get();
+            older.setProductName(NEW_PRODUCT_NAME);
+            older.setVersion(product.getVersion() + 1);
+            columnarCatalog.updateProducts(Collections.singletonList(older));
+            columnarCatalog.setProductAmount(TEST_PRODUCT_ID, product.getProductAmount(), product.getVersion() + 1);
+
+            Product found = productDao.findById(TEST_PRODUCT_ID).get();
+            assertEquals(TEST_PRODUCT_NAME, found.getProductName());
+            assertEquals(NEW_PRODUCT_AMOUNT, found.getProductAmount());
+            assertEquals(Integer.valueOf(product.getVersion() + 2), found.getVersion());
+        } finally {
+            columnarCatalog.invalidate();
+        }
+    }
+
+    private void assertProductDTOsMatchJdbcDao() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        List<ProductDTO> expected = jdbcProductDao.findProductDTOs(criteria).collect(Collectors.toList());
+
+        assertEquals(expected, productDao.findProductDTOs(criteria).collect(Collectors.toList()));
+        assertEquals(sortById(jdbcProductDao.findAll()), productDao.findAll().collect(Collectors.toList()));
+    }
+
+    private static List<Product> sortById(Stream<Product> products) {
+
+        try (Stream<Product> closeable = products) {
+            return closeable.sorted((first, second) -> first.getProductId().compareTo(second.getProductId()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<ProductCriteria> createCriteria() {
+
+        ProductCriteria byParent = new ProductCriteria();
+        byParent.setCategoryId(PARENT_CATEGORY_ID);
+
+        ProductCriteria byDates = new ProductCriteria();
+        byDates.setDateBegin(LocalDate.of(2018, 1, 11));
+        byDates.setDateEnd(LocalDate.of(2019, 4, 1));
+
+        ProductCriteria mixed = new ProductCriteria();
+        mixed.setCategoryId(OTHER_PARENT_CATEGORY_ID);
+        mixed.setDateBegin(LocalDate.of(2018, 1, 1));
+
+        ProductCriteria byAmount = new ProductCriteria();
+        byAmount.setMinAmount(200);
+        byAmount.setMaxAmount(2750);
+
+        ProductCriteria byName = new ProductCriteria();
+        byName.setNamePrefix("Dense");
+        byName.setSort(ProductCriteria.Sort.PRODUCT_NAME);
+
+        ProductCriteria byDate = new ProductCriteria();
+        byDate.setSort(ProductCriteria.Sort.DATE_ADDED);
+        byDate.setLimit(5);
+
+        ProductCriteria page = new ProductCriteria();
+        page.setAfterProductId(3);
+        page.setLimit(3);
+
+        ProductCriteria emptyPage = new ProductCriteria();
+        emptyPage.setAfterProductId(NOT_EXISTING_PRODUCT_ID);
+
+        return Arrays.asList(new ProductCriteria(), byParent, byDates, mixed, byAmount, byName, byDate,
+                page, emptyPage);
+    }
+
+    private static Product createProduct(Integer productId, Integer categoryId) {
+
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductName(NEW_PRODUCT_NAME + " " + productId + " " + categoryId);
+        product.setProductAmount(NEW_PRODUCT_AMOUNT);
+        product.setDateAdded(NEW_PRODUCT_DATE_ADDED);
+        product.setCategoryId(categoryId);
+
+        return product;
+    }
+}
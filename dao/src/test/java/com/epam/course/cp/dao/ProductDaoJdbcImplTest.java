@@ -1,18 +1,26 @@
 package com.epam.course.cp.dao;
 
 import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.dao.exception.InsufficientAmountException;
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Category;
 import com.epam.course.cp.model.Product;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,15 +49,39 @@ class ProductDaoJdbcImplTest {
 
     private static final Integer PRODUCT_ID_TO_DELETE = 1;
 
+    private static final Integer AMOUNT_DELTA = -500;
+
     private static final LocalDate DATE_INTERVAL_BEGIN = LocalDate.of(2018, 1, 1);
     private static final LocalDate DATE_INTERVAL_END = LocalDate.of(2019, 1, 1);
     private static final Integer PRODUCTS_AMOUNT_IN_DATE_INTERVAL = 4;
 
     private static final Integer PRODUCTS_AMOUNT_BY_MIXED_FILTER = 2;
 
+    private static final Integer PAGE_SIZE = 3;
+    private static final Integer LAST_PAGE_CURSOR = 6;
+
+    private static final Integer MIN_AMOUNT = 200;
+    private static final Integer MAX_AMOUNT = 2500;
+    private static final Integer PRODUCTS_AMOUNT_IN_AMOUNT_RANGE = 3;
+
+    private static final String NAME_PREFIX = "Wood Screws";
+    private static final Integer PRODUCTS_AMOUNT_BY_NAME_PREFIX = 2;
+
+    private static final Integer SUBCATEGORY_ID = 5;
+    private static final Integer OTHER_SUBCATEGORY_ID = 7;
+    private static final Integer OTHER_PARENT_CATEGORY_ID = 2;
+    private static final String SUBCATEGORY_NAME = "Bricks";
+    private static final String PARENT_CATEGORY_NAME = "Bricks & Blocks";
+
     @Autowired
     private ProductDao productDao;
 
+    @Autowired
+    private CategoryDao categoryDao;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     @Test
     void shouldFindAllProducts() {
 
@@ -79,6 +111,18 @@ class ProductDaoJdbcImplTest {
         assertTrue(productDTOs.count() == PRODUCTS_AMOUNT);
     }
 
+    @Test
+    void shouldStreamProductDTOsLazily() {
+
+        try (Stream<ProductDTO> productDTOs = productDao.findAllProductDTOs()) {
+            assertTrue(1 == productDTOs.limit(1).count());
+        }
+
+        try (Stream<ProductDTO> productDTOs = productDao.findAllProductDTOs()) {
+            assertTrue(PRODUCTS_AMOUNT == productDTOs.count());
+        }
+    }
+
     @Test
     void shouldFindProductDTOsByCategoryId() {
 
@@ -108,18 +152,123 @@ class ProductDaoJdbcImplTest {
         assertTrue(PRODUCTS_AMOUNT_BY_MIXED_FILTER == productDTOs.count());
     }
 
+    @Test
+    void shouldFindFirstProductDTOsPage() {
+
+        List<ProductDTO> page = productDao.findProductDTOsPage(null, PAGE_SIZE).collect(Collectors.toList());
+
+        assertTrue(PAGE_SIZE == page.size());
+        assertEquals(Integer.valueOf(1), page.get(0).getProductId());
+        assertEquals(Integer.valueOf(3), page.get(2).getProductId());
+    }
+
+    @Test
+    void shouldFindProductDTOsPageAfterCursor() {
+
+        List<ProductDTO> page = productDao.findProductDTOsPage(LAST_PAGE_CURSOR, PAGE_SIZE).collect(Collectors.toList());
+
+        assertTrue(PRODUCTS_AMOUNT - LAST_PAGE_CURSOR == page.size());
+        page.forEach(productDTO -> assertTrue(productDTO.getProductId() > LAST_PAGE_CURSOR));
+    }
+
+    @Test
+    void shouldFindProductDTOsPageFromDateInterval() {
+
+        List<ProductDTO> firstPage = productDao
+                .findProductDTOsPageFromDateInterval(DATE_INTERVAL_BEGIN, DATE_INTERVAL_END, null, PAGE_SIZE)
+                .collect(Collectors.toList());
+        Integer cursor = firstPage.get(firstPage.size() - 1).getProductId();
+        List<ProductDTO> secondPage = productDao
+                .findProductDTOsPageFromDateInterval(DATE_INTERVAL_BEGIN, DATE_INTERVAL_END, cursor, PAGE_SIZE)
+                .collect(Collectors.toList());
+
+        assertTrue(PAGE_SIZE == firstPage.size());
+        assertTrue(PRODUCTS_AMOUNT_IN_DATE_INTERVAL - PAGE_SIZE == secondPage.size());
+        assertTrue(secondPage.get(0).getProductId() > cursor);
+    }
+
+    @Test
+    void shouldFindProductDTOsPageByMixedFilter() {
+
+        List<ProductDTO> page = productDao
+                .findProductDTOsPageByMixedFilter(DATE_INTERVAL_BEGIN, DATE_INTERVAL_END, PARENT_CATEGORY_ID, null, PAGE_SIZE)
+                .collect(Collectors.toList());
+
+        assertTrue(PRODUCTS_AMOUNT_BY_MIXED_FILTER == page.size());
+    }
+
+    @Test
+    void shouldFindProductDTOsByAmountRange() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setMinAmount(MIN_AMOUNT);
+        criteria.setMaxAmount(MAX_AMOUNT);
+
+        List<ProductDTO> productDTOs = productDao.findProductDTOs(criteria).collect(Collectors.toList());
+
+        assertTrue(PRODUCTS_AMOUNT_IN_AMOUNT_RANGE == productDTOs.size());
+        productDTOs.forEach(productDTO -> assertTrue(productDTO.getProductAmount() >= MIN_AMOUNT
+                && productDTO.getProductAmount() <= MAX_AMOUNT));
+    }
+
+    @Test
+    void shouldFindProductDTOsByNamePrefix() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setNamePrefix(NAME_PREFIX);
+
+        assertTrue(PRODUCTS_AMOUNT_BY_NAME_PREFIX == productDao.findProductDTOs(criteria).count());
+
+        criteria.setNamePrefix("Wood_Screws");
+        assertTrue(0 == productDao.findProductDTOs(criteria).count());
+
+        criteria.setNamePrefix("%");
+        assertTrue(0 == productDao.findProductDTOs(criteria).count());
+    }
+
+    @Test
+    void shouldSortProductDTOsByName() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setSort(ProductCriteria.Sort.PRODUCT_NAME);
+        criteria.setLimit(PAGE_SIZE);
+
+        List<String> names = productDao.findProductDTOs(criteria)
+                .map(ProductDTO::getProductName)
+                .collect(Collectors.toList());
+
+        assertTrue(PAGE_SIZE == names.size());
+        assertEquals(names.stream().sorted().collect(Collectors.toList()), names);
+    }
+
+    @Test
+    void shouldNotPageProductDTOsSortedByDate() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setSort(ProductCriteria.Sort.DATE_ADDED);
+        criteria.setAfterProductId(TEST_PRODUCT_ID);
+
+        assertThrows(IllegalArgumentException.class, () -> productDao.findProductDTOs(criteria));
+    }
+
     @Test
     void shouldAddNewProduct() {
 
-        Stream<Product> productsBeforeInsert = productDao.findAll();
+        long productsBeforeInsert;
+        try (Stream<Product> products = productDao.findAll()) {
+            productsBeforeInsert = products.count();
+        }
 
         Product product = createProduct();
 
         Product newProduct = productDao.add(product).get();
         assertNotNull(newProduct.getProductId());
 
-        Stream<Product> productsAfterInsert = productDao.findAll();
-        assertTrue(1 == productsAfterInsert.count() - productsBeforeInsert.count());
+        long productsAfterInsert;
+        try (Stream<Product> products = productDao.findAll()) {
+            productsAfterInsert = products.count();
+        }
+        assertTrue(1 == productsAfterInsert - productsBeforeInsert);
 
     }
 
@@ -142,6 +291,49 @@ class ProductDaoJdbcImplTest {
 
     }
 
+    @Test
+    void shouldIncreaseVersionOnUpdate() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        assertEquals(Integer.valueOf(0), product.getVersion());
+
+        product.setProductAmount(NEW_PRODUCT_AMOUNT);
+        productDao.update(product);
+        assertEquals(Integer.valueOf(1), product.getVersion());
+
+        product.setVersion(null);
+        productDao.update(product);
+        assertEquals(Integer.valueOf(2), product.getVersion());
+        assertEquals(Integer.valueOf(2), productDao.findById(TEST_PRODUCT_ID).get().getVersion());
+    }
+
+    @Test
+    void updateProductWithStaleVersion() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        Product staleProduct = productDao.findById(TEST_PRODUCT_ID).get();
+        productDao.update(product);
+
+        staleProduct.setProductAmount(NEW_PRODUCT_AMOUNT);
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            productDao.update(staleProduct);
+        });
+
+        assertEquals(TEST_PRODUCT_AMOUNT, productDao.findById(TEST_PRODUCT_ID).get().getProductAmount());
+        assertCategoryTotalsMatchProducts();
+    }
+
+    @Test
+    void updateAllProductsWithStaleVersion() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        product.setVersion(product.getVersion() + 1);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            productDao.updateAll(Arrays.asList(productDao.findById(2).get(), product));
+        });
+    }
+
     @Test
     void updateNonExistentProduct() {
 
@@ -157,6 +349,40 @@ class ProductDaoJdbcImplTest {
 
     }
 
+    @Test
+    void shouldAddAllProducts() {
+
+        List<Product> products = Arrays.asList(createProduct(), createProduct(), createProduct());
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setProductName(NEW_PRODUCT_NAME + i);
+        }
+
+        List<Product> newProducts = productDao.addAll(products);
+
+        assertTrue(3 == newProducts.size());
+        assertTrue(3 == newProducts.stream().map(Product::getProductId).distinct().count());
+        for (Product newProduct : newProducts) {
+            assertEquals(newProduct.getProductName(),
+                    productDao.findById(newProduct.getProductId()).get().getProductName());
+        }
+        assertTrue(PRODUCTS_AMOUNT + 3 == productDao.findAll().count());
+    }
+
+    @Test
+    void shouldUpdateAllProducts() {
+
+        Product existingProduct = productDao.findById(TEST_PRODUCT_ID).get();
+        existingProduct.setProductAmount(NEW_PRODUCT_AMOUNT);
+
+        Product nonExistentProduct = createProduct();
+        nonExistentProduct.setProductId(Integer.MAX_VALUE);
+
+        int[] rowsUpdated = productDao.updateAll(Arrays.asList(existingProduct, nonExistentProduct));
+
+        assertArrayEquals(new int[]{1, 0}, rowsUpdated);
+        assertEquals(NEW_PRODUCT_AMOUNT, productDao.findById(TEST_PRODUCT_ID).get().getProductAmount());
+    }
+
     @Test
     void shouldDeleteProduct() {
 
@@ -167,6 +393,19 @@ class ProductDaoJdbcImplTest {
         });
     }
 
+    @Test
+    void shouldChangeTableVersionOnWrites() {
+
+        long version = tableVersions.getVersion(TableVersions.PRODUCT);
+
+        productDao.adjustAmount(TEST_PRODUCT_ID, AMOUNT_DELTA);
+        assertTrue(tableVersions.getVersion(TableVersions.PRODUCT) > version);
+
+        version = tableVersions.getVersion(TableVersions.PRODUCT);
+        productDao.delete(PRODUCT_ID_TO_DELETE);
+        assertTrue(tableVersions.getVersion(TableVersions.PRODUCT) > version);
+    }
+
     @Test
     void deleteNonExistentProduct() {
 
@@ -178,6 +417,216 @@ class ProductDaoJdbcImplTest {
         assertEquals("Failed to delete product in DB", exception.getMessage());
     }
 
+    @Test
+    void shouldAddProductAmountToCategoryTotals() {
+
+        Integer subCategoryAmount = getProductsAmount(SUBCATEGORY_ID);
+        Integer parentAmount = getProductsAmount(PARENT_CATEGORY_ID);
+
+        Product product = createProduct();
+        product.setCategoryId(SUBCATEGORY_ID);
+        productDao.add(product);
+
+        assertEquals(Integer.valueOf(subCategoryAmount + NEW_PRODUCT_AMOUNT), getProductsAmount(SUBCATEGORY_ID));
+        assertEquals(Integer.valueOf(parentAmount + NEW_PRODUCT_AMOUNT), getProductsAmount(PARENT_CATEGORY_ID));
+        assertCategoryTotalsMatchProducts();
+    }
+
+    @Test
+    void shouldMoveProductAmountBetweenCategoryTotals() {
+
+        Integer subCategoryAmount = getProductsAmount(SUBCATEGORY_ID);
+        Integer otherSubCategoryAmount = getProductsAmount(OTHER_SUBCATEGORY_ID);
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        product.setCategoryId(OTHER_SUBCATEGORY_ID);
+        product.setProductAmount(NEW_PRODUCT_AMOUNT);
+        productDao.update(product);
+
+        assertEquals(Integer.valueOf(subCategoryAmount - TEST_PRODUCT_AMOUNT), getProductsAmount(SUBCATEGORY_ID));
+        assertEquals(Integer.valueOf(otherSubCategoryAmount + NEW_PRODUCT_AMOUNT),
+                getProductsAmount(OTHER_SUBCATEGORY_ID));
+        assertCategoryTotalsMatchProducts();
+    }
+
+    @Test
+    void shouldSubtractProductAmountFromCategoryTotals() {
+
+        Integer subCategoryAmount = getProductsAmount(SUBCATEGORY_ID);
+
+        productDao.delete(TEST_PRODUCT_ID);
+
+        assertEquals(Integer.valueOf(subCategoryAmount - TEST_PRODUCT_AMOUNT), getProductsAmount(SUBCATEGORY_ID));
+        assertCategoryTotalsMatchProducts();
+    }
+
+    @Test
+    void shouldAdjustProductAmount() {
+
+        Integer subCategoryAmount = getProductsAmount(SUBCATEGORY_ID);
+
+        Product product = productDao.adjustAmount(TEST_PRODUCT_ID, AMOUNT_DELTA);
+        Integer amount = product.getProductAmount();
+
+        assertEquals(Integer.valueOf(TEST_PRODUCT_AMOUNT + AMOUNT_DELTA), amount);
+        assertEquals(Integer.valueOf(1), product.getVersion());
+        assertEquals(amount, productDao.findById(TEST_PRODUCT_ID).get().getProductAmount());
+        assertEquals(amount, findProductDTO(TEST_PRODUCT_ID).getProductAmount());
+        assertEquals(Integer.valueOf(subCategoryAmount + AMOUNT_DELTA), getProductsAmount(SUBCATEGORY_ID));
+        assertCategoryTotalsMatchProducts();
+        assertProductDTOsMatchProducts();
+    }
+
+    @Test
+    void shouldAdjustProductAmountToZero() {
+
+        assertEquals(Integer.valueOf(0),
+                productDao.adjustAmount(TEST_PRODUCT_ID, -TEST_PRODUCT_AMOUNT).getProductAmount());
+        assertCategoryTotalsMatchProducts();
+    }
+
+    @Test
+    void shouldKeepVersionWhenAdjustingByZero() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+
+        Product adjustedProduct = productDao.adjustAmount(TEST_PRODUCT_ID, 0);
+
+        assertEquals(product, adjustedProduct);
+        assertEquals(product.getVersion(), adjustedProduct.getVersion());
+        assertEquals(product.getVersion(), productDao.findById(TEST_PRODUCT_ID).get().getVersion());
+        assertCategoryTotalsMatchProducts();
+        assertThrows(EmptyResultDataAccessException.class, () -> productDao.adjustAmount(Integer.MAX_VALUE, 0));
+    }
+
+    @Test
+    void adjustProductAmountBelowZero() {
+
+        assertThrows(InsufficientAmountException.class, () -> {
+            productDao.adjustAmount(TEST_PRODUCT_ID, -TEST_PRODUCT_AMOUNT - 1);
+        });
+
+        assertEquals(TEST_PRODUCT_AMOUNT, productDao.findById(TEST_PRODUCT_ID).get().getProductAmount());
+        assertCategoryTotalsMatchProducts();
+    }
+
+    @Test
+    void adjustAmountOfNonExistentProduct() {
+
+        assertThrows(EmptyResultDataAccessException.class, () -> {
+            productDao.adjustAmount(Integer.MAX_VALUE, AMOUNT_DELTA);
+        });
+    }
+
+    @Test
+    void shouldKeepCategoryTotalsOnBatches() {
+
+        List<Product> products = Arrays.asList(createProduct(), createProduct());
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setProductName(NEW_PRODUCT_NAME + i);
+            products.get(i).setCategoryId(SUBCATEGORY_ID);
+        }
+        List<Product> newProducts = productDao.addAll(products);
+        assertCategoryTotalsMatchProducts();
+
+        Product movedProduct = newProducts.get(0);
+        movedProduct.setCategoryId(OTHER_SUBCATEGORY_ID);
+        Product movedTwiceProduct = productDao.findById(TEST_PRODUCT_ID).get();
+        movedTwiceProduct.setCategoryId(OTHER_SUBCATEGORY_ID);
+        Product movedBackProduct = productDao.findById(TEST_PRODUCT_ID).get();
+        movedBackProduct.setProductAmount(NEW_PRODUCT_AMOUNT);
+        movedBackProduct.setVersion(movedTwiceProduct.getVersion() + 1);
+
+        productDao.updateAll(Arrays.asList(movedProduct, movedTwiceProduct, movedBackProduct));
+        assertCategoryTotalsMatchProducts();
+        assertProductDTOsMatchProducts();
+    }
+
+    @Test
+    void shouldFindAddedProductDTO() {
+
+        Product product = createProduct();
+        product.setCategoryId(SUBCATEGORY_ID);
+        Integer productId = productDao.add(product).get().getProductId();
+
+        ProductDTO productDTO = findProductDTO(productId);
+        assertEquals(NEW_PRODUCT_NAME, productDTO.getProductName());
+        assertEquals(SUBCATEGORY_NAME, productDTO.getSubCategoryName());
+        assertEquals(PARENT_CATEGORY_NAME, productDTO.getCategoryName());
+        assertProductDTOsMatchProducts();
+    }
+
+    @Test
+    void shouldFindMovedProductDTOInNewCategory() {
+
+        Product product = productDao.findById(TEST_PRODUCT_ID).get();
+        product.setCategoryId(OTHER_SUBCATEGORY_ID);
+        productDao.update(product);
+
+        assertTrue(productDao.findProductDTOsByCategoryId(OTHER_PARENT_CATEGORY_ID)
+                .anyMatch(productDTO -> productDTO.getProductId().equals(TEST_PRODUCT_ID)));
+        assertFalse(productDao.findProductDTOsByCategoryId(PARENT_CATEGORY_ID)
+                .anyMatch(productDTO -> productDTO.getProductId().equals(TEST_PRODUCT_ID)));
+        assertProductDTOsMatchProducts();
+    }
+
+    @Test
+    void shouldNotFindDeletedProductDTO() {
+
+        productDao.delete(TEST_PRODUCT_ID);
+
+        assertFalse(productDao.findAllProductDTOs()
+                .anyMatch(productDTO -> productDTO.getProductId().equals(TEST_PRODUCT_ID)));
+        assertProductDTOsMatchProducts();
+    }
+
+    private Integer getProductsAmount(Integer categoryId) {
+        return categoryDao.findCategoryDTOById(categoryId).get().getProductsAmount();
+    }
+
+    private void assertCategoryTotalsMatchProducts() {
+
+        List<Product> products = productDao.findAll().collect(Collectors.toList());
+
+        categoryDao.findAllSubCategories().forEach(category -> assertEquals(
+                Integer.valueOf(products.stream()
+                        .filter(product -> product.getCategoryId().equals(category.getCategoryId()))
+                        .mapToInt(Product::getProductAmount)
+                        .sum()),
+                getProductsAmount(category.getCategoryId()),
+                category.getCategoryName()));
+    }
+
+    private ProductDTO findProductDTO(Integer productId) {
+
+        return productDao.findAllProductDTOs()
+                .filter(productDTO -> productDTO.getProductId().equals(productId))
+                .findFirst()
+                .get();
+    }
+
+    private void assertProductDTOsMatchProducts() {
+
+        List<Product> products = productDao.findAll()
+                .filter(product -> categoryDao.findById(product.getCategoryId()).get().getParentId() != 0)
+                .collect(Collectors.toList());
+        List<ProductDTO> productDTOs = productDao.findAllProductDTOs().collect(Collectors.toList());
+
+        assertEquals(products.size(), productDTOs.size());
+        products.forEach(product -> {
+            ProductDTO productDTO = findProductDTO(product.getProductId());
+            Category subCategory = categoryDao.findById(product.getCategoryId()).get();
+
+            assertEquals(product.getProductName(), productDTO.getProductName());
+            assertEquals(product.getProductAmount(), productDTO.getProductAmount());
+            assertEquals(product.getDateAdded(), productDTO.getDateAdded());
+            assertEquals(product.getCategoryId(), productDTO.getCategoryId());
+            assertEquals(subCategory.getCategoryName(), productDTO.getSubCategoryName());
+            assertEquals(categoryDao.findById(subCategory.getParentId()).get().getCategoryName(),
+                    productDTO.getCategoryName());
+        });
+    }
+
     private Product createProduct() {
 
         Product product = new Product();
@@ -0,0 +1,209 @@
+package com.epam.course.cp.dao;
+
+import com.epam.course.cp.dao.support.ProductDTOQueryBuilder;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:dao-test.xml"})
+class SqlQueryPlanTest {
+
+    private static final String SQL_QUERIES = "sql-query.properties";
+
+    private static final String CATEGORY_PARENT_INDEX = "IDX_CATEGORY_PARENT_ID";
+    private static final String PRODUCT_VIEW_DATE_INDEX = "IDX_PRODUCT_VIEW_DATE_ADDED";
+    private static final String PRODUCT_VIEW_PARENT_INDEX = "IDX_PRODUCT_VIEW_PARENT_ID_DATE_ADDED";
+    private static final String PRIMARY_KEY = "PRIMARY_KEY";
+
+    private static final Set<String> HOT_QUERIES = new HashSet<>(Arrays.asList(
+            "category.selectById",
+            "category.selectByIdForUpdate",
+            "category.selectParents",
+            "category.selectParentsForId",
+            "category.update",
+            "category.delete",
+            "categoryDTO.selectAllCategoryDTOs",
+            "categoryDTO.selectCategoryDTOById",
+            "categoryTotals.addProductAmount",
+            "product.adjustAmount",
+            "product.selectById",
+            "product.selectByIdsForUpdate",
+            "product.update",
+            "product.delete",
+            "productView.adjustAmount",
+            "productView.insertByIds",
+            "productView.deleteByIds",
+            "subCategoryDTO.selectSubCategoryDTOsByCategoryId"
+    ));
+
+    private static final Map<String, List<String>> EXPECTED_INDEXES = new HashMap<>();
+
+    static {
+        EXPECTED_INDEXES.put("category.selectById", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("category.selectByIdForUpdate", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("category.selectParents", Arrays.asList(CATEGORY_PARENT_INDEX));
+        EXPECTED_INDEXES.put("category.selectParentsForId", Arrays.asList(CATEGORY_PARENT_INDEX));
+        EXPECTED_INDEXES.put("categoryDTO.selectAllCategoryDTOs",
+                Arrays.asList(CATEGORY_PARENT_INDEX, PRIMARY_KEY));
+        EXPECTED_INDEXES.put("categoryDTO.selectCategoryDTOById",
+                Arrays.asList(PRIMARY_KEY, CATEGORY_PARENT_INDEX));
+        EXPECTED_INDEXES.put("categoryTotals.addProductAmount", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("product.adjustAmount", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("product.selectById", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("product.selectByIdsForUpdate", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("productView.adjustAmount", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("productView.insertByIds", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("productView.deleteByIds", Arrays.asList(PRIMARY_KEY));
+        EXPECTED_INDEXES.put("subCategoryDTO.selectSubCategoryDTOsByCategoryId",
+                Arrays.asList(CATEGORY_PARENT_INDEX, PRIMARY_KEY));
+    }
+
+    // H2 plan comment of a table access path, e.g. "PUBLIC.IDX_PRODUCT_DATE_ADDED: DATE_ADDED >= ?1",
+    // the one without a condition reads the whole table or index
+    private static final Pattern ACCESS_PATH = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_.]+)(:[^*]*)? \\*/");
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private ProductDTOQueryBuilder productDTOQueryBuilder;
+
+    @TestFactory
+    Stream<DynamicTest> shouldExplainEveryQuery() throws IOException {
+
+        Properties queries = loadQueries();
+
+        return queries.stringPropertyNames().stream()
+                .sorted()
+                .map(key -> DynamicTest.dynamicTest(key, () -> checkPlan(key, queries.getProperty(key))));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldExplainProductDTOQueries() {
+
+        Map<String, ProductCriteria> queries = new LinkedHashMap<>();
+        queries.put(PRODUCT_VIEW_DATE_INDEX, createCriteria(null, LocalDate.of(2018, 1, 1), null, null));
+        queries.put(PRODUCT_VIEW_PARENT_INDEX, createCriteria(1, null, null, null));
+        queries.put(PRIMARY_KEY, createCriteria(null, null, null, 1));
+
+        return queries.entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getValue().toString(), () -> {
+                    String sql = productDTOQueryBuilder.buildSql(query.getValue());
+                    String plan = explain(sql);
+                    assertTrue(findFullScans(plan).isEmpty(), "Query reads without index:\n" + plan);
+                    assertTrue(plan.contains("PUBLIC." + query.getKey()), "Query does not use " + query.getKey()
+                            + ":\n" + plan);
+                }));
+    }
+
+    @Test
+    void shouldListOnlyExistingHotQueries() throws IOException {
+
+        Properties queries = loadQueries();
+
+        HOT_QUERIES.forEach(key -> assertNotNull(queries.getProperty(key), "Unknown hot query " + key));
+        EXPECTED_INDEXES.keySet().forEach(key -> assertTrue(HOT_QUERIES.contains(key), key + " is not hot"));
+    }
+
+    private void checkPlan(String key, String sql) {
+
+        String plan = explain(sql);
+
+        if (HOT_QUERIES.contains(key)) {
+            List<String> fullScans = findFullScans(plan);
+            assertTrue(fullScans.isEmpty(), key + " reads without index " + fullScans + ":\n" + plan);
+        }
+
+        for (String index : EXPECTED_INDEXES.getOrDefault(key, new ArrayList<>())) {
+            assertTrue(plan.contains("PUBLIC." + index), key + " does not use " + index + ":\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+
+        String statement = sql.trim();
+        if (statement.endsWith(";")) {
+            statement = statement.substring(0, statement.length() - 1);
+        }
+
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(statement);
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        NamedParameterUtils.buildSqlParameterList(parsedSql, parameters)
+                .forEach(parameter -> parameters.addValue(parameter.getName(), sampleValue(parameter.getName())));
+
+        List<String> plan = namedParameterJdbcTemplate.queryForList("EXPLAIN " + statement, parameters, String.class);
+
+        return String.join(" ", plan)
+                .replace("/++", "/*")
+                .replace("++/", "*/")
+                .replaceAll("\\s+", " ");
+    }
+
+    private List<String> findFullScans(String plan) {
+
+        List<String> fullScans = new ArrayList<>();
+        Matcher matcher = ACCESS_PATH.matcher(plan);
+        while (matcher.find()) {
+            if (matcher.group(2) == null) {
+                fullScans.add(matcher.group(1));
+            }
+        }
+        return fullScans;
+    }
+
+    private Object sampleValue(String parameterName) {
+
+        if (parameterName.contains("date")) {
+            return LocalDate.of(2018, 1, 1);
+        }
+        if (parameterName.contains("name")) {
+            return "name";
+        }
+        return 1;
+    }
+
+    private ProductCriteria createCriteria(Integer categoryId, LocalDate dateBegin, LocalDate dateEnd,
+                                           Integer afterProductId) {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setCategoryId(categoryId);
+        criteria.setDateBegin(dateBegin);
+        criteria.setDateEnd(dateEnd);
+        criteria.setAfterProductId(afterProductId);
+        criteria.setLimit(10);
+
+        return criteria;
+    }
+
+    private Properties loadQueries() throws IOException {
+        return PropertiesLoaderUtils.loadProperties(new ClassPathResource(SQL_QUERIES));
+    }
+}
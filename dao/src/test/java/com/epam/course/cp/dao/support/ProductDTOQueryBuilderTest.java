@@ -0,0 +1,77 @@
+package com.epam.course.cp.dao.support;
+
+import com.epam.course.cp.dao.ProductCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDTOQueryBuilderTest {
+
+    private static final String SELECT_SQL = "SELECT v.prod_id FROM product_view AS v";
+
+    private final ProductDTOQueryBuilder builder = new ProductDTOQueryBuilder(SELECT_SQL);
+
+    @Test
+    void shouldBuildSameSqlForSameCriteriaCombination() {
+
+        ProductCriteria first = new ProductCriteria();
+        first.setCategoryId(1);
+        first.setDateBegin(LocalDate.of(2018, 1, 1));
+
+        ProductCriteria second = new ProductCriteria();
+        second.setCategoryId(2);
+        second.setDateBegin(LocalDate.of(2019, 1, 1));
+
+        assertSame(builder.buildSql(first), builder.buildSql(second));
+    }
+
+    @Test
+    void shouldAppendPredicatesInCanonicalOrder() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setAfterProductId(10);
+        criteria.setMaxAmount(100);
+        criteria.setCategoryId(1);
+        criteria.setLimit(5);
+
+        assertEquals(SELECT_SQL
+                        + " WHERE v.parent_id = :category_id"
+                        + " AND v.prod_amount <= :amount_max"
+                        + " AND v.prod_id > :after_id"
+                        + " ORDER BY v.prod_id LIMIT :limit",
+                builder.buildSql(criteria));
+    }
+
+    @Test
+    void shouldBuildSqlWithoutPredicates() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setSort(ProductCriteria.Sort.DATE_ADDED);
+
+        assertEquals(SELECT_SQL + " ORDER BY v.date_added, v.prod_id", builder.buildSql(criteria));
+    }
+
+    @Test
+    void shouldPassOnlyAppliedCriteria() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setMinAmount(10);
+
+        MapSqlParameterSource parameters = builder.buildParameters(criteria);
+
+        assertEquals(1, parameters.getParameterNames().length);
+        assertEquals(10, parameters.getValue(ProductDTOQueryBuilder.AMOUNT_MIN));
+    }
+
+    @Test
+    void shouldEscapeWildcardsOfNamePrefix() {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setNamePrefix("50%_off!");
+
+        assertEquals("50!%!_off!!%", builder.buildParameters(criteria).getValue(ProductDTOQueryBuilder.NAME_PREFIX));
+    }
+}
@@ -0,0 +1,195 @@
+package com.epam.course.cp.dao.support;
+
+import com.epam.course.cp.dao.ProductCriteria;
+import com.epam.course.cp.dao.mapper.CategoryMapper;
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.response.SqlStatementMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:dao-test.xml"})
+class SqlMetricsTest {
+
+    private static final String SELECT_ALL = "category.selectAll";
+    private static final String SELECT_BY_ID = "category.selectById";
+    private static final String UPDATE = "category.update";
+    private static final String PRODUCT_DTO_SELECT = "productDTO.select";
+
+    private static final int CATEGORIES_COUNT = 8;
+    private static final int NOT_EXISTING_ID = 999;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    private Properties sqlQueries;
+
+    private SqlMetrics sqlMetrics;
+
+    private StreamingNamedParameterJdbcTemplate template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        sqlQueries = PropertiesLoaderUtils.loadProperties(new ClassPathResource("sql-query.properties"));
+        sqlMetrics = new SqlMetrics(sqlQueries);
+        template = new StreamingNamedParameterJdbcTemplate(dataSource);
+        template.setSqlMetrics(sqlMetrics);
+    }
+
+    @Test
+    void shouldNameStatementsByPropertyKeys() {
+
+        assertEquals(SELECT_ALL, sqlMetrics.nameOf(sqlQueries.getProperty(SELECT_ALL)));
+        assertEquals(SELECT_BY_ID, sqlMetrics.nameOf(sqlQueries.getProperty(SELECT_BY_ID)));
+
+        ProductDTOQueryBuilder builder = new ProductDTOQueryBuilder(sqlQueries.getProperty(PRODUCT_DTO_SELECT));
+        String extended = builder.buildSql(new ProductCriteria());
+        assertEquals(PRODUCT_DTO_SELECT + " ORDER BY v.prod_id", sqlMetrics.nameOf(extended));
+
+        assertEquals("SELECT 1", sqlMetrics.nameOf("SELECT  1\n"));
+    }
+
+    @Test
+    void shouldRecordCallsAndRowsOfQueries() {
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, 1);
+        template.queryForObject(sqlQueries.getProperty(SELECT_BY_ID), parameters, categoryMapper);
+        template.queryForObject(sqlQueries.getProperty(SELECT_BY_ID), parameters, categoryMapper);
+        template.query(sqlQueries.getProperty(SELECT_ALL), new MapSqlParameterSource(), categoryMapper);
+
+        Map<String, SqlStatementMetrics> metrics = getMetrics();
+
+        assertEquals(2, metrics.size());
+        assertEquals(2, metrics.get(SELECT_BY_ID).getCalls());
+        assertEquals(2, metrics.get(SELECT_BY_ID).getRows());
+        assertEquals(1, metrics.get(SELECT_ALL).getCalls());
+        assertEquals(CATEGORIES_COUNT, metrics.get(SELECT_ALL).getRows());
+        assertEquals(0, metrics.get(SELECT_ALL).getFailures());
+    }
+
+    @Test
+    void shouldRecordRowsAffectedByUpdates() {
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, NOT_EXISTING_ID);
+        parameters.addValue(CategoryMapper.CATEGORY_NAME, "Name");
+        parameters.addValue(CategoryMapper.CATEGORY_PARENT_ID, null);
+        parameters.addValue(CategoryMapper.VERSION, null, Types.INTEGER);
+
+        assertEquals(0, template.update(sqlQueries.getProperty(UPDATE), parameters));
+
+        SqlStatementMetrics metrics = getMetrics().get(UPDATE);
+        assertEquals(1, metrics.getCalls());
+        assertEquals(0, metrics.getRows());
+    }
+
+    @Test
+    void shouldRecordStreamedQueryWhenStreamIsClosed() {
+
+        Stream<Category> categories = template.queryForStream(sqlQueries.getProperty(SELECT_ALL), categoryMapper);
+        assertEquals(3, categories.limit(3).count());
+        assertTrue(sqlMetrics.getStatementMetrics().isEmpty());
+
+        categories.close();
+
+        SqlStatementMetrics metrics = getMetrics().get(SELECT_ALL);
+        assertEquals(1, metrics.getCalls());
+        assertEquals(3, metrics.getRows());
+    }
+
+    @Test
+    void shouldNotCountMissingRowAsFailure() {
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource(CategoryMapper.CATEGORY_ID, NOT_EXISTING_ID);
+        assertThrows(EmptyResultDataAccessException.class,
+                () -> template.queryForObject(sqlQueries.getProperty(SELECT_BY_ID), parameters, categoryMapper));
+
+        SqlStatementMetrics metrics = getMetrics().get(SELECT_BY_ID);
+        assertEquals(1, metrics.getCalls());
+        assertEquals(0, metrics.getRows());
+        assertEquals(0, metrics.getFailures());
+    }
+
+    @Test
+    void shouldCountFailedExecutions() {
+
+        assertThrows(BadSqlGrammarException.class,
+                () -> template.update("DELETE FROM missing_table", new MapSqlParameterSource()));
+
+        SqlStatementMetrics metrics = getMetrics().get("DELETE FROM missing_table");
+        assertEquals(1, metrics.getCalls());
+        assertEquals(1, metrics.getFailures());
+    }
+
+    @Test
+    void shouldCountSlowExecutions() {
+
+        sqlMetrics.setSlowQueryThresholdMs(0);
+        template.query(sqlQueries.getProperty(SELECT_ALL), new MapSqlParameterSource(), categoryMapper);
+
+        assertEquals(1, getMetrics().get(SELECT_ALL).getSlowCalls());
+    }
+
+    @Test
+    void shouldAttributeConnectionAcquisitionToRunningExecution() {
+
+        SqlMetrics.Execution execution = sqlMetrics.start(sqlQueries.getProperty(SELECT_ALL));
+        sqlMetrics.recordConnectionAcquiredNanos(5_000_000);
+        execution.suspend();
+        sqlMetrics.recordConnectionAcquiredNanos(7_000_000);
+        execution.finish(0);
+
+        SqlStatementMetrics metrics = getMetrics().get(SELECT_ALL);
+        assertEquals(1, metrics.getConnectionAcquisition().getCount());
+        assertEquals(5000, metrics.getConnectionAcquisition().getMaxMicros());
+    }
+
+    @Test
+    void shouldForgetStatisticsOnReset() {
+
+        template.query(sqlQueries.getProperty(SELECT_ALL), new MapSqlParameterSource(), categoryMapper);
+        sqlMetrics.reset();
+
+        assertTrue(sqlMetrics.getStatementMetrics().isEmpty());
+    }
+
+    @Test
+    void shouldNotMeasureWithoutMetrics() {
+
+        template.setSqlMetrics(null);
+        List<Category> categories = template.query(sqlQueries.getProperty(SELECT_ALL),
+                new MapSqlParameterSource(), categoryMapper);
+
+        assertEquals(CATEGORIES_COUNT, categories.size());
+        assertTrue(sqlMetrics.getStatementMetrics().isEmpty());
+    }
+
+    private Map<String, SqlStatementMetrics> getMetrics() {
+
+        return sqlMetrics.getStatementMetrics().stream()
+                .collect(Collectors.toMap(SqlStatementMetrics::getStatement, metrics -> metrics));
+    }
+}
@@ -0,0 +1,111 @@
+package com.epam.course.cp.dao.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:dao-test.xml"})
+public class StreamingNamedParameterJdbcTemplateTest {
+
+    private static final int ROWS = 10000;
+
+    private static final String COUNTED_ROWS_SQL = "SELECT COUNT_ROW(X) FROM SYSTEM_RANGE(1, " + ROWS + ")";
+
+    private static final AtomicInteger ROWS_READ = new AtomicInteger();
+
+    @Autowired
+    private StreamingNamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+
+        namedParameterJdbcTemplate.getJdbcTemplate().execute("CREATE ALIAS IF NOT EXISTS COUNT_ROW FOR \""
+                + StreamingNamedParameterJdbcTemplateTest.class.getName() + ".countRow\"");
+        ROWS_READ.set(0);
+    }
+
+    @Test
+    void shouldNotReadAllRowsUpFront() {
+
+        try (Stream<Long> rows = namedParameterJdbcTemplate.queryForStream(COUNTED_ROWS_SQL,
+                new SingleColumnRowMapper<>(Long.class))) {
+
+            assertEquals(Long.valueOf(1), rows.findFirst().orElse(null));
+            assertTrue(ROWS_READ.get() <= namedParameterJdbcTemplate.getCursorFetchSize(),
+                    ROWS_READ.get() + " rows read to get the first one");
+        }
+    }
+
+    @Test
+    void shouldReadAllRowsWhenConsumed() {
+
+        try (Stream<Long> rows = namedParameterJdbcTemplate.queryForStream(COUNTED_ROWS_SQL,
+                new SingleColumnRowMapper<>(Long.class))) {
+
+            assertEquals(ROWS, rows.count());
+            assertEquals(ROWS, ROWS_READ.get());
+        }
+    }
+
+    @Test
+    void shouldReleaseConnectionWhenStatementCanNotBeCreated() {
+
+        AtomicInteger openConnections = new AtomicInteger();
+        StreamingNamedParameterJdbcTemplate template =
+                new StreamingNamedParameterJdbcTemplate(countingDataSource(openConnections));
+        SqlTypeValue failingValue = (statement, index, sqlType, typeName) -> {
+            throw new IllegalStateException("Failed to bind value");
+        };
+
+        assertThrows(IllegalStateException.class, () -> template.queryForStream("SELECT X FROM SYSTEM_RANGE(1, :to)",
+                new MapSqlParameterSource("to", failingValue), new SingleColumnRowMapper<>(Long.class)));
+
+        assertEquals(0, openConnections.get());
+    }
+
+    private DataSource countingDataSource(AtomicInteger openConnections) {
+
+        return new DelegatingDataSource(dataSource) {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+
+                Connection connection = super.getConnection();
+                openConnections.incrementAndGet();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                            if ("close".equals(method.getName())) {
+                                openConnections.decrementAndGet();
+                            }
+                            return method.invoke(connection, args);
+                        });
+            }
+        };
+    }
+
+    public static long countRow(long value) {
+
+        ROWS_READ.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package com.epam.course.cp.dao.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableVersionsTest {
+
+    private final TableVersions tableVersions = new TableVersions();
+
+    @AfterEach
+    void tearDown() {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldCountChangesOfEveryTable() {
+
+        tableVersions.changed(TableVersions.PRODUCT);
+        tableVersions.changed(TableVersions.PRODUCT);
+
+        assertEquals(2, tableVersions.getVersion(TableVersions.PRODUCT));
+        assertEquals(0, tableVersions.getVersion(TableVersions.CATEGORY));
+    }
+
+    @Test
+    void shouldChangeTagWhenAnyTableChanges() {
+
+        String tag = tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT);
+        String categoryTag = tableVersions.getVersionTag(TableVersions.CATEGORY);
+
+        tableVersions.changed(TableVersions.PRODUCT);
+
+        assertNotEquals(tag, tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT));
+        assertEquals(categoryTag, tableVersions.getVersionTag(TableVersions.CATEGORY));
+    }
+
+    @Test
+    void shouldChangeAgainAfterTransactionCompletes() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        tableVersions.changed(TableVersions.CATEGORY);
+        long uncommittedVersion = tableVersions.getVersion(TableVersions.CATEGORY);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(1, uncommittedVersion);
+        assertEquals(2, tableVersions.getVersion(TableVersions.CATEGORY));
+    }
+}
@@ -0,0 +1,93 @@
+package com.epam.course.cp.dto;
+
+import com.epam.course.cp.model.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code CategoryEditorView} class wraps all data the page
+ * editing a {@code category} shows, read at once
+ *
+ * @author Maksim Martsiusheu
+ */
+public class CategoryEditorView {
+
+    /**
+     * Category being edited
+     */
+    private Category category;
+
+    /**
+     * Amount of products in the category and its sub categories
+     */
+    private Integer productsAmount;
+
+    /**
+     * Categories the edited category may be moved to
+     */
+    private List<Category> parentCategories = new ArrayList<>();
+
+    /**
+     * Returns category being edited
+     *
+     * @return {@code Category} being edited
+     */
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * Sets category being edited
+     *
+     * @param category category being edited
+     */
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    /**
+     * Returns amount of products in the category
+     *
+     * @return {@code Integer} as amount of products
+     */
+    public Integer getProductsAmount() {
+        return productsAmount;
+    }
+
+    /**
+     * Sets amount of products in the category
+     *
+     * @param productsAmount amount of products
+     */
+    public void setProductsAmount(Integer productsAmount) {
+        this.productsAmount = productsAmount;
+    }
+
+    /**
+     * Returns categories the edited category may be moved to
+     *
+     * @return {@code List} of possible parent categories
+     */
+    public List<Category> getParentCategories() {
+        return parentCategories;
+    }
+
+    /**
+     * Sets categories the edited category may be moved to
+     *
+     * @param parentCategories possible parent categories
+     */
+    public void setParentCategories(List<Category> parentCategories) {
+        this.parentCategories = parentCategories;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryEditorView{" +
+                "category=" + category +
+                ", productsAmount=" + productsAmount +
+                ", parentCategories=" + parentCategories +
+                '}';
+    }
+}
@@ -90,9 +90,9 @@ public class Filter {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Filter filter = (Filter) o;
-        return categoryId.equals(filter.categoryId) &&
-                dateBegin.equals(filter.dateBegin) &&
-                dateEnd.equals(filter.dateEnd);
+        return Objects.equals(categoryId, filter.categoryId) &&
+                Objects.equals(dateBegin, filter.dateBegin) &&
+                Objects.equals(dateEnd, filter.dateEnd);
     }
 
     @Override
@@ -0,0 +1,106 @@
+package com.epam.course.cp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@code Page} class wraps a single page of items selected with
+ * keyset (seek) pagination together with the cursor of the next page
+ *
+ * <p>
+ * The next cursor is an id of the last item on the current page. It should
+ * be passed as {@code after} parameter to get the next page. The cursor is
+ * {@code null} when the current page is the last one.
+ * </p>
+ *
+ * @param <T> type of page items
+ * @author Maksim Martsiusheu
+ */
+public class Page<T> {
+
+    /**
+     * Items of the current page
+     */
+    private List<T> items = new ArrayList<>();
+
+    /**
+     * Cursor to request the next page by
+     */
+    private Integer nextCursor;
+
+    /**
+     * Constructs an empty page
+     */
+    public Page() {
+    }
+
+    /**
+     * Constructs a page with given items and next page cursor
+     *
+     * @param items      items of the page
+     * @param nextCursor cursor of the next page or {@code null} for the last page
+     */
+    public Page(List<T> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns items of the page
+     *
+     * @return {@code List} of page items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets items of the page
+     *
+     * @param items {@code List} of page items
+     */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Returns cursor of the next page
+     *
+     * @return {@code Integer} as next page cursor or {@code null} for the last page
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets cursor of the next page
+     *
+     * @param nextCursor {@code Integer} as next page cursor
+     */
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Page<?> page = (Page<?>) o;
+        return Objects.equals(items, page.items) &&
+                Objects.equals(nextCursor, page.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -1,6 +1,8 @@
 package com.epam.course.cp.dto;
 
+import com.epam.course.cp.json.IsoLocalDateDeserializer;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.time.LocalDate;
 import java.util.Objects;
@@ -42,6 +44,7 @@ public class ProductDTO {
      * Date when product have been added
      */
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    @JsonDeserialize(using = IsoLocalDateDeserializer.class)
     private LocalDate dateAdded;
 
     /**
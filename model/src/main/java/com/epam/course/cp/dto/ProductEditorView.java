@@ -0,0 +1,70 @@
+package com.epam.course.cp.dto;
+
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ProductEditorView} class wraps all data the page
+ * editing a {@code product} shows, read at once
+ *
+ * @author Maksim Martsiusheu
+ */
+public class ProductEditorView {
+
+    /**
+     * Product being edited
+     */
+    private Product product;
+
+    /**
+     * Sub categories the product may belong to
+     */
+    private List<Category> categories = new ArrayList<>();
+
+    /**
+     * Returns product being edited
+     *
+     * @return {@code Product} being edited
+     */
+    public Product getProduct() {
+        return product;
+    }
+
+    /**
+     * Sets product being edited
+     *
+     * @param product product being edited
+     */
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    /**
+     * Returns sub categories the product may belong to
+     *
+     * @return {@code List} of sub categories
+     */
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Sets sub categories the product may belong to
+     *
+     * @param categories sub categories
+     */
+    public void setCategories(List<Category> categories) {
+        this.categories = categories;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductEditorView{" +
+                "product=" + product +
+                ", categories=" + categories +
+                '}';
+    }
+}
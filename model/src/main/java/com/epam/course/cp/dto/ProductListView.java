@@ -0,0 +1,98 @@
+package com.epam.course.cp.dto;
+
+import com.epam.course.cp.model.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ProductListView} class wraps all data the page
+ * listing {@code products} by {@code Filter} shows, read at once
+ *
+ * <p>
+ * Products are a single page of the filtered ones, the next cursor
+ * is passed as {@code after} to list the next page.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class ProductListView {
+
+    /**
+     * Top level categories products may be filtered by
+     */
+    private List<Category> categories = new ArrayList<>();
+
+    /**
+     * Product DTOs matching the filter
+     */
+    private List<ProductDTO> products = new ArrayList<>();
+
+    /**
+     * Cursor of the next page of products
+     */
+    private Integer nextCursor;
+
+    /**
+     * Returns top level categories products may be filtered by
+     *
+     * @return {@code List} of top level categories
+     */
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Sets top level categories products may be filtered by
+     *
+     * @param categories top level categories
+     */
+    public void setCategories(List<Category> categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * Returns product DTOs matching the filter
+     *
+     * @return {@code List} of product DTOs
+     */
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    /**
+     * Sets product DTOs matching the filter
+     *
+     * @param products product DTOs
+     */
+    public void setProducts(List<ProductDTO> products) {
+        this.products = products;
+    }
+
+    /**
+     * Returns cursor of the next page of products
+     *
+     * @return {@code Integer} as next page cursor or {@code null} for the last page
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets cursor of the next page of products
+     *
+     * @param nextCursor {@code Integer} as next page cursor
+     */
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductListView{" +
+                "categories=" + categories +
+                ", products=" + products +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.course.cp.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Reads {@code LocalDate} written as {@code yyyy-MM-dd} string
+ *
+ * <p>
+ * Digits are read straight from the parser buffer, so a date costs a
+ * single {@code LocalDate} instead of a string and a {@code DateTimeFormatter}
+ * parse. Strings of other shape are parsed as ISO local date.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class IsoLocalDateDeserializer extends StdScalarDeserializer<LocalDate> {
+
+    /**
+     * Length of {@code yyyy-MM-dd} string
+     */
+    private static final int DATE_LENGTH = 10;
+
+    public IsoLocalDateDeserializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        if (!p.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+        }
+
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+
+        try {
+            if (length == DATE_LENGTH && chars[offset + 4] == '-' && chars[offset + 7] == '-') {
+                int year = number(chars, offset, 4);
+                int month = number(chars, offset + 5, 2);
+                int day = number(chars, offset + 8, 2);
+                if (year >= 0 && month >= 0 && day >= 0) {
+                    return LocalDate.of(year, month, day);
+                }
+            }
+            String text = p.getText().trim();
+            return text.isEmpty() ? null : LocalDate.parse(text);
+        } catch (DateTimeException ex) {
+            return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, p.getText(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads given amount of decimal digits
+     *
+     * @return number read or {@code -1} if a char is not a digit
+     */
+    private static int number(char[] chars, int offset, int digits) {
+
+        int number = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
@@ -0,0 +1,144 @@
+package com.epam.course.cp.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code LatencyHistogram} is a lock-free histogram of latencies
+ * with exponential buckets of microseconds
+ *
+ * <p>
+ * Bucket {@code i} counts latencies up to {@code 2^i} microseconds, so
+ * percentiles are reported with at most twofold error, which is enough to
+ * see the shape of a latency distribution. Recording is cheap and safe to
+ * call from any amount of threads.
+ * </p>
+ *
+ * @see LatencySnapshot
+ * @author Maksim Martsiusheu
+ */
+public class LatencyHistogram {
+
+    /**
+     * Amount of buckets, the last one holds everything above 2^30 microseconds
+     */
+    private static final int BUCKETS = 32;
+
+    /**
+     * Amount of latencies recorded in every bucket
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Amount of latencies recorded
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of latencies recorded in nanoseconds
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Maximum latency recorded in nanoseconds
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records single latency
+     *
+     * @param duration latency to record
+     * @param unit     time unit of the latency
+     */
+    public void record(long duration, TimeUnit unit) {
+        recordNanos(unit.toNanos(duration));
+    }
+
+    /**
+     * Records single latency given in nanoseconds
+     *
+     * @param nanos latency to record in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+
+        long value = Math.max(nanos, 0);
+
+        buckets.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(value)));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns amount of latencies recorded
+     *
+     * @return amount of latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Takes a consistent enough copy of the histogram and calculates its statistics
+     *
+     * @return {@code LatencySnapshot} of recorded latencies
+     */
+    public LatencySnapshot snapshot() {
+
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long maxMicros = TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+        double meanMicros = total == 0 ? 0 : totalNanos.sum() / 1000.0 / count.sum();
+
+        return new LatencySnapshot(total, meanMicros,
+                percentile(counts, total, 0.5, maxMicros),
+                percentile(counts, total, 0.9, maxMicros),
+                percentile(counts, total, 0.99, maxMicros),
+                maxMicros);
+    }
+
+    /**
+     * Forgets all recorded latencies
+     */
+    public void reset() {
+
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    private static int bucketOf(long micros) {
+
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(micros - 1), BUCKETS - 1);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long maxMicros) {
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(1L << i, maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+}
@@ -0,0 +1,187 @@
+package com.epam.course.cp.metrics;
+
+/**
+ * {@code LatencySnapshot} class wraps statistics of a {@code LatencyHistogram}
+ * taken at some moment. All latencies are in microseconds.
+ *
+ * @see LatencyHistogram
+ * @author Maksim Martsiusheu
+ */
+public class LatencySnapshot {
+
+    /**
+     * Amount of latencies recorded
+     */
+    private long count;
+
+    /**
+     * Mean latency
+     */
+    private double meanMicros;
+
+    /**
+     * Median latency
+     */
+    private long p50Micros;
+
+    /**
+     * 90th percentile of latencies
+     */
+    private long p90Micros;
+
+    /**
+     * 99th percentile of latencies
+     */
+    private long p99Micros;
+
+    /**
+     * Maximum latency
+     */
+    private long maxMicros;
+
+    /**
+     * Constructs an empty snapshot
+     */
+    public LatencySnapshot() {
+    }
+
+    /**
+     * Constructs a snapshot with given statistics
+     *
+     * @param count      amount of latencies recorded
+     * @param meanMicros mean latency
+     * @param p50Micros  median latency
+     * @param p90Micros  90th percentile of latencies
+     * @param p99Micros  99th percentile of latencies
+     * @param maxMicros  maximum latency
+     */
+    public LatencySnapshot(long count, double meanMicros, long p50Micros,
+                           long p90Micros, long p99Micros, long maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    /**
+     * Returns amount of latencies recorded
+     *
+     * @return amount of latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Sets amount of latencies recorded
+     *
+     * @param count amount of latencies
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * Returns mean latency
+     *
+     * @return mean latency in microseconds
+     */
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    /**
+     * Sets mean latency
+     *
+     * @param meanMicros mean latency in microseconds
+     */
+    public void setMeanMicros(double meanMicros) {
+        this.meanMicros = meanMicros;
+    }
+
+    /**
+     * Returns median latency
+     *
+     * @return median latency in microseconds
+     */
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    /**
+     * Sets median latency
+     *
+     * @param p50Micros median latency in microseconds
+     */
+    public void setP50Micros(long p50Micros) {
+        this.p50Micros = p50Micros;
+    }
+
+    /**
+     * Returns 90th percentile of latencies
+     *
+     * @return 90th percentile in microseconds
+     */
+    public long getP90Micros() {
+        return p90Micros;
+    }
+
+    /**
+     * Sets 90th percentile of latencies
+     *
+     * @param p90Micros 90th percentile in microseconds
+     */
+    public void setP90Micros(long p90Micros) {
+        this.p90Micros = p90Micros;
+    }
+
+    /**
+     * Returns 99th percentile of latencies
+     *
+     * @return 99th percentile in microseconds
+     */
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    /**
+     * Sets 99th percentile of latencies
+     *
+     * @param p99Micros 99th percentile in microseconds
+     */
+    public void setP99Micros(long p99Micros) {
+        this.p99Micros = p99Micros;
+    }
+
+    /**
+     * Returns maximum latency
+     *
+     * @return maximum latency in microseconds
+     */
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * Sets maximum latency
+     *
+     * @param maxMicros maximum latency in microseconds
+     */
+    public void setMaxMicros(long maxMicros) {
+        this.maxMicros = maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{" +
+                "count=" + count +
+                ", meanMicros=" + meanMicros +
+                ", p50Micros=" + p50Micros +
+                ", p90Micros=" + p90Micros +
+                ", p99Micros=" + p99Micros +
+                ", maxMicros=" + maxMicros +
+                '}';
+    }
+}
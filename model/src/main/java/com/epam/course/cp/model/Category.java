@@ -25,6 +25,11 @@ public class Category {
      */
     private Integer parentId;
 
+    /**
+     * Row version increased by every update, {@code null} if not known
+     */
+    private Integer version;
+
     /**
      * Returns category id
      * @return {@code Integer} as category id
@@ -78,6 +83,24 @@ public class Category {
         this.parentId = parentId;
     }
 
+    /**
+     * Returns row version the category was read with
+     *
+     * @return version as {@code Integer}
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets row version, the category is updated only if its row still has this version
+     *
+     * @param version version as {@code Integer}, {@code null} to update regardless of version
+     */
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -99,6 +122,7 @@ public class Category {
                 "categoryId=" + categoryId +
                 ", categoryName='" + categoryName + '\'' +
                 ", parentId=" + parentId +
+                ", version=" + version +
                 '}';
     }
 }
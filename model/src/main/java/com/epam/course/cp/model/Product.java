@@ -1,6 +1,8 @@
 package com.epam.course.cp.model;
 
+import com.epam.course.cp.json.IsoLocalDateDeserializer;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.time.LocalDate;
 import java.util.Objects;
@@ -32,6 +34,7 @@ public class Product {
      * {@code LocalDate} as date when product was added
      */
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    @JsonDeserialize(using = IsoLocalDateDeserializer.class)
     private LocalDate dateAdded;
 
     /**
@@ -39,6 +42,11 @@ public class Product {
      */
     private Integer categoryId;
 
+    /**
+     * Row version increased by every update, {@code null} if not known
+     */
+    private Integer version;
+
     /**
      * Returns product id
      *
@@ -129,6 +137,24 @@ public class Product {
         this.categoryId = categoryId;
     }
 
+    /**
+     * Returns row version the product was read with
+     *
+     * @return version as {@code Integer}
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets row version, the product is updated only if its row still has this version
+     *
+     * @param version version as {@code Integer}, {@code null} to update regardless of version
+     */
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -154,6 +180,7 @@ public class Product {
                 ", productAmount=" + productAmount +
                 ", dateAdded=" + dateAdded +
                 ", categoryId=" + categoryId +
+                ", version=" + version +
                 '}';
     }
 }
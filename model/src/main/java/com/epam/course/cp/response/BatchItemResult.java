@@ -0,0 +1,143 @@
+package com.epam.course.cp.response;
+
+import java.util.Objects;
+
+/**
+ * The {@code BatchItemResult} is a wrapper class
+ * for result of a single item of a batch operation
+ */
+public class BatchItemResult {
+
+    /**
+     * Possible outcomes of a single batch item
+     */
+    public enum Status {
+
+        /**
+         * Item was saved as a new one
+         */
+        CREATED,
+
+        /**
+         * Existing item was replaced
+         */
+        UPDATED,
+
+        /**
+         * Item to replace was not found
+         */
+        NOT_FOUND
+    }
+
+    /**
+     * Position of the item in the batch
+     */
+    private Integer index;
+
+    /**
+     * Id of the product the item is related to
+     */
+    private Integer productId;
+
+    /**
+     * Outcome of the item
+     */
+    private Status status;
+
+    /**
+     * Constructing an empty new object
+     */
+    public BatchItemResult() {
+    }
+
+    /**
+     * Constructing new object with position, product id and outcome
+     *
+     * @param index     position of the item in the batch
+     * @param productId id of the product the item is related to
+     * @param status    outcome of the item
+     */
+    public BatchItemResult(Integer index, Integer productId, Status status) {
+        this.index = index;
+        this.productId = productId;
+        this.status = status;
+    }
+
+    /**
+     * Getting position of the item in the batch
+     *
+     * @return Integer representing item position
+     */
+    public Integer getIndex() {
+        return index;
+    }
+
+    /**
+     * Setting position of the item in the batch
+     *
+     * @param index item position
+     */
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    /**
+     * Getting id of the product the item is related to
+     *
+     * @return Integer representing product id
+     */
+    public Integer getProductId() {
+        return productId;
+    }
+
+    /**
+     * Setting id of the product the item is related to
+     *
+     * @param productId product id
+     */
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Getting outcome of the item
+     *
+     * @return {@code Status} of the item
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Setting outcome of the item
+     *
+     * @param status {@code Status} of the item
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchItemResult that = (BatchItemResult) o;
+        return Objects.equals(index, that.index) &&
+                Objects.equals(productId, that.productId) &&
+                status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, productId, status);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+                "index=" + index +
+                ", productId=" + productId +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,254 @@
+package com.epam.course.cp.response;
+
+/**
+ * The {@code CacheMetrics} is a wrapper class
+ * for state and statistics of a cache
+ */
+public class CacheMetrics {
+
+    /**
+     * Name of the cache
+     */
+    private String cacheName;
+
+    /**
+     * Amount of entries currently cached
+     */
+    private int size;
+
+    /**
+     * Maximum amount of entries the cache may hold
+     */
+    private int maxSize;
+
+    /**
+     * Time an entry is kept in the cache, in seconds
+     */
+    private long ttlSeconds;
+
+    /**
+     * Amount of lookups answered from the cache
+     */
+    private long hits;
+
+    /**
+     * Amount of lookups loaded from data source
+     */
+    private long misses;
+
+    /**
+     * Share of lookups answered from the cache
+     */
+    private double hitRatio;
+
+    /**
+     * Amount of entries removed to make room for new ones
+     */
+    private long evictions;
+
+    /**
+     * Amount of entries removed as outdated by time
+     */
+    private long expirations;
+
+    /**
+     * Amount of entries removed because data they hold was changed
+     */
+    private long invalidations;
+
+    /**
+     * Getting name of the cache
+     *
+     * @return String representing cache name
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Setting name of the cache
+     *
+     * @param cacheName cache name
+     */
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * Getting amount of entries currently cached
+     *
+     * @return amount of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Setting amount of entries currently cached
+     *
+     * @param size amount of entries
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Getting maximum amount of entries the cache may hold
+     *
+     * @return maximum amount of entries
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Setting maximum amount of entries the cache may hold
+     *
+     * @param maxSize maximum amount of entries
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Getting time an entry is kept in the cache
+     *
+     * @return time to live in seconds
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Setting time an entry is kept in the cache
+     *
+     * @param ttlSeconds time to live in seconds
+     */
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Getting amount of lookups answered from the cache
+     *
+     * @return amount of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Setting amount of lookups answered from the cache
+     *
+     * @param hits amount of hits
+     */
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    /**
+     * Getting amount of lookups loaded from data source
+     *
+     * @return amount of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Setting amount of lookups loaded from data source
+     *
+     * @param misses amount of misses
+     */
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    /**
+     * Getting share of lookups answered from the cache
+     *
+     * @return hit ratio from 0 to 1
+     */
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    /**
+     * Setting share of lookups answered from the cache
+     *
+     * @param hitRatio hit ratio from 0 to 1
+     */
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    /**
+     * Getting amount of entries removed to make room for new ones
+     *
+     * @return amount of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Setting amount of entries removed to make room for new ones
+     *
+     * @param evictions amount of evictions
+     */
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    /**
+     * Getting amount of entries removed as outdated by time
+     *
+     * @return amount of expirations
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Setting amount of entries removed as outdated by time
+     *
+     * @param expirations amount of expirations
+     */
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    /**
+     * Getting amount of entries removed because data they hold was changed
+     *
+     * @return amount of invalidations
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Setting amount of entries removed because data they hold was changed
+     *
+     * @param invalidations amount of invalidations
+     */
+    public void setInvalidations(long invalidations) {
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{" +
+                "cacheName='" + cacheName + '\'' +
+                ", size=" + size +
+                ", maxSize=" + maxSize +
+                ", ttlSeconds=" + ttlSeconds +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", hitRatio=" + hitRatio +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", invalidations=" + invalidations +
+                '}';
+    }
+}
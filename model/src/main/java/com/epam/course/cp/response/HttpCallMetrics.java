@@ -0,0 +1,114 @@
+package com.epam.course.cp.response;
+
+import com.epam.course.cp.metrics.LatencySnapshot;
+
+/**
+ * The {@code HttpCallMetrics} is a wrapper class
+ * for statistics of calls made by an http client to a single endpoint
+ *
+ * @see LatencySnapshot
+ */
+public class HttpCallMetrics {
+
+    /**
+     * Method and path of the endpoint with ids replaced by {@code {id}}
+     */
+    private String call;
+
+    /**
+     * Amount of calls made
+     */
+    private long calls;
+
+    /**
+     * Amount of calls failed with an I/O error or a server error status
+     */
+    private long failures;
+
+    /**
+     * Statistics of time from sending a request to receiving response headers
+     */
+    private LatencySnapshot latency;
+
+    /**
+     * Getting method and path of the endpoint
+     *
+     * @return String representing the endpoint
+     */
+    public String getCall() {
+        return call;
+    }
+
+    /**
+     * Setting method and path of the endpoint
+     *
+     * @param call the endpoint
+     */
+    public void setCall(String call) {
+        this.call = call;
+    }
+
+    /**
+     * Getting amount of calls made
+     *
+     * @return amount of calls
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Setting amount of calls made
+     *
+     * @param calls amount of calls
+     */
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * Getting amount of failed calls
+     *
+     * @return amount of failures
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Setting amount of failed calls
+     *
+     * @param failures amount of failures
+     */
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    /**
+     * Getting statistics of time calls took
+     *
+     * @return {@code LatencySnapshot} of calls
+     */
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Setting statistics of time calls took
+     *
+     * @param latency {@code LatencySnapshot} of calls
+     */
+    public void setLatency(LatencySnapshot latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCallMetrics{" +
+                "call='" + call + '\'' +
+                ", calls=" + calls +
+                ", failures=" + failures +
+                ", latency=" + latency +
+                '}';
+    }
+}
@@ -0,0 +1,186 @@
+package com.epam.course.cp.response;
+
+import java.util.List;
+
+/**
+ * The {@code HttpClientMetrics} is a wrapper class
+ * for state of a pooled http client and statistics of its calls
+ *
+ * @see HttpCallMetrics
+ */
+public class HttpClientMetrics {
+
+    /**
+     * Amount of connections used by requests
+     */
+    private int leasedConnections;
+
+    /**
+     * Amount of idle connections kept alive
+     */
+    private int availableConnections;
+
+    /**
+     * Amount of requests waiting for a connection
+     */
+    private int pendingRequests;
+
+    /**
+     * Maximum amount of connections to all hosts
+     */
+    private int maxConnections;
+
+    /**
+     * Maximum amount of connections to a single host
+     */
+    private int maxConnectionsPerRoute;
+
+    /**
+     * Amount of requests failed to get a connection in time
+     */
+    private long connectionRequestTimeouts;
+
+    /**
+     * Statistics of calls by endpoint, the most time consuming first
+     */
+    private List<HttpCallMetrics> calls;
+
+    /**
+     * Getting amount of connections used by requests
+     *
+     * @return amount of leased connections
+     */
+    public int getLeasedConnections() {
+        return leasedConnections;
+    }
+
+    /**
+     * Setting amount of connections used by requests
+     *
+     * @param leasedConnections amount of leased connections
+     */
+    public void setLeasedConnections(int leasedConnections) {
+        this.leasedConnections = leasedConnections;
+    }
+
+    /**
+     * Getting amount of idle connections kept alive
+     *
+     * @return amount of available connections
+     */
+    public int getAvailableConnections() {
+        return availableConnections;
+    }
+
+    /**
+     * Setting amount of idle connections kept alive
+     *
+     * @param availableConnections amount of available connections
+     */
+    public void setAvailableConnections(int availableConnections) {
+        this.availableConnections = availableConnections;
+    }
+
+    /**
+     * Getting amount of requests waiting for a connection
+     *
+     * @return amount of pending requests
+     */
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    /**
+     * Setting amount of requests waiting for a connection
+     *
+     * @param pendingRequests amount of pending requests
+     */
+    public void setPendingRequests(int pendingRequests) {
+        this.pendingRequests = pendingRequests;
+    }
+
+    /**
+     * Getting maximum amount of connections to all hosts
+     *
+     * @return maximum amount of connections
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Setting maximum amount of connections to all hosts
+     *
+     * @param maxConnections maximum amount of connections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Getting maximum amount of connections to a single host
+     *
+     * @return maximum amount of connections per route
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Setting maximum amount of connections to a single host
+     *
+     * @param maxConnectionsPerRoute maximum amount of connections per route
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Getting amount of requests failed to get a connection in time
+     *
+     * @return amount of connection request timeouts
+     */
+    public long getConnectionRequestTimeouts() {
+        return connectionRequestTimeouts;
+    }
+
+    /**
+     * Setting amount of requests failed to get a connection in time
+     *
+     * @param connectionRequestTimeouts amount of connection request timeouts
+     */
+    public void setConnectionRequestTimeouts(long connectionRequestTimeouts) {
+        this.connectionRequestTimeouts = connectionRequestTimeouts;
+    }
+
+    /**
+     * Getting statistics of calls by endpoint
+     *
+     * @return {@code List} of call statistics
+     */
+    public List<HttpCallMetrics> getCalls() {
+        return calls;
+    }
+
+    /**
+     * Setting statistics of calls by endpoint
+     *
+     * @param calls {@code List} of call statistics
+     */
+    public void setCalls(List<HttpCallMetrics> calls) {
+        this.calls = calls;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpClientMetrics{" +
+                "leasedConnections=" + leasedConnections +
+                ", availableConnections=" + availableConnections +
+                ", pendingRequests=" + pendingRequests +
+                ", maxConnections=" + maxConnections +
+                ", maxConnectionsPerRoute=" + maxConnectionsPerRoute +
+                ", connectionRequestTimeouts=" + connectionRequestTimeouts +
+                ", calls=" + calls +
+                '}';
+    }
+}
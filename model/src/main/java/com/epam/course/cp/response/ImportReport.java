@@ -0,0 +1,208 @@
+package com.epam.course.cp.response;
+
+import java.util.List;
+
+/**
+ * The {@code ImportReport} is a wrapper class
+ * for progress and outcome of a file import
+ */
+public class ImportReport {
+
+    /**
+     * Id of the import
+     */
+    private Integer importId;
+
+    /**
+     * Whether all rows of the file are processed
+     */
+    private boolean finished;
+
+    /**
+     * Amount of rows read from the file
+     */
+    private long rowsRead;
+
+    /**
+     * Amount of rows saved
+     */
+    private long rowsImported;
+
+    /**
+     * Amount of rows rejected
+     */
+    private long rowsRejected;
+
+    /**
+     * Time the import took so far, in milliseconds
+     */
+    private long elapsedMillis;
+
+    /**
+     * Amount of rows saved per second
+     */
+    private double rowsPerSecond;
+
+    /**
+     * Rejected rows in order they were found, may be limited
+     */
+    private List<RejectedRow> rejectedRows;
+
+    /**
+     * Getting id of the import
+     *
+     * @return import id
+     */
+    public Integer getImportId() {
+        return importId;
+    }
+
+    /**
+     * Setting id of the import
+     *
+     * @param importId import id
+     */
+    public void setImportId(Integer importId) {
+        this.importId = importId;
+    }
+
+    /**
+     * Getting whether all rows of the file are processed
+     *
+     * @return {@code true} if the import is finished
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Setting whether all rows of the file are processed
+     *
+     * @param finished {@code true} if the import is finished
+     */
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+
+    /**
+     * Getting amount of rows read from the file
+     *
+     * @return amount of rows read
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Setting amount of rows read from the file
+     *
+     * @param rowsRead amount of rows read
+     */
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    /**
+     * Getting amount of rows saved
+     *
+     * @return amount of rows saved
+     */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    /**
+     * Setting amount of rows saved
+     *
+     * @param rowsImported amount of rows saved
+     */
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    /**
+     * Getting amount of rows rejected
+     *
+     * @return amount of rows rejected
+     */
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    /**
+     * Setting amount of rows rejected
+     *
+     * @param rowsRejected amount of rows rejected
+     */
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    /**
+     * Getting time the import took so far
+     *
+     * @return time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Setting time the import took so far
+     *
+     * @param elapsedMillis time in milliseconds
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Getting amount of rows saved per second
+     *
+     * @return rows per second
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * Setting amount of rows saved per second
+     *
+     * @param rowsPerSecond rows per second
+     */
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    /**
+     * Getting rejected rows
+     *
+     * @return {@code List} of rejected rows in order they were found
+     */
+    public List<RejectedRow> getRejectedRows() {
+        return rejectedRows;
+    }
+
+    /**
+     * Setting rejected rows
+     *
+     * @param rejectedRows {@code List} of rejected rows
+     */
+    public void setRejectedRows(List<RejectedRow> rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "importId=" + importId +
+                ", finished=" + finished +
+                ", rowsRead=" + rowsRead +
+                ", rowsImported=" + rowsImported +
+                ", rowsRejected=" + rowsRejected +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                ", rejectedRows=" + rejectedRows +
+                '}';
+    }
+}
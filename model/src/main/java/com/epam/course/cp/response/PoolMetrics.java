@@ -0,0 +1,258 @@
+package com.epam.course.cp.response;
+
+import com.epam.course.cp.metrics.LatencySnapshot;
+
+/**
+ * The {@code PoolMetrics} is a wrapper class
+ * for state and statistics of a connection pool
+ *
+ * @see LatencySnapshot
+ */
+public class PoolMetrics {
+
+    /**
+     * Name of the pool
+     */
+    private String poolName;
+
+    /**
+     * Amount of connections currently in use
+     */
+    private int activeConnections;
+
+    /**
+     * Amount of connections waiting to be used
+     */
+    private int idleConnections;
+
+    /**
+     * Amount of all connections opened by the pool
+     */
+    private int totalConnections;
+
+    /**
+     * Amount of threads waiting for a connection
+     */
+    private int threadsAwaitingConnection;
+
+    /**
+     * Maximum amount of connections the pool may open
+     */
+    private int maxConnections;
+
+    /**
+     * Amount of times a thread failed to get a connection in time
+     */
+    private long connectionTimeouts;
+
+    /**
+     * Statistics of time spent to get a connection from the pool
+     */
+    private LatencySnapshot acquisition;
+
+    /**
+     * Statistics of time a connection was held before returning to the pool
+     */
+    private LatencySnapshot usage;
+
+    /**
+     * Statistics of time spent to open a new physical connection
+     */
+    private LatencySnapshot creation;
+
+    /**
+     * Getting name of the pool
+     *
+     * @return String representing pool name
+     */
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Setting name of the pool
+     *
+     * @param poolName pool name
+     */
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /**
+     * Getting amount of connections currently in use
+     *
+     * @return amount of active connections
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * Setting amount of connections currently in use
+     *
+     * @param activeConnections amount of active connections
+     */
+    public void setActiveConnections(int activeConnections) {
+        this.activeConnections = activeConnections;
+    }
+
+    /**
+     * Getting amount of connections waiting to be used
+     *
+     * @return amount of idle connections
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Setting amount of connections waiting to be used
+     *
+     * @param idleConnections amount of idle connections
+     */
+    public void setIdleConnections(int idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+
+    /**
+     * Getting amount of all connections opened by the pool
+     *
+     * @return amount of connections
+     */
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    /**
+     * Setting amount of all connections opened by the pool
+     *
+     * @param totalConnections amount of connections
+     */
+    public void setTotalConnections(int totalConnections) {
+        this.totalConnections = totalConnections;
+    }
+
+    /**
+     * Getting amount of threads waiting for a connection
+     *
+     * @return amount of waiting threads
+     */
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    /**
+     * Setting amount of threads waiting for a connection
+     *
+     * @param threadsAwaitingConnection amount of waiting threads
+     */
+    public void setThreadsAwaitingConnection(int threadsAwaitingConnection) {
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+
+    /**
+     * Getting maximum amount of connections the pool may open
+     *
+     * @return maximum pool size
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Setting maximum amount of connections the pool may open
+     *
+     * @param maxConnections maximum pool size
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Getting amount of times a thread failed to get a connection in time
+     *
+     * @return amount of timeouts
+     */
+    public long getConnectionTimeouts() {
+        return connectionTimeouts;
+    }
+
+    /**
+     * Setting amount of times a thread failed to get a connection in time
+     *
+     * @param connectionTimeouts amount of timeouts
+     */
+    public void setConnectionTimeouts(long connectionTimeouts) {
+        this.connectionTimeouts = connectionTimeouts;
+    }
+
+    /**
+     * Getting statistics of time spent to get a connection from the pool
+     *
+     * @return acquisition latency snapshot
+     */
+    public LatencySnapshot getAcquisition() {
+        return acquisition;
+    }
+
+    /**
+     * Setting statistics of time spent to get a connection from the pool
+     *
+     * @param acquisition acquisition latency snapshot
+     */
+    public void setAcquisition(LatencySnapshot acquisition) {
+        this.acquisition = acquisition;
+    }
+
+    /**
+     * Getting statistics of time a connection was held
+     *
+     * @return usage latency snapshot
+     */
+    public LatencySnapshot getUsage() {
+        return usage;
+    }
+
+    /**
+     * Setting statistics of time a connection was held
+     *
+     * @param usage usage latency snapshot
+     */
+    public void setUsage(LatencySnapshot usage) {
+        this.usage = usage;
+    }
+
+    /**
+     * Getting statistics of time spent to open a new physical connection
+     *
+     * @return creation latency snapshot
+     */
+    public LatencySnapshot getCreation() {
+        return creation;
+    }
+
+    /**
+     * Setting statistics of time spent to open a new physical connection
+     *
+     * @param creation creation latency snapshot
+     */
+    public void setCreation(LatencySnapshot creation) {
+        this.creation = creation;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "poolName='" + poolName + '\'' +
+                ", activeConnections=" + activeConnections +
+                ", idleConnections=" + idleConnections +
+                ", totalConnections=" + totalConnections +
+                ", threadsAwaitingConnection=" + threadsAwaitingConnection +
+                ", maxConnections=" + maxConnections +
+                ", connectionTimeouts=" + connectionTimeouts +
+                ", acquisition=" + acquisition +
+                ", usage=" + usage +
+                ", creation=" + creation +
+                '}';
+    }
+}
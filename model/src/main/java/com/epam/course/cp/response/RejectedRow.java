@@ -0,0 +1,79 @@
+package com.epam.course.cp.response;
+
+/**
+ * The {@code RejectedRow} is a wrapper class
+ * for a row of imported file that was not saved
+ */
+public class RejectedRow {
+
+    /**
+     * Number of the line the row starts at, from 1
+     */
+    private long lineNumber;
+
+    /**
+     * Reason the row was rejected for
+     */
+    private String reason;
+
+    /**
+     * Constructing an empty new object
+     */
+    public RejectedRow() {
+    }
+
+    /**
+     * Constructing new object with line number and reason
+     *
+     * @param lineNumber number of the line the row starts at
+     * @param reason     reason the row was rejected for
+     */
+    public RejectedRow(long lineNumber, String reason) {
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+    }
+
+    /**
+     * Getting number of the line the row starts at
+     *
+     * @return line number from 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Setting number of the line the row starts at
+     *
+     * @param lineNumber line number from 1
+     */
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Getting reason the row was rejected for
+     *
+     * @return String representing reason
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Setting reason the row was rejected for
+     *
+     * @param reason reason
+     */
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    @Override
+    public String toString() {
+        return "RejectedRow{" +
+                "lineNumber=" + lineNumber +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
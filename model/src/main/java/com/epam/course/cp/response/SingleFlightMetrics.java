@@ -0,0 +1,136 @@
+package com.epam.course.cp.response;
+
+import java.util.List;
+
+/**
+ * The {@code SingleFlightMetrics} is a wrapper class
+ * for statistics of identical concurrent calls sharing a single call
+ */
+public class SingleFlightMetrics {
+
+    /**
+     * Ant-style patterns of paths of coalesced urls
+     */
+    private List<String> scope;
+
+    /**
+     * Amount of calls of urls in scope
+     */
+    private long calls;
+
+    /**
+     * Amount of calls sent to rest application
+     */
+    private long backendCalls;
+
+    /**
+     * Amount of calls which got result of an identical call in flight
+     */
+    private long coalescedCalls;
+
+    /**
+     * Amount of distinct calls in flight now
+     */
+    private int inFlightCalls;
+
+    /**
+     * Getting Ant-style patterns of paths of coalesced urls
+     *
+     * @return {@code List} of path patterns
+     */
+    public List<String> getScope() {
+        return scope;
+    }
+
+    /**
+     * Setting Ant-style patterns of paths of coalesced urls
+     *
+     * @param scope {@code List} of path patterns
+     */
+    public void setScope(List<String> scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Getting amount of calls of urls in scope
+     *
+     * @return amount of calls
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Setting amount of calls of urls in scope
+     *
+     * @param calls amount of calls
+     */
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * Getting amount of calls sent to rest application
+     *
+     * @return amount of backend calls
+     */
+    public long getBackendCalls() {
+        return backendCalls;
+    }
+
+    /**
+     * Setting amount of calls sent to rest application
+     *
+     * @param backendCalls amount of backend calls
+     */
+    public void setBackendCalls(long backendCalls) {
+        this.backendCalls = backendCalls;
+    }
+
+    /**
+     * Getting amount of calls which got result of an identical call in flight
+     *
+     * @return amount of coalesced calls
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls;
+    }
+
+    /**
+     * Setting amount of calls which got result of an identical call in flight
+     *
+     * @param coalescedCalls amount of coalesced calls
+     */
+    public void setCoalescedCalls(long coalescedCalls) {
+        this.coalescedCalls = coalescedCalls;
+    }
+
+    /**
+     * Getting amount of distinct calls in flight now
+     *
+     * @return amount of calls in flight
+     */
+    public int getInFlightCalls() {
+        return inFlightCalls;
+    }
+
+    /**
+     * Setting amount of distinct calls in flight now
+     *
+     * @param inFlightCalls amount of calls in flight
+     */
+    public void setInFlightCalls(int inFlightCalls) {
+        this.inFlightCalls = inFlightCalls;
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightMetrics{" +
+                "scope=" + scope +
+                ", calls=" + calls +
+                ", backendCalls=" + backendCalls +
+                ", coalescedCalls=" + coalescedCalls +
+                ", inFlightCalls=" + inFlightCalls +
+                '}';
+    }
+}
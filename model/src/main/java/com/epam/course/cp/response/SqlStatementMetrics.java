@@ -0,0 +1,210 @@
+package com.epam.course.cp.response;
+
+import com.epam.course.cp.metrics.LatencySnapshot;
+
+/**
+ * The {@code SqlStatementMetrics} is a wrapper class
+ * for execution statistics of a single sql statement
+ *
+ * @see LatencySnapshot
+ */
+public class SqlStatementMetrics {
+
+    /**
+     * Name of the statement, property key of its sql text
+     */
+    private String statement;
+
+    /**
+     * Amount of times the statement was executed
+     */
+    private long calls;
+
+    /**
+     * Amount of executions finished with an error
+     */
+    private long failures;
+
+    /**
+     * Amount of rows returned or affected by all executions
+     */
+    private long rows;
+
+    /**
+     * Amount of executions slower than slow query threshold
+     */
+    private long slowCalls;
+
+    /**
+     * Time spent by all executions in microseconds
+     */
+    private long totalMicros;
+
+    /**
+     * Statistics of time spent by a single execution
+     */
+    private LatencySnapshot latency;
+
+    /**
+     * Statistics of time spent by executions to get a connection from the pool
+     */
+    private LatencySnapshot connectionAcquisition;
+
+    /**
+     * Getting name of the statement
+     *
+     * @return String representing statement name
+     */
+    public String getStatement() {
+        return statement;
+    }
+
+    /**
+     * Setting name of the statement
+     *
+     * @param statement statement name
+     */
+    public void setStatement(String statement) {
+        this.statement = statement;
+    }
+
+    /**
+     * Getting amount of times the statement was executed
+     *
+     * @return amount of executions
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Setting amount of times the statement was executed
+     *
+     * @param calls amount of executions
+     */
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * Getting amount of executions finished with an error
+     *
+     * @return amount of failed executions
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Setting amount of executions finished with an error
+     *
+     * @param failures amount of failed executions
+     */
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    /**
+     * Getting amount of rows returned or affected by all executions
+     *
+     * @return amount of rows
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Setting amount of rows returned or affected by all executions
+     *
+     * @param rows amount of rows
+     */
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Getting amount of executions slower than slow query threshold
+     *
+     * @return amount of slow executions
+     */
+    public long getSlowCalls() {
+        return slowCalls;
+    }
+
+    /**
+     * Setting amount of executions slower than slow query threshold
+     *
+     * @param slowCalls amount of slow executions
+     */
+    public void setSlowCalls(long slowCalls) {
+        this.slowCalls = slowCalls;
+    }
+
+    /**
+     * Getting time spent by all executions
+     *
+     * @return total time in microseconds
+     */
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    /**
+     * Setting time spent by all executions
+     *
+     * @param totalMicros total time in microseconds
+     */
+    public void setTotalMicros(long totalMicros) {
+        this.totalMicros = totalMicros;
+    }
+
+    /**
+     * Getting statistics of time spent by a single execution
+     *
+     * @return {@code LatencySnapshot} of executions
+     */
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Setting statistics of time spent by a single execution
+     *
+     * @param latency statistics of executions
+     */
+    public void setLatency(LatencySnapshot latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Getting statistics of time spent by executions to get a connection from the pool
+     *
+     * @return {@code LatencySnapshot} of connection acquisitions
+     */
+    public LatencySnapshot getConnectionAcquisition() {
+        return connectionAcquisition;
+    }
+
+    /**
+     * Setting statistics of time spent by executions to get a connection from the pool
+     *
+     * @param connectionAcquisition statistics of connection acquisitions
+     */
+    public void setConnectionAcquisition(LatencySnapshot connectionAcquisition) {
+        this.connectionAcquisition = connectionAcquisition;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStatementMetrics{" +
+                "statement='" + statement + '\'' +
+                ", calls=" + calls +
+                ", failures=" + failures +
+                ", rows=" + rows +
+                ", slowCalls=" + slowCalls +
+                ", totalMicros=" + totalMicros +
+                ", latency=" + latency +
+                ", connectionAcquisition=" + connectionAcquisition +
+                '}';
+    }
+}
@@ -1,4 +1,4 @@
-package com.epam.course.cp.web_app.validator;
+package com.epam.course.cp.validator;
 
 import com.epam.course.cp.model.Product;
 import org.springframework.stereotype.Component;
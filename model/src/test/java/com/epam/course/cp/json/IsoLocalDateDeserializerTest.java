@@ -0,0 +1,49 @@
+package com.epam.course.cp.json;
+
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoLocalDateDeserializerTest {
+
+    private static final LocalDate DATE_ADDED = LocalDate.of(2019, 2, 28);
+
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldReadDateWrittenByModel() throws Exception {
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setDateAdded(DATE_ADDED);
+
+        String json = objectMapper.writeValueAsString(productDTO);
+        ProductDTO read = objectMapper.readValue(json, ProductDTO.class);
+
+        assertTrue(json.contains("\"2019-02-28\""));
+        assertEquals(DATE_ADDED, read.getDateAdded());
+    }
+
+    @Test
+    void shouldReadNullDate() throws Exception {
+
+        Product product = objectMapper.readValue("{\"dateAdded\":null}", Product.class);
+
+        assertNull(product.getDateAdded());
+    }
+
+    @Test
+    void shouldRejectInvalidDate() {
+
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"dateAdded\":\"2019-02-30\"}", Product.class));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"dateAdded\":\"28.02.2019\"}", Product.class));
+    }
+}
@@ -1,4 +1,4 @@
-package com.epam.course.cp.web_app.validator;
+package com.epam.course.cp.validator;
 
 import com.epam.course.cp.model.Product;
 import org.junit.jupiter.api.BeforeEach;
@@ -6,7 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
-import org.thymeleaf.util.StringUtils;
+
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,7 +50,7 @@ class ProductValidatorTest {
     @Test
     void shouldRejectLargeProductName() {
 
-        Mockito.when(product.getProductName()).thenReturn(StringUtils.repeat("*", 270));
+        Mockito.when(product.getProductName()).thenReturn(String.join("", Collections.nCopies(270, "*")));
 
         productValidator.validate(product, result);
 
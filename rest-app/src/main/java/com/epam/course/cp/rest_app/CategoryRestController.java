@@ -1,12 +1,17 @@
 package com.epam.course.cp.rest_app;
 
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.service.CategoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -41,39 +46,76 @@ public class CategoryRestController {
      */
     private CategoryService categoryService;
 
+    /**
+     * Change counters of tables, tag lists of categories
+     */
+    private TableVersions tableVersions;
+
     /**
      * Constructs new object with given service layer object
      *
      * @param categoryService category service layer object
+     * @param tableVersions   change counters of tables
      */
     @Autowired
-    public CategoryRestController(CategoryService categoryService) {
+    public CategoryRestController(CategoryService categoryService, TableVersions tableVersions) {
         this.categoryService = categoryService;
+        this.tableVersions = tableVersions;
     }
 
     /**
-     * Returns all {@code CategoryDTOs}
+     * Returns all {@code CategoryDTOs}. Responds {@code 304 Not Modified}
+     * without reading them if {@code If-None-Match} has current tag
+     * of category and product tables
      *
-     * @return {@code List} describing all category DTOs found
+     * @param request request checked for {@code If-None-Match}
+     * @return {@code List} describing all category DTOs found, {@code null} if not modified
      */
     @GetMapping(value = "/info")
-    public List<CategoryDTO> findAllCategoryDTOs() {
+    public List<CategoryDTO> findAllCategoryDTOs(WebRequest request) {
 
         LOGGER.debug("get all categoryDTOs");
+        if (EntityTags.notModified(request,
+                tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT))) {
+            return null;
+        }
         return categoryService.findAllCategoryDTOs();
     }
 
     /**
      * Returns {@code Category} with given id
      *
-     * @param id category id to find {@code category} by
-     * @return {@code} Category that fits given id
+     * @param id      category id to find {@code category} by
+     * @param request request whose {@code Accept} chooses representation
+     * @return {@code} Category that fits given id with its version in representation written as {@code ETag}
      */
     @GetMapping(value = "/{id}")
-    public Category findById(@PathVariable Integer id) {
+    public ResponseEntity<Category> findById(@PathVariable Integer id, WebRequest request) {
 
         LOGGER.debug("get category by id = {}", id);
-        return categoryService.findById(id);
+        Category category = categoryService.findById(id);
+        return EntityTags.ok(category.getVersion(), request).body(category);
+    }
+
+    /**
+     * Returns everything category editor page shows: a {@code Category}
+     * with given id, amount of its products and parent {@code categories}
+     * it may belong to. Responds {@code 304 Not Modified} without reading them
+     * if {@code If-None-Match} has current tag of category and product tables
+     *
+     * @param id category id to find {@code category} by
+     * @param request request checked for {@code If-None-Match}
+     * @return {@code CategoryEditorView} of a category editor page, {@code null} if not modified
+     */
+    @GetMapping(value = "/{id}/editor")
+    public CategoryEditorView findCategoryEditorView(@PathVariable Integer id, WebRequest request) {
+
+        LOGGER.debug("findCategoryEditorView({})", id);
+        if (EntityTags.notModified(request,
+                tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT))) {
+            return null;
+        }
+        return categoryService.findCategoryEditorView(id);
     }
 
     /**
@@ -128,16 +170,24 @@ public class CategoryRestController {
     }
 
     /**
-     * Updates already existing {@code category} with new one
+     * Updates already existing {@code category} with new one.
+     * Version expected by {@code If-Match} replaces version of the category
      *
      * @param category {@code category} to update older one
-     * @return {@code ResponseEntity} representing work result
+     * @param ifMatch  {@code ETag} of the version being updated, may be {@code null}
+     * @return {@code ResponseEntity} with new version as {@code ETag}
      */
     @PutMapping(value = "/{id}")
-    public void update(@RequestBody Category category) {
-
-        LOGGER.debug("update category in DB {}", category);
+    public ResponseEntity<Void> update(@RequestBody Category category,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        LOGGER.debug("update category in DB {}, {}", category, ifMatch);
+        Integer expectedVersion = EntityTags.fromIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            category.setVersion(expectedVersion);
+        }
         categoryService.update(category);
+        return EntityTags.ok(category.getVersion()).build();
     }
 
     /**
@@ -154,14 +204,19 @@ public class CategoryRestController {
     }
 
     /**
-     * Finds all parents {@code categories}
+     * Finds all parents {@code categories}. Responds {@code 304 Not Modified}
+     * without reading them if {@code If-None-Match} has current tag of category table
      *
-     * @return {@code List} representing all parent {@code categories}
+     * @param request request checked for {@code If-None-Match}
+     * @return {@code List} representing all parent {@code categories}, {@code null} if not modified
      */
     @GetMapping(value = "/possibleparents")
-    public List<Category> findAllPossibleParents() {
+    public List<Category> findAllPossibleParents(WebRequest request) {
 
         LOGGER.debug("findAllPossibleParents()");
+        if (EntityTags.notModified(request, tableVersions.getVersionTag(TableVersions.CATEGORY))) {
+            return null;
+        }
         return categoryService.findAllPossibleParents();
     }
 
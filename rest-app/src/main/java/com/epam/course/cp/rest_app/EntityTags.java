@@ -0,0 +1,167 @@
+package com.epam.course.cp.rest_app;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * Converts row versions of entities to {@code ETag} header values and back
+ *
+ * <p>
+ * Entity tag of an entity is its row version in quotes, for example {@code "3"}.
+ * Tags are strong, so weak tags sent in {@code If-Match} never match.
+ * Lists are tagged weakly by versions of tables they are read from.
+ * </p>
+ *
+ * <p>
+ * Responses are written as JSON or as Smile, whichever {@code Accept} prefers,
+ * so a tag of a Smile response has {@code -smile} suffix, for example
+ * {@code "3-smile"}, and tagged responses vary by {@code Accept}. The
+ * representation is chosen as converters choose it, JSON goes first.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+final class EntityTags {
+
+    /**
+     * {@code If-Match} value that matches any version
+     */
+    private static final String ANY = "*";
+
+    /**
+     * Quote surrounding value of an entity tag
+     */
+    private static final String QUOTE = "\"";
+
+    /**
+     * Suffix of tags of Smile representation
+     */
+    static final String SMILE_SUFFIX = "-smile";
+
+    private EntityTags() {
+    }
+
+    /**
+     * Returns response builder with {@code ETag} of given version
+     *
+     * @param version row version, {@code null} if not known
+     * @return {@code 200 OK} response builder, without {@code ETag} if version is not known
+     */
+    static ResponseEntity.BodyBuilder ok(Integer version) {
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        return version == null ? builder : builder.eTag(toETag(version, ""));
+    }
+
+    /**
+     * Returns response builder with {@code ETag} of given version
+     * in representation requested
+     *
+     * @param version row version, {@code null} if not known
+     * @param request request whose {@code Accept} is checked
+     * @return {@code 200 OK} response builder, without {@code ETag} if version is not known
+     */
+    static ResponseEntity.BodyBuilder ok(Integer version, WebRequest request) {
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        return version == null ? builder : builder.eTag(toETag(version, representation(request)));
+    }
+
+    /**
+     * Checks {@code If-None-Match} of given request against weak tag
+     * of given version in representation requested
+     *
+     * @param request    request checked
+     * @param versionTag version of data a response is made of
+     * @return {@code true} if response is not modified and is already set up as {@code 304 Not Modified}
+     */
+    static boolean notModified(WebRequest request, String versionTag) {
+
+        if (request instanceof NativeWebRequest) {
+            HttpServletResponse response = ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+            if (response != null && !response.containsHeader(HttpHeaders.VARY)) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return request.checkNotModified(toWeakETag(versionTag, representation(request)));
+    }
+
+    /**
+     * Returns suffix of tags of representation preferred by given request,
+     * empty for JSON
+     *
+     * @param request request whose {@code Accept} is checked
+     * @return {@link #SMILE_SUFFIX} if Smile is preferred to JSON, empty string otherwise
+     */
+    static String representation(WebRequest request) {
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException ex) {
+            return "";
+        }
+
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (mediaType.isCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE)) {
+                return SMILE_SUFFIX;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Returns entity tag of given version in given representation
+     */
+    private static String toETag(int version, String representation) {
+        return QUOTE + version + representation + QUOTE;
+    }
+
+    /**
+     * Returns weak entity tag of given version tag in given representation
+     */
+    private static String toWeakETag(String versionTag, String representation) {
+        return "W/" + QUOTE + versionTag + representation + QUOTE;
+    }
+
+    /**
+     * Returns version expected by given {@code If-Match} header value,
+     * a tag of any representation of the version matches it.
+     * Optimistic locking failure is thrown if the value can not match any version
+     *
+     * @param ifMatch {@code If-Match} header value, may be {@code null}
+     * @return expected version, {@code null} if any version is expected
+     */
+    static Integer fromIfMatch(String ifMatch) {
+
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith(QUOTE) && tag.endsWith(QUOTE)) {
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.endsWith(SMILE_SUFFIX)) {
+                value = value.substring(0, value.length() - SMILE_SUFFIX.length());
+            }
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException ex) {
+                // falls through to the failure below
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match " + ifMatch + " does not match current version");
+    }
+}
@@ -0,0 +1,121 @@
+package com.epam.course.cp.rest_app;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes elements to response body as a JSON array one at a time, as they are produced
+ *
+ * <p>
+ * The array is written as Smile if the client prefers it to JSON, so
+ * response varies by {@code Accept}.
+ * </p>
+ *
+ * <p>
+ * Only the current element is kept in memory. Response is flushed after the first
+ * element and then every {@code FLUSH_EVERY_ELEMENTS} elements, so it is sent
+ * with chunked transfer encoding while the rest is being produced. Failure
+ * before the first element is flushed leaves the response untouched for error
+ * handling, failure after it truncates the response.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+final class JsonArrayWriter {
+
+    /**
+     * Amount of elements written between flushes of the response
+     */
+    static final int FLUSH_EVERY_ELEMENTS = 256;
+
+    /**
+     * Writer of single elements, configured as message converters of Spring MVC
+     */
+    static final ObjectWriter ELEMENT_WRITER = Jackson2ObjectMapperBuilder.json().build()
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    /**
+     * Writer of single elements as Smile, configured as Smile message converter
+     */
+    static final ObjectWriter SMILE_ELEMENT_WRITER = SmileHttpMessageConverter.OBJECT_MAPPER
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private JsonArrayWriter() {
+    }
+
+    /**
+     * Writes every element given producer passes to its consumer as JSON array
+     * to given response, as Smile if it is preferred by {@code Accept} header
+     *
+     * @param response response to write to
+     * @param accept   media types client accepts
+     * @param producer passes every element to the consumer it is given
+     * @throws IOException if the response can not be written
+     */
+    static void write(HttpServletResponse response, String accept,
+                      Consumer<Consumer<Object>> producer) throws IOException {
+
+        ObjectWriter elementWriter;
+        if (prefersSmile(accept)) {
+            response.setContentType(SmileHttpMessageConverter.APPLICATION_SMILE.toString());
+            elementWriter = SMILE_ELEMENT_WRITER;
+        } else {
+            response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+            elementWriter = ELEMENT_WRITER;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        JsonGenerator generator = elementWriter.getFactory().createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+
+        int[] written = {0};
+        try {
+            producer.accept(element -> {
+                try {
+                    elementWriter.writeValue(generator, element);
+                    if (written[0]++ % FLUSH_EVERY_ELEMENTS == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    private static boolean prefersSmile(String accept) {
+
+        if (accept == null) {
+            return false;
+        }
+
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.includes(SmileHttpMessageConverter.APPLICATION_SMILE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
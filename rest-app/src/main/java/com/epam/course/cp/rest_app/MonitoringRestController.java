@@ -0,0 +1,112 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.dao.support.SqlMetrics;
+import com.epam.course.cp.response.CacheMetrics;
+import com.epam.course.cp.response.PoolMetrics;
+import com.epam.course.cp.response.SqlStatementMetrics;
+import com.epam.course.cp.rest_app.monitoring.PoolMetricsTrackerFactory;
+import com.epam.course.cp.service.ProductDTOFilterCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller used to watch state of the application resources
+ *
+ * @see RestController
+ * @see PoolMetrics
+ * @see SqlStatementMetrics
+ * @see CacheMetrics
+ * @author Maksim Martsiusheu
+ */
+@RestController
+@RequestMapping(value = "/monitoring")
+public class MonitoringRestController {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitoringRestController.class);
+
+    /**
+     * Metrics of the data source connection pool
+     */
+    private final PoolMetricsTrackerFactory poolMetrics;
+
+    /**
+     * Execution statistics of sql statements
+     */
+    private final SqlMetrics sqlMetrics;
+
+    /**
+     * Cache of product DTOs found by filter
+     */
+    private final ProductDTOFilterCache productDTOFilterCache;
+
+    /**
+     * Constructs new object with given pool, sql and cache metrics
+     *
+     * @param poolMetrics           metrics of the data source connection pool
+     * @param sqlMetrics            execution statistics of sql statements
+     * @param productDTOFilterCache cache of product DTOs found by filter
+     */
+    @Autowired
+    public MonitoringRestController(PoolMetricsTrackerFactory poolMetrics, SqlMetrics sqlMetrics,
+                                    ProductDTOFilterCache productDTOFilterCache) {
+        this.poolMetrics = poolMetrics;
+        this.sqlMetrics = sqlMetrics;
+        this.productDTOFilterCache = productDTOFilterCache;
+    }
+
+    /**
+     * Returns state and statistics of the data source connection pool
+     *
+     * @return {@code PoolMetrics} of the connection pool
+     */
+    @GetMapping(value = "/pool")
+    public PoolMetrics getPoolMetrics() {
+
+        LOGGER.debug("getPoolMetrics()");
+        return poolMetrics.getPoolMetrics();
+    }
+
+    /**
+     * Returns execution statistics of every sql statement, the most time consuming first
+     *
+     * @return {@code List} of statement statistics
+     */
+    @GetMapping(value = "/sql")
+    public List<SqlStatementMetrics> getSqlMetrics() {
+
+        LOGGER.debug("getSqlMetrics()");
+        return sqlMetrics.getStatementMetrics();
+    }
+
+    /**
+     * Forgets execution statistics of all sql statements
+     */
+    @DeleteMapping(value = "/sql")
+    public void resetSqlMetrics() {
+
+        LOGGER.debug("resetSqlMetrics()");
+        sqlMetrics.reset();
+    }
+
+    /**
+     * Returns state and statistics of the cache of product DTOs found by filter
+     *
+     * @return {@code CacheMetrics} of the cache
+     */
+    @GetMapping(value = "/cache")
+    public CacheMetrics getCacheMetrics() {
+
+        LOGGER.debug("getCacheMetrics()");
+        return productDTOFilterCache.getCacheMetrics();
+    }
+}
@@ -0,0 +1,154 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.dto.ProductDTO;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes {@code product Data Transfer Objects} to response body one row at a time,
+ * as newline delimited JSON or as CSV
+ *
+ * <p>
+ * Every row is a single line starting with product id, so an interrupted export
+ * is resumed after the id of the last complete line. Only the current row is kept
+ * in memory, response is flushed the same way as by {@link JsonArrayWriter}.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+final class ProductDTOExportWriter {
+
+    /**
+     * Media type of newline delimited JSON
+     */
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Media type of comma separated values
+     */
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Header line of CSV, in order of JSON properties of product DTO
+     */
+    static final String CSV_HEADER =
+            "productId,categoryName,subCategoryName,productName,productAmount,dateAdded,categoryId";
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private static final char CSV_SEPARATOR = ',';
+
+    private static final char CSV_QUOTE = '"';
+
+    private ProductDTOExportWriter() {
+    }
+
+    /**
+     * Writes product DTOs given producer passes to its consumer as newline delimited JSON
+     *
+     * @param response response to write to
+     * @param producer passes every product DTO to the consumer it is given
+     * @throws IOException if the response can not be written
+     */
+    static void writeNdjson(HttpServletResponse response, Consumer<Consumer<ProductDTO>> producer)
+            throws IOException {
+
+        write(response, APPLICATION_NDJSON_VALUE, null, producer, (writer, productDTO) -> {
+            writer.write(JsonArrayWriter.ELEMENT_WRITER.writeValueAsString(productDTO));
+            writer.write(LINE_SEPARATOR);
+        });
+    }
+
+    /**
+     * Writes product DTOs given producer passes to its consumer as CSV with header line
+     *
+     * @param response response to write to
+     * @param producer passes every product DTO to the consumer it is given
+     * @throws IOException if the response can not be written
+     */
+    static void writeCsv(HttpServletResponse response, Consumer<Consumer<ProductDTO>> producer)
+            throws IOException {
+
+        write(response, TEXT_CSV_VALUE, CSV_HEADER, producer, (writer, productDTO) -> {
+            writer.write(String.valueOf(productDTO.getProductId()));
+            writeCsvField(writer, productDTO.getCategoryName());
+            writeCsvField(writer, productDTO.getSubCategoryName());
+            writeCsvField(writer, productDTO.getProductName());
+            writeCsvField(writer, productDTO.getProductAmount());
+            writeCsvField(writer, productDTO.getDateAdded());
+            writeCsvField(writer, productDTO.getCategoryId());
+            writer.write(LINE_SEPARATOR);
+        });
+    }
+
+    private static void write(HttpServletResponse response, String contentType, String header,
+                              Consumer<Consumer<ProductDTO>> producer, RowWriter rowWriter) throws IOException {
+
+        response.setContentType(new MediaType(MediaType.valueOf(contentType), StandardCharsets.UTF_8).toString());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (header != null) {
+            writer.write(header);
+            writer.write(LINE_SEPARATOR);
+        }
+
+        int[] written = {0};
+        try {
+            producer.accept(productDTO -> {
+                try {
+                    rowWriter.write(writer, productDTO);
+                    if (written[0]++ % JsonArrayWriter.FLUSH_EVERY_ELEMENTS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        writer.close();
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+
+        writer.write(CSV_SEPARATOR);
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        if (text.indexOf(CSV_SEPARATOR) < 0 && text.indexOf(CSV_QUOTE) < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write(CSV_QUOTE);
+        for (char c : text.toCharArray()) {
+            if (c == CSV_QUOTE) {
+                writer.write(CSV_QUOTE);
+            }
+            writer.write(c);
+        }
+        writer.write(CSV_QUOTE);
+    }
+
+    /**
+     * Writes a single row of export
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(Writer writer, ProductDTO productDTO) throws IOException;
+    }
+}
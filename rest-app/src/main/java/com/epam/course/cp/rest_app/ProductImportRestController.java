@@ -0,0 +1,75 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.response.ImportReport;
+import com.epam.course.cp.rest_app.importer.ProductImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Controller used to import {@code products} from CSV files
+ *
+ * @see RestController
+ * @see ProductImporter
+ * @see ImportReport
+ * @author Maksim Martsiusheu
+ */
+@RestController
+@RequestMapping(value = "/products/imports")
+public class ProductImportRestController {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductImportRestController.class);
+
+    /**
+     * Importer of product CSV files
+     */
+    private final ProductImporter productImporter;
+
+    /**
+     * Constructs new object with given importer
+     *
+     * @param productImporter importer of product CSV files
+     */
+    @Autowired
+    public ProductImportRestController(ProductImporter productImporter) {
+        this.productImporter = productImporter;
+    }
+
+    /**
+     * Imports products from CSV file sent as request body,
+     * responds when every row is saved or rejected
+     *
+     * @param csv UTF-8 CSV file with header line
+     * @return {@code ImportReport} with rejected rows and their line numbers
+     * @throws IOException if request body can not be read
+     */
+    @PostMapping(value = "", consumes = "text/csv")
+    public ImportReport importProducts(InputStream csv) throws IOException {
+
+        LOGGER.debug("importProducts()");
+        return productImporter.importProducts(csv);
+    }
+
+    /**
+     * Returns progress of running imports and reports of last finished ones
+     *
+     * @return {@code List} of import reports in order imports started
+     */
+    @GetMapping(value = "")
+    public List<ImportReport> findImportReports() {
+
+        LOGGER.debug("findImportReports()");
+        return productImporter.getImportReports();
+    }
+}
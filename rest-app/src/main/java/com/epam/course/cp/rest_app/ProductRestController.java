@@ -1,15 +1,26 @@
 package com.epam.course.cp.rest_app;
 
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
 import com.epam.course.cp.service.ProductService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -44,14 +55,21 @@ public class ProductRestController {
      */
     private ProductService productService;
 
+    /**
+     * Change counters of tables, tag lists of product DTOs
+     */
+    private TableVersions tableVersions;
+
     /**
      * Constructs new object with given service layer object
      *
      * @param productService product service layer object
+     * @param tableVersions  change counters of tables
      */
     @Autowired
-    public ProductRestController(ProductService productService) {
+    public ProductRestController(ProductService productService, TableVersions tableVersions) {
         this.productService = productService;
+        this.tableVersions = tableVersions;
     }
 
 
@@ -70,36 +88,96 @@ public class ProductRestController {
     /**
      * Returns a {@code product} with given id
      *
-     * @param id id of a {@code product} to find by
-     * @return single {@code product}
+     * @param id      id of a {@code product} to find by
+     * @param request request whose {@code Accept} chooses representation
+     * @return single {@code product} with its version in representation written as {@code ETag}
      */
     @GetMapping(value = "/{id}")
-    public Product findById(@PathVariable() Integer id) {
+    public ResponseEntity<Product> findById(@PathVariable() Integer id, WebRequest request) {
 
         LOGGER.debug("get product by id = {}", id);
-        return productService.findById(id);
+        Product product = productService.findById(id);
+        return EntityTags.ok(product.getVersion(), request).body(product);
     }
 
     /**
-     * Returns all {@code product Data Transfer Objects} found
+     * Writes all {@code product Data Transfer Objects} found as JSON array,
+     * as Smile if it is preferred by {@code Accept} header, while they are
+     * read from data source, so memory used does not depend on amount of products.
+     * Products are read with a connection of the streaming pool
      *
-     * @return {@code List} of a {@code product Data Transfer Objects}s
+     * @param accept   media types client accepts
+     * @param response response to write product DTOs to
+     * @throws IOException if the response can not be written
      */
     @GetMapping(value = "/info")
-    public List<ProductDTO> findAllProductDTOs() {
+    public void findAllProductDTOs(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                   HttpServletResponse response) throws IOException {
 
         LOGGER.debug("get all productDTOs");
-        return productService.findAllProductDTOs();
+        StreamingDataSource.stream(() -> JsonArrayWriter.write(response, accept, productService::forEachProductDTO));
+    }
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} ordered by product id
+     *
+     * @param after cursor of the page taken from the previous one, omitted for the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code Page} of a {@code product Data Transfer Objects}s
+     */
+    @GetMapping(value = "/info", params = "limit")
+    public Page<ProductDTO> findProductDTOPage(
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "limit") Integer limit) {
+
+        LOGGER.debug("findProductDTOPage({}, {})", after, limit);
+        return productService.findProductDTOPage(after, limit);
+    }
+
+    /**
+     * Writes all {@code product Data Transfer Objects} ordered by product id
+     * as CSV if it is preferred by {@code Accept} header, as newline delimited
+     * JSON otherwise, while they are read from data source with a connection
+     * of the streaming pool
+     *
+     * @param since  date products are added from, omitted for all products
+     * @param after  id of the last product already exported, omitted to export from the first one
+     * @param accept media types client accepts
+     * @param response response to write product DTOs to
+     * @throws IOException if the response can not be written
+     */
+    @GetMapping(value = "/export", produces = {ProductDTOExportWriter.APPLICATION_NDJSON_VALUE,
+            ProductDTOExportWriter.TEXT_CSV_VALUE})
+    public void exportProductDTOs(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate since,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+
+        LOGGER.debug("exportProductDTOs({}, {})", since, after);
+        StreamingDataSource.stream(() -> {
+            if (prefersCsv(accept)) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\"");
+                ProductDTOExportWriter.writeCsv(response,
+                        action -> productService.exportProductDTOs(since, after, action));
+            } else {
+                ProductDTOExportWriter.writeNdjson(response,
+                        action -> productService.exportProductDTOs(since, after, action));
+            }
+        });
     }
 
     /**
      * Returns all {@code product Data Transfer Objects} that
-     * matches given request params
+     * matches given request params. Responds {@code 304 Not Modified}
+     * without reading them if {@code If-None-Match} has current tag
+     * of product and category tables
      *
      * @param dateBegin Date describing beginning of date interval
      * @param dateEnd Date describing ending of date interval
      * @param id Category id to select product DTOs by
-     * @return {@code List} of a {@code product Data Transfer Objects}s
+     * @param request request checked for {@code If-None-Match}
+     * @return {@code List} of a {@code product Data Transfer Objects}s, {@code null} if not modified
      */
     @GetMapping(value = "/filter")
     public List<ProductDTO> findProductDTOsByMixedFilter(
@@ -107,10 +185,16 @@ public class ProductRestController {
             @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateBegin,
             @RequestParam(value = "to", defaultValue = "3000-01-01")
             @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateEnd,
-            @RequestParam(value = "id", required = false) Integer id) {
+            @RequestParam(value = "id", required = false) Integer id,
+            WebRequest request) {
 
         LOGGER.debug("findProductDTOsBYMixedFilter({},{},{})", dateBegin, dateEnd, id);
 
+        if (EntityTags.notModified(request,
+                tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY))) {
+            return null;
+        }
+
         Filter filter = new Filter();
         filter.setDateBegin(dateBegin);
         filter.setDateEnd(dateEnd);
@@ -119,6 +203,100 @@ public class ProductRestController {
         return productService.findProductDTOsByFilter(filter);
     }
 
+    /**
+     * Returns everything product list page shows: parent {@code categories}
+     * and a page of {@code product Data Transfer Objects} that matches given request params,
+     * read within a single transaction. Responds {@code 304 Not Modified}
+     * without reading them if {@code If-None-Match} has current tag
+     * of product and category tables
+     *
+     * @param dateBegin Date describing beginning of date interval
+     * @param dateEnd Date describing ending of date interval
+     * @param id Category id to select product DTOs by
+     * @param after cursor of the page taken from the previous one, omitted for the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @param request request checked for {@code If-None-Match}
+     * @return {@code ProductListView} of a product list page, {@code null} if not modified
+     */
+    @GetMapping(value = "/view")
+    public ProductListView findProductListView(
+            @RequestParam(value = "from", defaultValue = "1970-01-01")
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateBegin,
+            @RequestParam(value = "to", defaultValue = "3000-01-01")
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateEnd,
+            @RequestParam(value = "id", required = false) Integer id,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest request) {
+
+        LOGGER.debug("findProductListView({},{},{},{},{})", dateBegin, dateEnd, id, after, limit);
+
+        if (EntityTags.notModified(request,
+                tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY))) {
+            return null;
+        }
+
+        Filter filter = new Filter();
+        filter.setDateBegin(dateBegin);
+        filter.setDateEnd(dateEnd);
+        filter.setCategoryId(id);
+
+        return productService.findProductListView(filter, after, limit);
+    }
+
+    /**
+     * Returns everything product editor page shows: a {@code product}
+     * with given id and sub {@code categories} it may belong to.
+     * Responds {@code 304 Not Modified} without reading them
+     * if {@code If-None-Match} has current tag of product and category tables
+     *
+     * @param id id of a {@code product} to find by
+     * @param request request checked for {@code If-None-Match}
+     * @return {@code ProductEditorView} of a product editor page, {@code null} if not modified
+     */
+    @GetMapping(value = "/{id}/editor")
+    public ProductEditorView findProductEditorView(@PathVariable Integer id, WebRequest request) {
+
+        LOGGER.debug("findProductEditorView({})", id);
+
+        if (EntityTags.notModified(request,
+                tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY))) {
+            return null;
+        }
+        return productService.findProductEditorView(id);
+    }
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} that
+     * matches given request params ordered by product id
+     *
+     * @param dateBegin Date describing beginning of date interval
+     * @param dateEnd Date describing ending of date interval
+     * @param id Category id to select product DTOs by
+     * @param after cursor of the page taken from the previous one, omitted for the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code Page} of a {@code product Data Transfer Objects}s
+     */
+    @GetMapping(value = "/filter", params = "limit")
+    public Page<ProductDTO> findProductDTOPageByMixedFilter(
+            @RequestParam(value = "from", defaultValue = "1970-01-01")
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateBegin,
+            @RequestParam(value = "to", defaultValue = "3000-01-01")
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate dateEnd,
+            @RequestParam(value = "id", required = false) Integer id,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "limit") Integer limit) {
+
+        LOGGER.debug("findProductDTOPageByMixedFilter({},{},{},{},{})", dateBegin, dateEnd, id, after, limit);
+
+        Filter filter = new Filter();
+        filter.setDateBegin(dateBegin);
+        filter.setDateEnd(dateEnd);
+        filter.setCategoryId(id);
+
+        return productService.findProductDTOPageByFilter(filter, after, limit);
+    }
+
     /**
      * Saves single {@code product} to a storage
      *
@@ -133,15 +311,65 @@ public class ProductRestController {
     }
 
     /**
-     * Updates already existing {@code product} by new one
+     * Saves all given {@code products} to a storage within a single transaction
+     *
+     * @param products {@code products} to be saved
+     * @return {@code List} of a results for every {@code product} in the same order
+     */
+    @PostMapping(value = "/batch")
+    public List<BatchItemResult> addAll(@RequestBody List<Product> products) {
+
+        LOGGER.debug("addAll({} products)", products.size());
+        return productService.addAll(products);
+    }
+
+    /**
+     * Updates already existing {@code products} by new ones within a single transaction
+     *
+     * @param products {@code products} to update older ones
+     * @return {@code List} of a results for every {@code product} in the same order
+     */
+    @PutMapping(value = "/batch")
+    public List<BatchItemResult> updateAll(@RequestBody List<Product> products) {
+
+        LOGGER.debug("updateAll({} products)", products.size());
+        return productService.updateAll(products);
+    }
+
+    /**
+     * Updates already existing {@code product} by new one.
+     * Version expected by {@code If-Match} replaces version of the product
      *
      * @param product {@code product} to update older one
+     * @param ifMatch {@code ETag} of the version being updated, may be {@code null}
+     * @return empty response with new version as {@code ETag}
      */
     @PutMapping(value = "/{id}")
-    public void update(@RequestBody Product product) {
+    public ResponseEntity<Void> update(@RequestBody Product product,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        LOGGER.debug("update({})", product);
+        LOGGER.debug("update({}, {})", product, ifMatch);
+        Integer expectedVersion = EntityTags.fromIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            product.setVersion(expectedVersion);
+        }
         productService.update(product);
+        return EntityTags.ok(product.getVersion()).build();
+    }
+
+    /**
+     * Adds given signed delta to amount of existing {@code product},
+     * a missing or {@code null} delta is rejected with {@code 400 Bad Request}
+     *
+     * @param id    product id to change amount of
+     * @param delta signed change of product amount
+     * @return new amount of the {@code product}
+     */
+    @PatchMapping(value = "/{id}/amount")
+    public Integer adjustAmount(@PathVariable Integer id, @RequestBody Integer delta) {
+
+        LOGGER.debug("adjustAmount({}, {})", id, delta);
+        return productService.adjustAmount(id, delta);
     }
 
     /**
@@ -155,4 +383,23 @@ public class ProductRestController {
         LOGGER.debug("delete({})", id);
         productService.delete(id);
     }
+
+    private static boolean prefersCsv(String accept) {
+
+        if (accept == null) {
+            return false;
+        }
+
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.includes(MediaType.valueOf(ProductDTOExportWriter.APPLICATION_NDJSON_VALUE))) {
+                return false;
+            }
+            if (mediaType.includes(MediaType.valueOf(ProductDTOExportWriter.TEXT_CSV_VALUE))) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,42 @@
+package com.epam.course.cp.rest_app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Reads and writes Smile, binary encoding of JSON, for clients preferring it
+ *
+ * <p>
+ * Both property names and short string values are shared, so a name of
+ * category repeated on every product of a list is written once and then
+ * referred to by a back reference of one or two bytes. Clients which do
+ * not ask for Smile are given JSON.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class SmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    /**
+     * Media type of Smile
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Mapper writing Smile with shared names and string values, configured as JSON mapper of Spring MVC
+     */
+    static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .factory(new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES))
+            .build();
+
+    /**
+     * Constructs new converter writing shared string values
+     */
+    public SmileHttpMessageConverter() {
+        super(OBJECT_MAPPER);
+    }
+}
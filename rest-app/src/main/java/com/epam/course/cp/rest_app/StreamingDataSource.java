@@ -0,0 +1,80 @@
+package com.epam.course.cp.rest_app;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Data source handing out connections of a separate pool to streamed responses
+ *
+ * <p>
+ * A streamed response holds its connection while the client reads it, so
+ * slow clients would keep connections of the main pool busy and trip its
+ * leak detection. Code run by {@link #stream(Body)} gets connections from
+ * the streaming pool, any other code gets them from the main pool. Size of
+ * the streaming pool bounds amount of concurrent streams, a stream beyond
+ * it waits for a connection as long as the streaming pool allows and fails
+ * then. A transaction begun before the stream keeps its own connection.
+ * </p>
+ *
+ * @see JsonArrayWriter
+ * @see ProductDTOExportWriter
+ * @author Maksim Martsiusheu
+ */
+public class StreamingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup key of the streaming pool
+     */
+    private static final String STREAMING = "streaming";
+
+    /**
+     * Whether current thread writes a streamed response
+     */
+    private static final ThreadLocal<Boolean> STREAMING_THREAD = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Constructs data source routing streams to their own pool
+     *
+     * @param dataSource          main connection pool
+     * @param streamingDataSource connection pool of streamed responses
+     */
+    public StreamingDataSource(DataSource dataSource, DataSource streamingDataSource) {
+
+        setDefaultTargetDataSource(dataSource);
+        setTargetDataSources(Collections.singletonMap(STREAMING, streamingDataSource));
+        setLenientFallback(false);
+    }
+
+    /**
+     * Writes a streamed response with connections of the streaming pool
+     *
+     * @param body writes the response
+     * @throws IOException if the response can not be written
+     */
+    public static void stream(Body body) throws IOException {
+
+        STREAMING_THREAD.set(true);
+        try {
+            body.write();
+        } finally {
+            STREAMING_THREAD.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return STREAMING_THREAD.get() ? STREAMING : null;
+    }
+
+    /**
+     * Writes a streamed response
+     */
+    @FunctionalInterface
+    public interface Body {
+
+        void write() throws IOException;
+    }
+}
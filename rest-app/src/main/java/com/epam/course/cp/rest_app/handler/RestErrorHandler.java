@@ -2,10 +2,13 @@ package com.epam.course.cp.rest_app.handler;
 
 import com.epam.course.cp.response.ExceptionResponse;
 import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.dao.exception.InsufficientAmountException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -32,6 +35,33 @@ public class RestErrorHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Handle insufficient amount exception.
+     *
+     * @param ex is {InsufficientAmountException}.
+     * @return the response entity with message of exception.
+     */
+    @ExceptionHandler(value = InsufficientAmountException.class)
+    public static ResponseEntity<ExceptionResponse> handleInsufficientAmountException(InsufficientAmountException ex) {
+
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle optimistic locking failure exception.
+     *
+     * @param ex is {OptimisticLockingFailureException}.
+     * @return the response entity with message of exception.
+     */
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public static ResponseEntity<ExceptionResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex) {
+
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
     /**
      * Handle empty result data access exception.
      *
@@ -45,6 +75,20 @@ public class RestErrorHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handle cannot get jdbc connection exception, thrown when all connections of a pool are busy.
+     *
+     * @param ex is {CannotGetJdbcConnectionException}.
+     * @return the response entity with message of exception.
+     */
+    @ExceptionHandler(value = CannotGetJdbcConnectionException.class)
+    public static ResponseEntity<ExceptionResponse> handleCannotGetJdbcConnectionException(
+            CannotGetJdbcConnectionException ex) {
+
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handle duplicate key exception.
      *
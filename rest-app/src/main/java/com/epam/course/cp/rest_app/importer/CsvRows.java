@@ -0,0 +1,130 @@
+package com.epam.course.cp.rest_app.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads rows of a CSV file and splits them into fields
+ *
+ * <p>
+ * Rows are only delimited while reading, so fields of different rows
+ * can be split by several threads. A quoted field may span several
+ * lines, doubled quote in a quoted field stands for a single quote.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+final class CsvRows {
+
+    private static final char SEPARATOR = ',';
+
+    private static final char QUOTE = '"';
+
+    /**
+     * Source of lines
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Amount of lines read
+     */
+    private long linesRead;
+
+    /**
+     * Constructs new object reading given source
+     *
+     * @param reader source of lines
+     */
+    CsvRows(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads next row
+     *
+     * @return the row, {@code null} at the end of the source
+     * @throws IOException if the source can not be read
+     */
+    Row next() throws IOException {
+
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        long lineNumber = ++linesRead;
+        StringBuilder text = new StringBuilder(line);
+        int quotes = countQuotes(line);
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            linesRead++;
+            text.append('\n').append(line);
+            quotes += countQuotes(line);
+        }
+        return new Row(lineNumber, text.toString());
+    }
+
+    /**
+     * Splits text of a row into fields
+     *
+     * @param text text of the row
+     * @return {@code List} of field values without quotes
+     */
+    static List<String> split(String text) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private static int countQuotes(String line) {
+
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == QUOTE) {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Text of a single row with number of the line it starts at
+     */
+    static final class Row {
+
+        final long lineNumber;
+
+        final String text;
+
+        Row(long lineNumber, String text) {
+            this.lineNumber = lineNumber;
+            this.text = text;
+        }
+    }
+}
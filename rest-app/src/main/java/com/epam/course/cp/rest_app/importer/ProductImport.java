@@ -0,0 +1,489 @@
+package com.epam.course.cp.rest_app.importer;
+
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.ImportReport;
+import com.epam.course.cp.response.RejectedRow;
+import com.epam.course.cp.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Single import of {@code products} from a CSV file
+ *
+ * <p>
+ * Rows are passed through bounded queues: the calling thread reads them in chunks,
+ * several parser threads turn every chunk into validated products with resolved
+ * categories, a single writer thread saves them with one batch per chunk. A full
+ * queue blocks the stage feeding it, so memory used does not depend on file size.
+ * Rows of a batch failed to save, e.g. because of a duplicate product name, are
+ * saved one by one, so only rows which can not be saved are rejected. Rows are
+ * saved in any order, rejected rows are reported with their line numbers.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+final class ProductImport {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductImport.class);
+
+    static final String PRODUCT_NAME = "productName";
+
+    static final String PRODUCT_AMOUNT = "productAmount";
+
+    static final String DATE_ADDED = "dateAdded";
+
+    static final String CATEGORY_ID = "categoryId";
+
+    static final String SUB_CATEGORY_NAME = "subCategoryName";
+
+    /**
+     * Period failures of stages are checked with while waiting for them
+     */
+    private static final long STAGE_CHECK_MILLIS = 100;
+
+    /**
+     * Marks the end of rows for a parser
+     */
+    private static final List<CsvRows.Row> END_OF_ROWS = Collections.emptyList();
+
+    /**
+     * Marks the end of parsed rows for the writer
+     */
+    private static final List<ParsedRow> END_OF_BATCHES = Collections.emptyList();
+
+    private final Integer importId;
+
+    private final ProductService productService;
+
+    private final Validator productValidator;
+
+    private final int parsers;
+
+    private final int batchSize;
+
+    private final int maxRejectedRows;
+
+    /**
+     * Ids of categories products may be added to
+     */
+    private final Set<Integer> categoryIds = new HashSet<>();
+
+    /**
+     * Ids of categories products may be added to by category name
+     */
+    private final Map<String, Integer> categoryIdsByName = new HashMap<>();
+
+    private final BlockingQueue<List<CsvRows.Row>> rows;
+
+    private final BlockingQueue<List<ParsedRow>> batches;
+
+    /**
+     * Positions of known columns in the file
+     */
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    private final LongAdder rowsRead = new LongAdder();
+
+    private final LongAdder rowsImported = new LongAdder();
+
+    private final LongAdder rowsRejected = new LongAdder();
+
+    /**
+     * First rejected rows found, guarded by itself
+     */
+    private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+    private final long startedAt = System.nanoTime();
+
+    private volatile long finishedAt;
+
+    private volatile boolean finished;
+
+    /**
+     * Constructs new import
+     *
+     * @param importId        id of the import
+     * @param productService  service products are saved by
+     * @param productValidator validator of products
+     * @param categories      categories products may be added to
+     * @param parsers         amount of parser threads
+     * @param batchSize       amount of rows parsed and saved at once
+     * @param queueCapacity   amount of chunks every queue holds
+     * @param maxRejectedRows amount of rejected rows reported
+     */
+    ProductImport(Integer importId, ProductService productService, Validator productValidator,
+                  List<Category> categories, int parsers, int batchSize, int queueCapacity, int maxRejectedRows) {
+
+        this.importId = importId;
+        this.productService = productService;
+        this.productValidator = productValidator;
+        this.parsers = parsers;
+        this.batchSize = batchSize;
+        this.maxRejectedRows = maxRejectedRows;
+        this.rows = new ArrayBlockingQueue<>(queueCapacity);
+        this.batches = new ArrayBlockingQueue<>(queueCapacity);
+
+        for (Category category : categories) {
+            categoryIds.add(category.getCategoryId());
+            categoryIdsByName.putIfAbsent(category.getCategoryName(), category.getCategoryId());
+        }
+    }
+
+    /**
+     * Imports all rows of given file, returns when they are saved or rejected
+     *
+     * @param reader CSV file with header line
+     * @throws IOException if the file can not be read
+     */
+    void run(BufferedReader reader) throws IOException {
+
+        LOGGER.debug("run() import {}", importId);
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parsers + 1,
+                runnable -> new Thread(runnable, "product-import-" + importId + "-" + threads.incrementAndGet()));
+        try {
+            CsvRows csvRows = new CsvRows(reader);
+            if (!readHeader(csvRows.next())) {
+                return;
+            }
+
+            List<Future<?>> parserResults = new ArrayList<>(parsers);
+            for (int i = 0; i < parsers; i++) {
+                parserResults.add(executor.submit(this::parse));
+            }
+            Future<?> writerResult = executor.submit(this::write);
+
+            List<Future<?>> stages = new ArrayList<>(parserResults);
+            stages.add(writerResult);
+
+            read(csvRows, stages);
+            for (int i = 0; i < parsers; i++) {
+                put(rows, END_OF_ROWS, stages);
+            }
+            for (Future<?> parserResult : parserResults) {
+                await(parserResult, stages);
+            }
+            put(batches, END_OF_BATCHES, stages);
+            await(writerResult, stages);
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import " + importId + " is interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Import " + importId + " failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+            finishedAt = System.nanoTime();
+            finished = true;
+            LOGGER.debug("import {} finished: {}", importId, getReport());
+        }
+    }
+
+    /**
+     * Returns progress of the import
+     *
+     * @return {@code ImportReport} of the import
+     */
+    ImportReport getReport() {
+
+        long elapsedNanos = (finished ? finishedAt : System.nanoTime()) - startedAt;
+        long imported = rowsImported.sum();
+
+        ImportReport report = new ImportReport();
+        report.setImportId(importId);
+        report.setFinished(finished);
+        report.setRowsRead(rowsRead.sum());
+        report.setRowsImported(imported);
+        report.setRowsRejected(rowsRejected.sum());
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : imported * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+
+        List<RejectedRow> rejected;
+        synchronized (rejectedRows) {
+            rejected = new ArrayList<>(rejectedRows);
+        }
+        rejected.sort(Comparator.comparingLong(RejectedRow::getLineNumber));
+        report.setRejectedRows(rejected);
+
+        return report;
+    }
+
+    /**
+     * Returns id of the import
+     *
+     * @return import id
+     */
+    Integer getImportId() {
+        return importId;
+    }
+
+    /**
+     * Returns whether the import is finished
+     *
+     * @return {@code true} if all rows are saved or rejected
+     */
+    boolean isFinished() {
+        return finished;
+    }
+
+    private boolean readHeader(CsvRows.Row header) {
+
+        if (header == null) {
+            return false;
+        }
+
+        List<String> names = CsvRows.split(header.text);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim(), i);
+        }
+
+        if (!columns.containsKey(PRODUCT_NAME) || !columns.containsKey(PRODUCT_AMOUNT)
+                || !columns.containsKey(CATEGORY_ID) && !columns.containsKey(SUB_CATEGORY_NAME)) {
+            reject(header.lineNumber, "header must have " + PRODUCT_NAME + ", " + PRODUCT_AMOUNT
+                    + " and " + CATEGORY_ID + " or " + SUB_CATEGORY_NAME + " columns");
+            return false;
+        }
+        return true;
+    }
+
+    private void read(CsvRows csvRows, List<Future<?>> stages)
+            throws IOException, InterruptedException, ExecutionException {
+
+        List<CsvRows.Row> chunk = new ArrayList<>(batchSize);
+        CsvRows.Row row;
+        while ((row = csvRows.next()) != null) {
+            if (row.text.isEmpty()) {
+                continue;
+            }
+            rowsRead.increment();
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                put(rows, chunk, stages);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            put(rows, chunk, stages);
+        }
+    }
+
+    /**
+     * Puts given item to a queue, fails instead of waiting forever if a stage failed
+     */
+    private static <T> void put(BlockingQueue<T> queue, T item, List<Future<?>> stages)
+            throws InterruptedException, ExecutionException {
+
+        while (!queue.offer(item, STAGE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkStages(stages);
+        }
+    }
+
+    /**
+     * Waits for given stage to finish, fails instead of waiting forever if another stage failed
+     */
+    private static void await(Future<?> stage, List<Future<?>> stages)
+            throws InterruptedException, ExecutionException {
+
+        while (true) {
+            try {
+                stage.get(STAGE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException ex) {
+                checkStages(stages);
+            }
+        }
+    }
+
+    /**
+     * Throws failure of the first stage failed, stages do not finish
+     * before the end of their input unless they fail
+     */
+    private static void checkStages(List<Future<?>> stages) throws InterruptedException, ExecutionException {
+
+        for (Future<?> stage : stages) {
+            if (stage.isDone()) {
+                stage.get();
+            }
+        }
+    }
+
+    private Void parse() throws InterruptedException {
+
+        List<CsvRows.Row> chunk;
+        while ((chunk = rows.take()) != END_OF_ROWS) {
+            List<ParsedRow> batch = new ArrayList<>(chunk.size());
+            for (CsvRows.Row row : chunk) {
+                try {
+                    Product product = toProduct(row);
+                    if (product != null) {
+                        batch.add(new ParsedRow(row.lineNumber, product));
+                    }
+                } catch (RuntimeException ex) {
+                    reject(row.lineNumber, String.valueOf(ex.getMessage()));
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.put(batch);
+            }
+        }
+        return null;
+    }
+
+    private Void write() throws InterruptedException {
+
+        List<ParsedRow> batch;
+        while ((batch = batches.take()) != END_OF_BATCHES) {
+            try {
+                productService.addAll(batch.stream().map(row -> row.product).collect(Collectors.toList()));
+                rowsImported.add(batch.size());
+            } catch (RuntimeException ex) {
+                LOGGER.warn("import {}: batch of {} rows is not saved, saving rows one by one",
+                        importId, batch.size(), ex);
+                batch.forEach(this::writeRow);
+            }
+        }
+        return null;
+    }
+
+    private void writeRow(ParsedRow row) {
+
+        try {
+            productService.addAll(Collections.singletonList(row.product));
+            rowsImported.increment();
+        } catch (RuntimeException ex) {
+            LOGGER.debug("import {}: line {} is not saved", importId, row.lineNumber, ex);
+            reject(row.lineNumber, "not saved: " + ex.getMessage());
+        }
+    }
+
+    private Product toProduct(CsvRows.Row row) {
+
+        List<String> fields = CsvRows.split(row.text);
+
+        Product product = new Product();
+        product.setProductName(field(fields, PRODUCT_NAME));
+
+        String amount = field(fields, PRODUCT_AMOUNT);
+        if (amount != null) {
+            try {
+                product.setProductAmount(Integer.valueOf(amount.trim()));
+            } catch (NumberFormatException ex) {
+                reject(row.lineNumber, PRODUCT_AMOUNT + " is not a number: " + amount);
+                return null;
+            }
+        }
+
+        String dateAdded = field(fields, DATE_ADDED);
+        try {
+            product.setDateAdded(dateAdded == null ? LocalDate.now() : LocalDate.parse(dateAdded.trim()));
+        } catch (DateTimeParseException ex) {
+            reject(row.lineNumber, DATE_ADDED + " is not a date of yyyy-MM-dd format: " + dateAdded);
+            return null;
+        }
+
+        Errors errors = new BeanPropertyBindingResult(product, "product");
+        productValidator.validate(product, errors);
+        if (errors.hasErrors()) {
+            reject(row.lineNumber, errors.getFieldErrors().stream()
+                    .map(FieldError::getCode)
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+
+        Integer categoryId = resolveCategoryId(fields);
+        if (categoryId == null) {
+            reject(row.lineNumber, "category is not found: "
+                    + field(fields, CATEGORY_ID) + ", " + field(fields, SUB_CATEGORY_NAME));
+            return null;
+        }
+        product.setCategoryId(categoryId);
+
+        return product;
+    }
+
+    private Integer resolveCategoryId(List<String> fields) {
+
+        String categoryId = field(fields, CATEGORY_ID);
+        if (categoryId != null) {
+            try {
+                Integer id = Integer.valueOf(categoryId.trim());
+                return categoryIds.contains(id) ? id : null;
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        String subCategoryName = field(fields, SUB_CATEGORY_NAME);
+        return subCategoryName == null ? null : categoryIdsByName.get(subCategoryName);
+    }
+
+    /**
+     * Returns value of given column, {@code null} if it is absent or empty
+     */
+    private String field(List<String> fields, String column) {
+
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private void reject(long lineNumber, String reason) {
+
+        rowsRejected.increment();
+        synchronized (rejectedRows) {
+            if (rejectedRows.size() < maxRejectedRows) {
+                rejectedRows.add(new RejectedRow(lineNumber, reason));
+            }
+        }
+    }
+
+    /**
+     * Product parsed from a row with number of the line the row starts at
+     */
+    private static final class ParsedRow {
+
+        private final long lineNumber;
+
+        private final Product product;
+
+        private ParsedRow(long lineNumber, Product product) {
+            this.lineNumber = lineNumber;
+            this.product = product;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.epam.course.cp.rest_app.importer;
+
+import com.epam.course.cp.response.ImportReport;
+import com.epam.course.cp.service.CategoryService;
+import com.epam.course.cp.service.ProductService;
+import com.epam.course.cp.validator.ProductValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports {@code products} from CSV files
+ *
+ * <p>
+ * The first line of a file names its columns: {@code productName},
+ * {@code productAmount} and {@code categoryId} or {@code subCategoryName}
+ * are required, {@code dateAdded} is today if omitted, other columns are
+ * ignored, so files exported from {@code /products/export} are accepted.
+ * Rows are checked by {@link ProductValidator}, the same rules as the
+ * product form of web application has.
+ * </p>
+ *
+ * <p>
+ * Reports of running imports and of {@code KEPT_FINISHED_IMPORTS}
+ * last finished ones are kept to be requested while importing.
+ * </p>
+ *
+ * @see ProductImport
+ * @see ImportReport
+ * @author Maksim Martsiusheu
+ */
+@Component
+public class ProductImporter {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductImporter.class);
+
+    /**
+     * Amount of finished imports reports are kept for
+     */
+    static final int KEPT_FINISHED_IMPORTS = 16;
+
+    /**
+     * Service layer object products are saved by
+     */
+    private final ProductService productService;
+
+    /**
+     * Service layer object categories are resolved by
+     */
+    private final CategoryService categoryService;
+
+    /**
+     * Validator every imported product is checked by
+     */
+    private final ProductValidator productValidator;
+
+    /**
+     * Amount of threads parsing rows of a single import
+     */
+    private final int parsers;
+
+    /**
+     * Amount of rows parsed and saved at once
+     */
+    private final int batchSize;
+
+    /**
+     * Amount of batches every queue of an import holds
+     */
+    private final int queueCapacity;
+
+    /**
+     * Amount of rejected rows reported by an import
+     */
+    private final int maxRejectedRows;
+
+    /**
+     * Id of the last started import
+     */
+    private final AtomicInteger lastImportId = new AtomicInteger();
+
+    /**
+     * Running and last finished imports by id, guarded by itself
+     */
+    private final Map<Integer, ProductImport> imports = new LinkedHashMap<>();
+
+    /**
+     * Constructs new importer with given services and pipeline settings
+     *
+     * @param productService   service products are saved by
+     * @param categoryService  service categories are resolved by
+     * @param productValidator validator of products
+     * @param parsers          amount of threads parsing rows of a single import
+     * @param batchSize        amount of rows parsed and saved at once
+     * @param queueCapacity    amount of batches every queue of an import holds
+     * @param maxRejectedRows  amount of rejected rows reported by an import
+     */
+    @Autowired
+    public ProductImporter(ProductService productService, CategoryService categoryService,
+                           ProductValidator productValidator,
+                           @Value("${product.import.parsers:4}") int parsers,
+                           @Value("${product.import.batchSize:500}") int batchSize,
+                           @Value("${product.import.queueCapacity:8}") int queueCapacity,
+                           @Value("${product.import.maxRejectedRows:1000}") int maxRejectedRows) {
+
+        if (parsers <= 0 || batchSize <= 0 || queueCapacity <= 0 || maxRejectedRows < 0) {
+            throw new IllegalArgumentException("Import parsers, batch size and queue capacity must be positive");
+        }
+
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.productValidator = productValidator;
+        this.parsers = parsers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxRejectedRows = maxRejectedRows;
+    }
+
+    /**
+     * Imports products from given UTF-8 CSV file
+     *
+     * @param csv CSV file with header line
+     * @return {@code ImportReport} of the finished import
+     * @throws IOException if the file can not be read
+     */
+    public ImportReport importProducts(InputStream csv) throws IOException {
+
+        ProductImport productImport = new ProductImport(lastImportId.incrementAndGet(), productService,
+                productValidator, categoryService.findAllSubCategories(),
+                parsers, batchSize, queueCapacity, maxRejectedRows);
+        LOGGER.debug("importProducts() as import {}", productImport.getImportId());
+
+        register(productImport);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            productImport.run(reader);
+        } finally {
+            removeFinished();
+        }
+        return productImport.getReport();
+    }
+
+    /**
+     * Returns reports of running imports and of last finished ones
+     *
+     * @return {@code List} of import reports in order imports started
+     */
+    public List<ImportReport> getImportReports() {
+
+        List<ProductImport> known;
+        synchronized (imports) {
+            known = new ArrayList<>(imports.values());
+        }
+
+        List<ImportReport> reports = new ArrayList<>(known.size());
+        known.forEach(productImport -> reports.add(productImport.getReport()));
+        return reports;
+    }
+
+    private void register(ProductImport productImport) {
+
+        synchronized (imports) {
+            imports.put(productImport.getImportId(), productImport);
+        }
+    }
+
+    private void removeFinished() {
+
+        synchronized (imports) {
+            long finished = imports.values().stream().filter(ProductImport::isFinished).count();
+            Iterator<ProductImport> iterator = imports.values().iterator();
+            while (finished > KEPT_FINISHED_IMPORTS && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+}
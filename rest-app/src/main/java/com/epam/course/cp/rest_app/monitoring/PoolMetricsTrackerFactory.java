@@ -0,0 +1,153 @@
+package com.epam.course.cp.rest_app.monitoring;
+
+import com.epam.course.cp.dao.support.SqlMetrics;
+import com.epam.course.cp.metrics.LatencyHistogram;
+import com.epam.course.cp.response.PoolMetrics;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects metrics of a connection pool.
+ *
+ * <p>
+ * Connection pool reports every connection acquisition, usage, creation
+ * and timeout to the tracker created by this factory. Counts of active,
+ * idle and waiting connections are taken from the pool statistics, which
+ * the pool refreshes at most once a second. When {@code sqlMetrics} are set,
+ * every acquisition is also attributed to the statement it is made for.
+ * </p>
+ *
+ * @see MetricsTrackerFactory
+ * @see LatencyHistogram
+ * @see PoolMetrics
+ * @see SqlMetrics
+ * @author Maksim Martsiusheu
+ */
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PoolMetricsTrackerFactory.class);
+
+    /**
+     * Time spent by threads to get a connection from the pool
+     */
+    private final LatencyHistogram acquisition = new LatencyHistogram();
+
+    /**
+     * Time connections were held before returning to the pool
+     */
+    private final LatencyHistogram usage = new LatencyHistogram();
+
+    /**
+     * Time spent to open new physical connections
+     */
+    private final LatencyHistogram creation = new LatencyHistogram();
+
+    /**
+     * Amount of times a thread failed to get a connection in time
+     */
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Name of the tracked pool
+     */
+    private volatile String poolName;
+
+    /**
+     * Statistics of the tracked pool
+     */
+    private volatile PoolStats poolStats;
+
+    /**
+     * Execution statistics of statements, {@code null} if acquisitions are not attributed to statements
+     */
+    private volatile SqlMetrics sqlMetrics;
+
+    /**
+     * Sets execution statistics of statements to attribute connection acquisitions to
+     *
+     * @param sqlMetrics statistics of statements
+     */
+    public void setSqlMetrics(SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    /**
+     * Creates tracker for a started pool
+     *
+     * @param poolName  name of the pool
+     * @param poolStats statistics of the pool
+     * @return tracker recording pool events into this factory
+     */
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+
+        LOGGER.debug("create({})", poolName);
+
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+
+        return new IMetricsTracker() {
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creation.record(connectionCreatedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisition.recordNanos(elapsedAcquiredNanos);
+
+                SqlMetrics statements = sqlMetrics;
+                if (statements != null) {
+                    statements.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                }
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Returns current state and statistics of the tracked pool
+     *
+     * @return {@code PoolMetrics} of the pool
+     */
+    public PoolMetrics getPoolMetrics() {
+
+        PoolMetrics metrics = new PoolMetrics();
+        metrics.setPoolName(poolName);
+
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            metrics.setActiveConnections(stats.getActiveConnections());
+            metrics.setIdleConnections(stats.getIdleConnections());
+            metrics.setTotalConnections(stats.getTotalConnections());
+            metrics.setThreadsAwaitingConnection(stats.getPendingThreads());
+            metrics.setMaxConnections(stats.getMaxConnections());
+        }
+
+        metrics.setConnectionTimeouts(timeouts.sum());
+        metrics.setAcquisition(acquisition.snapshot());
+        metrics.setUsage(usage.snapshot());
+        metrics.setCreation(creation.snapshot());
+
+        return metrics;
+    }
+}
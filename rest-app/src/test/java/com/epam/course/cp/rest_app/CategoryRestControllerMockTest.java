@@ -1,6 +1,8 @@
 package com.epam.course.cp.rest_app;
 
+import com.epam.course.cp.dao.support.TableVersions;
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.service.CategoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,6 +26,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.ArrayList;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 
@@ -35,6 +39,10 @@ class CategoryRestControllerMockTest {
     private static final String TEST_CATEGORY_NAME = "TestCategory";
     private static final Integer PRODUCTS_AMOUNT = 2500;
     private static final Integer TEST_CATEGORY_PARENT_ID = null;
+    private static final Integer TEST_CATEGORY_VERSION = 2;
+    private static final String VERSION_TAG = "epoch-4";
+    private static final String LIST_ETAG = "W/\"" + VERSION_TAG + "\"";
+    private static final String SMILE_LIST_ETAG = "W/\"" + VERSION_TAG + EntityTags.SMILE_SUFFIX + "\"";
 
     private static final Integer ONCE = 1;
     private static final Integer FIRST_ID = 1;
@@ -53,6 +61,9 @@ class CategoryRestControllerMockTest {
     @Mock
     private CategoryService categoryService;
 
+    @Mock
+    private TableVersions tableVersions;
+
     @InjectMocks
     private CategoryRestController controller;
 
@@ -81,7 +92,7 @@ class CategoryRestControllerMockTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
-                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new SmileHttpMessageConverter())
                 .alwaysDo(MockMvcResultHandlers.print())
                 .build();
     }
@@ -96,6 +107,7 @@ class CategoryRestControllerMockTest {
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         ).andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + TEST_CATEGORY_VERSION + "\""))
                 .andExpect(
                         MockMvcResultMatchers.content()
                                 .string(MAPPER.writeValueAsString(SECOND_CATEGORY))
@@ -108,6 +120,7 @@ class CategoryRestControllerMockTest {
     @Test
     void shouldFindAllCategoryDTOs() throws Exception {
 
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT)).thenReturn(VERSION_TAG);
         Mockito.when(categoryService.findAllCategoryDTOs()).thenReturn(ARRAY_LIST_OF_CATEGORY_DTOS);
 
         mockMvc.perform(
@@ -115,6 +128,7 @@ class CategoryRestControllerMockTest {
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         ).andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
                 .andExpect(
                         MockMvcResultMatchers.content()
                                 .string(MAPPER.writeValueAsString(ARRAY_LIST_OF_CATEGORY_DTOS))
@@ -124,6 +138,58 @@ class CategoryRestControllerMockTest {
         Mockito.verify(categoryService, Mockito.times(ONCE)).findAllCategoryDTOs();
     }
 
+    @Test
+    void shouldFindAllCategoryDTOsAsSmile() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT)).thenReturn(VERSION_TAG);
+        Mockito.when(categoryService.findAllCategoryDTOs()).thenReturn(ARRAY_LIST_OF_CATEGORY_DTOS);
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/info")
+                        .accept(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, SMILE_LIST_ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(MAPPER.writeValueAsString(ARRAY_LIST_OF_CATEGORY_DTOS),
+                MAPPER.writeValueAsString(SmileHttpMessageConverter.OBJECT_MAPPER.readValue(body, CategoryDTO[].class)));
+
+        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllCategoryDTOs();
+    }
+
+    @Test
+    void shouldFindAllCategoryDTOsAsJsonByDefault() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT)).thenReturn(VERSION_TAG);
+        Mockito.when(categoryService.findAllCategoryDTOs()).thenReturn(ARRAY_LIST_OF_CATEGORY_DTOS);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/info")
+                        .accept(MediaType.ALL)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(MAPPER.writeValueAsString(ARRAY_LIST_OF_CATEGORY_DTOS)))
+        ;
+
+        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllCategoryDTOs();
+    }
+
+    @Test
+    void shouldNotFindAllCategoryDTOsWhenNotModified() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT)).thenReturn(VERSION_TAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/info")
+                        .header(HttpHeaders.IF_NONE_MATCH, LIST_ETAG)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""))
+        ;
+    }
+
     @Test
     void shouldFindSubCategoryDTOsByCategoryId() throws Exception {
 
@@ -159,11 +225,19 @@ class CategoryRestControllerMockTest {
     @Test
     void shouldUpdateCategory() throws Exception {
 
+        Mockito.doAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            category.setVersion(category.getVersion() + 1);
+            return null;
+        }).when(categoryService).update(any());
+
         mockMvc.perform(
                 MockMvcRequestBuilders.put("/categories/1")
+                        .header(HttpHeaders.IF_MATCH, "\"" + TEST_CATEGORY_VERSION + "\"")
                         .contentType(MediaType.APPLICATION_JSON_UTF8)
-                        .content(MAPPER.writeValueAsString(FIRST_CATEGORY))
+                        .content(MAPPER.writeValueAsString(createCategory(1)))
         ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + (TEST_CATEGORY_VERSION + 1) + "\""))
         ;
 
         Mockito.verify(categoryService, Mockito.times(ONCE)).update(any());
@@ -217,11 +291,14 @@ class CategoryRestControllerMockTest {
     @Test
     void shouldFindAllPossibleParents() throws Exception {
 
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
         Mockito.when(categoryService.findAllPossibleParents()).thenReturn(ARRAY_LIST_OF_CATEGORIES);
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/categories/possibleparents")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\"")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
                 .andExpect(
                         MockMvcResultMatchers.content()
                                 .string(MAPPER.writeValueAsString(ARRAY_LIST_OF_CATEGORIES))
@@ -248,6 +325,45 @@ class CategoryRestControllerMockTest {
         Mockito.verify(categoryService, Mockito.times(ONCE)).findAllPossibleParentsForId(anyInt());
     }
 
+    @Test
+    void shouldFindCategoryEditorView() throws Exception {
+
+        CategoryEditorView view = new CategoryEditorView();
+        view.setCategory(SECOND_CATEGORY);
+        view.setProductsAmount(PRODUCTS_AMOUNT);
+        view.setParentCategories(ARRAY_LIST_OF_CATEGORIES);
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT)).thenReturn(VERSION_TAG);
+        Mockito.when(categoryService.findCategoryEditorView(SECOND_ID)).thenReturn(view);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/2/editor")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
+                .andExpect(
+                        MockMvcResultMatchers.content()
+                                .string(MAPPER.writeValueAsString(view))
+                )
+        ;
+
+        Mockito.verify(categoryService, Mockito.times(ONCE)).findCategoryEditorView(SECOND_ID);
+    }
+
+    @Test
+    void shouldNotFindCategoryEditorViewWhenNotModified() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.CATEGORY, TableVersions.PRODUCT)).thenReturn(VERSION_TAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/2/editor")
+                        .header(HttpHeaders.IF_NONE_MATCH, LIST_ETAG)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""))
+        ;
+    }
+
     @AfterEach
     void afterEach() {
 
@@ -260,6 +376,7 @@ class CategoryRestControllerMockTest {
         category.setCategoryId(id);
         category.setCategoryName(TEST_CATEGORY_NAME + id);
         category.setParentId(TEST_CATEGORY_PARENT_ID);
+        category.setVersion(TEST_CATEGORY_VERSION);
 
         return category;
     }
@@ -0,0 +1,93 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.dao.support.TableVersions;
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.rest_app.handler.RestErrorHandler;
+import com.epam.course.cp.service.CategoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:rest-test.xml"})
+@Transactional
+@Rollback
+class CategoryRestControllerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Integer SUBCATEGORY_ID = 5;
+    private static final Integer PARENT_CATEGORY_ID = 1;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new CategoryRestController(categoryService, tableVersions))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .setControllerAdvice(new RestErrorHandler())
+                .build();
+    }
+
+    @Test
+    void shouldRejectUpdateOfStaleCategory() throws Exception {
+
+        String eTag = mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/" + SUBCATEGORY_ID)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        String updatedETag = mockMvc.perform(
+                MockMvcRequestBuilders.put("/categories/" + SUBCATEGORY_ID)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(createCategory("Clay bricks")))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, updatedETag);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/categories/" + SUBCATEGORY_ID)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, updatedETag));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/categories/" + SUBCATEGORY_ID)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(createCategory("Facing bricks")))
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    private static Category createCategory(String categoryName) {
+
+        Category category = new Category();
+        category.setCategoryId(SUBCATEGORY_ID);
+        category.setCategoryName(categoryName);
+        category.setParentId(PARENT_CATEGORY_ID);
+        return category;
+    }
+}
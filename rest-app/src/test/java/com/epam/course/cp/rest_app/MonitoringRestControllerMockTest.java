@@ -0,0 +1,175 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.dao.support.SqlMetrics;
+import com.epam.course.cp.metrics.LatencyHistogram;
+import com.epam.course.cp.response.CacheMetrics;
+import com.epam.course.cp.response.PoolMetrics;
+import com.epam.course.cp.response.SqlStatementMetrics;
+import com.epam.course.cp.rest_app.monitoring.PoolMetricsTrackerFactory;
+import com.epam.course.cp.service.ProductDTOFilterCache;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class MonitoringRestControllerMockTest {
+
+    private static final Integer ONCE = 1;
+
+    private static final String POOL_NAME = "TestPool";
+    private static final int ACTIVE_CONNECTIONS = 3;
+    private static final int THREADS_AWAITING_CONNECTION = 2;
+
+    private static final String SLOW_STATEMENT = "productDTO.select ORDER BY v.prod_id";
+    private static final String FAST_STATEMENT = "category.selectById";
+
+    private static final String CACHE_NAME = "productDTOsByFilter";
+
+    @Mock
+    private PoolMetricsTrackerFactory poolMetricsTrackerFactory;
+
+    @Mock
+    private SqlMetrics sqlMetrics;
+
+    @Mock
+    private ProductDTOFilterCache productDTOFilterCache;
+
+    @InjectMocks
+    private MonitoringRestController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .alwaysDo(MockMvcResultHandlers.print())
+                .build();
+    }
+
+    @Test
+    void shouldGetPoolMetrics() throws Exception {
+
+        LatencyHistogram acquisition = new LatencyHistogram();
+        acquisition.record(100, TimeUnit.MICROSECONDS);
+        acquisition.record(3, TimeUnit.MILLISECONDS);
+
+        PoolMetrics poolMetrics = new PoolMetrics();
+        poolMetrics.setPoolName(POOL_NAME);
+        poolMetrics.setActiveConnections(ACTIVE_CONNECTIONS);
+        poolMetrics.setThreadsAwaitingConnection(THREADS_AWAITING_CONNECTION);
+        poolMetrics.setAcquisition(acquisition.snapshot());
+
+        Mockito.when(poolMetricsTrackerFactory.getPoolMetrics()).thenReturn(poolMetrics);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/monitoring/pool")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.poolName", Matchers.is(POOL_NAME)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.activeConnections", Matchers.is(ACTIVE_CONNECTIONS)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.threadsAwaitingConnection",
+                        Matchers.is(THREADS_AWAITING_CONNECTION)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.acquisition.count", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.acquisition.p50Micros", Matchers.is(128)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.acquisition.maxMicros", Matchers.is(3000)))
+        ;
+
+        Mockito.verify(poolMetricsTrackerFactory, Mockito.times(ONCE)).getPoolMetrics();
+    }
+
+    @Test
+    void shouldGetSqlMetrics() throws Exception {
+
+        Mockito.when(sqlMetrics.getStatementMetrics()).thenReturn(Arrays.asList(
+                createSqlStatementMetrics(SLOW_STATEMENT, 2, 40, TimeUnit.MILLISECONDS),
+                createSqlStatementMetrics(FAST_STATEMENT, 10, 5, TimeUnit.MICROSECONDS)));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/monitoring/sql")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].statement", Matchers.is(SLOW_STATEMENT)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].calls", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].latency.maxMicros", Matchers.is(40000)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].statement", Matchers.is(FAST_STATEMENT)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].calls", Matchers.is(10)))
+        ;
+
+        Mockito.verify(sqlMetrics, Mockito.times(ONCE)).getStatementMetrics();
+    }
+
+    @Test
+    void shouldResetSqlMetrics() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/monitoring/sql")
+        ).andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(sqlMetrics, Mockito.times(ONCE)).reset();
+    }
+
+    @Test
+    void shouldGetCacheMetrics() throws Exception {
+
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        cacheMetrics.setCacheName(CACHE_NAME);
+        cacheMetrics.setHits(3);
+        cacheMetrics.setMisses(1);
+        cacheMetrics.setHitRatio(0.75);
+        cacheMetrics.setEvictions(2);
+
+        Mockito.when(productDTOFilterCache.getCacheMetrics()).thenReturn(cacheMetrics);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/monitoring/cache")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cacheName", Matchers.is(CACHE_NAME)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hitRatio", Matchers.is(0.75)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.evictions", Matchers.is(2)))
+        ;
+
+        Mockito.verify(productDTOFilterCache, Mockito.times(ONCE)).getCacheMetrics();
+    }
+
+    @AfterEach
+    void afterEach() {
+
+        Mockito.verifyNoMoreInteractions(poolMetricsTrackerFactory, sqlMetrics, productDTOFilterCache);
+        Mockito.reset(poolMetricsTrackerFactory, sqlMetrics, productDTOFilterCache);
+    }
+
+    private SqlStatementMetrics createSqlStatementMetrics(String statement, int calls, long latency, TimeUnit unit) {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < calls; i++) {
+            histogram.record(latency, unit);
+        }
+
+        SqlStatementMetrics metrics = new SqlStatementMetrics();
+        metrics.setStatement(statement);
+        metrics.setCalls(calls);
+        metrics.setRows(calls);
+        metrics.setLatency(histogram.snapshot());
+        metrics.setTotalMicros(unit.toMicros(latency) * calls);
+        return metrics;
+    }
+}
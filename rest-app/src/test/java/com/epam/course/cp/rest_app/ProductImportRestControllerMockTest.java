@@ -0,0 +1,131 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.response.ImportReport;
+import com.epam.course.cp.response.RejectedRow;
+import com.epam.course.cp.rest_app.importer.ProductImporter;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportRestControllerMockTest {
+
+    private static final Integer ONCE = 1;
+
+    private static final Integer IMPORT_ID = 3;
+    private static final String CSV = "productName,productAmount,categoryId\nRed bricks,100,5\nNegative,-1,5\n";
+    private static final long REJECTED_LINE_NUMBER = 3;
+    private static final String REJECT_REASON = "product.negativeAmount";
+
+    @Mock
+    private ProductImporter productImporter;
+
+    @InjectMocks
+    private ProductImportRestController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .alwaysDo(MockMvcResultHandlers.print())
+                .build();
+    }
+
+    @Test
+    void shouldImportProducts() throws Exception {
+
+        ArgumentCaptor<InputStream> csv = ArgumentCaptor.forClass(InputStream.class);
+        Mockito.when(productImporter.importProducts(csv.capture())).thenAnswer(invocation -> {
+            assertEquals(CSV, StreamUtils.copyToString(csv.getValue(), StandardCharsets.UTF_8));
+            return createReport(true);
+        });
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/products/imports")
+                        .contentType("text/csv")
+                        .content(CSV)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importId", Matchers.is(IMPORT_ID)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.finished", Matchers.is(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rowsImported", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejectedRows[0].lineNumber",
+                        Matchers.is((int) REJECTED_LINE_NUMBER)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejectedRows[0].reason", Matchers.is(REJECT_REASON)))
+        ;
+
+        Mockito.verify(productImporter, Mockito.times(ONCE)).importProducts(any());
+    }
+
+    @Test
+    void shouldNotImportOtherMediaType() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/products/imports")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content("[]")
+        ).andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType())
+        ;
+    }
+
+    @Test
+    void shouldFindImportReports() throws Exception {
+
+        Mockito.when(productImporter.getImportReports()).thenReturn(Collections.singletonList(createReport(false)));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/imports")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].importId", Matchers.is(IMPORT_ID)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].finished", Matchers.is(false)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].rowsRead", Matchers.is(2)))
+        ;
+
+        Mockito.verify(productImporter, Mockito.times(ONCE)).getImportReports();
+    }
+
+    @AfterEach
+    void afterEach() {
+
+        Mockito.verifyNoMoreInteractions(productImporter);
+        Mockito.reset(productImporter);
+    }
+
+    private static ImportReport createReport(boolean finished) {
+
+        ImportReport report = new ImportReport();
+        report.setImportId(IMPORT_ID);
+        report.setFinished(finished);
+        report.setRowsRead(2);
+        report.setRowsImported(1);
+        report.setRowsRejected(1);
+        report.setRejectedRows(Collections.singletonList(new RejectedRow(REJECTED_LINE_NUMBER, REJECT_REASON)));
+        return report;
+    }
+}
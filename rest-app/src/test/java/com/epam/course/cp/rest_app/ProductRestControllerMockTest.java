@@ -1,7 +1,15 @@
 package com.epam.course.cp.rest_app;
 
+import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.dao.support.TableVersions;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
+import com.epam.course.cp.model.Category;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
+import com.epam.course.cp.rest_app.handler.RestErrorHandler;
 import com.epam.course.cp.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -15,6 +23,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,9 +35,18 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 @ExtendWith(MockitoExtension.class)
 class ProductRestControllerMockTest {
@@ -45,6 +64,11 @@ class ProductRestControllerMockTest {
     private static final Integer TEST_PRODUCT_CATEGORY_ID = 1;
     private static final String TEST_PRODUCT_CATEGORY_NAME = "TestCategory";
     private static final String TEST_PRODUCT_SUBCATEGORY_NAME = "TestSybCategory";
+    private static final Integer TEST_PRODUCT_VERSION = 3;
+    private static final Integer IF_MATCH_VERSION = 7;
+    private static final String VERSION_TAG = "epoch-2-3";
+    private static final String LIST_ETAG = "W/\"" + VERSION_TAG + "\"";
+    private static final String SMILE_LIST_ETAG = "W/\"" + VERSION_TAG + EntityTags.SMILE_SUFFIX + "\"";
 
     private static Product FIRST_PRODUCT;
     private static Product SECOND_PRODUCT;
@@ -59,6 +83,9 @@ class ProductRestControllerMockTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private TableVersions tableVersions;
+
     @InjectMocks
     private ProductRestController controller;
 
@@ -89,8 +116,9 @@ class ProductRestControllerMockTest {
     void setUp() {
 
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
-                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new SmileHttpMessageConverter())
                 .alwaysDo(MockMvcResultHandlers.print())
+                .setControllerAdvice(new RestErrorHandler(), new AcceptVaryAdvice())
                 .build();
     }
 
@@ -109,6 +137,24 @@ class ProductRestControllerMockTest {
         Mockito.verify(productService, Mockito.times(ONCE)).findAll();
     }
 
+    @Test
+    void shouldFindAllProductsAsSmile() throws Exception {
+
+        Mockito.when(productService.findAll()).thenReturn(ARRAY_LIST_OF_PRODUCTS);
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/products")
+                        .accept(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(ARRAY_LIST_OF_PRODUCTS,
+                Arrays.asList(SmileHttpMessageConverter.OBJECT_MAPPER.readValue(body, Product[].class)));
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findAll();
+    }
+
     @Test
     void shouldFindProductById() throws Exception {
 
@@ -118,6 +164,8 @@ class ProductRestControllerMockTest {
                 MockMvcRequestBuilders.get("/products/1")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + TEST_PRODUCT_VERSION + "\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
                 .andExpect(MockMvcResultMatchers.content()
                         .string(MAPPER.writeValueAsString(FIRST_PRODUCT)))
         ;
@@ -125,25 +173,174 @@ class ProductRestControllerMockTest {
         Mockito.verify(productService, Mockito.times(ONCE)).findById(anyInt());
     }
 
+    @Test
+    void shouldTagProductAsSmileByItsOwnETag() throws Exception {
+
+        Mockito.when(productService.findById(anyInt())).thenReturn(FIRST_PRODUCT);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/1")
+                        .accept(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG,
+                        "\"" + TEST_PRODUCT_VERSION + EntityTags.SMILE_SUFFIX + "\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+        ;
+    }
+
     @Test
     void shouldFindAllProductDTOs() throws Exception {
 
-        Mockito.when(productService.findAllProductDTOs()).thenReturn(ARRAY_LIST_OF_PRODUCTS_DTO);
+        Mockito.doAnswer(invocation -> {
+            Consumer<ProductDTO> action = invocation.getArgument(0);
+            ARRAY_LIST_OF_PRODUCTS_DTO.forEach(action);
+            return null;
+        }).when(productService).forEachProductDTO(any());
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/products/info")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
                 .andExpect(MockMvcResultMatchers.content()
                         .string(MAPPER.writeValueAsString(ARRAY_LIST_OF_PRODUCTS_DTO)))
         ;
 
-        Mockito.verify(productService, Mockito.times(ONCE)).findAllProductDTOs();
+        Mockito.verify(productService, Mockito.times(ONCE)).forEachProductDTO(any());
+    }
+
+    @Test
+    void shouldStreamProductDTOsAsSmile() throws Exception {
+
+        List<ProductDTO> productDTOs = IntStream.rangeClosed(1, 2 * JsonArrayWriter.FLUSH_EVERY_ELEMENTS + 1)
+                .mapToObj(ProductRestControllerMockTest::createProductDTO)
+                .collect(Collectors.toList());
+        Mockito.doAnswer(invocation -> {
+            Consumer<ProductDTO> action = invocation.getArgument(0);
+            productDTOs.forEach(action);
+            return null;
+        }).when(productService).forEachProductDTO(any());
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/info")
+                        .accept(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(productDTOs,
+                Arrays.asList(SmileHttpMessageConverter.OBJECT_MAPPER.readValue(body, ProductDTO[].class)));
+
+        Mockito.verify(productService, Mockito.times(ONCE)).forEachProductDTO(any());
+    }
+
+    @Test
+    void shouldStreamProductDTOsLongerThanFlushInterval() throws Exception {
+
+        List<ProductDTO> productDTOs = IntStream.rangeClosed(1, 2 * JsonArrayWriter.FLUSH_EVERY_ELEMENTS + 1)
+                .mapToObj(ProductRestControllerMockTest::createProductDTO)
+                .collect(Collectors.toList());
+        Mockito.doAnswer(invocation -> {
+            Consumer<ProductDTO> action = invocation.getArgument(0);
+            productDTOs.forEach(action);
+            return null;
+        }).when(productService).forEachProductDTO(any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/info")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(MAPPER.writeValueAsString(productDTOs)))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).forEachProductDTO(any());
+    }
+
+    @Test
+    void shouldHandleFailureBeforeFirstProductDTO() throws Exception {
+
+        Mockito.doThrow(new DaoRuntimeException("Failed to read products"))
+                .when(productService).forEachProductDTO(any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/info")
+        ).andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Failed to read products")))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).forEachProductDTO(any());
+    }
+
+    @Test
+    void shouldExportProductDTOsAsNdjson() throws Exception {
+
+        Mockito.doAnswer(invocation -> {
+            Consumer<ProductDTO> action = invocation.getArgument(2);
+            ARRAY_LIST_OF_PRODUCTS_DTO.forEach(action);
+            return null;
+        }).when(productService).exportProductDTOs(isNull(), isNull(), any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/export")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        MAPPER.writeValueAsString(FIRST_PRODUCT_DTO) + "\n"
+                                + MAPPER.writeValueAsString(SECOND_PRODUCT_DTO) + "\n"))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).exportProductDTOs(isNull(), isNull(), any());
+    }
+
+    @Test
+    void shouldExportProductDTOsAsCsv() throws Exception {
+
+        ProductDTO productDTO = createProductDTO(FIRST_PRODUCT_ID);
+        productDTO.setProductName("Bricks, \"red\"");
+        productDTO.setSubCategoryName(null);
+        Mockito.doAnswer(invocation -> {
+            Consumer<ProductDTO> action = invocation.getArgument(2);
+            action.accept(productDTO);
+            return null;
+        }).when(productService).exportProductDTOs(isNull(), isNull(), any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/export")
+                        .header(HttpHeaders.ACCEPT, "application/x-ndjson;q=0.5, text/csv")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(MockMvcResultMatchers.header()
+                        .string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\""))
+                .andExpect(MockMvcResultMatchers.content().string(ProductDTOExportWriter.CSV_HEADER + "\n"
+                        + FIRST_PRODUCT_ID + "," + TEST_PRODUCT_CATEGORY_NAME + ",,\"Bricks, \"\"red\"\"\","
+                        + (TEST_PRODUCT_AMOUNT + FIRST_PRODUCT_ID) + "," + TEST_PRODUCT_DATE_ADDED + ","
+                        + TEST_PRODUCT_CATEGORY_ID + "\n"))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).exportProductDTOs(isNull(), isNull(), any());
+    }
+
+    @Test
+    void shouldResumeExportAfterGivenProductSinceGivenDate() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/export")
+                        .param("since", TEST_PRODUCT_DATE_ADDED.toString())
+                        .param("after", FIRST_PRODUCT_ID.toString())
+                        .accept("application/x-ndjson")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(""))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE))
+                .exportProductDTOs(eq(TEST_PRODUCT_DATE_ADDED), eq(FIRST_PRODUCT_ID), any());
     }
 
     @Test
     void shouldFindProductDTOsByMixedFilter() throws Exception {
 
+        Mockito.when(tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
         Mockito.when(productService.findProductDTOsByFilter(any())).thenReturn(ARRAY_LIST_OF_PRODUCTS_DTO);
 
         mockMvc.perform(
@@ -160,11 +357,164 @@ class ProductRestControllerMockTest {
                         Matchers.is(TEST_PRODUCT_CATEGORY_NAME)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].subCategoryName",
                         Matchers.is(TEST_PRODUCT_SUBCATEGORY_NAME)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
         ;
 
         Mockito.verify(productService, Mockito.times(ONCE)).findProductDTOsByFilter(any());
     }
 
+    @Test
+    void shouldNotFindProductDTOsByMixedFilterWhenNotModified() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/filter")
+                        .param("id", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, LIST_ETAG)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
+                .andExpect(MockMvcResultMatchers.content().string(""))
+        ;
+    }
+
+    @Test
+    void shouldNotTakeJsonETagForSmileListView() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
+        Mockito.when(productService.findProductListView(any(), any(), any())).thenReturn(new ProductListView());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/view")
+                        .header(HttpHeaders.IF_NONE_MATCH, LIST_ETAG)
+                        .accept(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, SMILE_LIST_ETAG))
+                .andExpect(MockMvcResultMatchers.header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+        ;
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/view")
+                        .header(HttpHeaders.IF_NONE_MATCH, SMILE_LIST_ETAG)
+                        .accept(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductListView(any(), any(), any());
+    }
+
+    @Test
+    void shouldFindProductListView() throws Exception {
+
+        ProductListView view = new ProductListView();
+        view.setCategories(Arrays.asList(createCategory(TEST_PRODUCT_CATEGORY_ID)));
+        view.setProducts(ARRAY_LIST_OF_PRODUCTS_DTO);
+        view.setNextCursor(SECOND_PRODUCT_ID);
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
+        Mockito.when(productService.findProductListView(any(), any(), any())).thenReturn(view);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/view")
+                        .param("from", "2012-01-01")
+                        .param("id", "1")
+                        .param("after", "1")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.categories[0].categoryId",
+                        Matchers.is(TEST_PRODUCT_CATEGORY_ID)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.products[1].productId",
+                        Matchers.is(SECOND_PRODUCT_ID)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is(SECOND_PRODUCT_ID)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductListView(argThat(filter ->
+                LocalDate.of(2012, 1, 1).equals(filter.getDateBegin())
+                        && LocalDate.of(3000, 1, 1).equals(filter.getDateEnd())
+                        && TEST_PRODUCT_CATEGORY_ID.equals(filter.getCategoryId())), eq(1), eq(2));
+    }
+
+    @Test
+    void shouldNotFindProductListViewWhenNotModified() throws Exception {
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/view")
+                        .header(HttpHeaders.IF_NONE_MATCH, LIST_ETAG)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""))
+        ;
+    }
+
+    @Test
+    void shouldFindProductEditorView() throws Exception {
+
+        ProductEditorView view = new ProductEditorView();
+        view.setProduct(SECOND_PRODUCT);
+        view.setCategories(Arrays.asList(createCategory(TEST_PRODUCT_CATEGORY_ID)));
+
+        Mockito.when(tableVersions.getVersionTag(TableVersions.PRODUCT, TableVersions.CATEGORY)).thenReturn(VERSION_TAG);
+        Mockito.when(productService.findProductEditorView(SECOND_PRODUCT_ID)).thenReturn(view);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/2/editor")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.product.productId", Matchers.is(SECOND_PRODUCT_ID)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.categories[0].categoryId",
+                        Matchers.is(TEST_PRODUCT_CATEGORY_ID)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, LIST_ETAG))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductEditorView(SECOND_PRODUCT_ID);
+    }
+
+    @Test
+    void shouldFindProductDTOPage() throws Exception {
+
+        Page<ProductDTO> page = new Page<>(ARRAY_LIST_OF_PRODUCTS_DTO, SECOND_PRODUCT_ID);
+        Mockito.when(productService.findProductDTOPage(FIRST_PRODUCT_ID, 2)).thenReturn(page);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/info")
+                        .param("after", "1")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].productId", Matchers.is(SECOND_PRODUCT_ID)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is(SECOND_PRODUCT_ID)))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductDTOPage(FIRST_PRODUCT_ID, 2);
+    }
+
+    @Test
+    void shouldFindProductDTOPageByMixedFilter() throws Exception {
+
+        Page<ProductDTO> page = new Page<>(ARRAY_LIST_OF_PRODUCTS_DTO, null);
+        Mockito.when(productService.findProductDTOPageByFilter(any(), isNull(), eq(2))).thenReturn(page);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products/filter")
+                        .param("id", "1")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].categoryName",
+                        Matchers.is(TEST_PRODUCT_CATEGORY_NAME)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.nullValue()))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductDTOPageByFilter(any(), isNull(), eq(2));
+    }
+
     @Test
     void shouldAddProduct() throws Exception {
 
@@ -177,6 +527,44 @@ class ProductRestControllerMockTest {
         Mockito.verify(productService, Mockito.times(ONCE)).add(any());
     }
 
+    @Test
+    void shouldAddAllProducts() throws Exception {
+
+        List<BatchItemResult> results = Arrays.asList(
+                new BatchItemResult(0, FIRST_PRODUCT_ID, BatchItemResult.Status.CREATED),
+                new BatchItemResult(1, SECOND_PRODUCT_ID, BatchItemResult.Status.CREATED));
+        Mockito.when(productService.addAll(any())).thenReturn(results);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(ARRAY_LIST_OF_PRODUCTS))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(MAPPER.writeValueAsString(results)))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).addAll(any());
+    }
+
+    @Test
+    void shouldUpdateAllProducts() throws Exception {
+
+        List<BatchItemResult> results = Arrays.asList(
+                new BatchItemResult(0, FIRST_PRODUCT_ID, BatchItemResult.Status.UPDATED),
+                new BatchItemResult(1, SECOND_PRODUCT_ID, BatchItemResult.Status.NOT_FOUND));
+        Mockito.when(productService.updateAll(any())).thenReturn(results);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(ARRAY_LIST_OF_PRODUCTS))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", Matchers.is("NOT_FOUND")))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).updateAll(any());
+    }
+
     @Test
     void shouldUpdateProduct() throws Exception {
 
@@ -189,6 +577,106 @@ class ProductRestControllerMockTest {
         Mockito.verify(productService, Mockito.times(ONCE)).update(any());
     }
 
+    @Test
+    void shouldUpdateProductOfIfMatchVersion() throws Exception {
+
+        Mockito.doAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            assertEquals(IF_MATCH_VERSION, product.getVersion());
+            product.setVersion(product.getVersion() + 1);
+            return null;
+        }).when(productService).update(any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/products/1")
+                        .header(HttpHeaders.IF_MATCH, "\"" + IF_MATCH_VERSION + "\"")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(FIRST_PRODUCT))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + (IF_MATCH_VERSION + 1) + "\""))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).update(any());
+    }
+
+    @Test
+    void shouldUpdateProductOfSmileIfMatchVersion() throws Exception {
+
+        Mockito.doAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            assertEquals(IF_MATCH_VERSION, product.getVersion());
+            return null;
+        }).when(productService).update(any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/products/1")
+                        .header(HttpHeaders.IF_MATCH, "\"" + IF_MATCH_VERSION + EntityTags.SMILE_SUFFIX + "\"")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(FIRST_PRODUCT))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).update(any());
+    }
+
+    @Test
+    void shouldNotUpdateProductOfStaleVersion() throws Exception {
+
+        Mockito.doThrow(new OptimisticLockingFailureException("Product was changed"))
+                .when(productService).update(any());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/products/1")
+                        .header(HttpHeaders.IF_MATCH, "\"" + IF_MATCH_VERSION + "\"")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(FIRST_PRODUCT))
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).update(any());
+    }
+
+    @Test
+    void shouldNotUpdateProductOfWeakIfMatch() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/products/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"" + IF_MATCH_VERSION + "\"")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(FIRST_PRODUCT))
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+        ;
+    }
+
+    @Test
+    void shouldAdjustProductAmount() throws Exception {
+
+        Mockito.when(productService.adjustAmount(FIRST_PRODUCT_ID, -TEST_PRODUCT_AMOUNT)).thenReturn(0);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/products/1/amount")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content(MAPPER.writeValueAsString(-TEST_PRODUCT_AMOUNT))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("0"))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).adjustAmount(FIRST_PRODUCT_ID, -TEST_PRODUCT_AMOUNT);
+    }
+
+    @Test
+    void shouldRejectNullAmountDelta() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/products/1/amount")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .content("null")
+        ).andExpect(MockMvcResultMatchers.status().isBadRequest())
+        ;
+
+        Mockito.verify(productService, Mockito.never()).adjustAmount(any(), any());
+    }
+
     @Test
     void shouldDeleteProduct() throws Exception {
 
@@ -207,6 +695,14 @@ class ProductRestControllerMockTest {
         Mockito.reset(productService);
     }
 
+    private static Category createCategory(Integer id) {
+
+        Category category = new Category();
+        category.setCategoryId(id);
+        category.setCategoryName(TEST_PRODUCT_SUBCATEGORY_NAME);
+        return category;
+    }
+
     private static Product createProduct(Integer id) {
 
         Product product = new Product();
@@ -215,6 +711,7 @@ class ProductRestControllerMockTest {
         product.setProductAmount(TEST_PRODUCT_AMOUNT);
         product.setDateAdded(TEST_PRODUCT_DATE_ADDED);
         product.setCategoryId(TEST_PRODUCT_CATEGORY_ID);
+        product.setVersion(TEST_PRODUCT_VERSION);
 
         return product;
     }
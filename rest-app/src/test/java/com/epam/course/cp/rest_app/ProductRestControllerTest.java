@@ -0,0 +1,89 @@
+package com.epam.course.cp.rest_app;
+
+import com.epam.course.cp.dao.support.TableVersions;
+import com.epam.course.cp.service.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.servlet.ServletOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = {"classpath*:test-db.xml", "classpath:rest-test.xml",
+        "classpath:rest-streaming-test.xml"})
+class ProductRestControllerTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private HikariDataSource streamingDataSource;
+
+    private ProductRestController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductRestController(productService, tableVersions);
+    }
+
+    @Test
+    void shouldReleaseConnectionWhenClientDisconnectsFromExport() throws Exception {
+
+        assertThrows(IOException.class, () -> controller.exportProductDTOs(null, null,
+                ProductDTOExportWriter.APPLICATION_NDJSON_VALUE, new DisconnectedResponse()));
+        assertConnectionReleased();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.exportProductDTOs(null, null, ProductDTOExportWriter.APPLICATION_NDJSON_VALUE, response);
+        assertFalse(response.getContentAsString().isEmpty());
+        assertConnectionReleased();
+    }
+
+    @Test
+    void shouldReleaseConnectionWhenClientDisconnectsFromProductDTOs() throws Exception {
+
+        assertThrows(IOException.class, () -> controller.findAllProductDTOs(MediaType.APPLICATION_JSON_VALUE,
+                new DisconnectedResponse()));
+        assertConnectionReleased();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.findAllProductDTOs(MediaType.APPLICATION_JSON_VALUE, response);
+        assertTrue(response.getContentAsString().startsWith("[{"));
+        assertConnectionReleased();
+    }
+
+    private void assertConnectionReleased() {
+
+        HikariPoolMXBean pool = streamingDataSource.getHikariPoolMXBean();
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, pool.getTotalConnections());
+    }
+
+    private static class DisconnectedResponse extends MockHttpServletResponse {
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+
+            return new ServletOutputStream() {
+
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Connection reset by peer");
+                }
+            };
+        }
+    }
+}
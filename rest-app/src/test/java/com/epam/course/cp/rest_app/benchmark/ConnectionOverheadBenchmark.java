@@ -0,0 +1,131 @@
+package com.epam.course.cp.rest_app.benchmark;
+
+import com.epam.course.cp.metrics.LatencyHistogram;
+import com.epam.course.cp.metrics.LatencySnapshot;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.tools.Server;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures per-request cost of getting a connection with
+ * {@code DriverManagerDataSource} and with a pooled {@code HikariDataSource}.
+ *
+ * <p>
+ * Every request runs a single primary key select through
+ * {@code NamedParameterJdbcTemplate}, as the rest application does.
+ * The database is served by H2 over TCP, so opening a connection costs a
+ * real socket handshake and login. Run the main method with the rest-app
+ * test classpath. Optional arguments are amount of requests per thread
+ * and amount of threads.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class ConnectionOverheadBenchmark {
+
+    private static final String SELECT_SQL = "SELECT id, name FROM bench WHERE id = :id";
+
+    private static final int ROWS = 1000;
+
+    public static void main(String[] args) throws Exception {
+
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        Server server = Server.createTcpServer("-tcpPort", "0", "-tcpAllowOthers").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bench;DB_CLOSE_DELAY=-1";
+
+        try {
+            DriverManagerDataSource driverManager = new DriverManagerDataSource(url, "sa", "");
+            prepareTable(driverManager);
+
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(url);
+            config.setUsername("sa");
+            config.setPassword("");
+            config.setMaximumPoolSize(threads);
+            config.setMinimumIdle(threads);
+
+            try (HikariDataSource pool = new HikariDataSource(config)) {
+
+                System.out.printf("%d threads x %d requests%n", threads, requests);
+                for (int round = 0; round < 2; round++) {
+                    String phase = round == 0 ? "warm-up" : "measure";
+                    report(phase, "DriverManagerDataSource", run(driverManager, requests, threads));
+                    report(phase, "HikariDataSource", run(pool, requests, threads));
+                }
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void prepareTable(DataSource dataSource) {
+
+        NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(dataSource);
+        template.getJdbcTemplate().execute("CREATE TABLE bench (id INT PRIMARY KEY, name VARCHAR(64))");
+        for (int i = 0; i < ROWS; i++) {
+            template.update("INSERT INTO bench VALUES (:id, :name)",
+                    new MapSqlParameterSource("id", i).addValue("name", "row" + i));
+        }
+    }
+
+    private static Result run(DataSource dataSource, int requests, int threads) throws Exception {
+
+        NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(dataSource);
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requests; i++) {
+                        long begin = System.nanoTime();
+                        template.queryForMap(SELECT_SQL, new MapSqlParameterSource("id", (seed * 31 + i) % ROWS));
+                        histogram.recordNanos(System.nanoTime() - begin);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return new Result(histogram.snapshot(), System.nanoTime() - started);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(String phase, String name, Result result) {
+
+        LatencySnapshot latency = result.latency;
+        double seconds = result.elapsedNanos / 1e9;
+        System.out.printf("%-8s %-24s %9.0f req/s  mean %8.1f us  p50 %6d us  p99 %6d us  max %7d us%n",
+                phase, name, latency.getCount() / seconds, latency.getMeanMicros(),
+                latency.getP50Micros(), latency.getP99Micros(), latency.getMaxMicros());
+    }
+
+    private static final class Result {
+
+        private final LatencySnapshot latency;
+
+        private final long elapsedNanos;
+
+        private Result(LatencySnapshot latency, long elapsedNanos) {
+            this.latency = latency;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.epam.course.cp.rest_app.benchmark;
+
+import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.model.Product;
+import com.epam.course.cp.rest_app.SmileHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures payload size and encode and decode cost of lists of
+ * {@code Product}, {@code ProductDTO}, {@code Category} and {@code CategoryDTO}
+ * written as JSON, as Smile and as Smile sharing string values.
+ *
+ * <p>
+ * Mappers are the ones of the message converters of the rest application,
+ * plain Smile is the default one of Spring. Names of categories repeat the
+ * way they do in real lists of products. Run the main method with the
+ * rest-app test classpath. Optional arguments are amount of elements per
+ * list and amount of encodes and decodes measured.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class WireFormatBenchmark {
+
+    private static final int CATEGORIES = 10;
+
+    private static final int SUBCATEGORIES = 50;
+
+    public static void main(String[] args) throws Exception {
+
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        ObjectMapper sharedSmile = new SmileHttpMessageConverter().getObjectMapper();
+
+        System.out.printf("%d elements per list, %d iterations%n", elements, iterations);
+        for (int round = 0; round < 2; round++) {
+            String phase = round == 0 ? "warm-up" : "measure";
+            run(phase, "Product", products(elements), Product[].class, iterations, json, smile, sharedSmile);
+            run(phase, "ProductDTO", productDTOs(elements), ProductDTO[].class, iterations, json, smile, sharedSmile);
+            run(phase, "Category", categories(elements), Category[].class, iterations, json, smile, sharedSmile);
+            run(phase, "CategoryDTO", categoryDTOs(elements), CategoryDTO[].class, iterations, json, smile, sharedSmile);
+        }
+    }
+
+    private static void run(String phase, String name, List<?> list, Class<?> arrayType, int iterations,
+                            ObjectMapper json, ObjectMapper smile, ObjectMapper sharedSmile) throws Exception {
+
+        report(phase, name, "JSON", measure(json, list, arrayType, iterations));
+        report(phase, name, "Smile", measure(smile, list, arrayType, iterations));
+        report(phase, name, "Smile shared", measure(sharedSmile, list, arrayType, iterations));
+    }
+
+    private static Result measure(ObjectMapper mapper, List<?> list, Class<?> arrayType, int iterations)
+            throws Exception {
+
+        byte[] payload = mapper.writeValueAsBytes(list);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.writeValueAsBytes(list);
+        }
+        long encodeNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(payload, arrayType);
+        }
+        long decodeNanos = System.nanoTime() - started;
+
+        return new Result(payload.length, encodeNanos / 1000.0 / iterations, decodeNanos / 1000.0 / iterations);
+    }
+
+    private static void report(String phase, String name, String format, Result result) {
+        System.out.printf("%-8s %-12s %-13s %9d bytes  encode %8.1f us  decode %8.1f us%n",
+                phase, name, format, result.bytes, result.encodeMicros, result.decodeMicros);
+    }
+
+    private static List<Product> products(int amount) {
+
+        List<Product> products = new ArrayList<>(amount);
+        for (int i = 1; i <= amount; i++) {
+            Product product = new Product();
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setProductAmount(i * 3);
+            product.setDateAdded(LocalDate.of(2019, 1, 1).plusDays(i % 365));
+            product.setCategoryId(i % SUBCATEGORIES);
+            product.setVersion(1);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static List<ProductDTO> productDTOs(int amount) {
+
+        List<ProductDTO> productDTOs = new ArrayList<>(amount);
+        for (int i = 1; i <= amount; i++) {
+            ProductDTO productDTO = new ProductDTO();
+            productDTO.setProductId(i);
+            productDTO.setCategoryName("Category " + i % CATEGORIES);
+            productDTO.setSubCategoryName("Subcategory " + i % SUBCATEGORIES);
+            productDTO.setProductName("Product " + i);
+            productDTO.setProductAmount(i * 3);
+            productDTO.setDateAdded(LocalDate.of(2019, 1, 1).plusDays(i % 365));
+            productDTO.setCategoryId(i % SUBCATEGORIES);
+            productDTOs.add(productDTO);
+        }
+        return productDTOs;
+    }
+
+    private static List<Category> categories(int amount) {
+
+        List<Category> categories = new ArrayList<>(amount);
+        for (int i = 1; i <= amount; i++) {
+            Category category = new Category();
+            category.setCategoryId(i);
+            category.setCategoryName("Category " + i);
+            category.setParentId(i > CATEGORIES ? i % CATEGORIES + 1 : null);
+            category.setVersion(1);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private static List<CategoryDTO> categoryDTOs(int amount) {
+
+        List<CategoryDTO> categoryDTOs = new ArrayList<>(amount);
+        for (int i = 1; i <= amount; i++) {
+            CategoryDTO categoryDTO = new CategoryDTO();
+            categoryDTO.setCategoryId(i);
+            categoryDTO.setCategoryName("Category " + i);
+            categoryDTO.setParentId(i > CATEGORIES ? i % CATEGORIES + 1 : null);
+            categoryDTO.setProductsAmount(i * 2);
+            categoryDTOs.add(categoryDTO);
+        }
+        return categoryDTOs;
+    }
+
+    private static final class Result {
+
+        private final int bytes;
+
+        private final double encodeMicros;
+
+        private final double decodeMicros;
+
+        private Result(int bytes, double encodeMicros, double decodeMicros) {
+            this.bytes = bytes;
+            this.encodeMicros = encodeMicros;
+            this.decodeMicros = decodeMicros;
+        }
+    }
+}
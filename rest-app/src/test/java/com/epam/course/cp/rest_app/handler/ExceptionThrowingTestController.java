@@ -1,8 +1,11 @@
 package com.epam.course.cp.rest_app.handler;
 
 import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.dao.exception.InsufficientAmountException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,11 +19,26 @@ public class ExceptionThrowingTestController {
         throw new DaoRuntimeException("Dao runtime exception");
     }
 
+    @GetMapping(value = "/insufficientAmountException")
+    void getInsufficientAmountException() {
+        throw new InsufficientAmountException("Insufficient amount exception");
+    }
+
+    @GetMapping(value = "/optimisticLockingFailureException")
+    void getOptimisticLockingFailureException() {
+        throw new OptimisticLockingFailureException("Optimistic locking failure exception");
+    }
+
     @GetMapping(value = "/emptyResultDataAccessException")
     void getEmptyResultDataAccessException() {
         throw new EmptyResultDataAccessException(0);
     }
 
+    @GetMapping(value = "/cannotGetJdbcConnectionException")
+    void getCannotGetJdbcConnectionException() {
+        throw new CannotGetJdbcConnectionException("Cannot get jdbc connection exception");
+    }
+
     @GetMapping(value = "/duplicateKeyException")
     void handleDuplicateKeyException() {
         throw new DuplicateKeyException("This instance is already exist");
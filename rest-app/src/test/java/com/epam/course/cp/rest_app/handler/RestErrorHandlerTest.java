@@ -44,6 +44,28 @@ class RestErrorHandlerTest {
         ;
     }
 
+    @Test
+    void shouldHandleInsufficientAmountException() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/exceptions/insufficientAmountException")
+        ).andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Insufficient amount exception")))
+        ;
+    }
+
+    @Test
+    void shouldHandleOptimisticLockingFailureException() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/exceptions/optimisticLockingFailureException")
+        ).andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Optimistic locking failure exception")))
+        ;
+    }
+
     @Test
     void shouldHandleEmptyResultDataAccessException() throws Exception {
 
@@ -55,6 +77,17 @@ class RestErrorHandlerTest {
         ;
     }
 
+    @Test
+    void shouldHandleCannotGetJdbcConnectionException() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/exceptions/cannotGetJdbcConnectionException")
+        ).andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Cannot get jdbc connection exception")))
+        ;
+    }
+
     @Test
     void shouldHandleDuplicateKeyException() throws Exception {
 
@@ -0,0 +1,238 @@
+package com.epam.course.cp.rest_app.importer;
+
+import com.epam.course.cp.dao.exception.DaoRuntimeException;
+import com.epam.course.cp.model.Category;
+import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.ImportReport;
+import com.epam.course.cp.response.RejectedRow;
+import com.epam.course.cp.service.CategoryService;
+import com.epam.course.cp.service.ProductService;
+import com.epam.course.cp.validator.ProductValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class ProductImporterTest {
+
+    private static final int PARSERS = 2;
+    private static final int BATCH_SIZE = 2;
+    private static final int QUEUE_CAPACITY = 1;
+    private static final int MAX_REJECTED_ROWS = 10;
+    private static final Duration TEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Integer CATEGORY_ID = 5;
+    private static final String CATEGORY_NAME = "Bricks";
+    private static final Integer OTHER_CATEGORY_ID = 6;
+    private static final String OTHER_CATEGORY_NAME = "Blocks";
+
+    private static final String HEADER = "productName,productAmount,dateAdded,categoryId,subCategoryName\n";
+
+    private ProductService productService;
+
+    private CategoryService categoryService;
+
+    private ProductImporter productImporter;
+
+    private final List<Product> savedProducts = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+
+        productService = Mockito.mock(ProductService.class);
+        categoryService = Mockito.mock(CategoryService.class);
+        Mockito.when(categoryService.findAllSubCategories()).thenReturn(Arrays.asList(
+                createCategory(CATEGORY_ID, CATEGORY_NAME), createCategory(OTHER_CATEGORY_ID, OTHER_CATEGORY_NAME)));
+        Mockito.when(productService.addAll(any())).thenAnswer(invocation -> {
+            savedProducts.addAll(invocation.getArgument(0));
+            return Collections.emptyList();
+        });
+
+        productImporter = new ProductImporter(productService, categoryService, new ProductValidator(),
+                PARSERS, BATCH_SIZE, QUEUE_CAPACITY, MAX_REJECTED_ROWS);
+    }
+
+    @Test
+    void shouldImportValidRowsAndRejectInvalidOnes() throws IOException {
+
+        ImportReport report = importCsv(HEADER
+                + "Red bricks,100,2019-01-01,5,\n"
+                + "\"Bolts, M8 \"\"zinc\"\"\",20,,,Blocks\n"
+                + "Negative,-1,2019-01-01,5,\n"
+                + "Unknown category,1,2019-01-01,42,\n"
+                + "Not a number,ten,2019-01-01,5,\n"
+                + ",1,2019-01-01,5,\n"
+                + "Bad date,1,01.01.2019,5,\n"
+                + "\n"
+                + "White bricks,300,2019-02-01,,Bricks\n");
+
+        assertTrue(report.isFinished());
+        assertEquals(8, report.getRowsRead());
+        assertEquals(3, report.getRowsImported());
+        assertEquals(5, report.getRowsRejected());
+        assertEquals(Arrays.asList(4L, 5L, 6L, 7L, 8L), report.getRejectedRows().stream()
+                .map(RejectedRow::getLineNumber)
+                .collect(Collectors.toList()));
+        assertEquals("product.negativeAmount", report.getRejectedRows().get(0).getReason());
+
+        List<Product> products = sortedByName(savedProducts);
+        assertEquals(3, products.size());
+        assertEquals("Bolts, M8 \"zinc\"", products.get(0).getProductName());
+        assertEquals(OTHER_CATEGORY_ID, products.get(0).getCategoryId());
+        assertEquals(LocalDate.now(), products.get(0).getDateAdded());
+        assertEquals("Red bricks", products.get(1).getProductName());
+        assertEquals(LocalDate.of(2019, 1, 1), products.get(1).getDateAdded());
+        assertEquals(CATEGORY_ID, products.get(2).getCategoryId());
+        assertEquals(Integer.valueOf(300), products.get(2).getProductAmount());
+    }
+
+    @Test
+    void shouldCountLinesOfMultiLineFields() throws IOException {
+
+        ImportReport report = importCsv(HEADER
+                + "\"Two\nlines\",1,2019-01-01,5,\n"
+                + "Negative,-1,2019-01-01,5,\n");
+
+        assertEquals(1, report.getRowsImported());
+        assertEquals(4, report.getRejectedRows().get(0).getLineNumber());
+        assertEquals("Two\nlines", savedProducts.get(0).getProductName());
+    }
+
+    @Test
+    void shouldSaveLargeFileInBatches() throws IOException {
+
+        int rows = BATCH_SIZE * PARSERS * 10 + 1;
+        StringBuilder csv = new StringBuilder(HEADER);
+        IntStream.rangeClosed(1, rows).forEach(i -> csv.append("Product ").append(i).append(",1,,5,\n"));
+
+        ImportReport report = importCsv(csv.toString());
+
+        assertEquals(rows, report.getRowsImported());
+        assertEquals(0, report.getRowsRejected());
+        assertEquals(rows, savedProducts.size());
+        Mockito.verify(productService, Mockito.times(rows / BATCH_SIZE + 1)).addAll(any());
+    }
+
+    @Test
+    void shouldRejectFileWithoutRequiredColumns() throws IOException {
+
+        ImportReport report = importCsv("productName,categoryId\nRed bricks,5\n");
+
+        assertTrue(report.isFinished());
+        assertEquals(0, report.getRowsRead());
+        assertEquals(1, report.getRejectedRows().get(0).getLineNumber());
+        Mockito.verify(productService, Mockito.never()).addAll(any());
+    }
+
+    @Test
+    void shouldRejectRowsOfBatchNotSaved() throws IOException {
+
+        Mockito.doThrow(new DaoRuntimeException("Failed to save products")).when(productService).addAll(any());
+
+        ImportReport report = importCsv(HEADER + "Red bricks,100,,5,\nWhite bricks,100,,5,\n");
+
+        assertEquals(0, report.getRowsImported());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals("not saved: Failed to save products", report.getRejectedRows().get(1).getReason());
+    }
+
+    @Test
+    void shouldRejectOnlyRowsNotSavedOneByOne() throws IOException {
+
+        Mockito.doAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(product -> "Duplicate".equals(product.getProductName()))) {
+                throw new DaoRuntimeException("Duplicate product name");
+            }
+            savedProducts.addAll(products);
+            return Collections.emptyList();
+        }).when(productService).addAll(any());
+
+        ImportReport report = importCsv(HEADER
+                + "Red bricks,100,,5,\n"
+                + "Duplicate,100,,5,\n"
+                + "White bricks,100,,5,\n");
+
+        assertEquals(2, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(3, report.getRejectedRows().get(0).getLineNumber());
+        assertEquals("not saved: Duplicate product name", report.getRejectedRows().get(0).getReason());
+        assertEquals(Arrays.asList("Red bricks", "White bricks"), sortedByName(savedProducts).stream()
+                .map(Product::getProductName)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldFailImportWhenWriterDies() {
+
+        Mockito.doThrow(new AssertionError("Writer died")).when(productService).addAll(any());
+
+        int rows = BATCH_SIZE * PARSERS * 10;
+        StringBuilder csv = new StringBuilder(HEADER);
+        IntStream.rangeClosed(1, rows).forEach(i -> csv.append("Product ").append(i).append(",1,,5,\n"));
+
+        IllegalStateException ex = assertTimeoutPreemptively(TEST_TIMEOUT,
+                () -> assertThrows(IllegalStateException.class, () -> importCsv(csv.toString())));
+        assertEquals("Writer died", ex.getCause().getMessage());
+        assertTrue(productImporter.getImportReports().get(0).isFinished());
+    }
+
+    @Test
+    void shouldLimitRejectedRowsReported() throws IOException {
+
+        StringBuilder csv = new StringBuilder(HEADER);
+        IntStream.range(0, MAX_REJECTED_ROWS * 2).forEach(i -> csv.append("Negative,-1,,5,\n"));
+
+        ImportReport report = importCsv(csv.toString());
+
+        assertEquals(MAX_REJECTED_ROWS * 2, report.getRowsRejected());
+        assertEquals(MAX_REJECTED_ROWS, report.getRejectedRows().size());
+    }
+
+    @Test
+    void shouldKeepReportsOfLastFinishedImports() throws IOException {
+
+        for (int i = 0; i <= ProductImporter.KEPT_FINISHED_IMPORTS; i++) {
+            importCsv(HEADER + "Red bricks,100,,5,\n");
+        }
+
+        List<ImportReport> reports = productImporter.getImportReports();
+        assertEquals(ProductImporter.KEPT_FINISHED_IMPORTS, reports.size());
+        assertEquals(Integer.valueOf(2), reports.get(0).getImportId());
+        assertTrue(reports.stream().allMatch(ImportReport::isFinished));
+    }
+
+    private ImportReport importCsv(String csv) throws IOException {
+        return productImporter.importProducts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<Product> sortedByName(List<Product> products) {
+
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparing(Product::getProductName));
+        return sorted;
+    }
+
+    private static Category createCategory(Integer categoryId, String categoryName) {
+
+        Category category = new Category();
+        category.setCategoryId(categoryId);
+        category.setCategoryName(categoryName);
+        return category;
+    }
+}
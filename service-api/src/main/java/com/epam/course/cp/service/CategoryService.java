@@ -1,6 +1,7 @@
 package com.epam.course.cp.service;
 
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 
 import java.util.List;
@@ -9,6 +10,12 @@ import java.util.List;
  * Service methods for work with {@code categories}
  * and {@code category Data Transfer Objects}
  *
+ * <p>
+ * Data access layer returns results as cursor-backed streams. Implementations
+ * must close every such stream as soon as its terminal operation is finished,
+ * so values returned by this service never hold data source resources.
+ * </p>
+ *
  * @see Category
  * @see CategoryDTO
  * @author Maksim Martsiusheu
@@ -31,6 +38,15 @@ public interface CategoryService {
      */
     CategoryDTO findCategoryDTOById(Integer categoryId);
 
+    /**
+     * Returns {@code category} with given id together with amount of its
+     * products and categories it may be moved to
+     *
+     * @param categoryId category id to find by
+     * @return {@code CategoryEditorView} of the category
+     */
+    CategoryEditorView findCategoryEditorView(Integer categoryId);
+
     /**
      * Returns all existing sub {@code categories}
      *
@@ -1,15 +1,27 @@
 package com.epam.course.cp.service;
 
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service methods for work with {@code products}
  * and {@code product Data Transfer Objects}
  *
+ * <p>
+ * Data access layer returns results as cursor-backed streams. Implementations
+ * must close every such stream as soon as its terminal operation is finished,
+ * so values returned by this service never hold data source resources.
+ * </p>
+ *
  * @see Product
  * @see ProductDTO
  * @author Maksim Martsiusheu
@@ -31,6 +43,15 @@ public interface ProductService {
      */
     Product findById(Integer productId);
 
+    /**
+     * Returns {@code product} with given id together with
+     * sub categories it may belong to
+     *
+     * @param productId id of a {@code product} to find by
+     * @return {@code ProductEditorView} of the product
+     */
+    ProductEditorView findProductEditorView(Integer productId);
+
     /**
      * Returns all {@code product Data Transfer Objects} found
      *
@@ -38,6 +59,25 @@ public interface ProductService {
      */
     List<ProductDTO> findAllProductDTOs();
 
+    /**
+     * Performs given action for every {@code product Data Transfer Object}
+     * as it is read, without collecting them first
+     *
+     * @param action action performed for every product DTO
+     */
+    void forEachProductDTO(Consumer<? super ProductDTO> action);
+
+    /**
+     * Performs given action for every {@code product Data Transfer Object}
+     * added since given date and having id greater than given one, in order
+     * of product id, as they are read without collecting them first
+     *
+     * @param since          first date products are added at, {@code null} for all dates
+     * @param afterProductId id of the last product already exported, {@code null} to start from the first one
+     * @param action         action performed for every product DTO
+     */
+    void exportProductDTOs(LocalDate since, Integer afterProductId, Consumer<? super ProductDTO> action);
+
     /**
      * Returns all {@code product Data Transfer Objects} that
      * matches given category id
@@ -56,6 +96,38 @@ public interface ProductService {
      */
     List<ProductDTO> findProductDTOsByFilter(Filter filter);
 
+    /**
+     * Returns a page of {@code product Data Transfer Objects} that matches given
+     * filter ordered by product id together with top level categories they may be filtered by
+     *
+     * @param filter filter to find {@code product Data Transfer Objects}s by
+     * @param afterProductId cursor of the page, {@code null} to get the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code ProductListView} of the filter
+     */
+    ProductListView findProductListView(Filter filter, Integer afterProductId, Integer limit);
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} ordered by product id.
+     * Pages are selected by product id cursor, so selecting deep pages is as fast as the first one.
+     *
+     * @param afterProductId cursor of the page, {@code null} to get the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code Page} of a {@code product Data Transfer Objects}s
+     */
+    Page<ProductDTO> findProductDTOPage(Integer afterProductId, Integer limit);
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} that
+     * matches given filter ordered by product id
+     *
+     * @param filter filter to find {@code product Data Transfer Objects}s by
+     * @param afterProductId cursor of the page, {@code null} to get the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code Page} of a {@code product Data Transfer Objects}s
+     */
+    Page<ProductDTO> findProductDTOPageByFilter(Filter filter, Integer afterProductId, Integer limit);
+
     /**
      * Saves single {@code product} to a storage
      *
@@ -71,6 +143,32 @@ public interface ProductService {
      */
     void update(Product product);
 
+    /**
+     * Adds given signed delta to amount of existing {@code product}
+     * without reading it first, so concurrent changes are not lost
+     *
+     * @param productId product id to change amount of
+     * @param delta     signed change of product amount
+     * @return new amount of the {@code product}
+     */
+    Integer adjustAmount(Integer productId, Integer delta);
+
+    /**
+     * Saves all given {@code products} to a storage within a single transaction
+     *
+     * @param products {@code products} to be saved
+     * @return {@code List} of a results for every {@code product} in the same order
+     */
+    List<BatchItemResult> addAll(List<Product> products);
+
+    /**
+     * Updates already existing {@code products} by new ones within a single transaction
+     *
+     * @param products {@code products} to update older ones
+     * @return {@code List} of a results for every {@code product} in the same order
+     */
+    List<BatchItemResult> updateAll(List<Product> products);
+
     /**
      * Deletes existing {@code product} with given product id
      *
@@ -2,23 +2,42 @@ package com.epam.course.cp.service;
 
 import com.epam.course.cp.dao.CategoryDao;
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@code CategoryService} interface
  *
+ * <p>
+ * Categories themselves are read from an in-memory {@code CategoryTree}
+ * loaded from data source on first use. Every change made through this
+ * service replaces the tree with an updated copy, so readers never wait
+ * and never see a half-updated tree. Changes made to data source
+ * bypassing this service are not seen until restart. Category update
+ * drops all product DTOs cached by filter and indexed by date, as they
+ * hold category names and are found by top level category.
+ * </p>
+ *
  * @see Category
  * @see CategoryDTO
  * @see CategoryDao
+ * @see CategoryTree
+ * @see ProductDTOFilterCache
+ * @see ProductDateIndex
  * @see Optional
  */
 @Service
@@ -34,14 +53,39 @@ public class CategoryServiceImpl implements CategoryService {
      */
     private final CategoryDao categoryDao;
 
+    /**
+     * Cache of product DTOs found by filter
+     */
+    private final ProductDTOFilterCache productDTOFilterCache;
+
+    /**
+     * Index of product DTOs ordered by date added
+     */
+    private final ProductDateIndex productDateIndex;
+
+    /**
+     * Current snapshot of all categories, {@code null} until first loaded
+     */
+    private final AtomicReference<CategoryTree> categoryTree = new AtomicReference<>();
+
+    /**
+     * Guards loading and replacing of the category snapshot
+     */
+    private final Object categoryTreeLock = new Object();
+
     /**
      * Constructs new object with given data access layer object
      *
-     * @param categoryDao category data access layer object
+     * @param categoryDao           category data access layer object
+     * @param productDTOFilterCache cache of product DTOs found by filter
+     * @param productDateIndex      index of product DTOs ordered by date added
      */
     @Autowired
-    public CategoryServiceImpl(CategoryDao categoryDao) {
+    public CategoryServiceImpl(CategoryDao categoryDao, ProductDTOFilterCache productDTOFilterCache,
+                               ProductDateIndex productDateIndex) {
         this.categoryDao = categoryDao;
+        this.productDTOFilterCache = productDTOFilterCache;
+        this.productDateIndex = productDateIndex;
     }
 
     /**
@@ -54,8 +98,8 @@ public class CategoryServiceImpl implements CategoryService {
     public Category findById(Integer categoryId) {
 
         LOGGER.debug("findById({})", categoryId);
-        return categoryDao.findById(categoryId)
-                .orElseThrow(() -> new RuntimeException("Failed to get category from DB"));
+        return getCategoryTree().findById(categoryId)
+                .orElseThrow(() -> new EmptyResultDataAccessException("Failed to get category from DB", 1));
     }
 
     /**
@@ -67,7 +111,9 @@ public class CategoryServiceImpl implements CategoryService {
     public List<CategoryDTO> findAllCategoryDTOs() {
 
         LOGGER.debug("findAllCategoryDTOs()");
-        return categoryDao.findAllCategoryDTOs().collect(Collectors.toList());
+        try (Stream<CategoryDTO> categoryDTOs = categoryDao.findAllCategoryDTOs()) {
+            return categoryDTOs.collect(Collectors.toList());
+        }
     }
 
     /**
@@ -84,6 +130,26 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new RuntimeException("Failed to get categoryDTO from DB"));
     }
 
+    /**
+     * Returns {@code category} with given id together with amount of its products
+     * and categories it may be moved to, read within a single transaction
+     *
+     * @param categoryId category id to find by
+     * @return {@code CategoryEditorView} of the category
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CategoryEditorView findCategoryEditorView(Integer categoryId) {
+
+        LOGGER.debug("findCategoryEditorView({})", categoryId);
+
+        CategoryEditorView view = new CategoryEditorView();
+        view.setCategory(findById(categoryId));
+        view.setProductsAmount(findCategoryDTOById(categoryId).getProductsAmount());
+        view.setParentCategories(findAllPossibleParentsForId(categoryId));
+        return view;
+    }
+
     /**
      * Returns all sub{@code Categories} found
      *
@@ -93,7 +159,7 @@ public class CategoryServiceImpl implements CategoryService {
     public List<Category> findAllSubCategories() {
 
         LOGGER.debug("findAllSubCategories()");
-        return categoryDao.findAllSubCategories().collect(Collectors.toList());
+        return getCategoryTree().findAllSubCategories();
     }
 
     /**
@@ -106,7 +172,9 @@ public class CategoryServiceImpl implements CategoryService {
     public List<CategoryDTO> findSubCategoryDTOsByCategoryId(Integer categoryId) {
 
         LOGGER.debug("findSubCategoryDTOsByCategoryId({})", categoryId);
-        return categoryDao.findSubCategoryDTOsByCategoryId(categoryId).collect(Collectors.toList());
+        try (Stream<CategoryDTO> categoryDTOs = categoryDao.findSubCategoryDTOsByCategoryId(categoryId)) {
+            return categoryDTOs.collect(Collectors.toList());
+        }
     }
 
     /**
@@ -119,8 +187,11 @@ public class CategoryServiceImpl implements CategoryService {
     public Category add(Category category) {
 
         LOGGER.debug("add({})", category);
-        return categoryDao.add(category)
+        Category savedCategory = categoryDao.add(category)
                 .orElseThrow(() -> new RuntimeException("Failed to add category to DB"));
+        updateCategoryTree(tree -> tree.with(savedCategory));
+
+        return savedCategory;
     }
 
     /**
@@ -133,7 +204,9 @@ public class CategoryServiceImpl implements CategoryService {
 
         LOGGER.debug("update({})", category);
         categoryDao.update(category);
-
+        updateCategoryTree(tree -> tree.with(category));
+        productDTOFilterCache.invalidateAll();
+        productDateIndex.invalidate();
     }
 
     /**
@@ -146,6 +219,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         LOGGER.debug("delete({})", categoryId);
         categoryDao.delete(categoryId);
+        updateCategoryTree(tree -> tree.without(categoryId));
     }
 
     /**
@@ -159,18 +233,19 @@ public class CategoryServiceImpl implements CategoryService {
 
         LOGGER.debug("findAllPossibleParentsForId({})", id);
 
+        CategoryTree tree = getCategoryTree();
+
         //if it's top level category (i.e. parent == null)
-        Optional<Category> currentCategory = categoryDao.findById(id);
+        Optional<Category> currentCategory = tree.findById(id);
         if (currentCategory.isPresent() && currentCategory.get().getParentId() == 0) {
             //and it has subcategories
-            Optional<CategoryDTO> anySubcategory = categoryDao.findSubCategoryDTOsByCategoryId(id).findAny();
-            if (anySubcategory.isPresent()) {
+            if (tree.hasSubCategories(id)) {
                 //then the category cannot change its parent
                 return Collections.emptyList();
             }
         }
 
-        return categoryDao.findAllPossibleParentsForId(id).collect(Collectors.toList());
+        return tree.findAllParentsExcept(id);
     }
 
     /**
@@ -182,7 +257,51 @@ public class CategoryServiceImpl implements CategoryService {
     public List<Category> findAllPossibleParents() {
 
         LOGGER.debug("findAllParents()");
+        return getCategoryTree().findAllParents();
+    }
+
+    /**
+     * Returns current category snapshot loading it from data source if needed
+     *
+     * @return {@code CategoryTree} of all categories
+     */
+    private CategoryTree getCategoryTree() {
+
+        CategoryTree tree = categoryTree.get();
+        if (tree != null) {
+            return tree;
+        }
 
-        return categoryDao.findAllPossibleParents().collect(Collectors.toList());
+        synchronized (categoryTreeLock) {
+            tree = categoryTree.get();
+            if (tree == null) {
+                LOGGER.debug("getCategoryTree(): loading categories");
+                try (Stream<Category> categories = categoryDao.findAll()) {
+                    tree = new CategoryTree(categories.collect(Collectors.toList()));
+                }
+                categoryTree.set(tree);
+            }
+            return tree;
+        }
+    }
+
+    /**
+     * Replaces loaded category snapshot with a changed copy
+     *
+     * <p>
+     * Called after data source is changed, so a snapshot being loaded
+     * concurrently either already contains the change or is changed here.
+     * </p>
+     *
+     * @param change function producing changed snapshot
+     */
+    private void updateCategoryTree(UnaryOperator<CategoryTree> change) {
+
+        synchronized (categoryTreeLock) {
+            CategoryTree tree = categoryTree.get();
+            if (tree != null) {
+                categoryTree.set(change.apply(tree));
+            }
+        }
     }
 }
@@ -0,0 +1,159 @@
+package com.epam.course.cp.service;
+
+import com.epam.course.cp.model.Category;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of all {@code categories} ordered by category id
+ *
+ * <p>
+ * Snapshot is never changed after construction. Modifications return a
+ * new snapshot, so it may be shared between threads without locking.
+ * Every {@code category} returned is a copy which callers are free to change.
+ * Top level categories have parent id {@code 0}, as data access layer returns them.
+ * </p>
+ *
+ * @see Category
+ * @see CategoryServiceImpl
+ * @author Maksim Martsiusheu
+ */
+final class CategoryTree {
+
+    /**
+     * Parent id of top level categories
+     */
+    private static final Integer NO_PARENT = 0;
+
+    /**
+     * All categories by category id
+     */
+    private final Map<Integer, Category> categories;
+
+    /**
+     * Ids of categories having at least one subcategory
+     */
+    private final Set<Integer> categoriesWithSubCategories;
+
+    /**
+     * Constructs snapshot of given categories
+     *
+     * @param categories all categories
+     */
+    CategoryTree(Collection<Category> categories) {
+
+        Map<Integer, Category> categoriesById = new TreeMap<>();
+        categories.forEach(category -> categoriesById.put(category.getCategoryId(), copyOf(category)));
+
+        this.categories = Collections.unmodifiableMap(categoriesById);
+        this.categoriesWithSubCategories = Collections.unmodifiableSet(categoriesById.values().stream()
+                .filter(category -> !isTopLevel(category))
+                .map(Category::getParentId)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Returns category with given id
+     *
+     * @param categoryId category id to find by
+     * @return {@code Optional} describing category found
+     */
+    Optional<Category> findById(Integer categoryId) {
+        return Optional.ofNullable(categories.get(categoryId)).map(CategoryTree::copyOf);
+    }
+
+    /**
+     * Returns all categories that have a parent
+     *
+     * @return {@code List} of subcategories
+     */
+    List<Category> findAllSubCategories() {
+        return select(category -> !isTopLevel(category));
+    }
+
+    /**
+     * Returns all top level categories
+     *
+     * @return {@code List} of top level categories
+     */
+    List<Category> findAllParents() {
+        return select(CategoryTree::isTopLevel);
+    }
+
+    /**
+     * Returns all top level categories except the one with given id
+     *
+     * @param categoryId category id to exclude
+     * @return {@code List} of top level categories
+     */
+    List<Category> findAllParentsExcept(Integer categoryId) {
+        return select(category -> isTopLevel(category) && !category.getCategoryId().equals(categoryId));
+    }
+
+    /**
+     * Tells whether category with given id has subcategories
+     *
+     * @param categoryId category id to check
+     * @return {@code true} if there is a category with given parent id
+     */
+    boolean hasSubCategories(Integer categoryId) {
+        return categoriesWithSubCategories.contains(categoryId);
+    }
+
+    /**
+     * Returns new snapshot with given category added or replaced
+     *
+     * @param category category to put into snapshot
+     * @return new snapshot
+     */
+    CategoryTree with(Category category) {
+
+        Map<Integer, Category> copy = new TreeMap<>(categories);
+        copy.put(category.getCategoryId(), category);
+        return new CategoryTree(copy.values());
+    }
+
+    /**
+     * Returns new snapshot without category with given id
+     *
+     * @param categoryId id of category to remove from snapshot
+     * @return new snapshot
+     */
+    CategoryTree without(Integer categoryId) {
+
+        Map<Integer, Category> copy = new TreeMap<>(categories);
+        copy.remove(categoryId);
+        return new CategoryTree(copy.values());
+    }
+
+    private List<Category> select(Predicate<Category> predicate) {
+
+        return categories.values().stream()
+                .filter(predicate)
+                .map(CategoryTree::copyOf)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isTopLevel(Category category) {
+        return NO_PARENT.equals(category.getParentId());
+    }
+
+    private static Category copyOf(Category category) {
+
+        Category copy = new Category();
+        copy.setCategoryId(category.getCategoryId());
+        copy.setCategoryName(category.getCategoryName());
+        copy.setParentId(category.getParentId() == null ? NO_PARENT : category.getParentId());
+        copy.setVersion(category.getVersion());
+
+        return copy;
+    }
+}
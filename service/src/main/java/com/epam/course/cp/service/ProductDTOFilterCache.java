@@ -0,0 +1,316 @@
+package com.epam.course.cp.service;
+
+import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.response.CacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of {@code product Data Transfer Objects} found by {@code Filter}
+ *
+ * <p>
+ * Least recently used entry is evicted when the cache is full, every entry
+ * expires after {@code ttlSeconds}. Writes invalidate only entries they may
+ * change: entries whose filter accepts the written product and entries
+ * holding the product. Invalidation made within a transaction is repeated
+ * after the transaction completes, so results read before commit are not
+ * kept. Result loaded while an invalidation happened is returned but not cached.
+ * </p>
+ *
+ * <p>
+ * Cached lists are unmodifiable and shared between callers,
+ * product DTOs in them must not be changed.
+ * </p>
+ *
+ * @see Filter
+ * @see ProductDTO
+ * @see CacheMetrics
+ * @author Maksim Martsiusheu
+ */
+@Component
+public class ProductDTOFilterCache {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductDTOFilterCache.class);
+
+    /**
+     * Name of the cache in metrics
+     */
+    static final String CACHE_NAME = "productDTOsByFilter";
+
+    /**
+     * Maximum amount of cached filters, {@code 0} disables caching
+     */
+    private final int maxSize;
+
+    /**
+     * Time an entry is kept in the cache, in nanoseconds
+     */
+    private final long ttlNanos;
+
+    /**
+     * Source of current time in nanoseconds
+     */
+    private final LongSupplier nanoTime;
+
+    /**
+     * Cached entries by filter in access order, guarded by {@code this}
+     */
+    private final LinkedHashMap<Filter, Entry> entries;
+
+    /**
+     * Amount of invalidations made, guarded by {@code this}
+     */
+    private long generation;
+
+    /**
+     * Amount of lookups answered from the cache
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Amount of lookups loaded from data source
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Amount of entries removed to make room for new ones
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Amount of entries removed as outdated by time
+     */
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Amount of entries removed because data they hold was changed
+     */
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructs cache of given size and time to live
+     *
+     * @param maxSize    maximum amount of cached filters, {@code 0} disables caching
+     * @param ttlSeconds time an entry is kept in the cache, in seconds
+     */
+    @Autowired
+    public ProductDTOFilterCache(@Value("${product.cache.maxSize:256}") int maxSize,
+                                 @Value("${product.cache.ttlSeconds:60}") long ttlSeconds) {
+        this(maxSize, ttlSeconds, System::nanoTime);
+    }
+
+    /**
+     * Constructs cache of given size and time to live with given time source
+     *
+     * @param maxSize    maximum amount of cached filters, {@code 0} disables caching
+     * @param ttlSeconds time an entry is kept in the cache, in seconds
+     * @param nanoTime   source of current time in nanoseconds
+     */
+    ProductDTOFilterCache(int maxSize, long ttlSeconds, LongSupplier nanoTime) {
+
+        if (maxSize < 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Cache size must not be negative and time to live must be positive");
+        }
+
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<Filter, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Filter, Entry> eldest) {
+
+                boolean full = size() > ProductDTOFilterCache.this.maxSize;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    /**
+     * Returns cached product DTOs found by given filter
+     * or loads and caches them if there is no such entry
+     *
+     * @param filter filter product DTOs are found by
+     * @param loader finds product DTOs in data source
+     * @return unmodifiable {@code List} of product DTOs
+     */
+    public List<ProductDTO> get(Filter filter, Supplier<List<ProductDTO>> loader) {
+
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(filter);
+            if (entry != null) {
+                if (nanoTime.getAsLong() - entry.expiresAt < 0) {
+                    hits.increment();
+                    return entry.productDTOs;
+                }
+                entries.remove(filter);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        List<ProductDTO> productDTOs = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+
+        synchronized (this) {
+            if (maxSize > 0 && generation == loadGeneration) {
+                entries.put(copyOf(filter), new Entry(productDTOs, nanoTime.getAsLong() + ttlNanos));
+            }
+        }
+        return productDTOs;
+    }
+
+    /**
+     * Invalidates entries whose filter accepts a product of given
+     * top level category added at given date
+     *
+     * @param parentCategoryId top level category of the product, {@code null} if unknown
+     * @param dateAdded        date the product was added, {@code null} if unknown
+     */
+    public void invalidateMatching(Integer parentCategoryId, LocalDate dateAdded) {
+
+        LOGGER.debug("invalidateMatching({}, {})", parentCategoryId, dateAdded);
+        invalidate(entry -> accepts(entry.getKey(), parentCategoryId, dateAdded));
+    }
+
+    /**
+     * Invalidates entries holding product with given id
+     *
+     * @param productId product id
+     */
+    public void invalidateProduct(Integer productId) {
+
+        LOGGER.debug("invalidateProduct({})", productId);
+        invalidate(entry -> entry.getValue().productDTOs.stream()
+                .anyMatch(productDTO -> productDTO.getProductId().equals(productId)));
+    }
+
+    /**
+     * Invalidates all entries
+     */
+    public void invalidateAll() {
+
+        LOGGER.debug("invalidateAll()");
+        invalidate(entry -> true);
+    }
+
+    /**
+     * Returns state and statistics of the cache
+     *
+     * @return {@code CacheMetrics} of the cache
+     */
+    public CacheMetrics getCacheMetrics() {
+
+        CacheMetrics metrics = new CacheMetrics();
+        metrics.setCacheName(CACHE_NAME);
+        synchronized (this) {
+            metrics.setSize(entries.size());
+        }
+        metrics.setMaxSize(maxSize);
+        metrics.setTtlSeconds(TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        metrics.setHits(hitCount);
+        metrics.setMisses(missCount);
+        metrics.setHitRatio(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount));
+
+        metrics.setEvictions(evictions.sum());
+        metrics.setExpirations(expirations.sum());
+        metrics.setInvalidations(invalidations.sum());
+
+        return metrics;
+    }
+
+    private void invalidate(Predicate<Map.Entry<Filter, Entry>> predicate) {
+
+        removeIf(predicate);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    removeIf(predicate);
+                }
+            });
+        }
+    }
+
+    private synchronized void removeIf(Predicate<Map.Entry<Filter, Entry>> predicate) {
+
+        generation++;
+
+        Iterator<Map.Entry<Filter, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next())) {
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private static boolean accepts(Filter filter, Integer parentCategoryId, LocalDate dateAdded) {
+
+        boolean categoryAccepted = filter.getCategoryId() == null
+                || parentCategoryId == null
+                || filter.getCategoryId().equals(parentCategoryId);
+
+        boolean dateAccepted = dateAdded == null
+                || (filter.getDateBegin() == null || !dateAdded.isBefore(filter.getDateBegin()))
+                && (filter.getDateEnd() == null || !dateAdded.isAfter(filter.getDateEnd()));
+
+        return categoryAccepted && dateAccepted;
+    }
+
+    private static Filter copyOf(Filter filter) {
+
+        Filter copy = new Filter();
+        copy.setCategoryId(filter.getCategoryId());
+        copy.setDateBegin(filter.getDateBegin());
+        copy.setDateEnd(filter.getDateEnd());
+
+        return copy;
+    }
+
+    /**
+     * Cached product DTOs with their expiration time
+     */
+    private static final class Entry {
+
+        private final List<ProductDTO> productDTOs;
+
+        private final long expiresAt;
+
+        private Entry(List<ProductDTO> productDTOs, long expiresAt) {
+            this.productDTOs = productDTOs;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package com.epam.course.cp.service;
+
+import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.ProductDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of {@code product Data Transfer Objects} ordered by date added
+ *
+ * <p>
+ * Products are kept in arrays sorted by date added, one array per top level
+ * category and one for all products, so products of a date interval are
+ * found by binary search without querying data source. Index is an immutable
+ * snapshot replaced by a changed copy on every write, so readers never wait.
+ * A write copies only the arrays holding changed products, inserting and
+ * removing them at positions found by binary search.
+ * Index is loaded on first use and after {@link #invalidate()}. Loading and
+ * writes are serialized, so a write made while the index is being loaded
+ * is applied to the loaded index. Writes made within a transaction
+ * are applied after it is committed.
+ * </p>
+ *
+ * <p>
+ * Index is disabled unless {@code product.index.enabled} is set. Disabled
+ * index neither loads nor keeps products and all its writes are ignored.
+ * </p>
+ *
+ * @see Filter
+ * @see ProductDTO
+ * @see ProductServiceImpl
+ * @author Maksim Martsiusheu
+ */
+@Component
+public class ProductDateIndex {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductDateIndex.class);
+
+    /**
+     * Orders products as data source does when no sort is requested
+     */
+    private static final Comparator<ProductDTO> BY_PRODUCT_ID = Comparator.comparing(ProductDTO::getProductId);
+
+    /**
+     * Orders products within an array of the index
+     */
+    private static final Comparator<IndexedProduct> BY_DATE_ADDED =
+            Comparator.comparing((IndexedProduct product) -> product.productDTO.getDateAdded())
+                    .thenComparing(product -> product.productDTO.getProductId());
+
+    /**
+     * Whether the index is used
+     */
+    private final boolean enabled;
+
+    /**
+     * Current snapshot, {@code null} until loaded, guarded by {@code this} for writes
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs index
+     *
+     * @param enabled whether the index is used
+     */
+    @Autowired
+    public ProductDateIndex(@Value("${product.index.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Tells whether the index is used
+     *
+     * @return {@code true} if the index is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Tells whether the index is loaded
+     *
+     * @return {@code true} if the index holds products
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns product DTOs that matches given filter ordered by product id,
+     * loading the index first if it is not loaded
+     *
+     * @param filter      filter to find product DTOs by
+     * @param productDTOs finds all product DTOs in data source
+     * @param parentIdOf  returns top level category id of a category with given id
+     * @return {@code List} of product DTOs copies
+     * @throws IllegalStateException if the index is disabled
+     */
+    public List<ProductDTO> find(Filter filter, Supplier<List<ProductDTO>> productDTOs,
+                                 Function<Integer, Integer> parentIdOf) {
+
+        if (!enabled) {
+            throw new IllegalStateException("Product date index is disabled");
+        }
+
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = load(productDTOs, parentIdOf);
+        }
+        return current.find(filter);
+    }
+
+    /**
+     * Returns date given product was added at as it is known to the index
+     *
+     * @param productId product id
+     * @return {@code Optional} describing date added, empty if the product is not indexed
+     */
+    public Optional<LocalDate> findDateAdded(Integer productId) {
+
+        Snapshot current = snapshot;
+        return current == null
+                ? Optional.empty()
+                : Optional.ofNullable(current.products.get(productId)).map(product -> product.productDTO.getDateAdded());
+    }
+
+    /**
+     * Loads all given product DTOs replacing products indexed before.
+     * Nothing is loaded if the index is disabled
+     *
+     * @param productDTOs finds all product DTOs in data source
+     * @param parentIdOf  returns top level category id of a category with given id
+     */
+    public void reload(Supplier<List<ProductDTO>> productDTOs, Function<Integer, Integer> parentIdOf) {
+
+        if (enabled) {
+            synchronized (this) {
+                snapshot = null;
+                load(productDTOs, parentIdOf);
+            }
+        }
+    }
+
+    /**
+     * Adds given product DTOs to the index or replaces indexed ones with them
+     *
+     * @param productDTOs product DTOs to index
+     * @param parentIdOf  returns top level category id of a category with given id
+     */
+    public void putAll(Collection<ProductDTO> productDTOs, Function<Integer, Integer> parentIdOf) {
+
+        if (productDTOs.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("putAll({} products)", productDTOs.size());
+        Map<Integer, IndexedProduct> products = new HashMap<>();
+        productDTOs.forEach(productDTO -> products.put(productDTO.getProductId(),
+                new IndexedProduct(copyOf(productDTO), parentIdOf.apply(productDTO.getCategoryId()))));
+
+        afterCommit(current -> current.with(products));
+    }
+
+    /**
+     * Changes amount of indexed product. Amount does not change order
+     * of products, so only the product is replaced in the arrays holding it
+     *
+     * @param productId product id
+     * @param amount    new amount of the product
+     */
+    public void setAmount(Integer productId, Integer amount) {
+
+        LOGGER.debug("setAmount({}, {})", productId, amount);
+        afterCommit(current -> current.withAmount(productId, amount));
+    }
+
+    /**
+     * Removes products with given ids from the index
+     *
+     * @param productIds ids of products to remove
+     */
+    public void removeAll(Collection<Integer> productIds) {
+
+        if (!productIds.isEmpty()) {
+            LOGGER.debug("removeAll({})", productIds);
+            afterCommit(current -> current.without(productIds));
+        }
+    }
+
+    /**
+     * Drops indexed products, so the index is loaded again on next use
+     */
+    public void invalidate() {
+
+        LOGGER.debug("invalidate()");
+        afterCommit(current -> null);
+    }
+
+    /**
+     * Applies given change to loaded snapshot once current transaction
+     * is committed, or at once if there is no transaction.
+     * Change of a rolled back transaction is never applied
+     */
+    private void afterCommit(UnaryOperator<Snapshot> change) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(UnaryOperator<Snapshot> change) {
+
+        if (enabled && snapshot != null) {
+            snapshot = change.apply(snapshot);
+        }
+    }
+
+    private synchronized Snapshot load(Supplier<List<ProductDTO>> productDTOs, Function<Integer, Integer> parentIdOf) {
+
+        if (snapshot == null) {
+            List<ProductDTO> loaded = productDTOs.get();
+            LOGGER.debug("load(): indexing {} products", loaded.size());
+
+            Map<Integer, IndexedProduct> products = new HashMap<>();
+            loaded.forEach(productDTO -> products.put(productDTO.getProductId(),
+                    new IndexedProduct(copyOf(productDTO), parentIdOf.apply(productDTO.getCategoryId()))));
+            snapshot = new Snapshot(products);
+        }
+        return snapshot;
+    }
+
+    private static ProductDTO copyOf(ProductDTO productDTO) {
+
+        ProductDTO copy = new ProductDTO();
+        copy.setProductId(productDTO.getProductId());
+        copy.setCategoryName(productDTO.getCategoryName());
+        copy.setSubCategoryName(productDTO.getSubCategoryName());
+        copy.setProductName(productDTO.getProductName());
+        copy.setProductAmount(productDTO.getProductAmount());
+        copy.setDateAdded(productDTO.getDateAdded());
+        copy.setCategoryId(productDTO.getCategoryId());
+
+        return copy;
+    }
+
+    /**
+     * Immutable set of indexed products
+     */
+    private static final class Snapshot {
+
+        private final Map<Integer, IndexedProduct> products;
+
+        private final DateArray allProducts;
+
+        private final Map<Integer, DateArray> productsByParentId;
+
+        private Snapshot(Map<Integer, IndexedProduct> products) {
+
+            this.products = products;
+            this.allProducts = new DateArray(products.values());
+            this.productsByParentId = products.values().stream()
+                    .collect(Collectors.groupingBy(product -> product.parentId,
+                            Collectors.collectingAndThen(Collectors.toList(), DateArray::new)));
+        }
+
+        private Snapshot(Map<Integer, IndexedProduct> products, DateArray allProducts,
+                         Map<Integer, DateArray> productsByParentId) {
+
+            this.products = products;
+            this.allProducts = allProducts;
+            this.productsByParentId = productsByParentId;
+        }
+
+        private List<ProductDTO> find(Filter filter) {
+
+            DateArray dateArray = filter.getCategoryId() == null
+                    ? allProducts
+                    : productsByParentId.get(filter.getCategoryId());
+
+            return dateArray == null
+                    ? new ArrayList<>()
+                    : dateArray.find(filter.getDateBegin(), filter.getDateEnd());
+        }
+
+        private Snapshot with(Map<Integer, IndexedProduct> changedProducts) {
+
+            Map<Integer, IndexedProduct> copy = new HashMap<>(products);
+            List<IndexedProduct> removed = new ArrayList<>();
+            changedProducts.forEach((productId, product) -> {
+                IndexedProduct replaced = copy.put(productId, product);
+                if (replaced != null) {
+                    removed.add(replaced);
+                }
+            });
+            return changed(copy, removed, changedProducts.values());
+        }
+
+        private Snapshot withAmount(Integer productId, Integer amount) {
+
+            IndexedProduct product = products.get(productId);
+            if (product == null) {
+                return this;
+            }
+
+            ProductDTO productDTO = copyOf(product.productDTO);
+            productDTO.setProductAmount(amount);
+            IndexedProduct changedProduct = new IndexedProduct(productDTO, product.parentId);
+
+            Map<Integer, IndexedProduct> copy = new HashMap<>(products);
+            copy.put(productId, changedProduct);
+            Map<Integer, DateArray> byParentId = new HashMap<>(productsByParentId);
+            byParentId.computeIfPresent(product.parentId, (parentId, dateArray) -> dateArray.with(changedProduct));
+
+            return new Snapshot(copy, allProducts.with(changedProduct), byParentId);
+        }
+
+        private Snapshot without(Collection<Integer> productIds) {
+
+            Map<Integer, IndexedProduct> copy = new HashMap<>(products);
+            List<IndexedProduct> removed = new ArrayList<>();
+            productIds.forEach(productId -> {
+                IndexedProduct product = copy.remove(productId);
+                if (product != null) {
+                    removed.add(product);
+                }
+            });
+            return removed.isEmpty() ? this : changed(copy, removed, Collections.emptyList());
+        }
+
+        /**
+         * Returns snapshot holding given products, copying only arrays
+         * of top level categories of removed or added products
+         */
+        private Snapshot changed(Map<Integer, IndexedProduct> changedProducts,
+                                 Collection<IndexedProduct> removed, Collection<IndexedProduct> added) {
+
+            Map<Integer, List<IndexedProduct>> removedByParentId = byParentId(removed);
+            Map<Integer, List<IndexedProduct>> addedByParentId = byParentId(added);
+            Set<Integer> parentIds = new HashSet<>(removedByParentId.keySet());
+            parentIds.addAll(addedByParentId.keySet());
+
+            Map<Integer, DateArray> byParentId = new HashMap<>(productsByParentId);
+            for (Integer parentId : parentIds) {
+                DateArray dateArray = byParentId.getOrDefault(parentId, DateArray.EMPTY).with(
+                        removedByParentId.getOrDefault(parentId, Collections.emptyList()),
+                        addedByParentId.getOrDefault(parentId, Collections.emptyList()));
+                if (dateArray.isEmpty()) {
+                    byParentId.remove(parentId);
+                } else {
+                    byParentId.put(parentId, dateArray);
+                }
+            }
+
+            return new Snapshot(changedProducts, allProducts.with(removed, added), byParentId);
+        }
+
+        private static Map<Integer, List<IndexedProduct>> byParentId(Collection<IndexedProduct> products) {
+
+            Map<Integer, List<IndexedProduct>> byParentId = new HashMap<>();
+            products.forEach(product ->
+                    byParentId.computeIfAbsent(product.parentId, parentId -> new ArrayList<>()).add(product));
+            return byParentId;
+        }
+    }
+
+    /**
+     * Products sorted by date added with their dates as epoch days
+     */
+    private static final class DateArray {
+
+        private static final DateArray EMPTY = new DateArray(new ProductDTO[0], new long[0]);
+
+        private final ProductDTO[] productDTOs;
+
+        private final long[] epochDays;
+
+        private DateArray(ProductDTO[] productDTOs, long[] epochDays) {
+            this.productDTOs = productDTOs;
+            this.epochDays = epochDays;
+        }
+
+        private DateArray(Collection<IndexedProduct> products) {
+
+            List<IndexedProduct> sorted = new ArrayList<>(products);
+            sorted.sort(BY_DATE_ADDED);
+
+            this.productDTOs = new ProductDTO[sorted.size()];
+            this.epochDays = new long[sorted.size()];
+            for (int i = 0; i < productDTOs.length; i++) {
+                productDTOs[i] = sorted.get(i).productDTO;
+                epochDays[i] = productDTOs[i].getDateAdded().toEpochDay();
+            }
+        }
+
+        /**
+         * Returns copies of products added within given dates inclusive,
+         * {@code null} date leaves the interval open
+         */
+        private List<ProductDTO> find(LocalDate dateBegin, LocalDate dateEnd) {
+
+            int from = dateBegin == null ? 0 : firstNotBefore(dateBegin.toEpochDay());
+            int to = dateEnd == null ? epochDays.length : firstNotBefore(dateEnd.toEpochDay() + 1);
+
+            List<ProductDTO> found = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                found.add(copyOf(productDTOs[i]));
+            }
+            found.sort(BY_PRODUCT_ID);
+            return found;
+        }
+
+        /**
+         * Returns copy of the array with given product replacing the one
+         * with the same id and date added
+         */
+        private DateArray with(IndexedProduct product) {
+
+            ProductDTO[] copy = productDTOs.clone();
+            long epochDay = product.productDTO.getDateAdded().toEpochDay();
+            for (int i = firstNotBefore(epochDay); i < copy.length && epochDays[i] == epochDay; i++) {
+                if (copy[i].getProductId().equals(product.productDTO.getProductId())) {
+                    copy[i] = product.productDTO;
+                    break;
+                }
+            }
+            return new DateArray(copy, epochDays);
+        }
+
+        private boolean isEmpty() {
+            return productDTOs.length == 0;
+        }
+
+        /**
+         * Returns copy of the array without removed products and with added ones.
+         * Removed products are found and added ones are merged in by their
+         * position in date order, so products kept are not sorted again
+         */
+        private DateArray with(Collection<IndexedProduct> removed, Collection<IndexedProduct> added) {
+
+            int[] removedAt = removed.stream()
+                    .mapToInt(this::indexOf)
+                    .filter(index -> index >= 0)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            IndexedProduct[] sortedAdded = added.toArray(new IndexedProduct[0]);
+            Arrays.sort(sortedAdded, BY_DATE_ADDED);
+
+            int size = productDTOs.length - removedAt.length + sortedAdded.length;
+            ProductDTO[] mergedProductDTOs = new ProductDTO[size];
+            long[] mergedEpochDays = new long[size];
+
+            int kept = 0;
+            int nextRemoved = 0;
+            int nextAdded = 0;
+            for (int i = 0; i < size; i++) {
+                while (nextRemoved < removedAt.length && removedAt[nextRemoved] == kept) {
+                    nextRemoved++;
+                    kept++;
+                }
+                if (nextAdded < sortedAdded.length && (kept == productDTOs.length
+                        || compare(sortedAdded[nextAdded].productDTO, kept) < 0)) {
+                    mergedProductDTOs[i] = sortedAdded[nextAdded++].productDTO;
+                    mergedEpochDays[i] = mergedProductDTOs[i].getDateAdded().toEpochDay();
+                } else {
+                    mergedProductDTOs[i] = productDTOs[kept];
+                    mergedEpochDays[i] = epochDays[kept++];
+                }
+            }
+            return new DateArray(mergedProductDTOs, mergedEpochDays);
+        }
+
+        /**
+         * Returns position of given product in the array or {@code -1} if it is absent
+         */
+        private int indexOf(IndexedProduct product) {
+
+            int low = 0;
+            int high = productDTOs.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(product.productDTO, middle) > 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low < productDTOs.length && compare(product.productDTO, low) == 0 ? low : -1;
+        }
+
+        /**
+         * Compares given product to the one at given position by date added and then by id
+         */
+        private int compare(ProductDTO productDTO, int index) {
+
+            int byDate = Long.compare(productDTO.getDateAdded().toEpochDay(), epochDays[index]);
+            return byDate != 0 ? byDate : productDTO.getProductId().compareTo(productDTOs[index].getProductId());
+        }
+
+        private int firstNotBefore(long epochDay) {
+
+            int low = 0;
+            int high = epochDays.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (epochDays[middle] < epochDay) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Product DTO with id of its top level category
+     */
+    private static final class IndexedProduct {
+
+        private final ProductDTO productDTO;
+
+        private final Integer parentId;
+
+        private IndexedProduct(ProductDTO productDTO, Integer parentId) {
+            this.productDTO = productDTO;
+            this.parentId = parentId;
+        }
+    }
+}
@@ -1,47 +1,118 @@
 package com.epam.course.cp.service;
 
+import com.epam.course.cp.dao.ProductCriteria;
 import com.epam.course.cp.dao.ProductDao;
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
+import com.epam.course.cp.model.Category;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Implementation of {@code CategoryService} interface
  *
+ * <p>
+ * Product DTOs found by filter are kept in {@code ProductDTOFilterCache}.
+ * Every change made through this service invalidates cached results
+ * it may change. Changes made to data source bypassing this service
+ * are seen when cached results expire.
+ * </p>
+ *
+ * <p>
+ * When {@code ProductDateIndex} is enabled, product DTOs found by filter
+ * are read from the index instead, which is loaded on startup and kept
+ * in sync with every change made through this service.
+ * </p>
+ *
  * @see Product
  * @see ProductDTO
  * @see ProductDao
+ * @see ProductDTOFilterCache
+ * @see ProductDateIndex
  */
 @Service
-public class ProductServiceImpl implements ProductService {
+public class ProductServiceImpl implements ProductService, SmartInitializingSingleton {
 
     /**
      * Default logger for that class
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    /**
+     * Maximum amount of items in a single page
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
     /**
      * Data access layer object to execute task to data source
      */
     private final ProductDao productDao;
 
+    /**
+     * Service to find top level categories of written products
+     */
+    private final CategoryService categoryService;
+
+    /**
+     * Cache of product DTOs found by filter
+     */
+    private final ProductDTOFilterCache productDTOFilterCache;
+
+    /**
+     * In-memory index of product DTOs ordered by date added
+     */
+    private final ProductDateIndex productDateIndex;
+
     /**
      * Constructs new object with given data access layer object
      *
-     * @param productDao product data access layer object
+     * @param productDao            product data access layer object
+     * @param categoryService       category service to find top level categories by
+     * @param productDTOFilterCache cache of product DTOs found by filter
+     * @param productDateIndex      index of product DTOs ordered by date added
      */
     @Autowired
-    public ProductServiceImpl(ProductDao productDao) {
+    public ProductServiceImpl(ProductDao productDao, CategoryService categoryService,
+                              ProductDTOFilterCache productDTOFilterCache, ProductDateIndex productDateIndex) {
+
         this.productDao = productDao;
+        this.categoryService = categoryService;
+        this.productDTOFilterCache = productDTOFilterCache;
+        this.productDateIndex = productDateIndex;
+    }
+
+    /**
+     * Loads product date index if it is enabled. Failure to load is logged
+     * and the index is loaded again on first use
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        if (productDateIndex.isEnabled()) {
+            try {
+                productDateIndex.reload(this::findAllProductDTOs, this::findParentId);
+            } catch (DataAccessException ex) {
+                LOGGER.warn("Failed to load product date index on startup", ex);
+            }
+        }
     }
 
     /**
@@ -53,7 +124,9 @@ public class ProductServiceImpl implements ProductService {
     public List<Product> findAll() {
 
         LOGGER.debug("findAll()");
-        return productDao.findAll().collect(Collectors.toList());
+        try (Stream<Product> products = productDao.findAll()) {
+            return products.collect(Collectors.toList());
+        }
     }
 
     /**
@@ -70,6 +143,25 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new RuntimeException("Failed to get product from DB"));
     }
 
+    /**
+     * Returns a {@code product} with given id together with
+     * sub categories it may belong to, read within a single transaction
+     *
+     * @param productId id of a {@code product} to find by
+     * @return {@code ProductEditorView} of the product
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductEditorView findProductEditorView(Integer productId) {
+
+        LOGGER.debug("findProductEditorView({})", productId);
+
+        ProductEditorView view = new ProductEditorView();
+        view.setProduct(findById(productId));
+        view.setCategories(categoryService.findAllSubCategories());
+        return view;
+    }
+
     /**
      * Returns all {@code product Data Transfer Objects} found
      *
@@ -79,7 +171,45 @@ public class ProductServiceImpl implements ProductService {
     public List<ProductDTO> findAllProductDTOs() {
 
         LOGGER.debug("findAllProductDTOs()");
-        return productDao.findAllProductDTOs().collect(Collectors.toList());
+        try (Stream<ProductDTO> productDTOs = productDao.findProductDTOs(new ProductCriteria())) {
+            return productDTOs.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Performs given action for every {@code product Data Transfer Object}
+     * while they are read from data source, so only the current one is kept in memory
+     *
+     * @param action action performed for every product DTO
+     */
+    @Override
+    public void forEachProductDTO(Consumer<? super ProductDTO> action) {
+
+        LOGGER.debug("forEachProductDTO()");
+        exportProductDTOs(null, null, action);
+    }
+
+    /**
+     * Performs given action for every {@code product Data Transfer Object}
+     * added since given date and having id greater than given one, in order
+     * of product id, while they are read from data source
+     *
+     * @param since          first date products are added at, {@code null} for all dates
+     * @param afterProductId id of the last product already exported, {@code null} to start from the first one
+     * @param action         action performed for every product DTO
+     */
+    @Override
+    public void exportProductDTOs(LocalDate since, Integer afterProductId, Consumer<? super ProductDTO> action) {
+
+        LOGGER.debug("exportProductDTOs({}, {})", since, afterProductId);
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setDateBegin(since);
+        criteria.setAfterProductId(afterProductId);
+
+        try (Stream<ProductDTO> productDTOs = productDao.findProductDTOs(criteria)) {
+            productDTOs.forEach(action);
+        }
     }
 
     /**
@@ -93,31 +223,92 @@ public class ProductServiceImpl implements ProductService {
     public List<ProductDTO> findProductDTOsByCategoryId(Integer categoryId) {
 
         LOGGER.debug("findProductDTOsByCategoryId({})", categoryId);
-        return productDao.findProductDTOsByCategoryId(categoryId).collect(Collectors.toList());
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setCategoryId(categoryId);
+
+        try (Stream<ProductDTO> productDTOs = productDao.findProductDTOs(criteria)) {
+            return productDTOs.collect(Collectors.toList());
+        }
     }
 
     /**
      * Returns all {@code product Data Transfer Objects} that
-     * matches given filter
+     * matches given filter, served from date index or cache when possible
      *
      * @param filter filter to find {@code product Data Transfer Objects}s by
-     * @return {@code List} of a {@code product Data Transfer Objects}s
+     * @return {@code List} of a {@code product Data Transfer Objects}s, unmodifiable if served from cache
      */
     @Override
     public List<ProductDTO> findProductDTOsByFilter(Filter filter) {
 
         LOGGER.debug("findProductDTOsByFilter({})", filter);
 
-        Stream<ProductDTO> productDTOs;
-
-        if(filter.getCategoryId() == null) {
-            productDTOs = productDao.findProductDTOsFromDateInterval(filter.getDateBegin(), filter.getDateEnd());
-        } else {
-            productDTOs = productDao
-                    .findProductDTOsByMixedFilter(filter.getDateBegin(), filter.getDateEnd(), filter.getCategoryId());
+        if (productDateIndex.isEnabled()) {
+            return productDateIndex.find(filter, this::findAllProductDTOs, this::findParentId);
         }
 
-        return productDTOs.collect(Collectors.toList());
+        return productDTOFilterCache.get(filter, () -> {
+            try (Stream<ProductDTO> productDTOs = productDao.findProductDTOs(toCriteria(filter))) {
+                return productDTOs.collect(Collectors.toList());
+            }
+        });
+    }
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} that matches given filter
+     * together with top level categories, read within a single transaction
+     *
+     * @param filter filter to find {@code product Data Transfer Objects}s by
+     * @param afterProductId cursor of the page, {@code null} to get the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code ProductListView} of the filter
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductListView findProductListView(Filter filter, Integer afterProductId, Integer limit) {
+
+        LOGGER.debug("findProductListView({}, {}, {})", filter, afterProductId, limit);
+
+        Page<ProductDTO> page = findProductDTOPage(toCriteria(filter), afterProductId, limit);
+
+        ProductListView view = new ProductListView();
+        view.setCategories(categoryService.findAllPossibleParents());
+        view.setProducts(page.getItems());
+        view.setNextCursor(page.getNextCursor());
+        return view;
+    }
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} ordered by product id
+     *
+     * @param afterProductId cursor of the page, {@code null} to get the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code Page} of a {@code product Data Transfer Objects}s
+     */
+    @Override
+    public Page<ProductDTO> findProductDTOPage(Integer afterProductId, Integer limit) {
+
+        LOGGER.debug("findProductDTOPage({}, {})", afterProductId, limit);
+
+        return findProductDTOPage(new ProductCriteria(), afterProductId, limit);
+    }
+
+    /**
+     * Returns a page of {@code product Data Transfer Objects} that
+     * matches given filter ordered by product id
+     *
+     * @param filter filter to find {@code product Data Transfer Objects}s by
+     * @param afterProductId cursor of the page, {@code null} to get the first page
+     * @param limit maximum amount of {@code product Data Transfer Objects} in the page
+     * @return {@code Page} of a {@code product Data Transfer Objects}s
+     */
+    @Override
+    public Page<ProductDTO> findProductDTOPageByFilter(Filter filter, Integer afterProductId, Integer limit) {
+
+        LOGGER.debug("findProductDTOPageByFilter({}, {}, {})", filter, afterProductId, limit);
+
+        return findProductDTOPage(toCriteria(filter), afterProductId, limit);
     }
 
     /**
@@ -133,8 +324,12 @@ public class ProductServiceImpl implements ProductService {
 
         product.setDateAdded(LocalDate.now());
 
-        return productDao.add(product)
+        Product savedProduct = productDao.add(product)
                 .orElseThrow(() -> new RuntimeException("Failed to add product to DB"));
+        invalidateAdded(savedProduct);
+        indexWritten(Collections.singletonList(savedProduct));
+
+        return savedProduct;
     }
 
     /**
@@ -147,6 +342,87 @@ public class ProductServiceImpl implements ProductService {
 
         LOGGER.debug("update({})", product);
         productDao.update(product);
+        invalidateUpdated(product);
+        indexWritten(Collections.singletonList(product));
+    }
+
+    /**
+     * Adds given signed delta to amount of existing {@code product}.
+     * Amount does not change which filters accept the product,
+     * so only cached results holding it are invalidated
+     *
+     * @param productId product id to change amount of
+     * @param delta     signed change of product amount
+     * @return new amount of the {@code product}
+     * @throws IllegalArgumentException if delta is {@code null}
+     */
+    @Override
+    public Integer adjustAmount(Integer productId, Integer delta) {
+
+        LOGGER.debug("adjustAmount({}, {})", productId, delta);
+
+        if (delta == null) {
+            throw new IllegalArgumentException("Amount delta must not be null");
+        }
+
+        Integer amount = productDao.adjustAmount(productId, delta).getProductAmount();
+        productDTOFilterCache.invalidateProduct(productId);
+        productDateIndex.setAmount(productId, amount);
+        return amount;
+    }
+
+    /**
+     * Saves all given {@code products} to a storage within a single transaction
+     *
+     * @param products {@code products} to be saved
+     * @return {@code List} of a results for every {@code product} in the same order
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResult> addAll(List<Product> products) {
+
+        LOGGER.debug("addAll({} products)", products.size());
+
+        List<Product> savedProducts = productDao.addAll(products);
+        savedProducts.forEach(this::invalidateAdded);
+        indexWritten(savedProducts);
+
+        List<BatchItemResult> results = new ArrayList<>(savedProducts.size());
+        for (int i = 0; i < savedProducts.size(); i++) {
+            results.add(new BatchItemResult(i, savedProducts.get(i).getProductId(), BatchItemResult.Status.CREATED));
+        }
+        return results;
+    }
+
+    /**
+     * Updates already existing {@code products} by new ones within a single transaction
+     *
+     * @param products {@code products} to update older ones
+     * @return {@code List} of a results for every {@code product} in the same order
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResult> updateAll(List<Product> products) {
+
+        LOGGER.debug("updateAll({} products)", products.size());
+
+        int[] rowsUpdated = productDao.updateAll(products);
+        products.forEach(this::invalidateUpdated);
+
+        List<Product> updatedProducts = new ArrayList<>(rowsUpdated.length);
+        List<BatchItemResult> results = new ArrayList<>(rowsUpdated.length);
+        for (int i = 0; i < rowsUpdated.length; i++) {
+            BatchItemResult.Status status = rowsUpdated[i] == 0
+                    ? BatchItemResult.Status.NOT_FOUND
+                    : BatchItemResult.Status.UPDATED;
+            results.add(new BatchItemResult(i, products.get(i).getProductId(), status));
+            if (rowsUpdated[i] != 0) {
+                updatedProducts.add(products.get(i));
+            }
+        }
+        indexWritten(updatedProducts);
+
+        return results;
     }
 
     /**
@@ -159,5 +435,138 @@ public class ProductServiceImpl implements ProductService {
 
         LOGGER.debug("delete({})", productId);
         productDao.delete(productId);
+        productDTOFilterCache.invalidateProduct(productId);
+        productDateIndex.removeAll(Collections.singleton(productId));
+    }
+
+    private Page<ProductDTO> findProductDTOPage(ProductCriteria criteria, Integer afterProductId, Integer limit) {
+
+        int pageSize = normalizePageSize(limit);
+        criteria.setAfterProductId(afterProductId);
+        criteria.setLimit(pageSize + 1);
+
+        return toPage(productDao.findProductDTOs(criteria), pageSize);
+    }
+
+    private void invalidateAdded(Product product) {
+        productDTOFilterCache.invalidateMatching(findParentCategoryId(product.getCategoryId()), product.getDateAdded());
+    }
+
+    /**
+     * Invalidates cached results that held the product or may hold it now.
+     * Update does not change date the product was added, which is not known
+     * here, so results are invalidated regardless of their dates
+     */
+    private void invalidateUpdated(Product product) {
+
+        productDTOFilterCache.invalidateProduct(product.getProductId());
+        productDTOFilterCache.invalidateMatching(findParentCategoryId(product.getCategoryId()), null);
+    }
+
+    /**
+     * Returns top level category of given category,
+     * {@code null} if it is unknown, so results of all categories are invalidated
+     */
+    private Integer findParentCategoryId(Integer categoryId) {
+
+        try {
+            Category category = categoryService.findById(categoryId);
+            return category == null ? null : category.getParentId();
+        } catch (DataAccessException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Puts written products into date index as denormalized product view
+     * shows them. Products of top level categories are not shown there, so
+     * they are removed. Date added is not changed by updates, so the indexed
+     * one is kept. Index is loaded again if a product can not be described
+     */
+    private void indexWritten(List<Product> products) {
+
+        if (!productDateIndex.isEnabled() || products.isEmpty()) {
+            return;
+        }
+
+        List<ProductDTO> productDTOs = new ArrayList<>(products.size());
+        List<Integer> hiddenProductIds = new ArrayList<>();
+        try {
+            for (Product product : products) {
+                Category category = categoryService.findById(product.getCategoryId());
+                LocalDate dateAdded = productDateIndex.findDateAdded(product.getProductId())
+                        .orElse(product.getDateAdded());
+
+                if (category.getParentId() == null || category.getParentId() == 0) {
+                    hiddenProductIds.add(product.getProductId());
+                } else if (dateAdded == null) {
+                    productDateIndex.invalidate();
+                    return;
+                } else {
+                    productDTOs.add(toProductDTO(product, dateAdded, category,
+                            categoryService.findById(category.getParentId())));
+                }
+            }
+        } catch (DataAccessException ex) {
+            productDateIndex.invalidate();
+            return;
+        }
+
+        productDateIndex.removeAll(hiddenProductIds);
+        productDateIndex.putAll(productDTOs, this::findParentId);
+    }
+
+    /**
+     * Returns top level category of given category, failing if it is unknown
+     */
+    private Integer findParentId(Integer categoryId) {
+        return categoryService.findById(categoryId).getParentId();
+    }
+
+    private ProductDTO toProductDTO(Product product, LocalDate dateAdded, Category category, Category parent) {
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(product.getProductId());
+        productDTO.setProductName(product.getProductName());
+        productDTO.setProductAmount(product.getProductAmount());
+        productDTO.setDateAdded(dateAdded);
+        productDTO.setCategoryId(category.getCategoryId());
+        productDTO.setSubCategoryName(category.getCategoryName());
+        productDTO.setCategoryName(parent.getCategoryName());
+
+        return productDTO;
+    }
+
+    private ProductCriteria toCriteria(Filter filter) {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setCategoryId(filter.getCategoryId());
+        criteria.setDateBegin(filter.getDateBegin());
+        criteria.setDateEnd(filter.getDateEnd());
+
+        return criteria;
+    }
+
+    private int normalizePageSize(Integer limit) {
+        return limit == null ? MAX_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Collects page from a stream holding one extra item
+     * which tells whether the next page exists
+     */
+    private Page<ProductDTO> toPage(Stream<ProductDTO> productDTOs, int pageSize) {
+
+        List<ProductDTO> items;
+        try (Stream<ProductDTO> closeable = productDTOs) {
+            items = closeable.collect(Collectors.toList());
+        }
+
+        if (items.size() <= pageSize) {
+            return new Page<>(items, null);
+        }
+
+        items = new ArrayList<>(items.subList(0, pageSize));
+        return new Page<>(items, items.get(pageSize - 1).getProductId());
     }
 }
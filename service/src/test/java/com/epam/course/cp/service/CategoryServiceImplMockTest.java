@@ -2,6 +2,7 @@ package com.epam.course.cp.service;
 
 import com.epam.course.cp.dao.CategoryDao;
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -11,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.EmptyResultDataAccessException;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +32,7 @@ class CategoryServiceImplMockTest {
 
     private static final Integer FIRST_CATEGORY_ID = 1;
     private static final Integer SECOND_CATEGORY_ID = 2;
+    private static final Integer THIRD_CATEGORY_ID = 3;
     private static final Integer WRONG_CATEGORY_ID = Integer.MAX_VALUE;
 
     private static final Integer CATEGORY_DTOS_AMOUNT = 2;
@@ -41,6 +44,7 @@ class CategoryServiceImplMockTest {
     private static Category FIRST_CATEGORY;
     private static Category SECOND_CATEGORY;
     private static Category PARENT_CATEGORY;
+    private static Category THIRD_CATEGORY;
 
     private static CategoryDTO FIRST_CATEGORY_DTO;
     private static CategoryDTO SECOND_CATEGORY_DTO;
@@ -48,6 +52,12 @@ class CategoryServiceImplMockTest {
     @Mock
     private CategoryDao categoryDao;
 
+    @Mock
+    private ProductDTOFilterCache productDTOFilterCache;
+
+    @Mock
+    private ProductDateIndex productDateIndex;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -62,29 +72,56 @@ class CategoryServiceImplMockTest {
 
         PARENT_CATEGORY = createCategory(FIRST_CATEGORY_ID);
         PARENT_CATEGORY.setParentId(0);
+
+        THIRD_CATEGORY = createCategory(THIRD_CATEGORY_ID);
+        THIRD_CATEGORY.setParentId(0);
     }
 
     @Test
     void shouldFindCategoryById() {
 
-        Mockito.when(categoryDao.findById(any())).thenReturn(Optional.of(FIRST_CATEGORY));
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(FIRST_CATEGORY, SECOND_CATEGORY));
 
         Category category = categoryService.findById(FIRST_CATEGORY_ID);
         assertNotNull(category);
         assertEquals(FIRST_CATEGORY_ID, category.getCategoryId());
 
-        Mockito.verify(categoryDao, Mockito.times(ONCE)).findById(anyInt());
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
     }
 
     @Test
     void shouldGetExceptionByWrongId() {
 
-        Mockito.when(categoryDao.findById(anyInt())).thenReturn(Optional.empty());
-        assertThrows(RuntimeException.class, () -> {
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(FIRST_CATEGORY, SECOND_CATEGORY));
+        assertThrows(EmptyResultDataAccessException.class, () -> {
             categoryService.findById(WRONG_CATEGORY_ID);
         });
 
-        Mockito.verify(categoryDao, Mockito.times(ONCE)).findById(anyInt());
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
+    }
+
+    @Test
+    void shouldLoadCategoriesOnlyOnce() {
+
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, SECOND_CATEGORY));
+
+        categoryService.findById(FIRST_CATEGORY_ID);
+        categoryService.findAllSubCategories();
+        categoryService.findAllPossibleParents();
+        categoryService.findAllPossibleParentsForId(SECOND_CATEGORY_ID);
+
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
+    }
+
+    @Test
+    void shouldNotExposeCachedCategory() {
+
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(FIRST_CATEGORY));
+
+        categoryService.findById(FIRST_CATEGORY_ID).setCategoryName(CATEGORY_NAME);
+        assertEquals(FIRST_CATEGORY.getCategoryName(), categoryService.findById(FIRST_CATEGORY_ID).getCategoryName());
+
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
     }
 
     @Test
@@ -130,13 +167,13 @@ class CategoryServiceImplMockTest {
     @Test
     void shouldFindAllSubCategories() {
 
-        Mockito.when(categoryDao.findAllSubCategories()).thenReturn(Stream.of(FIRST_CATEGORY, SECOND_CATEGORY));
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, FIRST_CATEGORY, SECOND_CATEGORY));
 
         List<Category> categoryDTOs = categoryService.findAllSubCategories();
         assertNotNull(categoryDTOs);
         assertTrue(CATEGORY_AMOUNT == categoryDTOs.size());
 
-        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAllSubCategories();
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
     }
 
     @Test
@@ -152,6 +189,8 @@ class CategoryServiceImplMockTest {
 
         categoryService.update(any(Category.class));
         Mockito.verify(categoryDao, Mockito.times(ONCE)).update(any());
+        Mockito.verify(productDTOFilterCache, Mockito.times(ONCE)).invalidateAll();
+        Mockito.verify(productDateIndex, Mockito.times(ONCE)).invalidate();
     }
 
     @Test
@@ -161,32 +200,86 @@ class CategoryServiceImplMockTest {
         Mockito.verify(categoryDao, Mockito.times(ONCE)).delete(anyInt());
     }
 
+    @Test
+    void shouldChangeLoadedCategoriesWithoutReloading() {
+
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, SECOND_CATEGORY));
+        Mockito.when(categoryDao.add(any())).thenReturn(Optional.of(THIRD_CATEGORY));
+        categoryService.findAllPossibleParents();
+
+        categoryService.add(THIRD_CATEGORY);
+        assertEquals(THIRD_CATEGORY.getCategoryName(), categoryService.findById(THIRD_CATEGORY_ID).getCategoryName());
+        assertTrue(CATEGORY_AMOUNT == categoryService.findAllPossibleParents().size());
+
+        Category movedCategory = createCategory(SECOND_CATEGORY_ID);
+        movedCategory.setParentId(null);
+        categoryService.update(movedCategory);
+        assertTrue(categoryService.findAllSubCategories().isEmpty());
+        assertTrue(CATEGORY_AMOUNT + 1 == categoryService.findAllPossibleParents().size());
+
+        categoryService.delete(THIRD_CATEGORY_ID);
+        assertThrows(EmptyResultDataAccessException.class, () -> categoryService.findById(THIRD_CATEGORY_ID));
+
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).add(THIRD_CATEGORY);
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).update(movedCategory);
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).delete(THIRD_CATEGORY_ID);
+    }
+
     @Test
     void shouldFindAllPossibleParents() {
 
-        Mockito.when(categoryDao.findAllPossibleParents()).thenReturn(Stream.of(FIRST_CATEGORY, SECOND_CATEGORY));
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, SECOND_CATEGORY, THIRD_CATEGORY));
 
         List<Category> categories = categoryService.findAllPossibleParents();
 
         assertNotNull(categories);
         assertTrue(CATEGORY_AMOUNT == categories.size());
 
-        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAllPossibleParents();
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
     }
 
     @Test
     void shouldFindAllPossibleParentsForIdWithEmptyResult() {
 
-        Mockito.when(categoryDao.findById(any())).thenReturn(Optional.of(PARENT_CATEGORY));
-        Mockito.when(categoryDao.findSubCategoryDTOsByCategoryId(any())).thenReturn(Stream.of(SECOND_CATEGORY_DTO));
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, SECOND_CATEGORY));
 
         List<Category> categories = categoryService.findAllPossibleParentsForId(1);
 
         assertNotNull(categories);
         assertTrue(categories.isEmpty());
 
-        Mockito.verify(categoryDao, Mockito.times(ONCE)).findById(any());
-        Mockito.verify(categoryDao, Mockito.times(ONCE)).findSubCategoryDTOsByCategoryId(any());
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
+    }
+
+    @Test
+    void shouldFindAllPossibleParentsForIdExceptItself() {
+
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, SECOND_CATEGORY, THIRD_CATEGORY));
+
+        List<Category> categories = categoryService.findAllPossibleParentsForId(THIRD_CATEGORY_ID);
+
+        assertEquals(1, categories.size());
+        assertEquals(FIRST_CATEGORY_ID, categories.get(0).getCategoryId());
+
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
+    }
+
+    @Test
+    void shouldFindCategoryEditorView() {
+
+        Mockito.when(categoryDao.findAll()).thenReturn(Stream.of(PARENT_CATEGORY, SECOND_CATEGORY, THIRD_CATEGORY));
+        Mockito.when(categoryDao.findCategoryDTOById(THIRD_CATEGORY_ID)).thenReturn(Optional.of(SECOND_CATEGORY_DTO));
+
+        CategoryEditorView view = categoryService.findCategoryEditorView(THIRD_CATEGORY_ID);
+
+        assertEquals(THIRD_CATEGORY_ID, view.getCategory().getCategoryId());
+        assertEquals(CATEGORY_DTO_PRODUCT_AMOUNT, view.getProductsAmount());
+        assertEquals(1, view.getParentCategories().size());
+        assertEquals(FIRST_CATEGORY_ID, view.getParentCategories().get(0).getCategoryId());
+
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findAll();
+        Mockito.verify(categoryDao, Mockito.times(ONCE)).findCategoryDTOById(THIRD_CATEGORY_ID);
     }
 
     @AfterEach
@@ -0,0 +1,183 @@
+package com.epam.course.cp.service;
+
+import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.response.CacheMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDTOFilterCacheTest {
+
+    private static final int MAX_SIZE = 2;
+    private static final long TTL_SECONDS = 60;
+
+    private static final Integer PRODUCT_ID = 1;
+    private static final Integer CATEGORY_ID = 1;
+    private static final Integer OTHER_CATEGORY_ID = 2;
+    private static final LocalDate DATE_BEGIN = LocalDate.of(2018, 1, 1);
+    private static final LocalDate DATE_END = LocalDate.of(2018, 12, 31);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ProductDTOFilterCache cache = new ProductDTOFilterCache(MAX_SIZE, TTL_SECONDS, now::get);
+
+    @Test
+    void shouldLoadEqualFiltersOnce() {
+
+        cache.get(createFilter(CATEGORY_ID, DATE_BEGIN, DATE_END), this::load);
+        List<ProductDTO> productDTOs = cache.get(createFilter(CATEGORY_ID, DATE_BEGIN, DATE_END), this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(PRODUCT_ID, productDTOs.get(0).getProductId());
+        assertThrows(UnsupportedOperationException.class, () -> productDTOs.add(new ProductDTO()));
+    }
+
+    @Test
+    void shouldNotChangeEntryWhenFilterIsChanged() {
+
+        Filter filter = createFilter(CATEGORY_ID, DATE_BEGIN, DATE_END);
+        cache.get(filter, this::load);
+        filter.setCategoryId(OTHER_CATEGORY_ID);
+
+        cache.get(createFilter(CATEGORY_ID, DATE_BEGIN, DATE_END), this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+
+        Filter first = createFilter(CATEGORY_ID, null, null);
+        Filter second = createFilter(OTHER_CATEGORY_ID, null, null);
+        Filter third = createFilter(null, DATE_BEGIN, null);
+
+        cache.get(first, this::load);
+        cache.get(second, this::load);
+        cache.get(first, this::load);
+        cache.get(third, this::load);
+
+        cache.get(first, this::load);
+        assertEquals(3, loads.get());
+        cache.get(second, this::load);
+        assertEquals(4, loads.get());
+
+        assertEquals(2, cache.getCacheMetrics().getEvictions());
+    }
+
+    @Test
+    void shouldExpireEntries() {
+
+        Filter filter = createFilter(CATEGORY_ID, null, null);
+        cache.get(filter, this::load);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+        cache.get(filter, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getCacheMetrics().getExpirations());
+    }
+
+    @Test
+    void shouldInvalidateOnlyMatchingEntries() {
+
+        Filter matching = createFilter(CATEGORY_ID, DATE_BEGIN, DATE_END);
+        Filter otherCategory = createFilter(OTHER_CATEGORY_ID, DATE_BEGIN, DATE_END);
+        cache.get(matching, Collections::emptyList);
+        cache.get(otherCategory, Collections::emptyList);
+
+        cache.invalidateMatching(CATEGORY_ID, DATE_END.plusDays(1));
+        assertEquals(2, cache.getCacheMetrics().getSize());
+
+        cache.invalidateMatching(CATEGORY_ID, DATE_END);
+        assertEquals(1, cache.getCacheMetrics().getSize());
+
+        cache.invalidateMatching(null, null);
+        assertEquals(0, cache.getCacheMetrics().getSize());
+        assertEquals(2, cache.getCacheMetrics().getInvalidations());
+    }
+
+    @Test
+    void shouldInvalidateEntriesHoldingProduct() {
+
+        cache.get(createFilter(CATEGORY_ID, null, null), this::load);
+        cache.get(createFilter(OTHER_CATEGORY_ID, null, null), Collections::emptyList);
+
+        cache.invalidateProduct(PRODUCT_ID);
+
+        assertEquals(1, cache.getCacheMetrics().getSize());
+        cache.get(createFilter(CATEGORY_ID, null, null), this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheResultLoadedDuringInvalidation() {
+
+        Filter filter = createFilter(CATEGORY_ID, null, null);
+        cache.get(filter, () -> {
+            cache.invalidateAll();
+            return load();
+        });
+        cache.get(filter, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+
+        ProductDTOFilterCache disabledCache = new ProductDTOFilterCache(0, TTL_SECONDS, now::get);
+        Filter filter = createFilter(CATEGORY_ID, null, null);
+
+        disabledCache.get(filter, this::load);
+        disabledCache.get(filter, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabledCache.getCacheMetrics().getSize());
+    }
+
+    @Test
+    void shouldCountHitRatio() {
+
+        Filter filter = createFilter(CATEGORY_ID, null, null);
+        Supplier<List<ProductDTO>> loader = this::load;
+        for (int i = 0; i < 4; i++) {
+            cache.get(filter, loader);
+        }
+
+        CacheMetrics metrics = cache.getCacheMetrics();
+        assertEquals(3, metrics.getHits());
+        assertEquals(1, metrics.getMisses());
+        assertEquals(0.75, metrics.getHitRatio());
+        assertEquals(MAX_SIZE, metrics.getMaxSize());
+        assertEquals(TTL_SECONDS, metrics.getTtlSeconds());
+    }
+
+    private List<ProductDTO> load() {
+
+        loads.incrementAndGet();
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(PRODUCT_ID);
+        return Collections.singletonList(productDTO);
+    }
+
+    private static Filter createFilter(Integer categoryId, LocalDate dateBegin, LocalDate dateEnd) {
+
+        Filter filter = new Filter();
+        filter.setCategoryId(categoryId);
+        filter.setDateBegin(dateBegin);
+        filter.setDateEnd(dateEnd);
+        return filter;
+    }
+}
@@ -0,0 +1,193 @@
+package com.epam.course.cp.service;
+
+import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDateIndexTest {
+
+    private static final Integer PARENT_CATEGORY_ID = 1;
+    private static final Integer OTHER_PARENT_CATEGORY_ID = 2;
+    private static final Integer CATEGORY_ID = 5;
+    private static final Integer OTHER_CATEGORY_ID = 7;
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2018, 1, 1);
+    private static final LocalDate SECOND_DATE = LocalDate.of(2018, 6, 1);
+    private static final LocalDate THIRD_DATE = LocalDate.of(2018, 12, 31);
+
+    private static final Function<Integer, Integer> PARENT_ID_OF =
+            categoryId -> CATEGORY_ID.equals(categoryId) ? PARENT_CATEGORY_ID : OTHER_PARENT_CATEGORY_ID;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ProductDateIndex index = new ProductDateIndex(true);
+
+    @Test
+    void shouldFindProductsWithinInclusiveDatesOrderedById() {
+
+        List<ProductDTO> productDTOs = find(createFilter(null, SECOND_DATE, THIRD_DATE));
+
+        assertEquals(Arrays.asList(2, 3, 4), idsOf(productDTOs));
+        assertEquals(Arrays.asList(1, 2, 3, 4), idsOf(find(createFilter(null, null, null))));
+        assertEquals(Collections.singletonList(1), idsOf(find(createFilter(null, null, FIRST_DATE))));
+        assertTrue(find(createFilter(null, THIRD_DATE.plusDays(1), null)).isEmpty());
+        assertTrue(find(createFilter(null, SECOND_DATE.plusDays(1), THIRD_DATE.minusDays(1))).isEmpty());
+    }
+
+    @Test
+    void shouldFindProductsOfTopLevelCategory() {
+
+        assertEquals(Arrays.asList(1, 4), idsOf(find(createFilter(PARENT_CATEGORY_ID, null, null))));
+        assertEquals(Collections.singletonList(3),
+                idsOf(find(createFilter(OTHER_PARENT_CATEGORY_ID, THIRD_DATE, THIRD_DATE))));
+        assertTrue(find(createFilter(CATEGORY_ID, null, null)).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldReturnCopiesOfIndexedProducts() {
+
+        find(createFilter(null, null, null)).get(0).setProductName("Changed");
+
+        assertEquals("Product1", find(createFilter(null, null, null)).get(0).getProductName());
+    }
+
+    @Test
+    void shouldApplyWritesToLoadedIndex() {
+
+        find(createFilter(null, null, null));
+
+        ProductDTO moved = createProductDTO(1, OTHER_CATEGORY_ID, THIRD_DATE);
+        index.putAll(Arrays.asList(moved, createProductDTO(5, CATEGORY_ID, FIRST_DATE)), PARENT_ID_OF);
+        index.removeAll(Collections.singleton(4));
+
+        assertEquals(Collections.singletonList(5), idsOf(find(createFilter(PARENT_CATEGORY_ID, null, null))));
+        assertEquals(Arrays.asList(1, 2, 3),
+                idsOf(find(createFilter(OTHER_PARENT_CATEGORY_ID, null, null))));
+        assertEquals(THIRD_DATE, index.findDateAdded(1).orElse(null));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldKeepDateOrderAcrossWrites() {
+
+        find(createFilter(null, null, null));
+
+        index.putAll(Arrays.asList(createProductDTO(6, CATEGORY_ID, SECOND_DATE),
+                createProductDTO(5, OTHER_CATEGORY_ID, SECOND_DATE)), PARENT_ID_OF);
+        index.putAll(Collections.singletonList(createProductDTO(3, CATEGORY_ID, FIRST_DATE)), PARENT_ID_OF);
+        index.removeAll(Arrays.asList(1, 4, 9));
+
+        assertEquals(Arrays.asList(2, 3, 5, 6), idsOf(find(createFilter(null, null, null))));
+        assertEquals(Arrays.asList(2, 5, 6), idsOf(find(createFilter(null, SECOND_DATE, SECOND_DATE))));
+        assertEquals(Collections.singletonList(3), idsOf(find(createFilter(null, null, FIRST_DATE))));
+        assertEquals(Arrays.asList(3, 6), idsOf(find(createFilter(PARENT_CATEGORY_ID, null, null))));
+        assertEquals(Arrays.asList(2, 5), idsOf(find(createFilter(OTHER_PARENT_CATEGORY_ID, null, null))));
+        assertTrue(find(createFilter(null, THIRD_DATE, null)).isEmpty());
+
+        index.removeAll(Arrays.asList(3, 6));
+
+        assertTrue(find(createFilter(PARENT_CATEGORY_ID, null, null)).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldChangeAmountOfIndexedProduct() {
+
+        find(createFilter(null, null, null));
+
+        index.setAmount(3, 42);
+        index.setAmount(9, 42);
+
+        List<ProductDTO> productDTOs = find(createFilter(OTHER_PARENT_CATEGORY_ID, THIRD_DATE, null));
+        assertEquals(Collections.singletonList(3), idsOf(productDTOs));
+        assertEquals(Integer.valueOf(42), productDTOs.get(0).getProductAmount());
+        assertEquals(Arrays.asList(1, 2, 3, 4), idsOf(find(createFilter(null, null, null))));
+        assertEquals(Arrays.asList(42, 400), find(createFilter(null, THIRD_DATE, null)).stream()
+                .map(ProductDTO::getProductAmount)
+                .collect(Collectors.toList()));
+        assertFalse(index.findDateAdded(9).isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldLoadAgainWhenInvalidated() {
+
+        find(createFilter(null, null, null));
+        index.invalidate();
+
+        assertFalse(index.isLoaded());
+        find(createFilter(null, null, null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldIgnoreWritesWhenNotLoaded() {
+
+        index.putAll(Collections.singletonList(createProductDTO(5, CATEGORY_ID, FIRST_DATE)), PARENT_ID_OF);
+
+        assertFalse(index.isLoaded());
+        assertFalse(index.findDateAdded(5).isPresent());
+    }
+
+    @Test
+    void shouldNotFindWhenDisabled() {
+
+        ProductDateIndex disabledIndex = new ProductDateIndex(false);
+        disabledIndex.reload(this::load, PARENT_ID_OF);
+
+        assertFalse(disabledIndex.isLoaded());
+        assertThrows(IllegalStateException.class,
+                () -> disabledIndex.find(createFilter(null, null, null), this::load, PARENT_ID_OF));
+        assertEquals(0, loads.get());
+    }
+
+    private List<ProductDTO> find(Filter filter) {
+        return index.find(filter, this::load, PARENT_ID_OF);
+    }
+
+    private List<ProductDTO> load() {
+
+        loads.incrementAndGet();
+        return Arrays.asList(
+                createProductDTO(4, CATEGORY_ID, THIRD_DATE),
+                createProductDTO(2, OTHER_CATEGORY_ID, SECOND_DATE),
+                createProductDTO(1, CATEGORY_ID, FIRST_DATE),
+                createProductDTO(3, OTHER_CATEGORY_ID, THIRD_DATE));
+    }
+
+    private static List<Integer> idsOf(List<ProductDTO> productDTOs) {
+        return productDTOs.stream().map(ProductDTO::getProductId).collect(Collectors.toList());
+    }
+
+    private static ProductDTO createProductDTO(Integer productId, Integer categoryId, LocalDate dateAdded) {
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(productId);
+        productDTO.setProductName("Product" + productId);
+        productDTO.setProductAmount(productId * 100);
+        productDTO.setDateAdded(dateAdded);
+        productDTO.setCategoryId(categoryId);
+
+        return productDTO;
+    }
+
+    private static Filter createFilter(Integer categoryId, LocalDate dateBegin, LocalDate dateEnd) {
+
+        Filter filter = new Filter();
+        filter.setCategoryId(categoryId);
+        filter.setDateBegin(dateBegin);
+        filter.setDateEnd(dateEnd);
+        return filter;
+    }
+}
@@ -1,25 +1,35 @@
 package com.epam.course.cp.service;
 
+import com.epam.course.cp.dao.ProductCriteria;
 import com.epam.course.cp.dao.ProductDao;
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
+import com.epam.course.cp.model.Category;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceImplMockTest {
@@ -50,9 +60,21 @@ class ProductServiceImplMockTest {
     private static Filter FILTER_WITH_DATES;
     private static Filter FILTER_WITH_DATES_ADN_ID;
 
+    private static final Integer PARENT_CATEGORY_ID = 1;
+    private static final Integer OTHER_PARENT_CATEGORY_ID = 2;
+
     @Mock
     private ProductDao productDao;
 
+    @Mock
+    private CategoryService categoryService;
+
+    @Spy
+    private ProductDTOFilterCache productDTOFilterCache = new ProductDTOFilterCache(10, 60);
+
+    @Spy
+    private ProductDateIndex productDateIndex = new ProductDateIndex(false);
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -104,10 +126,47 @@ class ProductServiceImplMockTest {
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
+    @Test
+    void shouldFindProductEditorView() {
+
+        List<Category> subCategories = Collections.singletonList(createCategory(TEST_CATEGORY_ID, PARENT_CATEGORY_ID));
+        Mockito.when(productDao.findById(FIRST_PRODUCT_ID)).thenReturn(Optional.of(FIRST_PRODUCT));
+        Mockito.when(categoryService.findAllSubCategories()).thenReturn(subCategories);
+
+        ProductEditorView view = productService.findProductEditorView(FIRST_PRODUCT_ID);
+
+        assertEquals(FIRST_PRODUCT_ID, view.getProduct().getProductId());
+        assertEquals(subCategories, view.getCategories());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findById(FIRST_PRODUCT_ID);
+        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllSubCategories();
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void shouldFindProductListView() {
+
+        List<Category> parents = Collections.singletonList(createCategory(PARENT_CATEGORY_ID, 0));
+        Mockito.when(categoryService.findAllPossibleParents()).thenReturn(parents);
+        Mockito.when(productDao.findProductDTOs(createCriteria(null, FILTER_DATE_BEGIN, FILTER_DATE_END, null, ONCE + 1)))
+                .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
+
+        ProductListView view = productService.findProductListView(FILTER_WITH_DATES, null, ONCE);
+
+        assertEquals(parents, view.getCategories());
+        assertEquals(Collections.singletonList(FIRST_PRODUCT_DTO), view.getProducts());
+        assertEquals(FIRST_PRODUCT_ID, view.getNextCursor());
+
+        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllPossibleParents();
+        Mockito.verify(productDao, Mockito.times(ONCE))
+                .findProductDTOs(createCriteria(null, FILTER_DATE_BEGIN, FILTER_DATE_END, null, ONCE + 1));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
     @Test
     void findAllProductDTOs() {
 
-        Mockito.when(productDao.findAllProductDTOs())
+        Mockito.when(productDao.findProductDTOs(new ProductCriteria()))
                 .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
 
         List<ProductDTO> productDTOs = productService.findAllProductDTOs();
@@ -115,14 +174,46 @@ class ProductServiceImplMockTest {
         assertNotNull(productDTOs);
         assertTrue(PRODUCTS_AMOUNT == productDTOs.size());
 
-        Mockito.verify(productDao, Mockito.times(ONCE)).findAllProductDTOs();
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(new ProductCriteria());
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void forEachProductDTO() {
+
+        AtomicBoolean closed = new AtomicBoolean();
+        Mockito.when(productDao.findProductDTOs(new ProductCriteria()))
+                .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO).onClose(() -> closed.set(true)));
+
+        List<ProductDTO> productDTOs = new ArrayList<>();
+        productService.forEachProductDTO(productDTOs::add);
+
+        assertEquals(Arrays.asList(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO), productDTOs);
+        assertTrue(closed.get());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(new ProductCriteria());
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void exportProductDTOs() {
+
+        ProductCriteria criteria = createCriteria(null, FILTER_DATE_BEGIN, null, FIRST_PRODUCT_ID, null);
+        Mockito.when(productDao.findProductDTOs(criteria)).thenReturn(Stream.of(SECOND_PRODUCT_DTO));
+
+        List<ProductDTO> productDTOs = new ArrayList<>();
+        productService.exportProductDTOs(FILTER_DATE_BEGIN, FIRST_PRODUCT_ID, productDTOs::add);
+
+        assertEquals(Collections.singletonList(SECOND_PRODUCT_DTO), productDTOs);
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(criteria);
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
     @Test
     void findProductDTOsByCategoryId() {
 
-        Mockito.when(productDao.findProductDTOsByCategoryId(anyInt()))
+        Mockito.when(productDao.findProductDTOs(createCriteria(TEST_CATEGORY_ID, null, null, null, null)))
                 .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
 
         List<ProductDTO> productDTOs = productService.findProductDTOsByCategoryId(TEST_CATEGORY_ID);
@@ -130,14 +221,14 @@ class ProductServiceImplMockTest {
         assertNotNull(productDTOs);
         assertTrue(PRODUCTS_AMOUNT == productDTOs.size());
 
-        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOsByCategoryId(anyInt());
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(createCriteria(TEST_CATEGORY_ID, null, null, null, null));
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
     @Test
     void findProductDTOsFromDateInterval() {
 
-        Mockito.when(productDao.findProductDTOsFromDateInterval(any(), any()))
+        Mockito.when(productDao.findProductDTOs(createCriteria(null, FILTER_DATE_BEGIN, FILTER_DATE_END, null, null)))
                 .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
 
         List<ProductDTO> productDTOs = productService.findProductDTOsByFilter(FILTER_WITH_DATES);
@@ -145,14 +236,14 @@ class ProductServiceImplMockTest {
         assertNotNull(productDTOs);
         assertTrue(PRODUCTS_AMOUNT == productDTOs.size());
 
-        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOsFromDateInterval(any(), any());
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(createCriteria(null, FILTER_DATE_BEGIN, FILTER_DATE_END, null, null));
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
     @Test
     void findProductDTOsByMixedFilter() {
 
-        Mockito.when(productDao.findProductDTOsByMixedFilter(any(), any(), any()))
+        Mockito.when(productDao.findProductDTOs(createCriteria(1, FILTER_DATE_BEGIN, FILTER_DATE_END, null, null)))
                 .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
 
         List<ProductDTO> productDTOs = productService.findProductDTOsByFilter(FILTER_WITH_DATES_ADN_ID);
@@ -160,7 +251,86 @@ class ProductServiceImplMockTest {
         assertNotNull(productDTOs);
         assertTrue(PRODUCTS_AMOUNT == productDTOs.size());
 
-        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOsByMixedFilter(any(), any(), any());
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(createCriteria(1, FILTER_DATE_BEGIN, FILTER_DATE_END, null, null));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void findProductDTOPageWithNextCursor() {
+
+        Mockito.when(productDao.findProductDTOs(createCriteria(null, null, null, null, ONCE + 1)))
+                .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
+
+        Page<ProductDTO> page = productService.findProductDTOPage(null, ONCE);
+
+        assertTrue(ONCE == page.getItems().size());
+        assertEquals(FIRST_PRODUCT_ID, page.getNextCursor());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(createCriteria(null, null, null, null, ONCE + 1));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void findLastProductDTOPage() {
+
+        Mockito.when(productDao.findProductDTOs(createCriteria(null, null, null, FIRST_PRODUCT_ID, PRODUCTS_AMOUNT + 1)))
+                .thenReturn(Stream.of(SECOND_PRODUCT_DTO));
+
+        Page<ProductDTO> page = productService.findProductDTOPage(FIRST_PRODUCT_ID, PRODUCTS_AMOUNT);
+
+        assertTrue(ONCE == page.getItems().size());
+        assertNull(page.getNextCursor());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(createCriteria(null, null, null, FIRST_PRODUCT_ID, PRODUCTS_AMOUNT + 1));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void findProductDTOPageLimitedByMaxPageSize() {
+
+        Mockito.when(productDao.findProductDTOs(
+                createCriteria(null, null, null, null, ProductServiceImpl.MAX_PAGE_SIZE + 1)))
+                .thenReturn(Stream.empty());
+
+        Page<ProductDTO> page = productService.findProductDTOPage(null, Integer.MAX_VALUE);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(
+                createCriteria(null, null, null, null, ProductServiceImpl.MAX_PAGE_SIZE + 1));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void findProductDTOPageByFilter() {
+
+        Mockito.when(productDao.findProductDTOs(createCriteria(null, FILTER_DATE_BEGIN, FILTER_DATE_END, null, PRODUCTS_AMOUNT + 1)))
+                .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
+
+        Page<ProductDTO> page = productService.findProductDTOPageByFilter(FILTER_WITH_DATES, null, PRODUCTS_AMOUNT);
+
+        assertTrue(PRODUCTS_AMOUNT == page.getItems().size());
+        assertNull(page.getNextCursor());
+
+        Mockito.verify(productDao, Mockito.times(ONCE))
+                .findProductDTOs(createCriteria(null, FILTER_DATE_BEGIN, FILTER_DATE_END, null, PRODUCTS_AMOUNT + 1));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void findProductDTOPageByMixedFilter() {
+
+        Mockito.when(productDao.findProductDTOs(createCriteria(1, FILTER_DATE_BEGIN, FILTER_DATE_END, null, ONCE + 1)))
+                .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
+
+        Page<ProductDTO> page = productService.findProductDTOPageByFilter(FILTER_WITH_DATES_ADN_ID, null, ONCE);
+
+        assertTrue(ONCE == page.getItems().size());
+        assertEquals(FIRST_PRODUCT_ID, page.getNextCursor());
+
+        Mockito.verify(productDao, Mockito.times(ONCE))
+                .findProductDTOs(createCriteria(1, FILTER_DATE_BEGIN, FILTER_DATE_END, null, ONCE + 1));
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
@@ -176,11 +346,65 @@ class ProductServiceImplMockTest {
     @Test
     void update() {
 
-        productService.update(any());
+        productService.update(FIRST_PRODUCT);
         Mockito.verify(productDao, Mockito.times(ONCE)).update(any());
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
+    @Test
+    void adjustAmount() {
+
+        Integer amount = 42;
+        Product product = createProduct(FIRST_PRODUCT_ID);
+        product.setProductAmount(amount);
+        Mockito.when(productDao.adjustAmount(FIRST_PRODUCT_ID, -amount)).thenReturn(product);
+
+        assertEquals(amount, productService.adjustAmount(FIRST_PRODUCT_ID, -amount));
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).adjustAmount(FIRST_PRODUCT_ID, -amount);
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void adjustAmountByNullDelta() {
+
+        assertThrows(IllegalArgumentException.class, () -> productService.adjustAmount(FIRST_PRODUCT_ID, null));
+
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void addAll() {
+
+        List<Product> products = Arrays.asList(FIRST_PRODUCT, SECOND_PRODUCT);
+        Mockito.when(productDao.addAll(products)).thenReturn(products);
+
+        List<BatchItemResult> results = productService.addAll(products);
+
+        assertEquals(Arrays.asList(
+                new BatchItemResult(0, FIRST_PRODUCT_ID, BatchItemResult.Status.CREATED),
+                new BatchItemResult(1, SECOND_PRODUCT_ID, BatchItemResult.Status.CREATED)), results);
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).addAll(products);
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void updateAll() {
+
+        List<Product> products = Arrays.asList(FIRST_PRODUCT, SECOND_PRODUCT);
+        Mockito.when(productDao.updateAll(products)).thenReturn(new int[]{1, 0});
+
+        List<BatchItemResult> results = productService.updateAll(products);
+
+        assertEquals(Arrays.asList(
+                new BatchItemResult(0, FIRST_PRODUCT_ID, BatchItemResult.Status.UPDATED),
+                new BatchItemResult(1, SECOND_PRODUCT_ID, BatchItemResult.Status.NOT_FOUND)), results);
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).updateAll(products);
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
     @Test
     void delete() {
 
@@ -189,6 +413,180 @@ class ProductServiceImplMockTest {
         Mockito.verifyNoMoreInteractions(productDao);
     }
 
+    @Test
+    void shouldFindProductDTOsByEqualFilterFromCache() {
+
+        Mockito.when(productDao.findProductDTOs(createCriteria(1, FILTER_DATE_BEGIN, FILTER_DATE_END, null, null)))
+                .thenReturn(Stream.of(FIRST_PRODUCT_DTO, SECOND_PRODUCT_DTO));
+
+        productService.findProductDTOsByFilter(createFilter(1, FILTER_DATE_BEGIN, FILTER_DATE_END));
+        List<ProductDTO> productDTOs =
+                productService.findProductDTOsByFilter(createFilter(1, FILTER_DATE_BEGIN, FILTER_DATE_END));
+
+        assertTrue(PRODUCTS_AMOUNT == productDTOs.size());
+        assertEquals(1, productDTOFilterCache.getCacheMetrics().getHits());
+
+        Mockito.verify(productDao, Mockito.times(ONCE))
+                .findProductDTOs(createCriteria(1, FILTER_DATE_BEGIN, FILTER_DATE_END, null, null));
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void shouldInvalidateCachedFiltersOfAddedProductCategory() {
+
+        Filter parentFilter = createFilter(PARENT_CATEGORY_ID, FILTER_DATE_BEGIN, null);
+        Filter otherParentFilter = createFilter(OTHER_PARENT_CATEGORY_ID, FILTER_DATE_BEGIN, null);
+        Mockito.when(productDao.findProductDTOs(any())).thenAnswer(invocation -> Stream.of(FIRST_PRODUCT_DTO));
+        productService.findProductDTOsByFilter(parentFilter);
+        productService.findProductDTOsByFilter(otherParentFilter);
+
+        Category category = new Category();
+        category.setCategoryId(TEST_CATEGORY_ID);
+        category.setParentId(PARENT_CATEGORY_ID);
+        Mockito.when(categoryService.findById(TEST_CATEGORY_ID)).thenReturn(category);
+        Mockito.when(productDao.add(any())).thenReturn(Optional.of(createProduct(FIRST_PRODUCT_ID)));
+
+        productService.add(createProduct(null));
+        productService.findProductDTOsByFilter(parentFilter);
+        productService.findProductDTOsByFilter(otherParentFilter);
+
+        Mockito.verify(productDao, Mockito.times(2)).findProductDTOs(createCriteria(PARENT_CATEGORY_ID,
+                FILTER_DATE_BEGIN, null, null, null));
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(createCriteria(OTHER_PARENT_CATEGORY_ID,
+                FILTER_DATE_BEGIN, null, null, null));
+        Mockito.verify(productDao, Mockito.times(ONCE)).add(any());
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void shouldInvalidateCachedFiltersHoldingDeletedProduct() {
+
+        Filter filter = createFilter(null, FILTER_DATE_BEGIN, FILTER_DATE_END);
+        Mockito.when(productDao.findProductDTOs(any())).thenAnswer(invocation -> Stream.of(FIRST_PRODUCT_DTO));
+        productService.findProductDTOsByFilter(filter);
+
+        productService.delete(SECOND_PRODUCT_ID);
+        productService.findProductDTOsByFilter(filter);
+        productService.delete(FIRST_PRODUCT_ID);
+        productService.findProductDTOsByFilter(filter);
+
+        Mockito.verify(productDao, Mockito.times(2)).findProductDTOs(any());
+        Mockito.verify(productDao, Mockito.times(ONCE)).delete(FIRST_PRODUCT_ID);
+        Mockito.verify(productDao, Mockito.times(ONCE)).delete(SECOND_PRODUCT_ID);
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void shouldInvalidateCachedFiltersHoldingAdjustedProduct() {
+
+        Filter filter = createFilter(null, FILTER_DATE_BEGIN, FILTER_DATE_END);
+        Mockito.when(productDao.findProductDTOs(any())).thenAnswer(invocation -> Stream.of(FIRST_PRODUCT_DTO));
+        Mockito.when(productDao.adjustAmount(any(), any())).thenReturn(createProduct(FIRST_PRODUCT_ID));
+        productService.findProductDTOsByFilter(filter);
+
+        productService.adjustAmount(SECOND_PRODUCT_ID, 1);
+        productService.findProductDTOsByFilter(filter);
+        productService.adjustAmount(FIRST_PRODUCT_ID, 1);
+        productService.findProductDTOsByFilter(filter);
+
+        Mockito.verify(productDao, Mockito.times(2)).findProductDTOs(any());
+        Mockito.verify(productDao, Mockito.times(2)).adjustAmount(any(), any());
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void shouldFindProductDTOsByFilterFromDateIndex() {
+
+        ProductServiceImpl indexedProductService = createIndexedProductService();
+        ProductDTO firstProductDTO = createProductDTO(FIRST_PRODUCT_ID);
+        firstProductDTO.setDateAdded(FILTER_DATE_BEGIN);
+        ProductDTO secondProductDTO = createProductDTO(SECOND_PRODUCT_ID);
+        secondProductDTO.setDateAdded(FILTER_DATE_END.plusDays(1));
+        Mockito.when(productDao.findProductDTOs(new ProductCriteria()))
+                .thenReturn(Stream.of(secondProductDTO, firstProductDTO));
+        Mockito.when(categoryService.findById(TEST_CATEGORY_ID)).thenReturn(createCategory(TEST_CATEGORY_ID,
+                PARENT_CATEGORY_ID));
+
+        List<ProductDTO> productDTOs = indexedProductService.findProductDTOsByFilter(FILTER_WITH_DATES);
+        List<ProductDTO> otherParentProductDTOs = indexedProductService.findProductDTOsByFilter(
+                createFilter(OTHER_PARENT_CATEGORY_ID, null, null));
+
+        assertEquals(1, productDTOs.size());
+        assertEquals(FIRST_PRODUCT_ID, productDTOs.get(0).getProductId());
+        assertTrue(otherParentProductDTOs.isEmpty());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(new ProductCriteria());
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    void shouldKeepDateIndexInSyncOnWrites() {
+
+        ProductServiceImpl indexedProductService = createIndexedProductService();
+        Mockito.when(productDao.findProductDTOs(new ProductCriteria())).thenReturn(Stream.of(FIRST_PRODUCT_DTO));
+        Mockito.when(categoryService.findById(any())).thenAnswer(invocation -> TEST_CATEGORY_ID.equals(
+                invocation.getArgument(0)) ? createCategory(TEST_CATEGORY_ID, PARENT_CATEGORY_ID)
+                : createCategory(PARENT_CATEGORY_ID, 0));
+        Mockito.when(productDao.add(any())).thenReturn(Optional.of(createProduct(SECOND_PRODUCT_ID)));
+
+        Filter filter = createFilter(PARENT_CATEGORY_ID, TEST_DATE_ADDED, null);
+        assertEquals(1, indexedProductService.findProductDTOsByFilter(filter).size());
+
+        indexedProductService.add(createProduct(null));
+        List<ProductDTO> productDTOs = indexedProductService.findProductDTOsByFilter(filter);
+        assertTrue(PRODUCTS_AMOUNT == productDTOs.size());
+        assertEquals(SECOND_PRODUCT_ID, productDTOs.get(1).getProductId());
+        assertEquals(TEST_CATEGORY_NAME + PARENT_CATEGORY_ID, productDTOs.get(1).getCategoryName());
+        assertEquals(TEST_SUBCATEGORY_NAME + TEST_CATEGORY_ID, productDTOs.get(1).getSubCategoryName());
+
+        indexedProductService.delete(FIRST_PRODUCT_ID);
+        productDTOs = indexedProductService.findProductDTOsByFilter(filter);
+        assertEquals(1, productDTOs.size());
+        assertEquals(SECOND_PRODUCT_ID, productDTOs.get(0).getProductId());
+
+        Mockito.verify(productDao, Mockito.times(ONCE)).findProductDTOs(new ProductCriteria());
+        Mockito.verify(productDao, Mockito.times(ONCE)).add(any());
+        Mockito.verify(productDao, Mockito.times(ONCE)).delete(FIRST_PRODUCT_ID);
+        Mockito.verifyNoMoreInteractions(productDao);
+    }
+
+    private ProductServiceImpl createIndexedProductService() {
+        return new ProductServiceImpl(productDao, categoryService, productDTOFilterCache, new ProductDateIndex(true));
+    }
+
+    private static Category createCategory(Integer categoryId, Integer parentId) {
+
+        Category category = new Category();
+        category.setCategoryId(categoryId);
+        category.setCategoryName((parentId == 0 ? TEST_CATEGORY_NAME : TEST_SUBCATEGORY_NAME) + categoryId);
+        category.setParentId(parentId);
+
+        return category;
+    }
+
+    private static Filter createFilter(Integer categoryId, LocalDate dateBegin, LocalDate dateEnd) {
+
+        Filter filter = new Filter();
+        filter.setCategoryId(categoryId);
+        filter.setDateBegin(dateBegin);
+        filter.setDateEnd(dateEnd);
+
+        return filter;
+    }
+
+    private static ProductCriteria createCriteria(Integer categoryId, LocalDate dateBegin, LocalDate dateEnd,
+                                                  Integer afterProductId, Integer limit) {
+
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setCategoryId(categoryId);
+        criteria.setDateBegin(dateBegin);
+        criteria.setDateEnd(dateEnd);
+        criteria.setAfterProductId(afterProductId);
+        criteria.setLimit(limit);
+
+        return criteria;
+    }
+
     private static Product createProduct(Integer id) {
 
         Product product = new Product();
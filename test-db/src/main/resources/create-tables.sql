@@ -4,10 +4,15 @@ CREATE TABLE category (
   category_id INT NOT NULL AUTO_INCREMENT,
   category_name VARCHAR(255) NOT NULL UNIQUE,
   parent_id INT,
-  PRIMARY KEY (category_id),
-  FOREIGN KEY (parent_id) REFERENCES category(category_id)
+  version INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (category_id)
 );
 
+CREATE INDEX idx_category_parent_id ON category (parent_id);
+
+ALTER TABLE category ADD CONSTRAINT fk_category_parent_id
+  FOREIGN KEY (parent_id) REFERENCES category(category_id);
+
 DROP TABLE IF EXISTS product;
 
 CREATE TABLE product (
@@ -16,6 +21,44 @@ CREATE TABLE product (
   prod_amount INT NOT NULL ,
   date_added DATE NOT NULL,
   category_id INT NOT NULL,
-  PRIMARY KEY (prod_id, category_id),
-  FOREIGN KEY (category_id) REFERENCES category(category_id)
+  version INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (prod_id, category_id)
+);
+
+CREATE INDEX idx_product_category_id_date_added ON product (category_id, date_added);
+
+CREATE INDEX idx_product_date_added ON product (date_added);
+
+ALTER TABLE product ADD CONSTRAINT fk_product_category_id
+  FOREIGN KEY (category_id) REFERENCES category(category_id);
+
+DROP TABLE IF EXISTS category_totals;
+
+CREATE TABLE category_totals (
+  category_id INT NOT NULL,
+  product_amount INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (category_id)
+);
+
+ALTER TABLE category_totals ADD CONSTRAINT fk_category_totals_category_id
+  FOREIGN KEY (category_id) REFERENCES category(category_id) ON DELETE CASCADE;
+
+DROP TABLE IF EXISTS product_view;
+
+CREATE TABLE product_view (
+  prod_id INT NOT NULL,
+  prod_name VARCHAR (255) NOT NULL,
+  prod_amount INT NOT NULL,
+  date_added DATE NOT NULL,
+  category_id INT NOT NULL,
+  subcategory_name VARCHAR(255) NOT NULL,
+  parent_id INT NOT NULL,
+  category_name VARCHAR(255) NOT NULL,
+  PRIMARY KEY (prod_id)
 );
+
+CREATE INDEX idx_product_view_parent_id_date_added ON product_view (parent_id, date_added);
+
+CREATE INDEX idx_product_view_date_added ON product_view (date_added);
+
+CREATE INDEX idx_product_view_category_id ON product_view (category_id);
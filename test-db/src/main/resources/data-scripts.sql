@@ -14,4 +14,15 @@ INSERT INTO product (prod_name, prod_amount, date_added, category_id) VALUES ('D
 INSERT INTO product (prod_name, prod_amount, date_added, category_id) VALUES ('Wood Screws 3.0 x 20mm', 200, '2018-09-02', 7);
 INSERT INTO product (prod_name, prod_amount, date_added, category_id) VALUES ('Wood Screws 4.0 x 20mm', 170, '2018-09-02', 7);
 INSERT INTO product (prod_name, prod_amount, date_added, category_id) VALUES ('Fischer FXA Through Bolt M8', 50, '2019-04-01', 8);
-INSERT INTO product (prod_name, prod_amount, date_added, category_id) VALUES ('Fischer FXA Through Bolt M9', 100, '2019-04-11', 8);
\ No newline at end of file
+INSERT INTO product (prod_name, prod_amount, date_added, category_id) VALUES ('Fischer FXA Through Bolt M9', 100, '2019-04-11', 8);
+
+INSERT INTO category_totals (category_id, product_amount)
+  SELECT c.category_id, IFNULL(SUM(p.prod_amount), 0) FROM category AS c
+  LEFT JOIN product AS p ON (c.category_id = p.category_id)
+  GROUP BY c.category_id;
+
+INSERT INTO product_view (prod_id, prod_name, prod_amount, date_added, category_id, subcategory_name, parent_id, category_name)
+  SELECT p.prod_id, p.prod_name, p.prod_amount, p.date_added, ct.category_id, ct.category_name, c.category_id, c.category_name
+  FROM product AS p
+  INNER JOIN category AS ct ON (ct.category_id = p.category_id)
+  INNER JOIN category AS c ON (c.category_id = ct.parent_id);
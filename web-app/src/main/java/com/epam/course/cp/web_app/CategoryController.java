@@ -1,5 +1,6 @@
 package com.epam.course.cp.web_app;
 
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.service.CategoryService;
 import com.epam.course.cp.web_app.validator.CategoryValidator;
@@ -147,9 +148,10 @@ public class CategoryController {
 
         LOGGER.debug("gotoUpdateCategory({}, {})", id, model);
         model.addAttribute("isNew", false);
-        model.addAttribute("category", categoryService.findById(id));
-        model.addAttribute("productsAmount", categoryService.findCategoryDTOById(id).getProductsAmount());
-        model.addAttribute("parentCategories", categoryService.findAllPossibleParentsForId(id));
+        CategoryEditorView editorView = categoryService.findCategoryEditorView(id);
+        model.addAttribute("category", editorView.getCategory());
+        model.addAttribute("productsAmount", editorView.getProductsAmount());
+        model.addAttribute("parentCategories", editorView.getParentCategories());
         model.addAttribute("location", "categories");
         return "category";
     }
@@ -171,9 +173,9 @@ public class CategoryController {
         categoryValidator.validate(category, result);
 
         if (result.hasErrors()) {
-            model.addAttribute("productsAmount", categoryService.findCategoryDTOById(category.getCategoryId())
-                    .getProductsAmount());
-            model.addAttribute("parentCategories", categoryService.findAllPossibleParentsForId(category.getCategoryId()));
+            CategoryEditorView editorView = categoryService.findCategoryEditorView(category.getCategoryId());
+            model.addAttribute("productsAmount", editorView.getProductsAmount());
+            model.addAttribute("parentCategories", editorView.getParentCategories());
             return "category";
         } else {
             categoryService.update(category);
@@ -0,0 +1,51 @@
+package com.epam.course.cp.web_app;
+
+import com.epam.course.cp.response.HttpClientMetrics;
+import com.epam.course.cp.response.SingleFlightMetrics;
+import com.epam.course.cp.web_app.consumer.HttpClientMetricsInterceptor;
+import com.epam.course.cp.web_app.consumer.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller used to watch state of the client of rest application
+ * together with its coalesced calls
+ *
+ * @see HttpClientMetrics
+ * @see SingleFlightMetrics
+ * @author Maksim Martsiusheu
+ */
+@RestController
+@RequestMapping(value = "/monitoring")
+public class MonitoringController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitoringController.class);
+
+    private final HttpClientMetricsInterceptor httpClientMetrics;
+
+    private final SingleFlight singleFlight;
+
+    @Autowired
+    public MonitoringController(HttpClientMetricsInterceptor httpClientMetrics, SingleFlight singleFlight) {
+        this.httpClientMetrics = httpClientMetrics;
+        this.singleFlight = singleFlight;
+    }
+
+    @GetMapping(value = "/rest-client")
+    public HttpClientMetrics getHttpClientMetrics() {
+
+        LOGGER.debug("getHttpClientMetrics()");
+        return httpClientMetrics.getHttpClientMetrics();
+    }
+
+    @GetMapping(value = "/single-flight")
+    public SingleFlightMetrics getSingleFlightMetrics() {
+
+        LOGGER.debug("getSingleFlightMetrics()");
+        return singleFlight.getSingleFlightMetrics();
+    }
+}
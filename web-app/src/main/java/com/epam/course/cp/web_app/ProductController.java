@@ -1,11 +1,13 @@
 package com.epam.course.cp.web_app;
 
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
 import com.epam.course.cp.model.Product;
 import com.epam.course.cp.service.CategoryService;
 import com.epam.course.cp.service.ProductService;
+import com.epam.course.cp.validator.ProductValidator;
 import com.epam.course.cp.web_app.validator.FilterValidator;
-import com.epam.course.cp.web_app.validator.ProductValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 
@@ -42,6 +45,11 @@ public class ProductController {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(CategoryController.class);
 
+    /**
+     * Amount of products listed on a single page
+     */
+    static final int PAGE_SIZE = 50;
+
     /**
      * Service layer object to get information of products
      */
@@ -94,9 +102,10 @@ public class ProductController {
 
         LOGGER.debug("go to update product with id ={}", id);
 
-        model.addAttribute("product", productService.findById(id));
+        ProductEditorView editorView = productService.findProductEditorView(id);
+        model.addAttribute("product", editorView.getProduct());
         model.addAttribute("isNew", false);
-        model.addAttribute("categories", categoryService.findAllSubCategories());
+        model.addAttribute("categories", editorView.getCategories());
         model.addAttribute("location", "products");
         return "product";
     }
@@ -116,9 +125,8 @@ public class ProductController {
         LOGGER.debug("update product {}", product);
 
         productValidator.validate(product, result);
-        model.addAttribute("categories", categoryService.findAllSubCategories());
         if (result.hasErrors()) {
-            model.addAttribute(categoryService.findAllSubCategories());
+            model.addAttribute("categories", categoryService.findAllSubCategories());
             return "product";
         } else {
             productService.update(product);
@@ -170,26 +178,32 @@ public class ProductController {
     }
 
     /**
-     * Go to page with list of all products
+     * Go to page with list of products, a page of {@code PAGE_SIZE}
+     * products after given product id at most
      *
      * @param filter default filter
+     * @param after cursor of the page taken from the previous one, omitted for the first page
      * @param model model to storage information for view rendering
      * @return view template name
      */
     @GetMapping(value = "/products")
-    public final String products(Filter filter, Model model) {
+    public final String products(Filter filter,
+                                 @RequestParam(value = "after", required = false) Integer after,
+                                 Model model) {
 
-        LOGGER.debug("find allProducts({})", model);
+        LOGGER.debug("find allProducts({}, {})", filter, after);
+        ProductListView listView = productService.findProductListView(filter, after, PAGE_SIZE);
         model.addAttribute("filter", filter);
-        model.addAttribute("categories", categoryService.findAllPossibleParents());
-        model.addAttribute("products", productService.findProductDTOsByFilter(filter));
+        model.addAttribute("categories", listView.getCategories());
+        model.addAttribute("products", listView.getProducts());
+        model.addAttribute("nextCursor", listView.getNextCursor());
         model.addAttribute("location", "products");
         return "products";
 
     }
 
     /**
-     *Go to page with list of products sorted by filter
+     *Go to the first page of products sorted by filter
      *
      * @param filter filter for searching products
      * @param result result object to storage information about filter validation
@@ -200,15 +214,18 @@ public class ProductController {
     public final String productsByFilter(@Valid Filter filter, BindingResult result, Model model) {
 
         LOGGER.debug("findAllProductsDTOsFromDateInterval ({})", filter);
-        model.addAttribute("categories", categoryService.findAllPossibleParents());
         model.addAttribute("location", "products");
 
         filterValidator.validate(filter, result);
 
         if (result.hasErrors()) {
+            model.addAttribute("categories", categoryService.findAllPossibleParents());
             return "products";
         } else {
-            model.addAttribute("products", productService.findProductDTOsByFilter(filter));
+            ProductListView listView = productService.findProductListView(filter, null, PAGE_SIZE);
+            model.addAttribute("categories", listView.getCategories());
+            model.addAttribute("products", listView.getProducts());
+            model.addAttribute("nextCursor", listView.getNextCursor());
             return "products";
         }
     }
@@ -1,6 +1,7 @@
 package com.epam.course.cp.web_app.consumer;
 
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.service.CategoryService;
 import org.slf4j.Logger;
@@ -8,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class CategoryRestConsumer implements CategoryService {
@@ -18,10 +20,17 @@ public class CategoryRestConsumer implements CategoryService {
 
     private final RestTemplate restTemplate;
 
+    private final ConditionalGetCache conditionalGetCache;
+
     public CategoryRestConsumer(String url, RestTemplate restTemplate) {
+        this(url, restTemplate, new ConditionalGetCache(restTemplate, ConditionalGetCache.DEFAULT_MAX_SIZE));
+    }
+
+    public CategoryRestConsumer(String url, RestTemplate restTemplate, ConditionalGetCache conditionalGetCache) {
 
         this.url = url;
         this.restTemplate = restTemplate;
+        this.conditionalGetCache = conditionalGetCache;
     }
 
     @Override
@@ -36,16 +45,21 @@ public class CategoryRestConsumer implements CategoryService {
     public List<CategoryDTO> findAllCategoryDTOs() {
 
         LOGGER.debug("find all categoryDTOs");
-        ResponseEntity responseEntity = restTemplate.getForEntity(url + "/info", List.class);
-        return (List<CategoryDTO>) responseEntity.getBody();
+        return asList(conditionalGetCache.get(url + "/info", CategoryDTO[].class));
+    }
+
+    @Override
+    public CategoryEditorView findCategoryEditorView(Integer categoryId) {
+
+        LOGGER.debug("findCategoryEditorView({})", categoryId);
+        return conditionalGetCache.get(url + "/" + categoryId + "/editor", CategoryEditorView.class);
     }
 
     @Override
     public List<Category> findAllSubCategories() {
 
         LOGGER.debug("findAllSubCategories()");
-        ResponseEntity responseEntity = restTemplate.getForEntity(url + "/subs", List.class);
-        return (List<Category>) responseEntity.getBody();
+        return asList(conditionalGetCache.get(url + "/subs", Category[].class));
     }
 
     @Override
@@ -60,8 +74,9 @@ public class CategoryRestConsumer implements CategoryService {
     public List<CategoryDTO> findSubCategoryDTOsByCategoryId(Integer categoryId) {
 
         LOGGER.debug("find all categoryDTOs by id = {}", categoryId);
-        ResponseEntity responseEntity = restTemplate.getForEntity(url + "/info/" + categoryId + "/subs", List.class);
-        return (List<CategoryDTO>) responseEntity.getBody();
+        ResponseEntity<CategoryDTO[]> responseEntity =
+                restTemplate.getForEntity(url + "/info/" + categoryId + "/subs", CategoryDTO[].class);
+        return asList(responseEntity.getBody());
     }
 
 
@@ -91,7 +106,7 @@ public class CategoryRestConsumer implements CategoryService {
 
         LOGGER.debug("findAllPossibleParentsForId({})", id);
 
-        return (List<Category>) restTemplate.getForEntity(url + "/possibleparents/" + id, List.class).getBody();
+        return asList(restTemplate.getForEntity(url + "/possibleparents/" + id, Category[].class).getBody());
     }
 
     @Override
@@ -99,7 +114,10 @@ public class CategoryRestConsumer implements CategoryService {
 
         LOGGER.debug("findAllPossibleParentsForId()");
 
-        ResponseEntity responseEntity = restTemplate.getForEntity(url + "/possibleparents", List.class);
-        return (List<Category>) responseEntity.getBody();
+        return asList(conditionalGetCache.get(url + "/possibleparents", Category[].class));
+    }
+
+    private static <T> List<T> asList(T[] items) {
+        return items == null ? null : Arrays.asList(items);
     }
 }
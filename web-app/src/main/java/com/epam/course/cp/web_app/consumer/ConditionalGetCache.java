@@ -0,0 +1,144 @@
+package com.epam.course.cp.web_app.consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps bodies of responses tagged with {@code ETag} by url
+ * and revalidates them with {@code If-None-Match}
+ *
+ * <p>
+ * Body is reused when the server answers {@code 304 Not Modified}.
+ * Least recently used url is evicted when the cache is full.
+ * Cached bodies are shared between callers and must not be changed.
+ * Identical requests in flight at once are sent only once, see {@link SingleFlight}.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class ConditionalGetCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConditionalGetCache.class);
+
+    /**
+     * Default maximum amount of cached urls
+     */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private final RestTemplate restTemplate;
+
+    private final int maxSize;
+
+    /**
+     * Shares a request between identical concurrent ones
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * Cached responses by url in access order, guarded by {@code this}
+     */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Constructs cache of given size sending requests with given template
+     *
+     * @param restTemplate template to send requests with
+     * @param maxSize      maximum amount of cached urls, {@code 0} disables caching
+     */
+    public ConditionalGetCache(RestTemplate restTemplate, int maxSize) {
+        this(restTemplate, maxSize, new SingleFlight());
+    }
+
+    /**
+     * Constructs cache of given size sending requests with given template,
+     * identical concurrent requests share a single one
+     *
+     * @param restTemplate template to send requests with
+     * @param maxSize      maximum amount of cached urls, {@code 0} disables caching
+     * @param singleFlight shares a request between identical concurrent ones
+     */
+    public ConditionalGetCache(RestTemplate restTemplate, int maxSize, SingleFlight singleFlight) {
+
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+
+        this.restTemplate = restTemplate;
+        this.maxSize = maxSize;
+        this.singleFlight = singleFlight;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ConditionalGetCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns body of GET response from given url, cached body if it is not modified.
+     * Concurrent callers of the same url share a single request
+     *
+     * @param url          url to get
+     * @param responseType type of response body
+     * @param <T>          type of response body
+     * @return response body
+     */
+    public <T> T get(String url, Class<T> responseType) {
+        return singleFlight.execute(url, url + " " + responseType.getName(), () -> revalidate(url, responseType));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T revalidate(String url, Class<T> responseType) {
+
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(url);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.eTag);
+        }
+
+        ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), responseType);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            LOGGER.debug("not modified {}", url);
+            return (T) cached.body;
+        }
+
+        String eTag = response.getHeaders().getETag();
+        synchronized (this) {
+            if (eTag != null && response.getBody() != null && maxSize > 0) {
+                entries.put(url, new Entry(eTag, response.getBody()));
+            } else {
+                entries.remove(url);
+            }
+        }
+        return response.getBody();
+    }
+
+    /**
+     * Cached response body with its entity tag
+     */
+    private static final class Entry {
+
+        private final String eTag;
+
+        private final Object body;
+
+        private Entry(String eTag, Object body) {
+            this.eTag = eTag;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.epam.course.cp.web_app.consumer;
+
+import com.epam.course.cp.metrics.LatencyHistogram;
+import com.epam.course.cp.response.HttpCallMetrics;
+import com.epam.course.cp.response.HttpClientMetrics;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Measures calls made through a {@link PooledClientHttpRequestFactory}
+ *
+ * <p>
+ * Latency of a call is time from sending the request to receiving response
+ * headers, reading of the body is not included. Calls are grouped by method
+ * and path with numeric segments replaced by {@code {id}}, so the amount of
+ * groups does not grow with amount of products and categories.
+ * </p>
+ *
+ * @see HttpClientMetrics
+ * @author Maksim Martsiusheu
+ */
+public class HttpClientMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientMetricsInterceptor.class);
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    /**
+     * Factory of requests measured
+     */
+    private final PooledClientHttpRequestFactory requestFactory;
+
+    /**
+     * Statistics of calls by method and path
+     */
+    private final ConcurrentMap<String, Calls> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Amount of requests failed to get a connection in time
+     */
+    private final LongAdder connectionRequestTimeouts = new LongAdder();
+
+    /**
+     * Constructs new interceptor measuring requests of given factory
+     *
+     * @param requestFactory factory of requests measured
+     */
+    public HttpClientMetricsInterceptor(PooledClientHttpRequestFactory requestFactory) {
+        this.requestFactory = requestFactory;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+
+        Calls endpointCalls = calls.computeIfAbsent(toCall(request), call -> new Calls());
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (response.getRawStatusCode() >= 500) {
+                endpointCalls.failures.increment();
+            }
+            return response;
+        } catch (IOException ex) {
+            endpointCalls.failures.increment();
+            if (ex instanceof ConnectionPoolTimeoutException) {
+                connectionRequestTimeouts.increment();
+                LOGGER.warn("No connection to {} in time, pool: {}", request.getURI(), requestFactory.getTotalStats());
+            }
+            throw ex;
+        } finally {
+            endpointCalls.latency.recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns state of the connection pool and statistics of calls
+     *
+     * @return {@code HttpClientMetrics} of the client
+     */
+    public HttpClientMetrics getHttpClientMetrics() {
+
+        PoolStats stats = requestFactory.getTotalStats();
+
+        HttpClientMetrics metrics = new HttpClientMetrics();
+        metrics.setLeasedConnections(stats.getLeased());
+        metrics.setAvailableConnections(stats.getAvailable());
+        metrics.setPendingRequests(stats.getPending());
+        metrics.setMaxConnections(stats.getMax());
+        metrics.setMaxConnectionsPerRoute(requestFactory.getMaxConnectionsPerRoute());
+        metrics.setConnectionRequestTimeouts(connectionRequestTimeouts.sum());
+        metrics.setCalls(getCallMetrics());
+
+        return metrics;
+    }
+
+    private List<HttpCallMetrics> getCallMetrics() {
+
+        return calls.entrySet().stream()
+                .map(entry -> entry.getValue().toMetrics(entry.getKey()))
+                .sorted(Comparator.comparingDouble((HttpCallMetrics metrics) ->
+                        metrics.getLatency().getCount() * metrics.getLatency().getMeanMicros()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    static String toCall(HttpRequest request) {
+        return request.getMethodValue() + " " + NUMERIC_SEGMENT.matcher(request.getURI().getPath()).replaceAll("/{id}");
+    }
+
+    /**
+     * Statistics of calls to a single endpoint
+     */
+    private static final class Calls {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder failures = new LongAdder();
+
+        private HttpCallMetrics toMetrics(String call) {
+
+            HttpCallMetrics metrics = new HttpCallMetrics();
+            metrics.setCall(call);
+            metrics.setLatency(latency.snapshot());
+            metrics.setCalls(metrics.getLatency().getCount());
+            metrics.setFailures(failures.sum());
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.epam.course.cp.web_app.consumer;
+
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request factory keeping connections to rest application alive in a bounded pool
+ *
+ * <p>
+ * Connections are reused by later requests instead of being opened for every call.
+ * Amount of connections is limited for all hosts and for every single host, request
+ * waits up to {@code connectionRequestTimeoutMs} for a free connection. Connections
+ * idle for {@code idleTimeoutSeconds} are closed by a background thread, connections
+ * idle for {@code validateAfterInactivityMs} are checked before reuse. The pool is
+ * closed with the factory.
+ * </p>
+ *
+ * @see PoolingHttpClientConnectionManager
+ * @see HttpClientMetricsInterceptor
+ * @author Maksim Martsiusheu
+ */
+public class PooledClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    /**
+     * Default logger for current class
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledClientHttpRequestFactory.class);
+
+    /**
+     * Pool of connections of the client
+     */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * Constructs new factory with a pool of given limits and timeouts
+     *
+     * @param maxConnections             maximum amount of connections to all hosts
+     * @param maxConnectionsPerRoute     maximum amount of connections to a single host
+     * @param connectTimeoutMs           time to open a connection, in milliseconds
+     * @param readTimeoutMs              time to wait for data of a response, in milliseconds
+     * @param connectionRequestTimeoutMs time to wait for a connection from the pool, in milliseconds
+     * @param idleTimeoutSeconds         time an unused connection is kept alive, in seconds
+     * @param validateAfterInactivityMs  time an unused connection is reused without a check, in milliseconds
+     */
+    public PooledClientHttpRequestFactory(int maxConnections, int maxConnectionsPerRoute,
+                                          int connectTimeoutMs, int readTimeoutMs, int connectionRequestTimeoutMs,
+                                          int idleTimeoutSeconds, int validateAfterInactivityMs) {
+        this(createConnectionManager(maxConnections, maxConnectionsPerRoute, validateAfterInactivityMs),
+                idleTimeoutSeconds);
+
+        LOGGER.debug("PooledClientHttpRequestFactory({}, {})", maxConnections, maxConnectionsPerRoute);
+        setConnectTimeout(connectTimeoutMs);
+        setReadTimeout(readTimeoutMs);
+        setConnectionRequestTimeout(connectionRequestTimeoutMs);
+    }
+
+    private PooledClientHttpRequestFactory(PoolingHttpClientConnectionManager connectionManager,
+                                           int idleTimeoutSeconds) {
+        super(HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS)
+                .evictExpiredConnections()
+                .build());
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * Returns state of connections to all hosts
+     *
+     * @return {@code PoolStats} of the pool
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Returns maximum amount of connections to a single host
+     *
+     * @return maximum amount of connections per route
+     */
+    public int getMaxConnectionsPerRoute() {
+        return connectionManager.getDefaultMaxPerRoute();
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager(
+            int maxConnections, int maxConnectionsPerRoute, int validateAfterInactivityMs) {
+
+        if (maxConnections <= 0 || maxConnectionsPerRoute <= 0 || maxConnectionsPerRoute > maxConnections) {
+            throw new IllegalArgumentException(
+                    "Connection limits must be positive and limit per route must not exceed total limit");
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMs);
+        return connectionManager;
+    }
+}
@@ -1,30 +1,70 @@
 package com.epam.course.cp.web_app.consumer;
 
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
 import com.epam.course.cp.service.ProductService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ProductRestConsumer implements ProductService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CategoryRestConsumer.class);
 
+    private static final ParameterizedTypeReference<Page<ProductDTO>> PRODUCT_DTO_PAGE =
+            new ParameterizedTypeReference<Page<ProductDTO>>() {
+            };
+
+    private static final ParameterizedTypeReference<List<BatchItemResult>> BATCH_ITEM_RESULTS =
+            new ParameterizedTypeReference<List<BatchItemResult>>() {
+            };
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static final ObjectMapper SMILE_MAPPER = Jackson2ObjectMapperBuilder.smile().build();
+
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
     private final String url;
 
     private final RestTemplate restTemplate;
 
+    private final ConditionalGetCache conditionalGetCache;
+
     public ProductRestConsumer(String url, RestTemplate restTemplate) {
+        this(url, restTemplate, new ConditionalGetCache(restTemplate, ConditionalGetCache.DEFAULT_MAX_SIZE));
+    }
+
+    public ProductRestConsumer(String url, RestTemplate restTemplate, ConditionalGetCache conditionalGetCache) {
 
         this.url = url;
         this.restTemplate = restTemplate;
+        this.conditionalGetCache = conditionalGetCache;
     }
 
     @Override
@@ -32,9 +72,9 @@ public class ProductRestConsumer implements ProductService {
 
         LOGGER.debug("Find all products");
 
-        ResponseEntity<List> responseEntity = restTemplate.getForEntity(url, List.class);
+        ResponseEntity<Product[]> responseEntity = restTemplate.getForEntity(url, Product[].class);
 
-        return (List<Product>) responseEntity.getBody();
+        return asList(responseEntity.getBody());
     }
 
     @Override
@@ -52,9 +92,55 @@ public class ProductRestConsumer implements ProductService {
 
         LOGGER.debug("Find all products");
 
-        ResponseEntity<List> responseEntity = restTemplate.getForEntity(url + "/info", List.class);
+        ResponseEntity<ProductDTO[]> responseEntity = restTemplate.getForEntity(url + "/info", ProductDTO[].class);
+
+        return asList(responseEntity.getBody());
+    }
+
+    @Override
+    public void forEachProductDTO(Consumer<? super ProductDTO> action) {
+
+        LOGGER.debug("forEachProductDTO()");
+
+        restTemplate.execute(url + "/info", HttpMethod.GET,
+                request -> request.getHeaders().setAccept(Arrays.asList(APPLICATION_SMILE, MediaType.APPLICATION_JSON)),
+                response -> {
+                    ObjectMapper mapper = APPLICATION_SMILE.isCompatibleWith(response.getHeaders().getContentType())
+                            ? SMILE_MAPPER : OBJECT_MAPPER;
+                    try (JsonParser parser = mapper.getFactory().createParser(response.getBody())) {
+                        if (parser.nextToken() != JsonToken.START_ARRAY) {
+                            throw new RestClientException("Product DTOs are not a JSON array");
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            action.accept(mapper.readValue(parser, ProductDTO.class));
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public void exportProductDTOs(LocalDate since, Integer afterProductId, Consumer<? super ProductDTO> action) {
+
+        LOGGER.debug("exportProductDTOs({}, {})", since, afterProductId);
 
-        return (List<ProductDTO>) responseEntity.getBody();
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url + "/export");
+        if (since != null) {
+            builder.queryParam("since", since);
+        }
+        if (afterProductId != null) {
+            builder.queryParam("after", afterProductId);
+        }
+
+        restTemplate.execute(builder.toUriString(), HttpMethod.GET,
+                request -> request.getHeaders().setAccept(Collections.singletonList(APPLICATION_NDJSON)),
+                response -> {
+                    try (MappingIterator<ProductDTO> productDTOs =
+                                 OBJECT_MAPPER.readerFor(ProductDTO.class).readValues(response.getBody())) {
+                        productDTOs.forEachRemaining(action);
+                    }
+                    return null;
+                });
     }
 
     @Override
@@ -66,34 +152,78 @@ public class ProductRestConsumer implements ProductService {
                 .fromUriString(url + "/filter")
                 .queryParam("id", categoryId);
 
-        ResponseEntity<List> responseEntity = restTemplate.getForEntity(builder.toUriString(), List.class);
-
-        return (List<ProductDTO>) responseEntity.getBody();
+        return asList(conditionalGetCache.get(builder.toUriString(), ProductDTO[].class));
     }
 
     @Override
     public List<ProductDTO> findProductDTOsByFilter(Filter filter) {
 
         LOGGER.debug("findProductDTOsByFilter({})", filter);
+        return asList(conditionalGetCache.get(filterUri("/filter", filter), ProductDTO[].class));
+    }
+
+    @Override
+    public ProductListView findProductListView(Filter filter, Integer afterProductId, Integer limit) {
+
+        LOGGER.debug("findProductListView({}, {}, {})", filter, afterProductId, limit);
+
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(filterUri("/view", filter))
+                .queryParam("limit", limit);
+
+        if (afterProductId != null) {
+            builder.queryParam("after", afterProductId);
+        }
+
+        return conditionalGetCache.get(builder.toUriString(), ProductListView.class);
+    }
+
+    @Override
+    public ProductEditorView findProductEditorView(Integer productId) {
+
+        LOGGER.debug("findProductEditorView({})", productId);
+        return conditionalGetCache.get(url + "/" + productId + "/editor", ProductEditorView.class);
+    }
+
+    @Override
+    public Page<ProductDTO> findProductDTOPage(Integer afterProductId, Integer limit) {
+
+        LOGGER.debug("findProductDTOPage({}, {})", afterProductId, limit);
+
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(url + "/info")
+                .queryParam("limit", limit);
+
+        if (afterProductId != null) {
+            builder.queryParam("after", afterProductId);
+        }
+
+        return restTemplate.exchange(builder.toUriString(), HttpMethod.GET, null, PRODUCT_DTO_PAGE).getBody();
+    }
+
+    @Override
+    public Page<ProductDTO> findProductDTOPageByFilter(Filter filter, Integer afterProductId, Integer limit) {
+
+        LOGGER.debug("findProductDTOPageByFilter({}, {}, {})", filter, afterProductId, limit);
 
         UriComponentsBuilder builder = UriComponentsBuilder
                 .fromUriString(url + "/filter")
-                .queryParam("id", filter.getCategoryId());
+                .queryParam("limit", limit);
 
-        if (filter.getDateBegin() == null) {
-            builder.queryParam("from", LocalDate.now().withDayOfMonth(1));
-        } else {
+        if (filter.getCategoryId() != null) {
+            builder.queryParam("id", filter.getCategoryId());
+        }
+        if (filter.getDateBegin() != null) {
             builder.queryParam("from", filter.getDateBegin());
         }
-        if (filter.getDateEnd() == null) {
-            builder.queryParam("to", LocalDate.now());
-        } else {
+        if (filter.getDateEnd() != null) {
             builder.queryParam("to", filter.getDateEnd());
         }
+        if (afterProductId != null) {
+            builder.queryParam("after", afterProductId);
+        }
 
-        ResponseEntity<List> responseEntity = restTemplate.getForEntity(builder.toUriString(), List.class);
-
-        return (List<ProductDTO>) responseEntity.getBody();
+        return restTemplate.exchange(builder.toUriString(), HttpMethod.GET, null, PRODUCT_DTO_PAGE).getBody();
     }
 
     @Override
@@ -110,10 +240,57 @@ public class ProductRestConsumer implements ProductService {
         restTemplate.put(url + "/" + product.getProductId(), product);
     }
 
+    @Override
+    public Integer adjustAmount(Integer productId, Integer delta) {
+
+        LOGGER.debug("adjustAmount({}, {})", productId, delta);
+        return restTemplate.patchForObject(url + "/" + productId + "/amount", delta, Integer.class);
+    }
+
+    @Override
+    public List<BatchItemResult> addAll(List<Product> products) {
+
+        LOGGER.debug("addAll({} products)", products.size());
+        return restTemplate.exchange(url + "/batch", HttpMethod.POST, new HttpEntity<>(products), BATCH_ITEM_RESULTS)
+                .getBody();
+    }
+
+    @Override
+    public List<BatchItemResult> updateAll(List<Product> products) {
+
+        LOGGER.debug("updateAll({} products)", products.size());
+        return restTemplate.exchange(url + "/batch", HttpMethod.PUT, new HttpEntity<>(products), BATCH_ITEM_RESULTS)
+                .getBody();
+    }
+
     @Override
     public void delete(Integer productId) {
 
         LOGGER.debug("delete product with id = {}", productId);
         restTemplate.delete(url + "/" + productId);
     }
+
+    private static <T> List<T> asList(T[] items) {
+        return items == null ? null : Arrays.asList(items);
+    }
+
+    private String filterUri(String path, Filter filter) {
+
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(url + path)
+                .queryParam("id", filter.getCategoryId());
+
+        if (filter.getDateBegin() == null) {
+            builder.queryParam("from", LocalDate.now().withDayOfMonth(1));
+        } else {
+            builder.queryParam("from", filter.getDateBegin());
+        }
+        if (filter.getDateEnd() == null) {
+            builder.queryParam("to", LocalDate.now());
+        } else {
+            builder.queryParam("to", filter.getDateEnd());
+        }
+
+        return builder.toUriString();
+    }
 }
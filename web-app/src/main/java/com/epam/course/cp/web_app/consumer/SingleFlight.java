@@ -0,0 +1,225 @@
+package com.epam.course.cp.web_app.consumer;
+
+import com.epam.course.cp.response.SingleFlightMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical calls share a single call to rest application
+ *
+ * <p>
+ * The first caller of a key makes the call, callers of the same key
+ * coming while it is in flight wait for it and get the same result or
+ * exception. The key is forgotten as soon as the call ends, so a caller
+ * coming later makes a new call and never gets an older result than it
+ * would get calling alone. Results are shared between callers and must
+ * not be changed.
+ * </p>
+ *
+ * <p>
+ * As an interceptor of the rest template it counts writes, every request
+ * other than {@code GET}, {@code HEAD} or {@code OPTIONS} starts a new write
+ * generation when it ends. Calls join only a flight of their own generation,
+ * so a call made after a write never gets a result read before the write.
+ * </p>
+ *
+ * <p>
+ * Only urls with path matching one of the scope patterns are coalesced,
+ * an empty scope disables coalescing.
+ * </p>
+ *
+ * @see SingleFlightMetrics
+ * @author Maksim Martsiusheu
+ */
+public class SingleFlight implements ClientHttpRequestInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlight.class);
+
+    /**
+     * Scope coalescing every url
+     */
+    public static final String ALL_URLS = "/**";
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * Ant-style patterns of paths of coalesced urls
+     */
+    private final List<String> scope;
+
+    /**
+     * Calls in flight by key
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Generation of writes, incremented when a write ends
+     */
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    /**
+     * Amount of calls of urls in scope
+     */
+    private final LongAdder calls = new LongAdder();
+
+    /**
+     * Amount of calls which got result of a call in flight
+     */
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    /**
+     * Constructs new object coalescing calls of every url
+     */
+    public SingleFlight() {
+        this(ALL_URLS);
+    }
+
+    /**
+     * Constructs new object coalescing calls of urls in given scope
+     *
+     * @param scope comma separated Ant-style patterns of paths, empty to coalesce nothing
+     */
+    public SingleFlight(String scope) {
+
+        List<String> patterns = new ArrayList<>();
+        for (String pattern : scope.split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        this.scope = Collections.unmodifiableList(patterns);
+    }
+
+    /**
+     * Makes given call unless identical call is in flight, waits for that one otherwise
+     *
+     * @param url  url called, its path is checked against the scope
+     * @param key  key of identical calls
+     * @param call call to make
+     * @param <T>  type of the call result
+     * @return result of the call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String url, String key, Supplier<T> call) {
+
+        if (!inScope(url)) {
+            return call.get();
+        }
+        calls.increment();
+
+        String flightKey = key + " #" + writeGeneration.get();
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalescedCalls.increment();
+            LOGGER.debug("joined call in flight {}", flightKey);
+            return (T) await(existing);
+        }
+
+        try {
+            T result = call.get();
+            inFlight.remove(flightKey, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts a new write generation after a request changing data of rest application
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+
+        if (!isWrite(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            long generation = writeGeneration.incrementAndGet();
+            LOGGER.debug("write generation {} after {} {}", generation, request.getMethod(), request.getURI());
+        }
+    }
+
+    /**
+     * Returns scope and statistics of coalesced calls
+     *
+     * @return {@code SingleFlightMetrics} of calls
+     */
+    public SingleFlightMetrics getSingleFlightMetrics() {
+
+        long coalesced = coalescedCalls.sum();
+        long all = calls.sum();
+
+        SingleFlightMetrics metrics = new SingleFlightMetrics();
+        metrics.setScope(scope);
+        metrics.setCalls(all);
+        metrics.setBackendCalls(all - coalesced);
+        metrics.setCoalescedCalls(coalesced);
+        metrics.setInFlightCalls(inFlight.size());
+
+        return metrics;
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    }
+
+    private boolean inScope(String url) {
+
+        if (scope.isEmpty()) {
+            return false;
+        }
+
+        String path = UriComponentsBuilder.fromUriString(url).build().getPath();
+        if (path == null) {
+            return false;
+        }
+        for (String pattern : scope) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
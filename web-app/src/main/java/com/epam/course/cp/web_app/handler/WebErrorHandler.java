@@ -1,14 +1,18 @@
 package com.epam.course.cp.web_app.handler;
 
 import com.epam.course.cp.response.ExceptionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 
 import java.io.IOException;
 
@@ -21,8 +25,12 @@ public class WebErrorHandler {
 
     private final MappingJackson2HttpMessageConverter converter;
 
-    public WebErrorHandler(MappingJackson2HttpMessageConverter converter) {
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    public WebErrorHandler(MappingJackson2HttpMessageConverter converter,
+                           MappingJackson2SmileHttpMessageConverter smileConverter) {
         this.converter = converter;
+        this.smileConverter = smileConverter;
     }
 
     /**
@@ -36,7 +44,7 @@ public class WebErrorHandler {
     public final String handleHttpClientException(HttpClientErrorException ex, Model model) {
 
         model.addAttribute("exception", ex.getMessage());
-        model.addAttribute("response", getExceptionResponse(ex.getResponseBodyAsString()));
+        model.addAttribute("response", getExceptionResponse(ex));
         return "exception";
     }
 
@@ -51,7 +59,7 @@ public class WebErrorHandler {
     public final String handleHttpServerErrorException(HttpServerErrorException ex, Model model){
 
         model.addAttribute("exception", ex.getMessage());
-        model.addAttribute("response", getExceptionResponse(ex.getResponseBodyAsString()));
+        model.addAttribute("response", getExceptionResponse(ex));
         return "exception";
     }
 
@@ -69,11 +77,15 @@ public class WebErrorHandler {
         return "no_source";
     }
 
-    private ExceptionResponse getExceptionResponse(String json) {
+    private ExceptionResponse getExceptionResponse(RestClientResponseException ex) {
+
+        MediaType contentType = ex.getResponseHeaders() == null ? null : ex.getResponseHeaders().getContentType();
+        ObjectMapper mapper = contentType != null && smileConverter.canRead(ExceptionResponse.class, contentType)
+                ? smileConverter.getObjectMapper() : converter.getObjectMapper();
 
         try {
 
-            return converter.getObjectMapper().readValue(json, ExceptionResponse.class);
+            return mapper.readValue(ex.getResponseBodyAsByteArray(), ExceptionResponse.class);
 
         } catch (IOException e) {
 
@@ -1,6 +1,7 @@
 package com.epam.course.cp.web_app;
 
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.service.CategoryService;
 import org.hamcrest.Matchers;
@@ -133,9 +134,11 @@ class CategoryControllerTest {
     @Test
     void gotoUpdateCategory() throws Exception {
 
-        Mockito.when(categoryService.findById(anyInt())).thenReturn(createCategory(1));
-        Mockito.when(categoryService.findCategoryDTOById(anyInt())).thenReturn(createCategoryDTO(1));
-        Mockito.when(categoryService.findAllPossibleParentsForId(anyInt())).thenReturn(ARRAY_LIST_OF_CATEGORIES);
+        CategoryEditorView editorView = new CategoryEditorView();
+        editorView.setCategory(createCategory(1));
+        editorView.setProductsAmount(createCategoryDTO(1).getProductsAmount());
+        editorView.setParentCategories(ARRAY_LIST_OF_CATEGORIES);
+        Mockito.when(categoryService.findCategoryEditorView(anyInt())).thenReturn(editorView);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/category/1")
@@ -146,9 +149,7 @@ class CategoryControllerTest {
 
         ;
 
-        Mockito.verify(categoryService, Mockito.times(ONCE)).findById(anyInt());
-        Mockito.verify(categoryService, Mockito.times(ONCE)).findCategoryDTOById(anyInt());
-        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllPossibleParentsForId(anyInt());
+        Mockito.verify(categoryService, Mockito.times(ONCE)).findCategoryEditorView(anyInt());
     }
 
     @Test
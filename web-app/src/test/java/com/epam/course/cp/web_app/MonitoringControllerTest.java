@@ -0,0 +1,109 @@
+package com.epam.course.cp.web_app;
+
+import com.epam.course.cp.metrics.LatencyHistogram;
+import com.epam.course.cp.response.HttpCallMetrics;
+import com.epam.course.cp.response.HttpClientMetrics;
+import com.epam.course.cp.response.SingleFlightMetrics;
+import com.epam.course.cp.web_app.consumer.HttpClientMetricsInterceptor;
+import com.epam.course.cp.web_app.consumer.SingleFlight;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MonitoringControllerTest {
+
+    private static final int LEASED_CONNECTIONS = 3;
+    private static final int MAX_CONNECTIONS = 40;
+    private static final String CALL = "GET /rest/products/{id}";
+    private static final int COALESCED_CALLS = 11;
+
+    private HttpClientMetricsInterceptor httpClientMetrics;
+
+    private SingleFlight singleFlight;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+
+        httpClientMetrics = Mockito.mock(HttpClientMetricsInterceptor.class);
+        singleFlight = Mockito.mock(SingleFlight.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new MonitoringController(httpClientMetrics, singleFlight))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .alwaysDo(MockMvcResultHandlers.print())
+                .build();
+    }
+
+    @Test
+    void shouldGetHttpClientMetrics() throws Exception {
+
+        LatencyHistogram latency = new LatencyHistogram();
+        latency.record(2, TimeUnit.MILLISECONDS);
+
+        HttpCallMetrics call = new HttpCallMetrics();
+        call.setCall(CALL);
+        call.setCalls(1);
+        call.setLatency(latency.snapshot());
+
+        HttpClientMetrics metrics = new HttpClientMetrics();
+        metrics.setLeasedConnections(LEASED_CONNECTIONS);
+        metrics.setMaxConnections(MAX_CONNECTIONS);
+        metrics.setCalls(Collections.singletonList(call));
+
+        Mockito.when(httpClientMetrics.getHttpClientMetrics()).thenReturn(metrics);
+
+        String content = mockMvc.perform(
+                MockMvcRequestBuilders.get("/monitoring/rest-client")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = new ObjectMapper().readTree(content);
+        assertEquals(LEASED_CONNECTIONS, json.get("leasedConnections").asInt());
+        assertEquals(MAX_CONNECTIONS, json.get("maxConnections").asInt());
+        assertEquals(CALL, json.get("calls").get(0).get("call").asText());
+        assertEquals(2000, json.get("calls").get(0).get("latency").get("maxMicros").asInt());
+
+        Mockito.verify(httpClientMetrics).getHttpClientMetrics();
+    }
+
+    @Test
+    void shouldGetSingleFlightMetrics() throws Exception {
+
+        SingleFlightMetrics metrics = new SingleFlightMetrics();
+        metrics.setScope(Collections.singletonList(SingleFlight.ALL_URLS));
+        metrics.setCalls(COALESCED_CALLS + 1);
+        metrics.setBackendCalls(1);
+        metrics.setCoalescedCalls(COALESCED_CALLS);
+
+        Mockito.when(singleFlight.getSingleFlightMetrics()).thenReturn(metrics);
+
+        String content = mockMvc.perform(
+                MockMvcRequestBuilders.get("/monitoring/single-flight")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = new ObjectMapper().readTree(content);
+        assertEquals(SingleFlight.ALL_URLS, json.get("scope").get(0).asText());
+        assertEquals(COALESCED_CALLS, json.get("coalescedCalls").asInt());
+        assertEquals(1, json.get("backendCalls").asInt());
+
+        Mockito.verify(singleFlight).getSingleFlightMetrics();
+    }
+}
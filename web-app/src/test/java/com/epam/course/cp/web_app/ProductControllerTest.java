@@ -1,6 +1,8 @@
 package com.epam.course.cp.web_app;
 
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.model.Product;
 import com.epam.course.cp.service.CategoryService;
@@ -29,6 +31,9 @@ import java.util.ArrayList;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 @ExtendWith(SpringExtension.class)
 @WebAppConfiguration
@@ -44,6 +49,8 @@ class ProductControllerTest {
     private static final String CATEGORY_NAME = "TestCategory";
     private static final String SUBCATEGORY_NAME = "TestSubCategory";
     private static final Integer CATEGORY_PARENT_ID = 1;
+    private static final Integer CURSOR = 50;
+    private static final Integer NEXT_CURSOR = 100;
 
     private static Product PRODUCT_FOR_UPDATE;
 
@@ -90,8 +97,10 @@ class ProductControllerTest {
     @Test
     void shouldGoToUpdateProduct() throws Exception {
 
-        Mockito.when(productService.findById(anyInt())).thenReturn(PRODUCT_FOR_UPDATE);
-        Mockito.when(categoryService.findAllSubCategories()).thenReturn(ARRAY_LIST_OF_CATEGORIES);
+        ProductEditorView editorView = new ProductEditorView();
+        editorView.setProduct(PRODUCT_FOR_UPDATE);
+        editorView.setCategories(ARRAY_LIST_OF_CATEGORIES);
+        Mockito.when(productService.findProductEditorView(anyInt())).thenReturn(editorView);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/product/1")
@@ -104,15 +113,12 @@ class ProductControllerTest {
                         .string(Matchers.containsString("<span class=\"text-uppercase mr-auto\">Edit Product</span>")))
         ;
 
-        Mockito.verify(productService, Mockito.times(ONCE)).findById(anyInt());
-        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllSubCategories();
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductEditorView(anyInt());
     }
 
     @Test
     void shouldUpdateProduct() throws Exception {
 
-        Mockito.when(categoryService.findAllSubCategories()).thenReturn(ARRAY_LIST_OF_CATEGORIES);
-
         mockMvc.perform(
                 MockMvcRequestBuilders.post("/product/1")
                         .param("productId", "1")
@@ -125,6 +131,25 @@ class ProductControllerTest {
         ;
 
         Mockito.verify(productService, Mockito.times(ONCE)).update(any());
+    }
+
+    @Test
+    void shouldNotUpdateInvalidProduct() throws Exception {
+
+        Mockito.when(categoryService.findAllSubCategories()).thenReturn(ARRAY_LIST_OF_CATEGORIES);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/product/1")
+                        .param("productId", "1")
+                        .param("productName", "")
+                        .param("productAmount", "500")
+                        .param("categoryId", "5")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.view().name("product"))
+                .andExpect(MockMvcResultMatchers.model().attribute("categories", ARRAY_LIST_OF_CATEGORIES))
+        ;
+
         Mockito.verify(categoryService, Mockito.times(ONCE)).findAllSubCategories();
     }
 
@@ -167,8 +192,10 @@ class ProductControllerTest {
     @Test
     void findAllProductsDTOs() throws Exception {
 
-        Mockito.when(categoryService.findAllPossibleParents()).thenReturn(ARRAY_LIST_OF_CATEGORIES);
-        Mockito.when(productService.findProductDTOsByFilter(any())).thenReturn(ARRAY_LIST_OF_PRODUCT_DTOS);
+        ProductListView listView = new ProductListView();
+        listView.setCategories(ARRAY_LIST_OF_CATEGORIES);
+        listView.setProducts(ARRAY_LIST_OF_PRODUCT_DTOS);
+        Mockito.when(productService.findProductListView(any(), any(), any())).thenReturn(listView);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/products")
@@ -181,15 +208,43 @@ class ProductControllerTest {
                         .string(Matchers.containsString("<th scope=\"row\">" + CATEGORY_NAME + "</th>")))
         ;
 
-        Mockito.verify(productService, Mockito.times(ONCE)).findProductDTOsByFilter(any());
-        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllPossibleParents();
+        Mockito.verify(productService, Mockito.times(ONCE))
+                .findProductListView(any(), isNull(), eq(ProductController.PAGE_SIZE));
+    }
+
+    @Test
+    void shouldLinkNextPageOfProducts() throws Exception {
+
+        ProductListView listView = new ProductListView();
+        listView.setCategories(ARRAY_LIST_OF_CATEGORIES);
+        listView.setProducts(ARRAY_LIST_OF_PRODUCT_DTOS);
+        listView.setNextCursor(NEXT_CURSOR);
+        Mockito.when(productService.findProductListView(any(), any(), any())).thenReturn(listView);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/products")
+                        .param("categoryId", String.valueOf(CATEGORY_PARENT_ID))
+                        .param("after", String.valueOf(CURSOR))
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.view().name("products"))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString(
+                        "href=\"/products?dateBegin=&amp;dateEnd=&amp;categoryId=" + CATEGORY_PARENT_ID
+                                + "&amp;after=" + NEXT_CURSOR + "\">Next Page</a>")))
+        ;
+
+        Mockito.verify(productService, Mockito.times(ONCE)).findProductListView(argThat(filter ->
+                filter.getDateBegin() == null
+                        && filter.getDateEnd() == null
+                        && CATEGORY_PARENT_ID.equals(filter.getCategoryId())), eq(CURSOR), eq(ProductController.PAGE_SIZE));
     }
 
     @Test
     void findAllProductsDTOsByFilter() throws Exception {
 
-        Mockito.when(categoryService.findAllPossibleParents()).thenReturn(ARRAY_LIST_OF_CATEGORIES);
-        Mockito.when(productService.findProductDTOsByFilter(any())).thenReturn(ARRAY_LIST_OF_PRODUCT_DTOS);
+        ProductListView listView = new ProductListView();
+        listView.setCategories(ARRAY_LIST_OF_CATEGORIES);
+        listView.setProducts(ARRAY_LIST_OF_PRODUCT_DTOS);
+        Mockito.when(productService.findProductListView(any(), any(), any())).thenReturn(listView);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.post("/products/filter")
@@ -203,8 +258,8 @@ class ProductControllerTest {
                         .string(Matchers.containsString("<th scope=\"row\">" + CATEGORY_NAME + "</th>")))
         ;
 
-        Mockito.verify(productService, Mockito.times(ONCE)).findProductDTOsByFilter(any());
-        Mockito.verify(categoryService, Mockito.times(ONCE)).findAllPossibleParents();
+        Mockito.verify(productService, Mockito.times(ONCE))
+                .findProductListView(any(), isNull(), eq(ProductController.PAGE_SIZE));
     }
 
     @Test
@@ -0,0 +1,115 @@
+package com.epam.course.cp.web_app.benchmark;
+
+import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.ProductDTO;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures bytes allocated per response when a list returned by rest
+ * application is read as untyped {@code List.class} and as typed array.
+ *
+ * <p>
+ * Responses are read by {@code MappingJackson2HttpMessageConverter}, as
+ * {@code RestTemplate} of the web application does. Untyped list is read
+ * into a {@code LinkedHashMap} per element, typed array is parsed
+ * straight into the model classes. Run the main method with the web-app
+ * test classpath on a HotSpot JVM. Optional arguments are amount of
+ * elements per response and amount of responses read.
+ * </p>
+ *
+ * @author Maksim Martsiusheu
+ */
+public class DeserializationAllocationBenchmark {
+
+    private static final MappingJackson2HttpMessageConverter CONVERTER = new MappingJackson2HttpMessageConverter();
+
+    public static void main(String[] args) throws Exception {
+
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int responses = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        byte[] products = CONVERTER.getObjectMapper().writeValueAsBytes(products(elements));
+        byte[] categories = CONVERTER.getObjectMapper().writeValueAsBytes(categories(elements));
+
+        System.out.printf("%d responses x %d elements, %d bytes of products, %d bytes of categories%n",
+                responses, elements, products.length, categories.length);
+        for (int round = 0; round < 2; round++) {
+            String phase = round == 0 ? "warm-up" : "measure";
+            report(phase, "ProductDTO List.class", run(products, List.class, responses));
+            report(phase, "ProductDTO[].class", run(products, ProductDTO[].class, responses));
+            report(phase, "CategoryDTO List.class", run(categories, List.class, responses));
+            report(phase, "CategoryDTO[].class", run(categories, CategoryDTO[].class, responses));
+        }
+    }
+
+    private static Result run(byte[] body, Class<?> responseType, int responses) throws Exception {
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long started = System.nanoTime();
+        for (int i = 0; i < responses; i++) {
+            CONVERTER.read(responseType, new MockHttpInputMessage(body));
+        }
+        long elapsed = System.nanoTime() - started;
+
+        return new Result((threads.getThreadAllocatedBytes(thread) - allocated) / responses,
+                elapsed / 1000.0 / responses);
+    }
+
+    private static void report(String phase, String name, Result result) {
+        System.out.printf("%-8s %-24s %10d bytes/response  %8.1f us/response%n",
+                phase, name, result.bytesPerResponse, result.microsPerResponse);
+    }
+
+    private static List<ProductDTO> products(int amount) {
+
+        List<ProductDTO> products = new ArrayList<>(amount);
+        for (int i = 1; i <= amount; i++) {
+            ProductDTO product = new ProductDTO();
+            product.setProductId(i);
+            product.setCategoryName("Category " + i % 10);
+            product.setSubCategoryName("Subcategory " + i % 50);
+            product.setProductName("Product " + i);
+            product.setProductAmount(i * 3);
+            product.setDateAdded(LocalDate.of(2019, 1, 1).plusDays(i));
+            product.setCategoryId(i % 50);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static List<CategoryDTO> categories(int amount) {
+
+        List<CategoryDTO> categories = new ArrayList<>(amount);
+        for (int i = 1; i <= amount; i++) {
+            CategoryDTO category = new CategoryDTO();
+            category.setCategoryId(i);
+            category.setCategoryName("Category " + i);
+            category.setParentId(i > 10 ? i % 10 + 1 : null);
+            category.setProductsAmount(i * 2);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private static final class Result {
+
+        private final long bytesPerResponse;
+
+        private final double microsPerResponse;
+
+        private Result(long bytesPerResponse, double microsPerResponse) {
+            this.bytesPerResponse = bytesPerResponse;
+            this.microsPerResponse = microsPerResponse;
+        }
+    }
+}
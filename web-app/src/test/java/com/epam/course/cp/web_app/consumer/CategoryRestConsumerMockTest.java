@@ -1,12 +1,14 @@
 package com.epam.course.cp.web_app.consumer;
 
 import com.epam.course.cp.dto.CategoryDTO;
+import com.epam.course.cp.dto.CategoryEditorView;
 import com.epam.course.cp.model.Category;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
@@ -16,6 +18,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 class CategoryRestConsumerMockTest {
 
@@ -82,29 +86,53 @@ class CategoryRestConsumerMockTest {
     @Test
     void shouldFindAllCategoryDTOs() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/info", List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY_DTOS, HttpStatus.OK));
+        Mockito.when(restTemplate.exchange(eq(url + "/info"), eq(HttpMethod.GET), any(), eq(CategoryDTO[].class)))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY_DTOS.toArray(new CategoryDTO[0]), HttpStatus.OK));
 
         List<CategoryDTO> categoryDTOs = categoryRestConsumer.findAllCategoryDTOs();
 
         assertNotNull(categoryDTOs);
         assertEquals(ARRAY_LIST_OF_CATEGORY_DTOS, categoryDTOs);
 
-        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(url + "/info", List.class);
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .exchange(eq(url + "/info"), eq(HttpMethod.GET), any(), eq(CategoryDTO[].class));
+    }
+
+    @Test
+    void shouldFindCategoryEditorView() {
+
+        CategoryEditorView view = new CategoryEditorView();
+        view.setCategory(FIRST_CATEGORY);
+        view.setProductsAmount(CATEGORY_PRODUCT_AMOUNT);
+        view.setParentCategories(ARRAY_LIST_OF_CATEGORY);
+
+        String editorUrl = url + "/" + FIRST_CATEGORY_ID + "/editor";
+        Mockito.when(restTemplate.exchange(eq(editorUrl), eq(HttpMethod.GET), any(), eq(CategoryEditorView.class)))
+                .thenReturn(new ResponseEntity<>(view, HttpStatus.OK));
+
+        CategoryEditorView found = categoryRestConsumer.findCategoryEditorView(FIRST_CATEGORY_ID);
+
+        assertNotNull(found);
+        assertEquals(FIRST_CATEGORY, found.getCategory());
+        assertEquals(ARRAY_LIST_OF_CATEGORY, found.getParentCategories());
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .exchange(eq(editorUrl), eq(HttpMethod.GET), any(), eq(CategoryEditorView.class));
     }
 
     @Test
     void shouldFindAllSubCategories() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/subs", List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY, HttpStatus.OK));
+        Mockito.when(restTemplate.exchange(eq(url + "/subs"), eq(HttpMethod.GET), any(), eq(Category[].class)))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY.toArray(new Category[0]), HttpStatus.OK));
 
         List<Category> categories = categoryRestConsumer.findAllSubCategories();
 
         assertNotNull(categories);
         assertEquals(ARRAY_LIST_OF_CATEGORY, categories);
 
-        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(url + "/subs", List.class);
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .exchange(eq(url + "/subs"), eq(HttpMethod.GET), any(), eq(Category[].class));
     }
 
     @Test
@@ -125,8 +153,8 @@ class CategoryRestConsumerMockTest {
     @Test
     void shouldFindSubCategoryDTOsByCategoryId() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/info/" + FIRST_CATEGORY_ID + "/subs", List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY_DTOS, HttpStatus.OK));
+        Mockito.when(restTemplate.getForEntity(url + "/info/" + FIRST_CATEGORY_ID + "/subs", CategoryDTO[].class))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY_DTOS.toArray(new CategoryDTO[0]), HttpStatus.OK));
 
         List<CategoryDTO> categoryDTOs = categoryRestConsumer.findSubCategoryDTOsByCategoryId(FIRST_CATEGORY_ID);
 
@@ -134,7 +162,7 @@ class CategoryRestConsumerMockTest {
         assertEquals(ARRAY_LIST_OF_CATEGORY_DTOS, categoryDTOs);
 
         Mockito.verify(restTemplate, Mockito.times(ONCE))
-                .getForEntity(url + "/info/" + FIRST_CATEGORY_ID + "/subs", List.class);
+                .getForEntity(url + "/info/" + FIRST_CATEGORY_ID + "/subs", CategoryDTO[].class);
     }
 
     @Test
@@ -169,8 +197,8 @@ class CategoryRestConsumerMockTest {
     @Test
     void shouldFindAllPossibleParentsForId() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/possibleparents/" + FIRST_CATEGORY_ID, List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY, HttpStatus.OK));
+        Mockito.when(restTemplate.getForEntity(url + "/possibleparents/" + FIRST_CATEGORY_ID, Category[].class))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY.toArray(new Category[0]), HttpStatus.OK));
 
         List<Category> categories = categoryRestConsumer.findAllPossibleParentsForId(FIRST_CATEGORY_ID);
 
@@ -178,14 +206,14 @@ class CategoryRestConsumerMockTest {
         assertEquals(ARRAY_LIST_OF_CATEGORY, categories);
 
         Mockito.verify(restTemplate, Mockito.times(ONCE))
-                .getForEntity(url + "/possibleparents/" + FIRST_CATEGORY_ID, List.class);
+                .getForEntity(url + "/possibleparents/" + FIRST_CATEGORY_ID, Category[].class);
     }
 
     @Test
     void shouldFindAllPossibleParents() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/possibleparents", List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY, HttpStatus.OK));
+        Mockito.when(restTemplate.exchange(eq(url + "/possibleparents"), eq(HttpMethod.GET), any(), eq(Category[].class)))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_CATEGORY.toArray(new Category[0]), HttpStatus.OK));
 
         List<Category> categories = categoryRestConsumer.findAllPossibleParents();
 
@@ -193,7 +221,7 @@ class CategoryRestConsumerMockTest {
         assertEquals(ARRAY_LIST_OF_CATEGORY, categories);
 
         Mockito.verify(restTemplate, Mockito.times(ONCE))
-                .getForEntity(url + "/possibleparents", List.class);
+                .exchange(eq(url + "/possibleparents"), eq(HttpMethod.GET), any(), eq(Category[].class));
     }
 
     @AfterEach
@@ -0,0 +1,96 @@
+package com.epam.course.cp.web_app.consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class ConditionalGetCacheTest {
+
+    private static final String URL = "/rest/categories/info";
+    private static final String OTHER_URL = "/rest/categories/possibleparents";
+    private static final String ETAG = "W/\"epoch-1-2\"";
+
+    private static final List<String> BODY = Arrays.asList("first", "second");
+
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = Mockito.mock(RestTemplate.class);
+    }
+
+    @Test
+    void shouldReuseBodyWhenNotModified() {
+
+        ConditionalGetCache cache = new ConditionalGetCache(restTemplate, 1);
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), any(), eq(List.class)))
+                .thenReturn(createResponse(BODY, HttpStatus.OK))
+                .thenReturn(createResponse(null, HttpStatus.NOT_MODIFIED));
+
+        assertEquals(BODY, cache.get(URL, List.class));
+        assertSame(BODY, cache.get(URL, List.class));
+
+        List<HttpEntity> requests = captureRequests(URL, 2);
+        assertTrue(requests.get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(Collections.singletonList(ETAG), requests.get(1).getHeaders().getIfNoneMatch());
+    }
+
+    @Test
+    void shouldNotRevalidateEvictedUrl() {
+
+        ConditionalGetCache cache = new ConditionalGetCache(restTemplate, 1);
+        Mockito.when(restTemplate.exchange(any(String.class), eq(HttpMethod.GET), any(), eq(List.class)))
+                .thenReturn(createResponse(BODY, HttpStatus.OK));
+
+        cache.get(URL, List.class);
+        cache.get(OTHER_URL, List.class);
+        cache.get(URL, List.class);
+
+        List<HttpEntity> requests = captureRequests(URL, 2);
+        assertTrue(requests.get(1).getHeaders().getIfNoneMatch().isEmpty());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+
+        ConditionalGetCache cache = new ConditionalGetCache(restTemplate, 0);
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), any(), eq(List.class)))
+                .thenReturn(createResponse(BODY, HttpStatus.OK));
+
+        cache.get(URL, List.class);
+        cache.get(URL, List.class);
+
+        List<HttpEntity> requests = captureRequests(URL, 2);
+        assertTrue(requests.get(1).getHeaders().getIfNoneMatch().isEmpty());
+    }
+
+    private List<HttpEntity> captureRequests(String url, int times) {
+
+        ArgumentCaptor<HttpEntity> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        Mockito.verify(restTemplate, Mockito.times(times))
+                .exchange(eq(url), eq(HttpMethod.GET), captor.capture(), eq(List.class));
+        return captor.getAllValues();
+    }
+
+    private static ResponseEntity<List> createResponse(List<String> body, HttpStatus status) {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        return new ResponseEntity<>(body, headers, status);
+    }
+}
@@ -0,0 +1,102 @@
+package com.epam.course.cp.web_app.consumer;
+
+import com.epam.course.cp.response.HttpCallMetrics;
+import com.epam.course.cp.response.HttpClientMetrics;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class HttpClientMetricsInterceptorTest {
+
+    private static final int MAX_CONNECTIONS = 4;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 2;
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private PooledClientHttpRequestFactory requestFactory;
+
+    private HttpClientMetricsInterceptor interceptor;
+
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() {
+
+        requestFactory = new PooledClientHttpRequestFactory(MAX_CONNECTIONS, MAX_CONNECTIONS_PER_ROUTE,
+                1000, 1000, 1000, 30, 2000);
+        interceptor = new HttpClientMetricsInterceptor(requestFactory);
+        execution = Mockito.mock(ClientHttpRequestExecution.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        requestFactory.destroy();
+    }
+
+    @Test
+    void shouldGroupCallsByPathWithoutIds() throws IOException {
+
+        Mockito.when(execution.execute(any(), any())).thenReturn(new MockClientHttpResponse(EMPTY_BODY, HttpStatus.OK));
+
+        interceptor.intercept(request(HttpMethod.GET, "http://localhost/rest/products/1?x=2"), EMPTY_BODY, execution);
+        interceptor.intercept(request(HttpMethod.GET, "http://localhost/rest/products/25"), EMPTY_BODY, execution);
+        interceptor.intercept(request(HttpMethod.PATCH, "http://localhost/rest/products/25/amount"),
+                EMPTY_BODY, execution);
+
+        List<HttpCallMetrics> calls = interceptor.getHttpClientMetrics().getCalls();
+        assertEquals(2, calls.size());
+
+        HttpCallMetrics byId = calls.stream()
+                .filter(call -> call.getCall().equals("GET /rest/products/{id}"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals(2, byId.getCalls());
+        assertEquals(0, byId.getFailures());
+        assertTrue(calls.stream().anyMatch(call -> call.getCall().equals("PATCH /rest/products/{id}/amount")));
+    }
+
+    @Test
+    void shouldCountFailures() throws IOException {
+
+        Mockito.when(execution.execute(any(), any()))
+                .thenReturn(new MockClientHttpResponse(EMPTY_BODY, HttpStatus.INTERNAL_SERVER_ERROR))
+                .thenThrow(new ConnectionPoolTimeoutException("Timeout waiting for connection from pool"));
+
+        interceptor.intercept(request(HttpMethod.GET, "http://localhost/rest/categories"), EMPTY_BODY, execution);
+        assertThrows(ConnectionPoolTimeoutException.class, () -> interceptor.intercept(
+                request(HttpMethod.GET, "http://localhost/rest/categories"), EMPTY_BODY, execution));
+
+        HttpClientMetrics metrics = interceptor.getHttpClientMetrics();
+        assertEquals(1, metrics.getConnectionRequestTimeouts());
+        assertEquals(2, metrics.getCalls().get(0).getCalls());
+        assertEquals(2, metrics.getCalls().get(0).getFailures());
+    }
+
+    @Test
+    void shouldReportPoolLimits() {
+
+        HttpClientMetrics metrics = interceptor.getHttpClientMetrics();
+
+        assertEquals(MAX_CONNECTIONS, metrics.getMaxConnections());
+        assertEquals(MAX_CONNECTIONS_PER_ROUTE, metrics.getMaxConnectionsPerRoute());
+        assertEquals(0, metrics.getLeasedConnections());
+        assertTrue(metrics.getCalls().isEmpty());
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String uri) {
+        return new MockClientHttpRequest(method, URI.create(uri));
+    }
+}
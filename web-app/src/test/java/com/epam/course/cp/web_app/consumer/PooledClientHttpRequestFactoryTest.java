@@ -0,0 +1,82 @@
+package com.epam.course.cp.web_app.consumer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledClientHttpRequestFactoryTest {
+
+    private static final int MAX_CONNECTIONS = 4;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 2;
+    private static final String BODY = "[]";
+
+    private final AtomicInteger clientPorts = new AtomicInteger();
+
+    private HttpServer server;
+
+    private PooledClientHttpRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/rest/products", exchange -> {
+            clientPorts.set(exchange.getRemoteAddress().getPort());
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        requestFactory = new PooledClientHttpRequestFactory(MAX_CONNECTIONS, MAX_CONNECTIONS_PER_ROUTE,
+                1000, 1000, 1000, 30, 2000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+
+        requestFactory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseConnection() {
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/rest/products";
+
+        assertEquals(BODY, restTemplate.getForObject(url, String.class));
+        int firstPort = clientPorts.get();
+        assertEquals(BODY, restTemplate.getForObject(url, String.class));
+
+        assertEquals(firstPort, clientPorts.get());
+        assertEquals(0, requestFactory.getTotalStats().getLeased());
+        assertEquals(1, requestFactory.getTotalStats().getAvailable());
+    }
+
+    @Test
+    void shouldLimitConnections() {
+
+        assertEquals(MAX_CONNECTIONS, requestFactory.getTotalStats().getMax());
+        assertEquals(MAX_CONNECTIONS_PER_ROUTE, requestFactory.getMaxConnectionsPerRoute());
+    }
+
+    @Test
+    void shouldRejectLimitPerRouteExceedingTotalLimit() {
+
+        assertThrows(IllegalArgumentException.class, () -> new PooledClientHttpRequestFactory(
+                MAX_CONNECTIONS, MAX_CONNECTIONS + 1, 1000, 1000, 1000, 30, 2000));
+    }
+}
@@ -2,29 +2,47 @@ package com.epam.course.cp.web_app.consumer;
 
 import com.epam.course.cp.dto.CategoryDTO;
 import com.epam.course.cp.dto.Filter;
+import com.epam.course.cp.dto.Page;
 import com.epam.course.cp.dto.ProductDTO;
+import com.epam.course.cp.dto.ProductEditorView;
+import com.epam.course.cp.dto.ProductListView;
 import com.epam.course.cp.model.Category;
 import com.epam.course.cp.model.Product;
+import com.epam.course.cp.response.BatchItemResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 class ProductRestConsumerMockTest {
 
     private static final Integer ONCE = 1;
 
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
     private static final Integer FIRST_PRODUCT_ID = 1;
 
     private static final String PRODUCT_NAME = "TestProduct";
@@ -82,15 +100,15 @@ class ProductRestConsumerMockTest {
     @Test
     void shouldFindAll() {
 
-        Mockito.when(restTemplate.getForEntity(url, List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCTS, HttpStatus.OK));
+        Mockito.when(restTemplate.getForEntity(url, Product[].class))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCTS.toArray(new Product[0]), HttpStatus.OK));
 
         List<Product> products = productRestConsumer.findAll();
 
         assertNotNull(products);
         assertEquals(ARRAY_LIST_OF_PRODUCTS, products);
 
-        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(url, List.class);
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(url, Product[].class);
     }
 
     @Test
@@ -110,22 +128,85 @@ class ProductRestConsumerMockTest {
     @Test
     void shouldFindAllProductDTOs() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/info", List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCT_DTOS, HttpStatus.OK));
+        Mockito.when(restTemplate.getForEntity(url + "/info", ProductDTO[].class))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCT_DTOS.toArray(new ProductDTO[0]), HttpStatus.OK));
 
         List<ProductDTO> productDTOs = productRestConsumer.findAllProductDTOs();
 
         assertNotNull(productDTOs);
         assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, productDTOs);
 
-        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(url + "/info", List.class);
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(url + "/info", ProductDTO[].class);
+    }
+
+    @Test
+    void shouldStreamAllProductDTOs() {
+
+        Mockito.when(restTemplate.execute(eq(url + "/info"), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    byte[] body = OBJECT_MAPPER.writeValueAsBytes(ARRAY_LIST_OF_PRODUCT_DTOS);
+                    return extractor.extractData(new MockClientHttpResponse(body, HttpStatus.OK));
+                });
+
+        List<ProductDTO> productDTOs = new ArrayList<>();
+        productRestConsumer.forEachProductDTO(productDTOs::add);
+
+        assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, productDTOs);
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).execute(eq(url + "/info"), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void shouldStreamAllProductDTOsFromSmile() {
+
+        Mockito.when(restTemplate.execute(eq(url + "/info"), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    byte[] body = Jackson2ObjectMapperBuilder.smile().build()
+                            .writeValueAsBytes(ARRAY_LIST_OF_PRODUCT_DTOS);
+                    MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+                    response.getHeaders().setContentType(MediaType.valueOf("application/x-jackson-smile"));
+                    return extractor.extractData(response);
+                });
+
+        List<ProductDTO> productDTOs = new ArrayList<>();
+        productRestConsumer.forEachProductDTO(productDTOs::add);
+
+        assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, productDTOs);
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).execute(eq(url + "/info"), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void shouldExportProductDTOs() {
+
+        LocalDate since = LocalDate.of(2019, 1, 1);
+        String exportUrl = url + "/export?since=" + since + "&after=" + FIRST_PRODUCT_ID;
+        Mockito.when(restTemplate.execute(eq(exportUrl), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    StringBuilder body = new StringBuilder();
+                    for (ProductDTO productDTO : ARRAY_LIST_OF_PRODUCT_DTOS) {
+                        body.append(OBJECT_MAPPER.writeValueAsString(productDTO)).append('\n');
+                    }
+                    return extractor.extractData(
+                            new MockClientHttpResponse(body.toString().getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
+
+        List<ProductDTO> productDTOs = new ArrayList<>();
+        productRestConsumer.exportProductDTOs(since, FIRST_PRODUCT_ID, productDTOs::add);
+
+        assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, productDTOs);
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).execute(eq(exportUrl), eq(HttpMethod.GET), any(), any());
     }
 
     @Test
     void shouldFindProductDTOsByCategoryId() {
 
-        Mockito.when(restTemplate.getForEntity(url + "/filter?id=" + FIRST_PRODUCT_ID, List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCT_DTOS, HttpStatus.OK));
+        Mockito.when(restTemplate.exchange(eq(url + "/filter?id=" + FIRST_PRODUCT_ID), eq(HttpMethod.GET), any(),
+                eq(ProductDTO[].class))).thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCT_DTOS.toArray(new ProductDTO[0]), HttpStatus.OK));
 
         List<ProductDTO> productDTOs = productRestConsumer.findProductDTOsByCategoryId(FIRST_PRODUCT_ID);
 
@@ -133,7 +214,7 @@ class ProductRestConsumerMockTest {
         assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, productDTOs);
 
         Mockito.verify(restTemplate, Mockito.times(ONCE))
-                .getForEntity(url + "/filter?id=" + FIRST_PRODUCT_ID, List.class);
+                .exchange(eq(url + "/filter?id=" + FIRST_PRODUCT_ID), eq(HttpMethod.GET), any(), eq(ProductDTO[].class));
     }
 
     @Test
@@ -145,15 +226,110 @@ class ProductRestConsumerMockTest {
                 .queryParam("from", LocalDate.now().withDayOfMonth(1))
                 .queryParam("to", LocalDate.now());
 
-        Mockito.when(restTemplate.getForEntity(builder.toUriString(), List.class))
-                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCT_DTOS, HttpStatus.OK));
+        Mockito.when(restTemplate.exchange(eq(builder.toUriString()), eq(HttpMethod.GET), any(), eq(ProductDTO[].class)))
+                .thenReturn(new ResponseEntity<>(ARRAY_LIST_OF_PRODUCT_DTOS.toArray(new ProductDTO[0]), HttpStatus.OK));
 
         List<ProductDTO> productDTOs = productRestConsumer.findProductDTOsByFilter(TEST_FILTER);
 
         assertNotNull(productDTOs);
         assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, productDTOs);
 
-        Mockito.verify(restTemplate, Mockito.times(ONCE)).getForEntity(builder.toUriString(), List.class);
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .exchange(eq(builder.toUriString()), eq(HttpMethod.GET), any(), eq(ProductDTO[].class));
+    }
+
+    @Test
+    void shouldFindProductListView() {
+
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(url + "/view")
+                .queryParam("id", FIRST_PRODUCT_ID)
+                .queryParam("from", LocalDate.now().withDayOfMonth(1))
+                .queryParam("to", LocalDate.now())
+                .queryParam("limit", 2)
+                .queryParam("after", FIRST_PRODUCT_ID);
+
+        Category category = new Category();
+        category.setCategoryId(PRODUCT_CATEGORY_ID);
+        category.setCategoryName(PRODUCT_CATEGORY_NAME);
+
+        ProductListView view = new ProductListView();
+        view.setCategories(Arrays.asList(category));
+        view.setProducts(ARRAY_LIST_OF_PRODUCT_DTOS);
+
+        Mockito.when(restTemplate.exchange(eq(builder.toUriString()), eq(HttpMethod.GET), any(),
+                eq(ProductListView.class))).thenReturn(new ResponseEntity<>(view, HttpStatus.OK));
+
+        ProductListView found = productRestConsumer.findProductListView(TEST_FILTER, FIRST_PRODUCT_ID, 2);
+
+        assertNotNull(found);
+        assertEquals(ARRAY_LIST_OF_PRODUCT_DTOS, found.getProducts());
+        assertEquals(Arrays.asList(category), found.getCategories());
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .exchange(eq(builder.toUriString()), eq(HttpMethod.GET), any(), eq(ProductListView.class));
+    }
+
+    @Test
+    void shouldFindProductEditorView() {
+
+        Category category = new Category();
+        category.setCategoryId(PRODUCT_CATEGORY_ID);
+        category.setCategoryName(PRODUCT_SUBCATEGORY_NAME);
+
+        ProductEditorView view = new ProductEditorView();
+        view.setProduct(FIRST_PRODUCT);
+        view.setCategories(Arrays.asList(category));
+
+        String editorUrl = url + "/" + FIRST_PRODUCT_ID + "/editor";
+        Mockito.when(restTemplate.exchange(eq(editorUrl), eq(HttpMethod.GET), any(), eq(ProductEditorView.class)))
+                .thenReturn(new ResponseEntity<>(view, HttpStatus.OK));
+
+        ProductEditorView found = productRestConsumer.findProductEditorView(FIRST_PRODUCT_ID);
+
+        assertNotNull(found);
+        assertEquals(FIRST_PRODUCT, found.getProduct());
+        assertEquals(Arrays.asList(category), found.getCategories());
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .exchange(eq(editorUrl), eq(HttpMethod.GET), any(), eq(ProductEditorView.class));
+    }
+
+    @Test
+    void shouldFindProductDTOPage() {
+
+        String pageUrl = url + "/info?limit=2&after=1";
+        Page<ProductDTO> page = new Page<>(ARRAY_LIST_OF_PRODUCT_DTOS, 3);
+
+        Mockito.when(restTemplate.exchange(eq(pageUrl), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(page, HttpStatus.OK));
+
+        assertEquals(page, productRestConsumer.findProductDTOPage(FIRST_PRODUCT_ID, 2));
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).exchange(eq(pageUrl), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void shouldFindProductDTOPageByFilter() {
+
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(url + "/filter")
+                .queryParam("limit", 2)
+                .queryParam("id", FIRST_PRODUCT_ID)
+                .queryParam("from", LocalDate.now().withDayOfMonth(1))
+                .queryParam("to", LocalDate.now());
+        Page<ProductDTO> page = new Page<>(ARRAY_LIST_OF_PRODUCT_DTOS, null);
+
+        Mockito.when(restTemplate.exchange(eq(builder.toUriString()), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(page, HttpStatus.OK));
+
+        assertEquals(page, productRestConsumer.findProductDTOPageByFilter(TEST_FILTER, null, 2));
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).exchange(eq(builder.toUriString()), eq(HttpMethod.GET),
+                isNull(), any(ParameterizedTypeReference.class));
     }
 
     @Test
@@ -170,6 +346,40 @@ class ProductRestConsumerMockTest {
         Mockito.verify(restTemplate, Mockito.times(ONCE)).postForEntity(url, FIRST_PRODUCT, Product.class);
     }
 
+    @Test
+    void shouldAddAllProducts() {
+
+        List<BatchItemResult> results = Arrays.asList(
+                new BatchItemResult(0, 2, BatchItemResult.Status.CREATED),
+                new BatchItemResult(1, 3, BatchItemResult.Status.CREATED));
+
+        Mockito.when(restTemplate.exchange(eq(url + "/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(results, HttpStatus.OK));
+
+        assertEquals(results, productRestConsumer.addAll(ARRAY_LIST_OF_PRODUCTS));
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).exchange(eq(url + "/batch"), eq(HttpMethod.POST),
+                eq(new HttpEntity<>(ARRAY_LIST_OF_PRODUCTS)), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void shouldUpdateAllProducts() {
+
+        List<BatchItemResult> results = Arrays.asList(
+                new BatchItemResult(0, 2, BatchItemResult.Status.UPDATED),
+                new BatchItemResult(1, 3, BatchItemResult.Status.NOT_FOUND));
+
+        Mockito.when(restTemplate.exchange(eq(url + "/batch"), eq(HttpMethod.PUT), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(results, HttpStatus.OK));
+
+        assertEquals(results, productRestConsumer.updateAll(ARRAY_LIST_OF_PRODUCTS));
+
+        Mockito.verify(restTemplate, Mockito.times(ONCE)).exchange(eq(url + "/batch"), eq(HttpMethod.PUT),
+                eq(new HttpEntity<>(ARRAY_LIST_OF_PRODUCTS)), any(ParameterizedTypeReference.class));
+    }
+
     @Test
     void shouldUpdateProduct() {
 
@@ -177,6 +387,17 @@ class ProductRestConsumerMockTest {
         Mockito.verify(restTemplate, Mockito.times(ONCE)).put(url +"/" + FIRST_PRODUCT_ID, FIRST_PRODUCT);
     }
 
+    @Test
+    void shouldAdjustProductAmount() {
+
+        Mockito.when(restTemplate.patchForObject(url + "/" + FIRST_PRODUCT_ID + "/amount", -PRODUCT_AMOUNT,
+                Integer.class)).thenReturn(0);
+
+        assertEquals(Integer.valueOf(0), productRestConsumer.adjustAmount(FIRST_PRODUCT_ID, -PRODUCT_AMOUNT));
+        Mockito.verify(restTemplate, Mockito.times(ONCE))
+                .patchForObject(url + "/" + FIRST_PRODUCT_ID + "/amount", -PRODUCT_AMOUNT, Integer.class);
+    }
+
     @Test
     void shouldDeleteProduct() {
 
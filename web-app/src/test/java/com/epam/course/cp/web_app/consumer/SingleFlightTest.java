@@ -0,0 +1,225 @@
+package com.epam.course.cp.web_app.consumer;
+
+import com.epam.course.cp.response.SingleFlightMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final String URL = "http://localhost:8088/rest/categories/possibleparents";
+    private static final String OTHER_URL = "http://localhost:8088/rest/products/filter?id=1";
+    private static final List<String> BODY = Arrays.asList("first", "second");
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final int CALLERS = 8;
+    private static final long TEST_TIMEOUT_MS = 5000;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldShareCallInFlight() throws Exception {
+
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<String>>> results = startCallers(singleFlight, URL, () -> {
+            backendCalls.incrementAndGet();
+            await(release);
+            return BODY;
+        });
+        awaitCoalesced(singleFlight, CALLERS - 1);
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            assertSame(BODY, result.get(TEST_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        }
+        assertEquals(1, backendCalls.get());
+
+        SingleFlightMetrics metrics = singleFlight.getSingleFlightMetrics();
+        assertEquals(CALLERS, metrics.getCalls());
+        assertEquals(1, metrics.getBackendCalls());
+        assertEquals(CALLERS - 1, metrics.getCoalescedCalls());
+        assertEquals(0, metrics.getInFlightCalls());
+    }
+
+    @Test
+    void shouldShareExceptionOfCallInFlight() throws Exception {
+
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<String>>> results = startCallers(singleFlight, URL, () -> {
+            await(release);
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        });
+        awaitCoalesced(singleFlight, CALLERS - 1);
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> result.get(TEST_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+            assertTrue(ex.getCause() instanceof HttpServerErrorException);
+        }
+        assertEquals(0, singleFlight.getSingleFlightMetrics().getInFlightCalls());
+    }
+
+    @Test
+    void shouldCallAgainAfterCallEnds() {
+
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger backendCalls = new AtomicInteger();
+
+        singleFlight.execute(URL, URL, backendCalls::incrementAndGet);
+        singleFlight.execute(URL, URL, backendCalls::incrementAndGet);
+
+        assertEquals(2, backendCalls.get());
+        assertEquals(0, singleFlight.getSingleFlightMetrics().getCoalescedCalls());
+    }
+
+    @Test
+    void shouldNotJoinCallBegunBeforeWrite() throws Exception {
+
+        SingleFlight singleFlight = new SingleFlight();
+        List<String> afterWrite = Arrays.asList("first", "second", "third");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<List<String>> beforeWrite = callers.submit(() -> singleFlight.execute(URL, URL, () -> {
+            started.countDown();
+            await(release);
+            return BODY;
+        }));
+        await(started);
+
+        send(singleFlight, HttpMethod.POST);
+        List<String> result = singleFlight.execute(URL, URL, () -> afterWrite);
+        release.countDown();
+
+        assertSame(afterWrite, result);
+        assertSame(BODY, beforeWrite.get(TEST_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, singleFlight.getSingleFlightMetrics().getCoalescedCalls());
+    }
+
+    @Test
+    void shouldShareCallAcrossReads() throws Exception {
+
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+
+        send(singleFlight, HttpMethod.GET);
+        List<Future<List<String>>> results = startCallers(singleFlight, URL, () -> {
+            await(release);
+            return BODY;
+        });
+        awaitCoalesced(singleFlight, CALLERS - 1);
+        send(singleFlight, HttpMethod.HEAD);
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            assertSame(BODY, result.get(TEST_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void shouldNotShareCallOutOfScope() throws Exception {
+
+        SingleFlight singleFlight = new SingleFlight("/rest/categories/**");
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch allStarted = new CountDownLatch(CALLERS);
+
+        List<Future<List<String>>> results = startCallers(singleFlight, OTHER_URL, () -> {
+            backendCalls.incrementAndGet();
+            allStarted.countDown();
+            await(allStarted);
+            return BODY;
+        });
+
+        for (Future<List<String>> result : results) {
+            assertSame(BODY, result.get(TEST_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        }
+        assertEquals(CALLERS, backendCalls.get());
+        assertEquals(0, singleFlight.getSingleFlightMetrics().getCalls());
+    }
+
+    @Test
+    void shouldNotShareCallWithEmptyScope() {
+
+        SingleFlight singleFlight = new SingleFlight("");
+
+        singleFlight.execute(URL, URL, () -> BODY);
+
+        SingleFlightMetrics metrics = singleFlight.getSingleFlightMetrics();
+        assertTrue(metrics.getScope().isEmpty());
+        assertEquals(0, metrics.getCalls());
+    }
+
+    private List<Future<List<String>>> startCallers(SingleFlight singleFlight, String url,
+                                                    Supplier<List<String>> call) {
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> singleFlight.execute(url, url, call)));
+        }
+        return results;
+    }
+
+    private static void send(SingleFlight singleFlight, HttpMethod method) throws IOException {
+
+        singleFlight.intercept(new MockClientHttpRequest(method, URI.create(URL)), EMPTY_BODY,
+                (request, body) -> new MockClientHttpResponse(EMPTY_BODY, HttpStatus.OK));
+    }
+
+    private static void awaitCoalesced(SingleFlight singleFlight, long coalescedCalls)
+            throws InterruptedException, TimeoutException {
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TEST_TIMEOUT_MS);
+        while (singleFlight.getSingleFlightMetrics().getCoalescedCalls() < coalescedCalls) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Callers did not join the call in flight");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(TEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.epam.course.cp.web_app.handler;
 
+import com.epam.course.cp.response.ExceptionResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.io.IOException;
+
 @Controller
 public class ExceptionThrowingTestController {
 
@@ -20,6 +26,15 @@ public class ExceptionThrowingTestController {
         throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
     }
 
+    @GetMapping(value = "/httpClientSmileException")
+    void getHttpClientSmileException() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/x-jackson-smile"));
+        byte[] body = Jackson2ObjectMapperBuilder.smile().build()
+                .writeValueAsBytes(new ExceptionResponse("Product not found"));
+        throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "Not found", headers, body, null);
+    }
+
     @GetMapping(value = "/resourceAccessException")
     void getResourceAccessException() {
         throw new ResourceAccessException("Can't find object");
@@ -60,6 +60,18 @@ class WebErrorHandlerTest {
         ;
     }
 
+    @Test
+    void shouldHandleHttpClientErrorExceptionWithSmileBody() throws Exception {
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/httpClientSmileException")
+        ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.view().name("exception"))
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(Matchers.containsString("<p>Product not found</p>")))
+        ;
+    }
+
     @Test
     void shouldHandleResourceAccessException() throws Exception {
 